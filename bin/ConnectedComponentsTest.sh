@@ -2,6 +2,16 @@
 
 source ./config.txt
 
+# Every input is processed first by the baseline loop, then once for each mode, and the clusters of each mode
+# are compared with the clusters of the baseline loop. The hand-made cluster_*.txt files hold the connected components
+# before the removal of the bridges, so they are not the expected result of the loop.
+# The modes can be given as arguments, e.g. ./ConnectedComponentsTest.sh "-dynamic" "-experiments 4".
+if [ $# != 0 ]; then
+	modes=( "$@" )
+else
+	modes=( "-sketch" "-dynamic" "-experiments 4" "-concurrent 4" "-leafStrip" "-certificate" "-triangles" )
+fi
+
 for original_input in $DATASET/input*
 do
 	# Skip garbage
@@ -15,7 +25,11 @@ do
 	input="${base_input%.*}"
 	number=${input#i*_}
 	output="out${number}"
-	echo "Processing $base_input."
+	correct_file="cluster_base_${number}.txt"
+
+	for mode in "" "${modes[@]}"
+	do
+	echo "Processing $base_input with options '${mode}'."
 
 	# Insert $input in the hadoop distibuted file system
 	$HADOOP fs -put $original_input $input
@@ -25,7 +39,7 @@ do
 	echo "ConnectedComponents Job started !"
 	echo $input
 	echo $output
-	cc_result=$($HADOOP jar $JAR_PATH pad.ConnectedComponents $input $output 2>&1)
+	cc_result=$($HADOOP jar $JAR_PATH pad.ConnectedComponents $input $output $mode 2>&1)
 	cc_out=$?
 	if [ $cc_out == 1 ]; then
 		echo -e "\033[1;31mError in ConnectedComponents Job !\033[0m"
@@ -34,17 +48,24 @@ do
 	echo "ConnectedComponents Job completed !"
 	echo ${cc_result#*End ConnectedComponents.*} | sed 's/\. /.\n/g'
 
+	# The final clusters are written into the folder of the last iteration, ${output}__<iteration>
+	last=$($HADOOP fs -ls -d ${output}__* 2>/dev/null | grep -o "__[0-9]*$" | tr -d _ | sort -n | tail -1)
+
 	# Start the Job and check if it is compleated correctly
 	echo "TranslatorDriver Cluster2Text Job started !"
-	result=$($HADOOP jar $JAR_PATH pad.TranslatorDriver Cluster2Text ${output} ${output}T 2>&1)
+	result=$($HADOOP jar $JAR_PATH pad.TranslatorDriver Cluster2Text ${output}__${last} ${output}T 2>&1)
 	if [[ "$result" != *"Job complete"* ]]; then
 		echo -e "\033[1;31mError in TranslatorDriver Job :\033[0m"; echo $result; exit 1
 	else
 		echo "TranslatorDriver Cluster2Text Job completed correctly !"
 	fi
 
-	correct_file="cluster_${number}.txt"
-	final_output_file="cluster_out_${number}.txt"
+	# The clusters of the baseline loop are the expected result of the modes.
+	if [ -z "$mode" ]; then
+		final_output_file=$correct_file
+	else
+		final_output_file="cluster_out_${number}.txt"
+	fi
 
 	# Merge the results of the Job and copy the output file locally
 	$HADOOP fs -getmerge ${output}T $DATASET/$final_output_file
@@ -53,6 +74,7 @@ do
 	$HADOOP fs -rmr $input
 	$HADOOP fs -rmr $output
 	$HADOOP fs -rmr ${output}T
+	$HADOOP fs -rmr ${input}_* ${output}_* > /dev/null 2>&1
 
 	if [ $cc_out == 2 ]; then
 		# sort the final_output_file
@@ -65,10 +87,20 @@ do
 		exit 1
 	fi
 
+	if [ -z "$mode" ]; then
+		sort $DATASET/$correct_file > $DATASET/${correct_file}_tmp.txt
+		mv $DATASET/${correct_file}_tmp.txt $DATASET/$correct_file
+		echo "Clusters of the baseline loop written into $correct_file."
+		continue
+	fi
+
 	$WORKING_DIR/bin/compare_result.sh $base_input $final_output_file $correct_file
 	if [ $? != 0 ]; then
 		exit 1
 	fi
 
-	echo -e "\033[1;92mTest on $base_input compleated correctly !\033[0m"
+	echo -e "\033[1;92mTest on $base_input with options '${mode}' compleated correctly !\033[0m"
+	done
+
+	rm $DATASET/$correct_file
 done
@@ -0,0 +1,47 @@
+#!/bin/bash
+
+# Compare the number of Star rounds and the time of the first connectivity computation
+# on path, grid and power-law graphs, for each label order ( none, hash, degree ),
+# and with the pointer jumping rounds enabled.
+# Usage: ./StarRoundsBenchmark.sh [num_nodes]
+
+source ./config.txt
+
+num_nodes=${1:-100000}
+side=$(awk -v n=$num_nodes 'BEGIN { print int( sqrt( n ) ) }')
+
+# Path 0 - 1 - 2 - ... numbered sequentially, the worst case for the input identifiers.
+awk -v n=$num_nodes 'BEGIN { for ( i = 0; i < n - 1; i++ ) print i "\t" i + 1 }' > /tmp/bench_path.txt
+# Grid side x side numbered by rows.
+awk -v s=$side 'BEGIN { for ( r = 0; r < s; r++ ) for ( c = 0; c < s; c++ ) {
+	u = r * s + c; line = ""
+	if ( c + 1 < s ) line = u + 1
+	if ( r + 1 < s ) line = ( line == "" ) ? u + s : line "," u + s
+	if ( line != "" ) print u "\t" line } }' > /tmp/bench_grid.txt
+# Power-law graph by preferential attachment, two edges for each new node.
+awk -v n=$num_nodes 'BEGIN { srand( 42 ); m = 0; t[m++] = 0; t[m++] = 1; print 1 "\t" 0
+	for ( i = 2; i < n; i++ ) { a = t[int( rand() * m )]; b = t[int( rand() * m )]
+		if ( a == b ) print i "\t" a; else print i "\t" ( a < b ? a "," b : b "," a )
+		t[m++] = a; t[m++] = b; t[m++] = i; t[m++] = i } }' > /tmp/bench_power.txt
+
+printf "%-8s %-16s %10s %10s %10s %10s\n" "graph" "options" "rounds" "shortcuts" "deltas" "seconds"
+for graph in path grid power
+do
+	input=bench_$graph
+	$HADOOP fs -put /tmp/bench_$graph.txt $input
+	for options in "-labelOrder none" "-labelOrder hash" "-labelOrder degree" "-shortcut" "-delta"
+	do
+		# The time budget stops the run after the first iteration, i.e. after the first connectivity computation.
+		start=$(date +%s)
+		cc_result=$($HADOOP jar $JAR_PATH pad.ConnectedComponents $input ${input}_out -timeBudget 1 $options 2>&1)
+		end=$(date +%s)
+		rounds=$(echo "$cc_result" | grep -o "ended after [0-9]* Star rounds and [0-9]* shortcut rounds" | head -1 | grep -o "[0-9][0-9]*")
+		deltas=$(echo "$cc_result" | grep -o "and [0-9]* delta rounds" | head -1 | grep -o "[0-9][0-9]*")
+		printf "%-8s %-16s %10s %10s %10s %10s\n" $graph "${options#-}" $(echo $rounds) ${deltas:-0} $(( end - start ))
+
+		# Clean file on hadoop
+		$HADOOP fs -rmr ${input}_* ${input}__* ${input}_out* > /dev/null 2>&1
+	done
+	$HADOOP fs -rmr $input > /dev/null 2>&1
+	rm /tmp/bench_$graph.txt
+done
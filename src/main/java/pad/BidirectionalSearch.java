@@ -0,0 +1,204 @@
+/**
+ *	@file BidirectionalSearch.java
+ *	@brief In memory copy of an edges list that checks with a bounded bidirectional BFS if the end nodes of an edge stay connected without it.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * In memory copy of an edges list that checks with a bounded bidirectional BFS if the end nodes of an edge stay connected without it.
+ * Most of the removed edges lie on a short cycle, so two BFS started from the end nodes, expanding one level at a time
+ * the side with the smaller frontier, meet after visiting a few nodes: the edge is not a bridge and the Connected
+ * Components Jobs are not needed. If one of the two sides runs out of nodes before meeting the other one the edge is
+ * a bridge. When the search visits more than <em>maxNodes</em> nodes or lasts more than <em>maxMillis</em> the result
+ * is unknown, and the Connected Components Jobs decide.
+ * The edges are stored as adjacency lists into primitive arrays, each edge with its position in the edges list;
+ * the bridges found by the removal loop are marked as deleted, so the copy follows the edges list under test.
+ */
+public class BidirectionalSearch
+{
+	/** Result of a search */
+	public enum Result { CONNECTED, DISCONNECTED, UNKNOWN };
+	/** Default maximum number of nodes visited by a search */
+	public static final int DEFAULT_MAX_NODES = 100000;
+	/** Default maximum duration of a search, in milliseconds */
+	public static final long DEFAULT_MAX_MILLIS = 1000;
+	/**
+	 * Graphs with more edges than this value are not copied in memory by \see ConnectedComponents: while the adjacency
+	 * lists are built each edge takes about 64 bytes, and the copy takes at most a quarter of the heap.
+	 */
+	public static final long DEFAULT_MAX_EDGES = Math.min( 20000000L, Runtime.getRuntime().maxMemory() / 256 );
+	
+	private static final int NIL = -1;
+	private final int numCandidates;
+	/** Edges, with the nodes numbered and the adjacency lists built */
+	private final EdgeArray edges;
+	private final boolean[] deleted;
+	private final int[] seen, queueU, queueV;
+	private int stamp;
+	
+	/**
+	* Initializes a new instance of the BidirectionalSearch class, reading the edges of an edges list
+	* and of the folder of the edges that are never removed.
+	* @param edges		path of the edges list folder.
+	* @param certain	path of the edges that are never removed, <c>null</c> if there are none.
+	* @param conf		configuration used to read the folders.
+	* @throws IOException
+	*/
+	public BidirectionalSearch( Path edges, Path certain, Configuration conf ) throws IOException
+	{
+		FileSystem fs = edges.getFileSystem( conf );
+		EdgeArray edgeArray = new EdgeArray();
+		edgeArray.read( fs, conf, SketchBridgeDriver.listFiles( fs, edges ) );
+		this.numCandidates = edgeArray.getNumEdges();
+		if ( certain != null )
+			edgeArray.read( fs, conf, SketchBridgeDriver.listFiles( fs, certain ) );
+		edgeArray.buildAdjacency();
+		int numEdges = edgeArray.getNumEdges();
+		int numNodes = edgeArray.getNumNodes();
+		this.edges = edgeArray;
+		
+		this.deleted = new boolean[numEdges];
+		this.seen = new int[numNodes];
+		this.queueU = new int[numNodes];
+		this.queueV = new int[numNodes];
+	}
+	
+	/**
+	* Check if the end nodes of an edge of the edges list stay connected without it.
+	* @param u				first end node of the edge.
+	* @param v				second end node of the edge.
+	* @param maxNodes		maximum number of nodes visited.
+	* @param maxMillis		maximum duration of the search, in milliseconds.
+	* @return 				result of the search, <c>UNKNOWN</c> also if the edge is not found.
+	*/
+	public Result search( int u, int v, int maxNodes, long maxMillis )
+	{
+		int edge = find( u, v );
+		if ( edge == NIL )
+			return Result.UNKNOWN;
+		
+		long deadline = System.currentTimeMillis() + maxMillis;
+		// Each search marks the nodes with two new values, one for each side, so the marks are never cleared.
+		if ( this.stamp >= Integer.MAX_VALUE - 2 )
+		{
+			Arrays.fill( this.seen, 0 );
+			this.stamp = 0;
+		}
+		this.stamp += 2;
+		int markU = this.stamp, markV = this.stamp + 1;
+		int nodeU = indexOf( u ), nodeV = indexOf( v );
+		this.queueU[0] = nodeU;
+		this.queueV[0] = nodeV;
+		this.seen[nodeU] = markU;
+		this.seen[nodeV] = markV;
+		int headU = 0, tailU = 1, headV = 0, tailV = 1;
+		int numVisited = 2;
+		
+		while ( true )
+		{
+			// Expand a whole level of the side with the smaller frontier.
+			boolean sideU = ( tailU - headU <= tailV - headV );
+			int[] queue = sideU ? this.queueU : this.queueV;
+			int mark = sideU ? markU : markV, other = sideU ? markV : markU;
+			int head = sideU ? headU : headV, tail = sideU ? tailU : tailV;
+			for ( int end = tail; head < end; head++ )
+			{
+				int x = queue[head];
+				for ( int i = this.edges.getAdjacencyStart( x ); i < this.edges.getAdjacencyEnd( x ); i++ )
+				{
+					int e = this.edges.getNeighbourEdge( i );
+					if ( e == edge || this.deleted[e] )
+						continue;
+					int y = this.edges.getNeighbour( i );
+					if ( this.seen[y] == other )
+						return Result.CONNECTED;
+					if ( this.seen[y] != mark )
+					{
+						this.seen[y] = mark;
+						queue[tail++] = y;
+						if ( ++numVisited > maxNodes )
+							return Result.UNKNOWN;
+					}
+				}
+			}
+			
+			// The side has visited all the nodes it can reach.
+			if ( head == tail )
+				return Result.DISCONNECTED;
+			if ( System.currentTimeMillis() > deadline )
+				return Result.UNKNOWN;
+			
+			if ( sideU )
+			{
+				headU = head;
+				tailU = tail;
+			}
+			else
+			{
+				headV = head;
+				tailV = tail;
+			}
+		}
+	}
+	
+	/**
+	* Mark an edge of the edges list as deleted, since it has been removed from the edges list under test.
+	* @param u	first end node of the edge.
+	* @param v	second end node of the edge.
+	*/
+	public void delete( int u, int v )
+	{
+		int edge = find( u, v );
+		if ( edge != NIL )
+			this.deleted[edge] = true;
+	}
+	
+	/**
+	* Return an edge of the edges list, not deleted, between two nodes.
+	* @param u	first end node.
+	* @param v	second end node.
+	* @return 	position of the edge, <c>NIL</c> if there is none.
+	*/
+	private int find( int u, int v )
+	{
+		int nodeU = indexOf( u ), nodeV = indexOf( v );
+		if ( nodeU < 0 || nodeV < 0 )
+			return NIL;
+		for ( int i = this.edges.getAdjacencyStart( nodeU ); i < this.edges.getAdjacencyEnd( nodeU ); i++ )
+		{
+			int e = this.edges.getNeighbourEdge( i );
+			if ( this.edges.getNeighbour( i ) == nodeV && e < this.numCandidates && !this.deleted[e] )
+				return e;
+		}
+		return NIL;
+	}
+	
+	private int indexOf( int nodeID )
+	{
+		return this.edges.indexOf( nodeID );
+	}
+}
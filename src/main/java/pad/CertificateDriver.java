@@ -0,0 +1,240 @@
+/**
+ *	@file CertificateDriver.java
+ *	@brief Driver of the Jobs that reduce the edges list to a sparse certificate made of two edge-disjoint spanning forests.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs that reduce the edges list to a sparse certificate made of two edge-disjoint spanning forests.
+ * Let F1 be a spanning forest of the graph G and F2 a spanning forest of G without the edges of F1:
+ * every cut crossed by one or two edges of G is crossed by as many edges of F1 and F2, so the union of
+ * the two forests has the same bridges of G and the same clusters once the bridges are removed,
+ * with at most 2(n-1) edges. The other edges lie on a cycle of F1, so they are not bridges and they are dropped.
+ * A spanning forest is built by filtering: the edges are spread over many buckets, each Reducer keeps
+ * the spanning forest of its bucket with a \see UnionFind, and the forest edges go through another round
+ * with <em>certificateFanIn</em> times less buckets, until a single bucket is left.
+ * The Star operations cannot be used here: they rewire the edges, while the certificate must be made of edges of G.
+ * The last round needs a Reducer that holds all the nodes into its \see UnionFind.
+ */
+public class CertificateDriver extends Configured implements Tool
+{
+	/** Named output of the edges that do not belong to the forest of their bucket */
+	public static final String REST_OUTPUT_NAME = "rest";
+	/** Base output path for the named output of the other edges */
+	public static final String REST_BASEOUTPUTPATH = REST_OUTPUT_NAME + "/part";
+	/** Default ratio between the number of buckets of two consecutive rounds */
+	public static final int DEFAULT_FAN_IN = 8;
+	
+	private final Path input, output;
+	private final boolean verbose;
+	private long numDroppedEdges;
+	
+	/**
+	* Initializes a new instance of the CertificateDriver class.
+	* @param input		path of the edges list folder, result of \see InitializationDriver Job.
+	* @param output		path of the output folder.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public CertificateDriver( Path input, Path output, boolean verbose )
+	{
+		this.input = input;
+		this.output = output;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the CertificateDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a CertificateDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.output.suffix( "_certificate" );
+		fs.delete( work, true );
+		
+		// The first forest spans the graph, the second one spans the edges left by the first one.
+		long numRest = forest( conf, fs, this.input, new Path( work, "forest1" ), new Path( work, "rest1" ), "Certificate-F1" );
+		if ( numRest < 0 )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		this.numDroppedEdges = 0;
+		if ( numRest > 0 )
+		{
+			this.numDroppedEdges = forest( conf, fs, new Path( work, "rest1" ), new Path( work, "forest2" ), new Path( work, "rest2" ), "Certificate-F2" );
+			if ( this.numDroppedEdges < 0 )
+			{
+				fs.delete( work, true );
+				return 1;
+			}
+		}
+		
+		// The certificate is the union of the two forests.
+		fs.delete( this.output, true );
+		fs.mkdirs( this.output );
+		moveParts( fs, new Path( work, "forest1" ), this.output, "F1" );
+		moveParts( fs, new Path( work, "forest2" ), this.output, "F2" );
+		fs.delete( work, true );
+		return 0;
+	}
+	
+	/**
+	 * Build a spanning forest of an edges list with the filtering rounds.
+	 * @param conf		configuration of the Jobs.
+	 * @param fs		file system of the folders.
+	 * @param edges		path of the edges list folder.
+	 * @param forest	path of the folder where the forest is written, together with the lone nodes.
+	 * @param rest		path of the folder where the other edges are moved.
+	 * @param title		used to build the title of the Jobs.
+	 * @return 			number of edges moved into the rest folder, or minus one if a Job failed.
+	 * @throws Exception
+	 */
+	private long forest( Configuration conf, FileSystem fs, Path edges, Path forest, Path rest, String title ) throws Exception
+	{
+		int fanIn = Math.max( 2, conf.getInt( "certificateFanIn", DEFAULT_FAN_IN ) );
+		JobSizing sizing = JobSizing.of( new Path[] { edges }, conf );
+		Path current = edges;
+		int numBuckets = 0;
+		long numRest = 0;
+		for ( int round = 1; numBuckets != 1; round++ )
+		{
+			Job job = new Job( conf, title + "-" + round );
+			job.setJarByClass( CertificateDriver.class );
+			
+			job.setMapOutputKeyClass( IntWritable.class );
+			job.setMapOutputValueClass( LongWritable.class );
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+			
+			job.setMapperClass( CertificateMapper.class );
+			job.setReducerClass( CertificateReducer.class );
+			sizing.configureSplits( job );
+			sizing.configureReducers( job );
+			// The first round has a bucket for each Reducer, the following ones less and less buckets.
+			numBuckets = ( numBuckets == 0 ) ? job.getNumReduceTasks() : Math.max( 1, numBuckets / fanIn );
+			job.setNumReduceTasks( numBuckets );
+			job.getConfiguration().setInt( "certificateBuckets", numBuckets );
+			job.setOutputFormatClass( SequenceFileOutputFormat.class );
+			MultipleOutputs.addNamedOutput( job, REST_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			
+			Path roundOutput = forest.suffix( "_" + round );
+			FileInputFormat.addInputPath( job, current );
+			FileOutputFormat.setOutputPath( job, roundOutput );
+			
+			if ( !job.waitForCompletion( this.verbose ) )
+				return -1;
+			numRest += job.getCounters().findCounter( UtilCounters.NUM_NON_FOREST_EDGES ).getValue();
+			sizing = JobSizing.ofOutput( job );
+			
+			// Move the edges left out of the forests into the rest folder.
+			Path restParts = roundOutput.suffix( "/" + REST_OUTPUT_NAME );
+			if ( fs.exists( restParts ) )
+			{
+				moveParts( fs, restParts, rest, title + "-" + round );
+				fs.delete( restParts, true );
+			}
+			if ( current != edges )
+				fs.delete( current, true );
+			current = roundOutput;
+		}
+		fs.rename( current, forest );
+		return numRest;
+	}
+	
+	/**
+	 * Move the part files of a folder into another one, renaming them to not overwrite its parts.
+	 * @param fs		file system of the folders.
+	 * @param from		path of the source folder.
+	 * @param to		path of the destination folder.
+	 * @param prefix	prefix of the new names.
+	 * @throws IOException
+	 */
+	private static void moveParts( FileSystem fs, Path from, Path to, String prefix ) throws IOException
+	{
+		if ( !fs.exists( from ) )
+			return;
+		
+		fs.mkdirs( to );
+		for ( FileStatus fileStatus : fs.listStatus( from ) )
+			if ( fileStatus.getPath().getName().startsWith( "part" ) )
+				fs.rename( fileStatus.getPath(), new Path( to, prefix + "-" + fileStatus.getPath().getName() ) );
+	}
+	
+	/**
+	 * Return the number of edges dropped, i.e. the edges that belong to neither of the two forests.
+	 * @return 	number of dropped edges.
+	 */
+	public long getNumDroppedEdges()
+	{
+		return this.numDroppedEdges;
+	}
+	
+	/**
+	 * Main of the \see CertificateDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 2 )
+		{
+			System.out.println( "Usage: CertificateDriver <input> <output>" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		System.out.println( "Start CertificateDriver." );
+		CertificateDriver certificate = new CertificateDriver( input, output, true );
+		if ( certificate.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End CertificateDriver." );
+		
+		System.out.println( "Number of dropped edges: " + certificate.getNumDroppedEdges() );
+		System.exit( 0 );
+	}
+}
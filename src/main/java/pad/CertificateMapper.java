@@ -0,0 +1,67 @@
+/**
+ *	@file CertificateMapper.java
+ *	@brief Mapper task of a forest round of \see CertificateDriver, that spreads the edges over the buckets.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of a forest round of \see CertificateDriver, that spreads the edges over the buckets. */
+public class CertificateMapper extends Mapper<IntWritable, IntWritable, IntWritable, LongWritable>
+{
+	private int numBuckets;
+	private IntWritable bucket = new IntWritable();
+	private LongWritable edge = new LongWritable();
+
+	/**
+	* Setup method of the this CertificateMapper class.
+	* Extract the <em>certificateBuckets</em> variable, i.e. the number of buckets of this round, from the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		numBuckets = context.getConfiguration().getInt( "certificateBuckets", 1 );
+	}
+
+	/**
+	* Map method of the this CertificateMapper class.
+	* The edge, packed into a long in the form <max(u,v), min(u,v)>, is sent to a bucket chosen by its hash,
+	* so that the edges of a hub are spread over all the buckets; a lone node is sent to the bucket of its node.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		long packed = ( neighbourID.get() == -1 ) ? InitializationMapperDedup.pack( nodeID.get(), -1 ) :
+				InitializationMapperDedup.pack( Math.max( nodeID.get(), neighbourID.get() ), Math.min( nodeID.get(), neighbourID.get() ) );
+		long hash = ( neighbourID.get() == -1 ? nodeID.get() : packed ) * 0x9E3779B97F4A7C15L;
+		
+		bucket.set( (int) ( ( hash >>> 33 ) % numBuckets ) );
+		edge.set( packed );
+		context.write( bucket, edge );
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ *	@file CertificateReducer.java
+ *	@brief Reducer task of a forest round of \see CertificateDriver, that keeps the spanning forest of its bucket.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**	Reducer task of a forest round of \see CertificateDriver, that keeps the spanning forest of its bucket. */
+public class CertificateReducer extends Reducer<IntWritable, LongWritable, IntWritable, IntWritable>
+{
+	private UnionFind sets = new UnionFind( 1024 );
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this CertificateReducer class.
+	* Instantiate the MultipleOutputs used to write the edges left out of the forest.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this CertificateReducer class.
+	* The edges of the bucket are added one by one to the disjoint sets: an edge that joins two sets belongs
+	* to the spanning forest of the bucket and it is emitted, while an edge inside a set closes a cycle and it is written
+	* into the \see CertificateDriver.REST_OUTPUT_NAME named output. The lone nodes are emitted unchanged.
+	* @param bucket		identifier of the bucket.
+	* @param edges		edges of the bucket, packed into longs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable bucket, Iterable<LongWritable> edges, Context context ) throws IOException, InterruptedException
+	{
+		sets.clear();
+		for ( LongWritable edge : edges )
+		{
+			nodeID.set( (int) ( edge.get() >>> 32 ) );
+			neighbourID.set( (int) edge.get() );
+			
+			if ( neighbourID.get() == -1 || sets.union( nodeID.get(), neighbourID.get() ) )
+				context.write( nodeID, neighbourID );
+			else
+			{
+				mos.write( CertificateDriver.REST_OUTPUT_NAME, nodeID, neighbourID, CertificateDriver.REST_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_NON_FOREST_EDGES ).increment( 1 );
+			}
+		}
+	}
+
+	/**
+	* Cleanup method of the this CertificateReducer class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+}
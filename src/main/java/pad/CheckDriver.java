@@ -61,7 +61,7 @@ public class CheckDriver extends Configured implements Tool
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
 		Job job = new Job( conf, "CheckDriver" );
@@ -0,0 +1,181 @@
+/**
+ *	@file CheckpointManifest.java
+ *	@brief Small set of key/value pairs stored on hdfs, used to resume an interrupted \see ConnectedComponents run.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Small set of key/value pairs stored on hdfs, used to resume an interrupted \see ConnectedComponents run.
+ * The manifest is written into a temporary file, ended by \see END_MARKER, that then replaces the manifest;
+ * since the replacement is not atomic on hdfs, \see load prefers a complete temporary file, so a crash
+ * during the save leaves either the previous manifest or the new one.
+ */
+public class CheckpointManifest
+{
+	/** Last line of a completely written manifest */
+	public static final String END_MARKER = "#end";
+	
+	private final FileSystem fs;
+	private final Path path;
+	private final Properties properties = new Properties();
+
+	/**
+	* Initializes a new instance of the CheckpointManifest class.
+	* @param fs		file system where the manifest is stored.
+	* @param path	path of the manifest file.
+	*/
+	public CheckpointManifest( FileSystem fs, Path path )
+	{
+		this.fs = fs;
+		this.path = path;
+	}
+
+	/**
+	* Read the manifest from hdfs.
+	* A complete temporary file is newer than the manifest: the save has been interrupted before replacing it.
+	* @return 	<c>true</c> if the manifest has been found, <c>false</c> otherwise.
+	* @throws IOException
+	*/
+	public boolean load() throws IOException
+	{
+		this.properties.clear();
+		return ( read( this.path.suffix( ".tmp" ), true ) || read( this.path, false ) );
+	}
+	
+	/**
+	* Read a manifest file, if it exists and it has been completely written.
+	* @param file		path of the file.
+	* @param checkEnd	if <c>true</c> the file is read only if it ends with \see END_MARKER; the manifest is always
+	* 					complete, since it is only written by renaming a complete temporary file.
+	* @return 			<c>true</c> if the file has been read, <c>false</c> otherwise.
+	* @throws IOException
+	*/
+	private boolean read( Path file, boolean checkEnd ) throws IOException
+	{
+		if ( !this.fs.exists( file ) )
+			return false;
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		InputStream in = this.fs.open( file );
+		try
+		{
+			byte[] buffer = new byte[4096];
+			for ( int n = in.read( buffer ); n > 0; n = in.read( buffer ) )
+				bytes.write( buffer, 0, n );
+		}
+		finally
+		{
+			in.close();
+		}
+		
+		String text = bytes.toString( "ISO-8859-1" );
+		if ( checkEnd && !text.trim().endsWith( END_MARKER ) )
+			return false;
+		this.properties.load( new ByteArrayInputStream( bytes.toByteArray() ) );
+		return true;
+	}
+
+	/**
+	* Write the manifest on hdfs.
+	* @throws IOException
+	*/
+	public void save() throws IOException
+	{
+		Path tmp = this.path.suffix( ".tmp" );
+		OutputStream out = this.fs.create( tmp, true );
+		try
+		{
+			this.properties.store( out, "ConnectedComponents checkpoint" );
+			out.write( ( END_MARKER + "\n" ).getBytes( "ISO-8859-1" ) );
+		}
+		finally
+		{
+			out.close();
+		}
+		this.fs.delete( this.path, false );
+		this.fs.rename( tmp, this.path );
+	}
+
+	/**
+	* Remove the manifest from hdfs.
+	* @throws IOException
+	*/
+	public void delete() throws IOException
+	{
+		this.fs.delete( this.path.suffix( ".tmp" ), false );
+		this.fs.delete( this.path, false );
+		this.properties.clear();
+	}
+
+	/**
+	* Return the value of a key.
+	* @param key	the key.
+	* @return 		the value, <c>null</c> if the key is not present.
+	*/
+	public String get( String key )
+	{
+		return this.properties.getProperty( key );
+	}
+
+	/**
+	* Set the value of a key; a <c>null</c> value removes the key.
+	* @param key	the key.
+	* @param value	the value.
+	*/
+	public void set( String key, String value )
+	{
+		if ( value == null )
+			this.properties.remove( key );
+		else
+			this.properties.setProperty( key, value );
+	}
+
+	/**
+	* Return the value of a key as a long.
+	* @param key			the key.
+	* @param defaultValue	value returned if the key is not present.
+	* @return 				the value.
+	*/
+	public long getLong( String key, long defaultValue )
+	{
+		String value = this.properties.getProperty( key );
+		return ( value == null ) ? defaultValue : Long.parseLong( value );
+	}
+
+	/**
+	* Set the value of a key as a long.
+	* @param key	the key.
+	* @param value	the value.
+	*/
+	public void setLong( String key, long value )
+	{
+		this.properties.setProperty( key, Long.toString( value ) );
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ *	@file ClusterIndex.java
+ *	@brief Memory-mapped index from the nodes to the labels of their clusters.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped index from the nodes to the labels of their clusters, written by \see ClusterIndexDriver into a local folder.
+ * Each run writes a new version folder inside it, and the <em>CURRENT</em> file holds the name of the version to read.
+ * The index is split into shards, the shard of a node is given by \see getShard; each shard is a file of <NodeID, Label>
+ * records of two big-endian integers, sorted by NodeID, so a lookup is a binary search over the mapped file.
+ * The files are mapped read-only: the index is off-heap, it is shared by the processes that open it through the page cache,
+ * the queries do not allocate any object and they can be run by many threads at the same time.
+ * A shard holds at most 2^28 nodes, i.e. 2 GB, the nodes of bigger graphs are spread over more Reducers.
+ */
+public class ClusterIndex
+{
+	/** Prefix of the names of the shard files */
+	public static final String SHARD_PREFIX = "shard-";
+	/** Bytes of a <NodeID, Label> record */
+	public static final int RECORD_SIZE = 8;
+	/** Name of the file that holds the name of the current version folder */
+	public static final String CURRENT_FILE_NAME = "CURRENT";
+	/** Prefix of the names of the version folders, followed by the number of the version */
+	public static final String VERSION_PREFIX = "version-";
+	
+	private final MappedByteBuffer[] shards;
+	private long numNodes;
+	
+	/**
+	* Map all the shards of the current version of an index folder, \see getCurrentVersion.
+	* The mapping stays valid when a newer version replaces it, open the index again to read the latest run.
+	* @param index	local folder of the index.
+	* @throws IOException if the folder has no shards or a shard is corrupted.
+	*/
+	public ClusterIndex( File index ) throws IOException
+	{
+		File folder = getCurrentVersion( index );
+		File[] files = folder.listFiles();
+		if ( files == null )
+			throw new IOException( "Index folder " + folder + " not found." );
+		String[] names = new String[files.length];
+		int numShards = 0;
+		for ( File file : files )
+			if ( file.getName().startsWith( SHARD_PREFIX ) )
+				names[numShards++] = file.getName();
+		if ( numShards == 0 )
+			throw new IOException( "Index folder " + folder + " has no shards." );
+		names = Arrays.copyOf( names, numShards );
+		// The shards are numbered like the Reducers that wrote them.
+		Arrays.sort( names );
+		
+		this.shards = new MappedByteBuffer[numShards];
+		for ( int i = 0; i < numShards; i++ )
+		{
+			RandomAccessFile file = new RandomAccessFile( new File( folder, names[i] ), "r" );
+			try
+			{
+				long size = file.length();
+				if ( size % RECORD_SIZE != 0 || size > Integer.MAX_VALUE )
+					throw new IOException( "Shard " + names[i] + " of the index folder " + folder + " is corrupted." );
+				this.shards[i] = file.getChannel().map( FileChannel.MapMode.READ_ONLY, 0, size );
+				this.numNodes += size / RECORD_SIZE;
+			}
+			finally
+			{
+				// The mapping does not need the file to stay open.
+				file.close();
+			}
+		}
+	}
+	
+	/**
+	* Return the folder of the current version of an index, named by its <em>CURRENT</em> file;
+	* an index folder without it holds the shards directly.
+	* @param index	local folder of the index.
+	* @return 		folder of the shards.
+	* @throws IOException
+	*/
+	public static File getCurrentVersion( File index ) throws IOException
+	{
+		File current = new File( index, CURRENT_FILE_NAME );
+		if ( !current.exists() )
+			return index;
+		
+		// The file is replaced, never rewritten, so it is read whole either before or after a new version.
+		return new File( index, new String( Files.readAllBytes( current.toPath() ), "UTF-8" ).trim() );
+	}
+	
+	/**
+	* Return the shard where a node is stored.
+	* @param node		identifier of the node, not negative.
+	* @param numShards	number of shards of the index.
+	* @return 			shard of the node.
+	*/
+	public static int getShard( int node, int numShards )
+	{
+		return node % numShards;
+	}
+	
+	/**
+	* Return the label of the cluster of a node, i.e. its smallest node.
+	* @param node	identifier of the node.
+	* @return 		label of the cluster, minus one if the node is not in the index.
+	*/
+	public int getLabel( int node )
+	{
+		if ( node < 0 )
+			return -1;
+		
+		// Absolute reads, so the buffer position is never changed.
+		MappedByteBuffer shard = this.shards[getShard( node, this.shards.length )];
+		int low = 0, high = shard.capacity() / RECORD_SIZE - 1;
+		while ( low <= high )
+		{
+			int mid = ( low + high ) >>> 1;
+			int midNode = shard.getInt( mid * RECORD_SIZE );
+			if ( midNode < node )
+				low = mid + 1;
+			else if ( midNode > node )
+				high = mid - 1;
+			else
+				return shard.getInt( mid * RECORD_SIZE + 4 );
+		}
+		return -1;
+	}
+	
+	/**
+	* Write the labels of the clusters of a batch of nodes into an array given by the caller, so it can be reused.
+	* @param nodes		identifiers of the nodes.
+	* @param labels		array of at least <em>nodes.length</em> elements, where the labels are written,
+	* 					minus one for the nodes that are not in the index.
+	*/
+	public void getLabels( int[] nodes, int[] labels )
+	{
+		for ( int i = 0; i < nodes.length; i++ )
+			labels[i] = getLabel( nodes[i] );
+	}
+	
+	/**
+	* Check if two nodes belong to the same cluster.
+	* @param u	identifier of the first node.
+	* @param v	identifier of the second node.
+	* @return 	<c>true</c> if both nodes are in the index, with the same label; <c>false</c> otherwise.
+	*/
+	public boolean isSameComponent( int u, int v )
+	{
+		int label = getLabel( u );
+		return ( label != -1 && label == getLabel( v ) );
+	}
+	
+	/**
+	* Return the number of nodes of the index.
+	* @return 	number of nodes.
+	*/
+	public long getNumNodes()
+	{
+		return this.numNodes;
+	}
+	
+	/**
+	* Return the number of shards of the index.
+	* @return 	number of shards.
+	*/
+	public int getNumShards()
+	{
+		return this.shards.length;
+	}
+}
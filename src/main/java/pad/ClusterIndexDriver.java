@@ -0,0 +1,247 @@
+/**
+ *	@file ClusterIndexDriver.java
+ *	@brief Driver of the Job that writes the memory-mapped \see ClusterIndex of the final clusters.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Job that writes the memory-mapped \see ClusterIndex of the final clusters.
+ * The \see ClusterIndexMapper emits a <NodeID, Label> pair for each node, the \see ClusterIndexPartitioner sends it
+ * to the Reducer of its shard and the sort of the shuffle orders each shard by NodeID, so the identity Reducer is enough.
+ * Then the shards are copied from HDFS into a local folder, as files of fixed size records that can be mapped in memory:
+ * each run writes a new version folder inside the index folder, then the <em>CURRENT</em> file naming it is replaced
+ * with an atomic move, so the services open either the old version or the new one, never a partial one.
+ * The previous version is kept for the services that have just read the old <em>CURRENT</em> file, the older ones are deleted.
+ */
+public class ClusterIndexDriver extends Configured implements Tool
+{
+	private final Path clusters;
+	private final File index;
+	private final boolean verbose;
+	private long numNodes;
+	private int numShards;
+	
+	/**
+	* Initializes a new instance of the ClusterIndexDriver class.
+	* @param clusters	path of the clusters folder, result of \see TerminationDriver Job.
+	* @param index		local folder of the index.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public ClusterIndexDriver( Path clusters, File index, boolean verbose )
+	{
+		this.clusters = clusters;
+		this.index = index;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the ClusterIndexDriver Job and copy its shards into the local folder.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the ClusterIndexDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.clusters.suffix( "_index" );
+		fs.delete( work, true );
+		
+		Job job = new Job( conf, "ClusterIndexDriver" );
+		job.setJarByClass( ClusterIndexDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( ClusterIndexMapper.class );
+		job.setPartitionerClass( ClusterIndexPartitioner.class );
+		job.setReducerClass( Reducer.class );
+		
+		JobSizing sizing = JobSizing.of( new Path[] { this.clusters }, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, this.clusters );
+		FileOutputFormat.setOutputPath( job, work );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+			return 1;
+		
+		this.index.mkdirs();
+		File previous = ClusterIndex.getCurrentVersion( this.index );
+		File next = new File( this.index, ClusterIndex.VERSION_PREFIX + nextVersion( this.index ) );
+		next.mkdirs();
+		try
+		{
+			this.numNodes = 0;
+			this.numShards = 0;
+			IntWritable nodeID = new IntWritable(), label = new IntWritable();
+			for ( FileStatus fileStatus : fs.listStatus( work ) )
+			{
+				String name = fileStatus.getPath().getName();
+				if ( !name.startsWith( "part" ) )
+					continue;
+				
+				// Each Reducer writes a file, also when it is empty, so the shards are numbered like the Reducers.
+				int shard = Integer.parseInt( name.substring( name.lastIndexOf( '-' ) + 1 ) );
+				long size = 0;
+				DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( new File( next, String.format( "%s%05d", ClusterIndex.SHARD_PREFIX, shard ) ) ) ) );
+				SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+				try
+				{
+					while ( reader.next( nodeID, label ) )
+					{
+						out.writeInt( nodeID.get() );
+						out.writeInt( label.get() );
+						size++;
+					}
+				}
+				finally
+				{
+					reader.close();
+					out.close();
+				}
+				if ( size > Integer.MAX_VALUE / ClusterIndex.RECORD_SIZE )
+					throw new IOException( "Shard " + shard + " has " + size + " nodes, the Job needs more Reducers." );
+				this.numNodes += size;
+				this.numShards++;
+			}
+			
+			
+			File pointer = new File( this.index, ClusterIndex.CURRENT_FILE_NAME + ".tmp" );
+			Files.write( pointer.toPath(), next.getName().getBytes( "UTF-8" ) );
+			Files.move( pointer.toPath(), new File( this.index, ClusterIndex.CURRENT_FILE_NAME ).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+		}
+		catch ( IOException e )
+		{
+			System.out.println( "ClusterIndexDriver: " + e.getMessage() );
+			delete( next );
+			return 1;
+		}
+		finally
+		{
+			fs.delete( work, true );
+		}
+		
+		// Delete the versions older than the previous one; the shards written directly into the index folder
+		// are an older layout of the index, deleted once they are not the previous version anymore.
+		for ( File file : this.index.listFiles() )
+			if ( file.isDirectory() ? file.getName().startsWith( ClusterIndex.VERSION_PREFIX ) && !file.equals( next ) && !file.equals( previous )
+					: file.getName().startsWith( ClusterIndex.SHARD_PREFIX ) && !previous.equals( this.index ) )
+				delete( file );
+		return 0;
+	}
+	
+	/**
+	 * Return the number of the next version of an index, one more than the highest version folder.
+	 * @param index		local folder of the index.
+	 * @return 			number of the version.
+	 */
+	private static long nextVersion( File index )
+	{
+		long version = 0;
+		for ( File file : index.listFiles() )
+			if ( file.isDirectory() && file.getName().startsWith( ClusterIndex.VERSION_PREFIX ) )
+				version = Math.max( version, Long.parseLong( file.getName().substring( ClusterIndex.VERSION_PREFIX.length() ) ) + 1 );
+		return version;
+	}
+	
+	/**
+	 * Delete a local version folder and its files, or a local file.
+	 * @param folder	local folder or file.
+	 */
+	private static void delete( File folder )
+	{
+		File[] files = folder.listFiles();
+		if ( files != null )
+			for ( File file : files )
+				file.delete();
+		folder.delete();
+	}
+	
+	/**
+	 * Return the number of nodes written into the index.
+	 * @return 	number of nodes.
+	 */
+	public long getNumNodes()
+	{
+		return this.numNodes;
+	}
+	
+	/**
+	 * Return the number of shards of the index.
+	 * @return 	number of shards.
+	 */
+	public int getNumShards()
+	{
+		return this.numShards;
+	}
+	
+	/**
+	 * Main of the \see ClusterIndexDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 2 )
+		{
+			System.out.println( "Usage: ClusterIndexDriver <clusters> <localIndex>" );
+			System.exit(1);
+		}
+		
+		Path clusters = new Path( args[0] );
+		File index = new File( args[1] );
+		System.out.println( "Start ClusterIndexDriver." );
+		ClusterIndexDriver indexer = new ClusterIndexDriver( clusters, index, true );
+		if ( indexer.run( null ) != 0 )
+			System.exit( 1 );
+		System.out.println( "End ClusterIndexDriver." );
+		
+		System.out.println( "Number of indexed nodes: " + indexer.getNumNodes() + " in " + indexer.getNumShards() + " shards" );
+		System.exit( 0 );
+	}
+}
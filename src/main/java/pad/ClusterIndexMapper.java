@@ -0,0 +1,58 @@
+/**
+ *	@file ClusterIndexMapper.java
+ *	@brief Mapper task of the \see ClusterIndexDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the \see ClusterIndexDriver Job. */
+public class ClusterIndexMapper extends Mapper<ClusterWritable, NullWritable, IntWritable, IntWritable> 
+{
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable label = new IntWritable();
+	
+	/**
+	* Map method of the this ClusterIndexMapper class.
+	* The label of a cluster is its smallest node, so it does not depend on the order of the nodes;
+	* for each node of the cluster, we emit <NodeID, Label>.
+	* @param cluster	the cluster.
+	* @param _			not used.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ClusterWritable cluster, NullWritable _, Context context ) throws IOException, InterruptedException 
+	{
+		int min = Integer.MAX_VALUE;
+		for ( Integer node : cluster )
+			min = Math.min( min, node );
+		label.set( min );
+		
+		for ( Integer node : cluster )
+		{
+			nodeID.set( node );
+			context.write( nodeID, label );
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ *	@file ClusterIndexPartitioner.java
+ *	@brief Partitioner of the \see ClusterIndexDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Partitioner;
+
+/**	Thanks to this class, each Reducer writes the shard of the \see ClusterIndex where the queries look for its nodes. */
+public class ClusterIndexPartitioner extends Partitioner<IntWritable, IntWritable>
+{
+	/**
+	* Choose the Reducer identifier to which send the record, \see ClusterIndex.getShard.
+	* @param nodeID			key of the record, i.e. the node identifier.
+	* @param _				value of the record.
+	* @param numPartitions	number of Reducer used.
+	* @return 				Reducer identifier to which send this record.
+	*/
+	public int getPartition( IntWritable nodeID, IntWritable _, int numPartitions )
+	{
+		return ClusterIndex.getShard( nodeID.get(), numPartitions );
+	}
+}
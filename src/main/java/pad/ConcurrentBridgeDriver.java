@@ -0,0 +1,293 @@
+/**
+ *	@file ConcurrentBridgeDriver.java
+ *	@brief Driver that tests the candidate edges with a bounded number of concurrent removal experiments.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Driver that tests the candidate edges with a bounded number of concurrent removal experiments.
+ * Each experiment removes one edge with \see EdgeRemover and looks if its end nodes are still connected
+ * with \see ReachabilityDriver, in its own work folder and with its own counters; the experiments run on
+ * a pool of <em>numConcurrent</em> threads, so as many small Jobs are submitted to the cluster at the same time.
+ * When the BFS stops at its limits the edge is tested by the Star Jobs of a single experiment, \see ExperimentBridgeDriver.testBatch.
+ * All the experiments test the same edges list, together with the certain folder, i.e. the stars of the cliques
+ * and the edges lying on a triangle: this gives the same result of the loop of \see ConnectedComponents,
+ * since removing a bridge never changes whether another edge is a bridge.
+ * The results are merged in the order of the edge identifiers, \see EdgeIndex, and at most twice
+ * <em>numConcurrent</em> experiments wait to be merged, so the bridges file is written in edge order.
+ * When an experiment fails, the Jobs of the others are killed through a \see JobGroup.
+ * Finally the map-only Job of \see SketchBridgeMapper removes the bridges from the edges list.
+ */
+public class ConcurrentBridgeDriver extends Configured implements Tool
+{
+	/** Name of the file, inside the bridges folder, where the bridges are written */
+	public static final String BRIDGES_FILE_NAME = "concurrent-bridges";
+	
+	private final Path edges, certain, output, bridges;
+	private final int numConcurrent;
+	private final boolean verbose;
+	private long numBridges, numTestedEdges, numReachabilityRounds;
+	private JobGroup group;
+	
+	/**
+	* Initializes a new instance of the ConcurrentBridgeDriver class.
+	* @param edges			path of the edges list folder, result of \see InitializationDriver Job.
+	* @param certain		path of the edges that are never bridges, \see InitializationDriver.getCliquesOutput, <c>null</c> if there are none.
+	* @param output			path of the output folder, where the edges list without the bridges is written.
+	* @param bridges		path of the folder where the bridges are written.
+	* @param numConcurrent	maximum number of experiments in flight.
+	* @param verbose		if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public ConcurrentBridgeDriver( Path edges, Path certain, Path output, Path bridges, int numConcurrent, boolean verbose )
+	{
+		this.edges = edges;
+		this.certain = certain;
+		this.output = output;
+		this.bridges = bridges;
+		this.numConcurrent = numConcurrent;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Run the experiments, merge their results and execute the ConcurrentBridgeDriver Job.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if an experiment or the ConcurrentBridgeDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.output.suffix( "_concurrent" );
+		fs.delete( work, true );
+		
+		// The index is built before the experiments, so they do not build it at the same time.
+		if ( !EdgeIndex.exists( this.edges, conf ) && ToolRunner.run( conf, new EdgeIndexDriver( this.edges, this.verbose ), null ) != 0 )
+			return 1;
+		long numCandidates = new EdgeIndex( this.edges, conf ).getNumEdges();
+		
+		fs.mkdirs( this.bridges );
+		Path file = new Path( this.bridges, BRIDGES_FILE_NAME );
+		SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, file, IntWritable.class, IntWritable.class );
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		ExecutorService executor = Executors.newFixedThreadPool( this.numConcurrent );
+		ArrayDeque<Future<EdgeExperiment>> pending = new ArrayDeque<Future<EdgeExperiment>>();
+		this.group = new JobGroup();
+		this.numBridges = 0;
+		boolean completed = false;
+		try
+		{
+			long next = 0;
+			while ( next < numCandidates || !pending.isEmpty() )
+			{
+				// Keep the pool busy, but do not run too far ahead of the first experiment still to merge.
+				for ( ; next < numCandidates && pending.size() < 2 * this.numConcurrent; next++ )
+					pending.add( executor.submit( new EdgeExperiment( conf, fs, next, new Path( work, "edge" + next ) ) ) );
+				
+				EdgeExperiment experiment;
+				try
+				{
+					experiment = pending.poll().get();
+				}
+				catch ( ExecutionException e )
+				{
+					System.out.println( "ConcurrentBridgeDriver: " + e.getCause().getMessage() );
+					return 1;
+				}
+				
+				if ( experiment.bridge )
+				{
+					nodeID.set( experiment.nodeU );
+					neighbourID.set( experiment.nodeV );
+					writer.append( nodeID, neighbourID );
+					this.numBridges++;
+				}
+				this.numReachabilityRounds += experiment.numRounds;
+				this.numTestedEdges++;
+				if ( this.verbose )
+					System.out.println( "Edge " + experiment.edgeNumber + ( experiment.bridge ? " is a bridge." : " lies on a cycle." ) );
+			}
+			completed = true;
+		}
+		finally
+		{
+			// Interrupting the threads does not stop their Jobs: kill them, and wait for the threads before deleting their folders.
+			if ( !completed )
+				this.group.killAll();
+			executor.shutdownNow();
+			executor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+			writer.close();
+			fs.delete( work, true );
+		}
+		
+		return SketchBridgeDriver.removeBridges( conf, this.edges, file, this.output, "ConcurrentBridgeDriver", this.verbose ) ? 0 : 1;
+	}
+	
+	/** Removal experiment of a single edge, run by a thread of the pool. */
+	private class EdgeExperiment implements Callable<EdgeExperiment>
+	{
+		private final Configuration conf;
+		private final FileSystem fs;
+		private final long edgeNumber;
+		private final Path work;
+		private int nodeU = -1, nodeV = -1;
+		private boolean bridge;
+		private long numRounds;
+		
+		/**
+		* Initializes a new instance of the EdgeExperiment class.
+		* @param conf		configuration of the Driver, with the generic options parsed.
+		* @param fs			file system of the work folder.
+		* @param edgeNumber	global identifier of the edge to test.
+		* @param work		path of the work folder of this experiment.
+		*/
+		public EdgeExperiment( Configuration conf, FileSystem fs, long edgeNumber, Path work )
+		{
+			// A copy for each experiment, since ToolRunner sets some keys into the configuration it is given and the experiments run in parallel.
+			this.conf = new Configuration( conf );
+			this.fs = fs;
+			this.edgeNumber = edgeNumber;
+			this.work = work;
+		}
+		
+		/**
+		 * Remove the edge and look if its end nodes are still connected.
+		 * @return 			this experiment, with its result.
+		 * @throws Exception
+		 */
+		public EdgeExperiment call() throws Exception
+		{
+			Path removed = new Path( this.work, "removed" );
+			EdgeRemover remover = new EdgeRemover( edges, removed, this.edgeNumber, false );
+			remover.setJobGroup( group );
+			if ( ToolRunner.run( this.conf, remover, null ) != 0 )
+				throw new IOException( "the removal of edge " + this.edgeNumber + " failed" );
+			this.nodeU = remover.getRemovedNodeID();
+			this.nodeV = remover.getRemovedNeighbourID();
+			
+			if ( this.nodeU != -1 )
+			{
+				Path[] inputs = ( certain != null ) ? new Path[] { removed, certain } : new Path[] { removed };
+				ReachabilityDriver reach = new ReachabilityDriver( inputs, new Path( this.work, "reach" ), this.nodeU, this.nodeV, this.edgeNumber, false );
+				reach.setJobGroup( group );
+				if ( ToolRunner.run( this.conf, reach, null ) != 0 )
+					throw new IOException( "the reachability test of edge " + this.edgeNumber + " failed" );
+				this.bridge = !reach.isConnected();
+				this.numRounds = reach.getNumRounds();
+				
+				// The BFS stopped at a limit: compute the clusters of the edges list without the edge, as a batch of one experiment.
+				if ( !reach.isDecided() )
+				{
+					ExperimentBridgeDriver experiment = new ExperimentBridgeDriver( edges, certain, null, null, 1, false );
+					experiment.setJobGroup( group );
+					EdgeArray found = experiment.testBatch( this.conf, this.fs, new Path( this.work, "experiment" ), this.edgeNumber, 1 );
+					if ( found == null )
+						throw new IOException( "the experiment of edge " + this.edgeNumber + " failed" );
+					this.bridge = ( found.getNumEdges() > 0 );
+				}
+			}
+			
+			this.fs.delete( this.work, true );
+			return this;
+		}
+	}
+	
+	/**
+	 * Return the number of bridges found.
+	 * @return 	number of bridges.
+	 */
+	public long getNumBridges()
+	{
+		return this.numBridges;
+	}
+	
+	/**
+	 * Return the number of edges tested, i.e. the edges of the edges list.
+	 * @return 	number of tested edges.
+	 */
+	public long getNumTestedEdges()
+	{
+		return this.numTestedEdges;
+	}
+	
+	/**
+	 * Return the number of reachability rounds executed by all the experiments.
+	 * @return 	number of reachability rounds.
+	 */
+	public long getNumReachabilityRounds()
+	{
+		return this.numReachabilityRounds;
+	}
+	
+	/**
+	 * Main of the \see ConcurrentBridgeDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 4 && args.length != 5 )
+		{
+			System.out.println( "Usage: ConcurrentBridgeDriver <input> <output> <bridges> <numConcurrent> [<certain>]" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path bridges = new Path( args[2] );
+		int numConcurrent = Integer.parseInt( args[3] );
+		Path certain = ( args.length == 5 ) ? new Path( args[4] ) : null;
+		System.out.println( "Start ConcurrentBridgeDriver." );
+		ConcurrentBridgeDriver concurrent = new ConcurrentBridgeDriver( input, certain, output, bridges, numConcurrent, true );
+		if ( concurrent.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End ConcurrentBridgeDriver." );
+		
+		System.out.println( "Number of tested edges: " + concurrent.getNumTestedEdges() );
+		System.out.println( "Number of reachability rounds: " + concurrent.getNumReachabilityRounds() );
+		System.out.println( "Number of bridges: " + concurrent.getNumBridges() );
+		System.exit( 0 );
+	}
+}
@@ -21,24 +21,49 @@
  
 package pad;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.ToolRunner;
 
 import pad.InitializationDriver.InputType;
+import pad.NodeRelabeling.LabelOrder;
 import pad.StarDriver.StarDriverType;
 
 /**	This class orchestrates all the driver jobs in order to get a file with the recognized clusters of the input graph. */
 public class ConnectedComponents
 {
 	private static final int MAX_ITERATIONS = 30;
+	/** Default ratio between the changes of two consecutive Star rounds above which a pointer jumping round is run */
+	public static final float DEFAULT_SHORTCUT_DECAY = 0.5f;
+	/** Default ratio between the changes of a Star round and its edges below which the labels are propagated by \see DeltaDriver */
+	public static final float DEFAULT_DELTA_THRESHOLD = 0.01f;
+	/** Stage of the checkpoint saved after the Edge Removal of an iteration */
+	private static final String STAGE_REMOVED = "REMOVED";
+	/** Stage of the checkpoint saved after the Termination of an iteration */
+	private static final String STAGE_TERMINATED = "TERMINATED";
 	private final Path input, output;
 	private final FileSystem fs;
+	private final boolean resume;
+	private final long timeBudget;
 	private InputType type;
+	private LabelOrder labelOrder = LabelOrder.NONE;
 	private long numCliques, numInitialNodes, numNodes, numClusters, numOfEdges;
-	private boolean testOk;
+	private long numStarRounds, numShortcutRounds, numDeltaRounds;
+	private long numSearchHits, numSearchMisses, numReachabilityRounds;
+	private boolean testOk, completed, shortcut, delta, sketch, dynamic, resident;
+	private final Configuration conf;
+	private Path done, stars;
+	private File clusterIndex;
+	private int maxReset, numExperiments, numConcurrent;
+	private final HashSet<Integer> reset = new HashSet<Integer>();
 	
 	/**
 	* Initializes a new instance of the ConnectedComponents class.
@@ -47,9 +72,25 @@ public class ConnectedComponents
 	*/
 	public ConnectedComponents( Path input, Path output ) throws IOException
 	{		
+		this( new Configuration(), input, output, false, 0 );
+	}
+	
+	/**
+	* Initializes a new instance of the ConnectedComponents class.
+	* @param conf			configuration given to every Driver, with the generic options of the command line.
+	* @param input			path of the input graph stored on hdfs.
+	* @param output			path of the output folder.
+	* @param resume			if true, restart from the checkpoint left by a previous interrupted run.
+	* @param timeBudget		milliseconds after which the run stops at the end of the current iteration, 0 for no limit.
+	*/
+	public ConnectedComponents( Configuration conf, Path input, Path output, boolean resume, long timeBudget ) throws IOException
+	{		
+		this.conf = conf;
 		this.input =  input;
 		this.output =  output;
-		this.fs = FileSystem.get( new Configuration() );
+		this.resume = resume;
+		this.timeBudget = timeBudget;
+		this.fs = FileSystem.get( conf );
 	}
 	
 	/**
@@ -75,68 +116,342 @@ public class ConnectedComponents
 		long prev = 0;
 		long edgeNumber = 0;
 		long preCC = 0;
-		TerminationDriver term;
-		// Run initialization in order to transform the adjacency list or cliques list into a edges list <nodeID, neighborID>.
-		InitializationDriver init = new InitializationDriver( this.input, this.input.suffix( "__0" ), false );
-		if ( init.run( null ) != 0 )
+		long numEdges;
+		Path cliques = null;
+		NodeRelabeling relabeling = null;
+		long deadline = ( this.timeBudget > 0 ) ? System.currentTimeMillis() + this.timeBudget : Long.MAX_VALUE;
+		// The manifest is saved after each stage, so that an interrupted run can restart from the last completed one.
+		CheckpointManifest manifest = new CheckpointManifest( this.fs, this.output.suffix( "_manifest" ) );
+		if ( this.resume && manifest.load() )
 		{
-			this.fs.delete( this.input.suffix( "___0" ), true );
-			return false;
+			prev = manifest.getLong( "prev", 0 );
+			last = manifest.getLong( "last", 0 );
+			edgeNumber = manifest.getLong( "edgeNumber", 0 );
+			preCC = manifest.getLong( "preCC", 0 );
+			this.numOfEdges = manifest.getLong( "numOfEdges", 0 );
+			numEdges = manifest.getLong( "numEdges", 0 );
+			cliques = ( manifest.get( "cliques" ) != null ) ? new Path( manifest.get( "cliques" ) ) : null;
+			this.type = InputType.valueOf( manifest.get( "inputType" ) );
+			this.numCliques = manifest.getLong( "numCliques", 0 );
+			this.numInitialNodes = manifest.getLong( "numInitialNodes", 0 );
+			if ( manifest.get( "labelOrder" ) != null )
+				relabeling = new NodeRelabeling( LabelOrder.valueOf( manifest.get( "labelOrder" ) ), (int) manifest.getLong( "labelSeed", 0 ),
+						( manifest.get( "labelTable" ) != null ) ? new Path( manifest.get( "labelTable" ) ) : null );
+			System.out.println( "Resuming iteration " + prev + " after stage " + manifest.get( "stage" ) + ", removing edge " + edgeNumber );
+		}
+		else
+		{
+			// Nothing to resume: remove what an interrupted initialization may have left.
+			if ( this.resume )
+				this.fs.delete( this.input.suffix( "__0" ), true );
+			
+			// Run initialization in order to transform the adjacency list or cliques list into a edges list <nodeID, neighborID>.
+			// The cliques with three or more nodes are written as stars into a separate folder:
+			// they join every connectivity computation, but none of their edges is a removal candidate.
+			// Each edge is written only one time, so that it is tested only one time.
+			InitializationDriver init = new InitializationDriver( this.input, this.input.suffix( "__0" ), true, true, false );
+			if ( ToolRunner.run( this.conf, init, null ) != 0 )
+			{
+				this.fs.delete( this.input.suffix( "___0" ), true );
+				return false;
+			}
+			cliques = init.getCliquesOutput();
+			this.numOfEdges = init.getNumIndexedEdges() + 1;
+			numEdges = init.getNumEdges();
+			this.type = init.getInputType();
+			this.numCliques = init.getNumCliques();
+			this.numInitialNodes = init.getNumInitialNodes();
+			System.out.println("Duplicated edges removed " + init.getNumDuplicateEdges());
+			
+			// Until the first checkpoint the run cannot be resumed: a failure removes the stars of the cliques too.
+			boolean initialized = false;
+			try
+			{
+				// The edges of the nodes with only one neighbour are bridges: peel them, so that only the 2-core goes through the edge removal.
+				// The bridges found before the loop are written into the same folder, whatever pass finds them.
+				this.fs.delete( this.output.suffix( "_bridges" ), true );
+				if ( this.conf.getBoolean( "leafStrip", false ) )
+				{
+					this.fs.delete( this.input.suffix( "__0_core" ), true );
+					LeafStripDriver strip = new LeafStripDriver( this.input.suffix( "__0" ), cliques, this.input.suffix( "__0_core" ), this.output.suffix( "_bridges" ), false );
+					if ( ToolRunner.run( this.conf, strip, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_core" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_core" ), this.input.suffix( "__0" ) );
+					this.numOfEdges -= strip.getNumBridges();
+					numEdges -= strip.getNumBridges();
+					System.out.println("Bridges peeled " + strip.getNumBridges() + " in " + strip.getNumRounds() + " rounds");
+				}
+			
+				// The union of two edge-disjoint spanning forests has the same bridges of the graph, with at most 2(n-1) edges.
+				// The dynamic connectivity index needs it, since its deletions cost up to O(m log n), \see DynamicConnectivity.
+				if ( this.conf.getBoolean( "sparseCertificate", false ) || this.dynamic )
+				{
+					this.fs.delete( this.input.suffix( "__0_certificate" ), true );
+					CertificateDriver certificate = new CertificateDriver( this.input.suffix( "__0" ), this.input.suffix( "__0_certificate" ), false );
+					if ( ToolRunner.run( this.conf, certificate, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_certificate" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_certificate" ), this.input.suffix( "__0" ) );
+					this.numOfEdges -= certificate.getNumDroppedEdges();
+					numEdges -= certificate.getNumDroppedEdges();
+					System.out.println("Edges dropped by the sparse certificate " + certificate.getNumDroppedEdges());
+				}
+			
+				// The edges lying on a triangle are never bridges: like the stars of the cliques,
+				// they join every connectivity computation but they are not removal candidates.
+				if ( this.conf.getBoolean( "triangleFilter", false ) )
+				{
+					if ( cliques == null )
+					{
+						cliques = this.input.suffix( "__0_" + InitializationDriver.CLIQUES_OUTPUT_NAME );
+						this.fs.delete( cliques, true );
+					}
+					this.fs.delete( this.input.suffix( "__0_open" ), true );
+					TriangleDriver triangle = new TriangleDriver( this.input.suffix( "__0" ), this.input.suffix( "__0_open" ), cliques, false );
+					if ( ToolRunner.run( this.conf, triangle, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_open" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_open" ), this.input.suffix( "__0" ) );
+					if ( !this.fs.exists( cliques ) )
+						cliques = null;
+					this.numOfEdges -= triangle.getNumTriangleEdges();
+					System.out.println("Edges lying on a triangle " + triangle.getNumTriangleEdges());
+				}
+			
+				// Find the bridges left with the XOR sketches of a spanning forest and remove them all at once:
+				// the loop has only to compute the clusters of what is left.
+				if ( this.sketch )
+				{
+					this.fs.delete( this.input.suffix( "__0_sketch" ), true );
+					SketchBridgeDriver sketch = new SketchBridgeDriver( this.input.suffix( "__0" ), cliques, this.input.suffix( "__0_sketch" ), this.output.suffix( "_bridges" ), false );
+					if ( ToolRunner.run( this.conf, sketch, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_sketch" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_sketch" ), this.input.suffix( "__0" ) );
+					this.numOfEdges = 0;
+					numEdges -= sketch.getNumBridges();
+					System.out.println("Bridges found by the XOR sketches " + sketch.getNumBridges() + " over " + sketch.getNumForestEdges() + " forest edges");
+				}
+				// Or test every edge in memory, deleting it from a dynamic connectivity index in place of a Connected Components Job.
+				else if ( this.dynamic )
+				{
+					this.fs.delete( this.input.suffix( "__0_dynamic" ), true );
+					DynamicBridgeDriver dynamic = new DynamicBridgeDriver( this.input.suffix( "__0" ), cliques, this.input.suffix( "__0_dynamic" ), this.output.suffix( "_bridges" ), false );
+					if ( ToolRunner.run( this.conf, dynamic, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_dynamic" ), true );
+						return false;
+					}
+					// When the edges do not fit in memory, the loop tests them with its Jobs as usual.
+					if ( dynamic.isSkipped() )
+						System.out.println("Edges list too large for the dynamic connectivity index, the edges are tested by the loop");
+					else
+					{
+						this.fs.delete( this.input.suffix( "__0" ), true );
+						this.fs.rename( this.input.suffix( "__0_dynamic" ), this.input.suffix( "__0" ) );
+						this.numOfEdges = 0;
+						numEdges -= dynamic.getNumBridges();
+						System.out.println("Bridges found by the dynamic connectivity index " + dynamic.getNumBridges() + " over " + dynamic.getNumTestedEdges() + " edges");
+					}
+				}
+				// Or test the edges in batches of experiments, each batch sharing the same Star Jobs.
+				else if ( this.numExperiments > 1 )
+				{
+					this.fs.delete( this.input.suffix( "__0_experiments" ), true );
+					ExperimentBridgeDriver experiments = new ExperimentBridgeDriver( this.input.suffix( "__0" ), cliques, this.input.suffix( "__0_experiments" ), this.output.suffix( "_bridges" ), this.numExperiments, false );
+					if ( ToolRunner.run( this.conf, experiments, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_experiments" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_experiments" ), this.input.suffix( "__0" ) );
+					this.numOfEdges = 0;
+					numEdges -= experiments.getNumBridges();
+					System.out.println("Bridges found by the experiments " + experiments.getNumBridges() + " over " + experiments.getNumTestedEdges() + " edges in " + experiments.getNumBatches() + " batches");
+				}
+				// Or keep several single edge removals in flight at the same time, each one tested by a reachability Job.
+				else if ( this.numConcurrent > 1 )
+				{
+					this.fs.delete( this.input.suffix( "__0_concurrent" ), true );
+					ConcurrentBridgeDriver concurrent = new ConcurrentBridgeDriver( this.input.suffix( "__0" ), cliques, this.input.suffix( "__0_concurrent" ), this.output.suffix( "_bridges" ), this.numConcurrent, false );
+					if ( ToolRunner.run( this.conf, concurrent, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "__0_concurrent" ), true );
+						return false;
+					}
+					this.fs.delete( this.input.suffix( "__0" ), true );
+					this.fs.rename( this.input.suffix( "__0_concurrent" ), this.input.suffix( "__0" ) );
+					this.numOfEdges = 0;
+					numEdges -= concurrent.getNumBridges();
+					this.numReachabilityRounds += concurrent.getNumReachabilityRounds();
+					System.out.println("Bridges found by the concurrent experiments " + concurrent.getNumBridges() + " over " + concurrent.getNumTestedEdges() + " edges");
+				}
+			
+				// Replace the node identifiers with labels that need less Star rounds; the clusters are written with the original identifiers.
+				if ( this.labelOrder != LabelOrder.NONE )
+				{
+					this.fs.delete( this.input.suffix( "_labels" ), true );
+					Path[] folders = ( cliques != null ) ? new Path[] { this.input.suffix( "__0" ), cliques } : new Path[] { this.input.suffix( "__0" ) };
+					RelabelDriver relabel = new RelabelDriver( this.labelOrder, folders, this.input.suffix( "_labels" ), false );
+					if ( ToolRunner.run( this.conf, relabel, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "_labels" ), true );
+						return false;
+					}
+					relabeling = relabel.getRelabeling();
+					manifest.set( "labelOrder", relabeling.getOrder().toString() );
+					manifest.setLong( "labelSeed", relabeling.getSeed() );
+					manifest.set( "labelTable", ( relabeling.getTable() != null ) ? relabeling.getTable().toString() : null );
+				}
+			
+				manifest.set( "cliques", ( cliques != null ) ? cliques.toString() : null );
+				manifest.set( "inputType", this.type.toString() );
+				manifest.setLong( "numCliques", this.numCliques );
+				manifest.setLong( "numInitialNodes", this.numInitialNodes );
+				manifest.setLong( "numEdges", numEdges );
+				checkpoint( manifest, STAGE_REMOVED, prev, last, edgeNumber, preCC );
+				initialized = true;
+			}
+			finally
+			{
+				if ( !initialized && cliques != null )
+					this.fs.delete( cliques, true );
+			}
 		}
-		this.numOfEdges = init.getNumEdges() + 1;
 		System.out.println("Number of Edges in the graph " + this.numOfEdges);
+		Configuration conf = this.conf;
+		// Small graphs are kept in memory between the Large-Star and Small-Star rounds.
+		this.resident = conf.getBoolean( "resident", false ) && ( numEdges <= conf.getLong( "residentMaxEdges", ResidentStarDriver.DEFAULT_MAX_EDGES ) );
+		// The converged stars are moved out of the Star rounds into this folder.
+		this.done = conf.getBoolean( "freezeStars", false ) ? this.input.suffix( "_done" ) : null;
+		// The stars of the last computation are kept, so that the next one starts from their labels, \see WarmStartDriver.
+		// The nodes to reset are not saved into the manifest, so a resumed run starts again from the edges list.
+		this.stars = conf.getBoolean( "warmStart", false ) ? this.input.suffix( "_stars" ) : null;
+		this.maxReset = conf.getInt( "warmStartMaxReset", WarmStartDriver.DEFAULT_MAX_RESET );
+		if ( this.stars != null )
+			this.fs.delete( this.stars, true );
+		// Before computing the clusters, a bounded BFS on a copy of the edges list under test looks if the end nodes
+		// of the removed edge are still connected.
+		BidirectionalSearch search = null;
+		if ( conf.getBoolean( "localSearch", false ) && numEdges <= conf.getLong( "searchMaxEdges", BidirectionalSearch.DEFAULT_MAX_EDGES ) )
+			search = new BidirectionalSearch( this.input.suffix( "__" + last ), cliques, conf );
+		int searchMaxNodes = conf.getInt( "searchMaxNodes", BidirectionalSearch.DEFAULT_MAX_NODES );
+		long searchMaxMillis = conf.getLong( "searchMaxMillis", BidirectionalSearch.DEFAULT_MAX_MILLIS );
+		// When the search is inconclusive, the connection of the end nodes is tested by a BFS Job instead of computing all the clusters.
+		boolean reachability = conf.getBoolean( "reachabilityTest", false );
+		// The iterations only count the clusters, they are written at the end for the final edges list.
+		boolean countOnly = conf.getBoolean( "countOnlyTermination", false );
+		// Last iteration whose clusters have been written, and end nodes of the edge removed for the current iteration.
+		long written = manifest.getLong( "written", -1 );
+		int removedU = (int) manifest.getLong( "removedU", -1 );
+		int removedV = (int) manifest.getLong( "removedV", -1 );
 		long start = System.currentTimeMillis();
 		do {
-			String suf = "__";	
-			StarDriver largeStar, smallStar;
-			long i = prev;
+			long numTermClusters;
+			boolean labelled = false;
 			
-			System.out.println("new iteration " + this.input.suffix( suf + i ) + "  " + this.input.suffix( "_" + (i + 1) ));
-			do
+			if ( STAGE_TERMINATED.equals( manifest.get( "stage" ) ) && manifest.getLong( "prev", 0 ) == prev )
 			{
-				largeStar = new StarDriver( StarDriverType.LARGE, this.input.suffix( suf + i ), this.input.suffix( "_" + (i+1) ), i, false );
-				if ( largeStar.run( null ) != 0 )
+				// The clusters of this iteration have already been computed by the interrupted run.
+				numTermClusters = manifest.getLong( "numClusters", 0 );
+				this.numNodes = manifest.getLong( "numNodes", 0 );
+			}
+			else
+			{
+				BidirectionalSearch.Result result = BidirectionalSearch.Result.UNKNOWN;
+				if ( search != null && prev > 0 && removedU != -1 )
+					result = search.search( removedU, removedV, searchMaxNodes, searchMaxMillis );
+				
+				if ( result == BidirectionalSearch.Result.CONNECTED )
 				{
-					this.fs.delete( this.input.suffix( "_" + i ), true );
-					this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
-					return false;
+					// The removed edge is not a bridge, the clusters do not change.
+					System.out.println("the end nodes of the removed edge are still connected");
+					numTermClusters = preCC;
+					this.numSearchHits++;
 				}
-			
-				// Delete previous output
-				if("_".compareTo(suf) == 0)
-					this.fs.delete( this.input.suffix( "_" + i ), true );
-				i++;
-			
-				smallStar = new StarDriver( StarDriverType.SMALL, this.input.suffix( "_" + i ), this.input.suffix( "_" + (i+1) ), i, false );
-				if ( smallStar.run( null ) != 0 )
+				else if ( result == BidirectionalSearch.Result.DISCONNECTED )
 				{
-					this.fs.delete( this.input.suffix( "_" + i ), true );
-					this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
-					return false;
+					// The removed edge is a bridge, its cluster is split in two.
+					System.out.println("the end nodes of the removed edge are disconnected");
+					numTermClusters = preCC + 1;
+					this.numSearchHits++;
+				}
+				else
+				{
+					if ( search != null && prev > 0 )
+						this.numSearchMisses++;
+					ReachabilityDriver reach = null;
+					if ( reachability && prev > 0 && removedU != -1 )
+					{
+						// Only the connection of the end nodes of the removed edge matters: look for it with a BFS Job from both of them.
+						Path[] reachInputs = ( cliques != null ) ?
+								new Path[] { this.input.suffix( "__" + prev ), cliques } : new Path[] { this.input.suffix( "__" + prev ) };
+						reach = new ReachabilityDriver( reachInputs, this.input.suffix( "_reach" ), removedU, removedV, prev, false );
+						if ( ToolRunner.run( this.conf, reach, null ) != 0 )
+							return false;
+						this.numReachabilityRounds += reach.getNumRounds();
+					}
+					
+					if ( reach != null && reach.isDecided() )
+					{
+						System.out.println("the end nodes of the removed edge are " + ( reach.isConnected() ? "still connected" : "disconnected" )
+								+ " after " + reach.getNumRounds() + " reachability rounds");
+						numTermClusters = reach.isConnected() ? preCC : preCC + 1;
+					}
+					else
+					{
+						if ( reach != null )
+							System.out.println("the reachability test stopped undecided after " + reach.getNumRounds() + " rounds");
+						// Only the cluster of the end nodes of the removed edge may be split.
+						if ( prev > 0 && removedU != -1 )
+						{
+							this.reset.add( removedU );
+							this.reset.add( removedV );
+						}
+						this.fs.delete( this.output.suffix( "__" + prev ), true );
+						numTermClusters = components( this.input.suffix( "__" + prev ), cliques, this.output.suffix( "__" + prev ), relabeling, prev, countOnly );
+						if ( numTermClusters < 0 )
+							return false;
+						if ( !countOnly )
+							written = prev;
+						labelled = true;
+					}
 				}
 				
-				// Delete previous output
-				this.fs.delete( this.input.suffix( "_" + i ), true );
-				suf = "_";
-				i++;
-			} while ( (largeStar.getNumChanges() + smallStar.getNumChanges() != 0) && (i < 2*MAX_ITERATIONS) );
-			System.out.println("this iteration ended");
-	
-			// Run it in order to transform the edges list <nodeID, neighborID> into sets of nodes (clusters)
-			term = new TerminationDriver( this.input.suffix( "_" + i ), this.output.suffix("__" + prev), false );
-			if ( term.run( null ) != 0 )
-			{
-				this.fs.delete( this.input.suffix( "_" + i ), true );
-				this.fs.delete( this.output, true );
-				return false;
+				manifest.setLong( "numClusters", numTermClusters );
+				manifest.setLong( "numNodes", this.numNodes );
+				manifest.setLong( "written", written );
+				checkpoint( manifest, STAGE_TERMINATED, prev, last, edgeNumber, preCC );
 			}
-			this.fs.delete(  this.input.suffix( "_" + i ), true );
-			System.out.println("**********CC " + term.getNumClusters());
-			if ( preCC < term.getNumClusters()) {
-				System.out.println("CC " + term.getNumClusters());
-				preCC = term.getNumClusters();
+			System.out.println("**********CC " + numTermClusters);
+			if ( preCC < numTermClusters) {
+				System.out.println("CC " + numTermClusters);
+				preCC = numTermClusters;
 				last = prev;
 				this.numOfEdges = this.numOfEdges - 1;
+				// The bridge stays out of the edges list under test.
+				if ( search != null && prev > 0 )
+					search.delete( removedU, removedV );
+				// The kept stars do not know that the cluster of the bridge is split.
+				if ( !labelled && prev > 0 && removedU != -1 )
+				{
+					this.reset.add( removedU );
+					this.reset.add( removedV );
+				}
 			}
 			else {	
 				edgeNumber++;
@@ -144,37 +459,366 @@ public class ConnectedComponents
 			}
 			System.out.println("removing edge " + edgeNumber);
 
-			EdgeRemover eRemover = new EdgeRemover(this.input.suffix("__" + last), this.input.suffix( "__" + (prev + 1)), edgeNumber, true); 	
-			if ( eRemover.run( null ) != 0 )
+			// After the last edge there is nothing left to remove.
+			this.fs.delete( this.input.suffix( "__" + (prev + 1) ), true );
+			if ( edgeNumber <= this.numOfEdges )
 			{
-				this.fs.delete( this.input.suffix( "___" + last ), true );
-				this.fs.delete( this.input.suffix( "___" + (prev + 1) ), true );
-				return false;
+				EdgeRemover eRemover = new EdgeRemover(this.input.suffix("__" + last), this.input.suffix( "__" + (prev + 1)), edgeNumber, true); 	
+				if ( ToolRunner.run( this.conf, eRemover, null ) != 0 )
+				{
+					this.fs.delete( this.input.suffix( "___" + last ), true );
+					this.fs.delete( this.input.suffix( "___" + (prev + 1) ), true );
+					return false;
+				}
+				removedU = eRemover.getRemovedNodeID();
+				removedV = eRemover.getRemovedNeighbourID();
 			}
 			long end = System.currentTimeMillis();
 			System.out.println("Total Time Taken by Algorithm: " + (end - start)/1000);
 			start = end;
 			System.out.println("removed " + edgeNumber);
 			prev++;
+			this.numClusters = numTermClusters;
+			manifest.setLong( "removedU", removedU );
+			manifest.setLong( "removedV", removedV );
+			checkpoint( manifest, STAGE_REMOVED, prev, last, edgeNumber, preCC );
+			
+			// Stop at the end of the iteration, the run can be continued with the resume flag.
+			if ( end >= deadline && edgeNumber <= this.numOfEdges )
+			{
+				System.out.println( "Time budget reached after iteration " + (prev - 1) + ", the run can be resumed." );
+				this.completed = false;
+				return true;
+			}
 		} while (edgeNumber <= this.numOfEdges);
-
+		
+		// Write the clusters of the final edges list, unless an iteration after its last bridge has written them already.
+		if ( written < last )
+		{
+			this.fs.delete( this.output.suffix( "__" + last ), true );
+			if ( components( this.input.suffix( "__" + last ), cliques, this.output.suffix( "__" + last ), relabeling, prev, false ) < 0 )
+				return false;
+			written = last;
+		}
+		if ( search != null )
+			System.out.println("Removed edges resolved by the bidirectional search " + this.numSearchHits + ", left to the Connected Components Jobs " + this.numSearchMisses);
 
 		// Delete last iteration
+		if ( cliques != null )
+			this.fs.delete( cliques, true );
+		this.fs.delete( this.input.suffix( "_labels" ), true );
+		if ( this.stars != null )
+			this.fs.delete( this.stars, true );
 		
-		CheckDriver check = new CheckDriver( this.output.suffix("__" + (prev - 1)), false );
-		if ( check.run( null ) != 0)
+		// Every iteration after the last bridge has the same clusters.
+		CheckDriver check = new CheckDriver( this.output.suffix("__" + written), false );
+		if ( ToolRunner.run( this.conf, check, null ) != 0)
 			return false;
 		
-		this.type = init.getInputType();
-		this.numCliques = init.getNumCliques();
-		this.numInitialNodes = init.getNumInitialNodes();
-		this.numClusters = term.getNumClusters();
-		this.numNodes = term.getNumNodes();
 		this.testOk = check.isTestOk();
 		
+		// Write the node to cluster index of this run, for the online lookups.
+		if ( this.clusterIndex != null )
+		{
+			ClusterIndexDriver indexer = new ClusterIndexDriver( this.output.suffix( "__" + written ), this.clusterIndex, false );
+			if ( ToolRunner.run( this.conf, indexer, null ) != 0 )
+				return false;
+			System.out.println("Nodes written into the cluster index " + indexer.getNumNodes() + " in " + indexer.getNumShards() + " shards");
+		}
+		
+		this.completed = true;
+		manifest.delete();
+		
 		return true;
 	}
 	
+	/**
+	 * Compute the clusters of an edges list: run the Large-Star and Small-Star rounds until convergence,
+	 * in memory or as Jobs, and then the Termination.
+	 * @param edges			path of the edges list folder.
+	 * @param cliques		path of the stars of the cliques, read together with the edges list, <c>null</c> if there are none.
+	 * @param clusters		path of the output folder of the clusters.
+	 * @param relabeling	labels given to the nodes, <c>null</c> if the nodes keep their identifiers.
+	 * @param base			number of the first work folder.
+	 * @param countOnly		if <c>true</c> the clusters are only counted, not written.
+	 * @return 				number of clusters, minus one if a Job failed.
+	 * @throws Exception
+	 */
+	private long components( Path edges, Path cliques, Path clusters, NodeRelabeling relabeling, long base, boolean countOnly ) throws Exception
+	{
+		float shortcutDecay = this.conf.getFloat( "shortcutDecay", DEFAULT_SHORTCUT_DECAY );
+		float deltaThreshold = this.conf.getFloat( "deltaThreshold", DEFAULT_DELTA_THRESHOLD );
+		String suf = "__";	
+		StarDriver largeStar, smallStar;
+		long i = base;
+		long numRounds = 0, numShortcuts = 0, numDeltas = 0, numDeltaRounds = 0;
+		// Each Job is sized looking to the output of the previous one.
+		JobSizing sizing = null;
+		
+		// A resumed run may find the partial outputs of the interrupted stage.
+		this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+		if ( this.done != null )
+			this.fs.delete( this.done, true );
+		
+		System.out.println("new iteration " + edges + "  " + this.input.suffix( "_" + (i + 1) ));
+		
+		// The first Large-Star reads the edges list together with the stars of the cliques,
+		// and with the stars of the last computation whose clusters have not been touched by the removed edges.
+		Path warm = null;
+		if ( this.stars != null && this.fs.exists( this.stars ) && this.reset.size() <= this.maxReset )
+		{
+			warm = this.input.suffix( "_warm" );
+			this.fs.delete( warm, true );
+			WarmStartDriver warmStart = new WarmStartDriver( this.stars, warm, this.reset, false );
+			if ( ToolRunner.run( this.conf, warmStart, null ) != 0 )
+			{
+				this.fs.delete( warm, true );
+				return -1;
+			}
+			System.out.println("warm start from the labels of " + warmStart.getNumWarmNodes() + " nodes, " + warmStart.getNumResetNodes() + " nodes reset");
+		}
+		ArrayList<Path> firstInputs = new ArrayList<Path>();
+		firstInputs.add( edges );
+		if ( cliques != null )
+			firstInputs.add( cliques );
+		if ( warm != null )
+			firstInputs.add( warm );
+		
+		if ( this.resident )
+		{
+			// Run all the Large-Star and Small-Star rounds in memory, writing only the result.
+			Path[] starInputs = firstInputs.toArray( new Path[firstInputs.size()] );
+			ResidentStarDriver star = new ResidentStarDriver( starInputs, this.input.suffix( "_" + (i+1) ), MAX_ITERATIONS, false );
+			if ( ToolRunner.run( this.conf, star, null ) != 0 )
+			{
+				this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+				return -1;
+			}
+			numRounds = star.getNumRounds();
+			i++;
+		}
+		else
+		{
+			long numChanges, prevChanges = 0;
+			Path markers = null;
+			do
+			{
+				Path[] starInputs = ( "__".equals( suf ) ) ?
+						firstInputs.toArray( new Path[firstInputs.size()] ) : new Path[] { this.input.suffix( suf + i ) };
+				largeStar = new StarDriver( StarDriverType.LARGE, starInputs, this.input.suffix( "_" + (i+1) ), i, false );
+				largeStar.setInputSizing( sizing );
+				largeStar.setFreeze( markers, this.done );
+				if ( ToolRunner.run( this.conf, largeStar, null ) != 0 )
+				{
+					this.fs.delete( this.input.suffix( "_" + i ), true );
+					this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+					return -1;
+				}
+		
+				// Delete previous output
+				if("_".compareTo(suf) == 0)
+					this.fs.delete( this.input.suffix( "_" + i ), true );
+				i++;
+		
+				smallStar = new StarDriver( StarDriverType.SMALL, this.input.suffix( "_" + i ), this.input.suffix( "_" + (i+1) ), i, false );
+				smallStar.setInputSizing( largeStar.getOutputSizing() );
+				smallStar.setFreeze( largeStar.getMarkersOutput(), this.done );
+				if ( ToolRunner.run( this.conf, smallStar, null ) != 0 )
+				{
+					this.fs.delete( this.input.suffix( "_" + i ), true );
+					this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+					return -1;
+				}
+			
+				// Delete previous output
+				this.fs.delete( this.input.suffix( "_" + i ), true );
+				sizing = smallStar.getOutputSizing();
+				markers = smallStar.getMarkersOutput();
+				suf = "_";
+				i++;
+				
+				// If the changes decay slowly, the labels are moving along long chains:
+				// a pointer jumping round halves their depth.
+				numChanges = largeStar.getNumChanges() + smallStar.getNumChanges();
+				if ( this.delta && numChanges != 0 && numChanges <= deltaThreshold * sizing.getNumRecords() )
+				{
+					// Few labels are still changing: propagate them re-examining only the edges of the changed nodes.
+					DeltaDriver propagation = new DeltaDriver( this.input.suffix( "_" + i ), this.input.suffix( "_" + (i+1) ), i, false );
+					if ( ToolRunner.run( this.conf, propagation, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "_" + i ), true );
+						this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+						return -1;
+					}
+					this.fs.delete( this.input.suffix( "_" + i ), true );
+					sizing = null;
+					numDeltas++;
+					numDeltaRounds += propagation.getNumRounds();
+					i++;
+					break;
+				}
+				if ( this.shortcut && numChanges != 0 && prevChanges != 0 && numChanges > shortcutDecay * prevChanges )
+				{
+					ShortcutDriver jump = new ShortcutDriver( this.input.suffix( "_" + i ), this.input.suffix( "_" + (i+1) ), i, false );
+					if ( ToolRunner.run( this.conf, jump, null ) != 0 )
+					{
+						this.fs.delete( this.input.suffix( "_" + i ), true );
+						this.fs.delete( this.input.suffix( "_" + (i+1) ), true );
+						return -1;
+					}
+					this.fs.delete( this.input.suffix( "_" + i ), true );
+					sizing = null;
+					numShortcuts++;
+					i++;
+				}
+				prevChanges = numChanges;
+			} while ( (numChanges != 0) && (i - base < 2*MAX_ITERATIONS) );
+			if ( markers != null )
+				this.fs.delete( markers, true );
+		}
+		// Like the resident rounds, a Star round is a Large-Star followed by a Small-Star.
+		if ( !this.resident )
+			numRounds = ( i - base - numShortcuts - numDeltas ) / 2;
+		this.numStarRounds += numRounds;
+		this.numShortcutRounds += numShortcuts;
+		this.numDeltaRounds += numDeltaRounds;
+		System.out.println("this iteration ended after " + numRounds + " Star rounds and " + numShortcuts + " shortcut rounds"
+				+ ( ( numDeltas > 0 ) ? " and " + numDeltaRounds + " delta rounds" : "" ) );
+
+		// Run it in order to transform the edges list <nodeID, neighborID> into sets of nodes (clusters),
+		// together with the converged stars frozen by the Star rounds.
+		boolean frozen = ( this.done != null && this.fs.exists( this.done ) );
+		Path[] termInputs = frozen ? new Path[] { this.input.suffix( "_" + i ), this.done } : new Path[] { this.input.suffix( "_" + i ) };
+		TerminationDriver term = new TerminationDriver( termInputs, clusters, false );
+		term.setInputSizing( frozen ? null : sizing );
+		term.setRelabeling( relabeling );
+		term.setCountOnly( countOnly );
+		if ( ToolRunner.run( this.conf, term, null ) != 0 )
+		{
+			this.fs.delete( this.input.suffix( "_" + i ), true );
+			this.fs.delete( this.output, true );
+			return -1;
+		}
+		if ( warm != null )
+			this.fs.delete( warm, true );
+		if ( this.stars != null )
+		{
+			// Keep the stars for the next computation, together with the frozen ones.
+			this.fs.delete( this.stars, true );
+			this.fs.rename( this.input.suffix( "_" + i ), this.stars );
+			if ( frozen )
+				for ( FileStatus fileStatus : this.fs.listStatus( this.done ) )
+					this.fs.rename( fileStatus.getPath(), new Path( this.stars, fileStatus.getPath().getName() ) );
+			this.reset.clear();
+		}
+		else
+			this.fs.delete(  this.input.suffix( "_" + i ), true );
+		if ( frozen )
+			this.fs.delete( this.done, true );
+		this.numNodes = term.getNumNodes();
+		return term.getNumClusters();
+	}
+	
+	/**
+	* Save the state of the outer loop into the checkpoint manifest.
+	* @param manifest		manifest to save.
+	* @param stage			last completed stage.
+	* @param prev			current iteration.
+	* @param last			iteration whose edges list is the input of the next Edge Removal.
+	* @param edgeNumber		identifier of the edge under test.
+	* @param preCC			number of clusters before the removal of the edge under test.
+	* @throws IOException
+	*/
+	private void checkpoint( CheckpointManifest manifest, String stage, long prev, long last, long edgeNumber, long preCC ) throws IOException
+	{
+		manifest.set( "stage", stage );
+		manifest.setLong( "prev", prev );
+		manifest.setLong( "last", last );
+		manifest.setLong( "edgeNumber", edgeNumber );
+		manifest.setLong( "preCC", preCC );
+		manifest.setLong( "numOfEdges", this.numOfEdges );
+		manifest.save();
+	}
+	
+	/**
+	 * Set the order of the labels given to the nodes before the first Large-Star, \see NodeRelabeling.
+	 * @param labelOrder	order of the labels.
+	 */
+	public void setLabelOrder( LabelOrder labelOrder )
+	{
+		this.labelOrder = labelOrder;
+	}
+	
+	/**
+	 * Enable the pointer jumping rounds, run by \see ShortcutDriver when the number of changes
+	 * of the Star rounds decays slower than <em>shortcutDecay</em>.
+	 * @param shortcut	if <c>true</c> the pointer jumping rounds are enabled.
+	 */
+	public void setShortcut( boolean shortcut )
+	{
+		this.shortcut = shortcut;
+	}
+	
+	/**
+	 * Enable the delta driven propagation, run by \see DeltaDriver in place of the remaining Star rounds
+	 * when a Large-Star and Small-Star pair changes less than <em>deltaThreshold</em> of its edges.
+	 * @param delta	if <c>true</c> the delta driven propagation is enabled.
+	 */
+	public void setDelta( boolean delta )
+	{
+		this.delta = delta;
+	}
+	
+	/**
+	 * Enable the streaming bridge search of \see SketchBridgeDriver: two passes over the edges list and one map-only Job
+	 * replace all the removal tests, holding only a spanning forest in memory; a bridge is missed with probability 2^-64.
+	 * @param sketch	if <c>true</c> the bridges are found by the XOR sketches.
+	 */
+	public void setSketch( boolean sketch )
+	{
+		this.sketch = sketch;
+	}
+	
+	/**
+	 * Enable the in memory edge tests of \see DynamicBridgeDriver: every edge is deleted from a \see DynamicConnectivity
+	 * index instead of running Jobs, after the sparse certificate pass that bounds the cost of a deletion, which is not
+	 * polylogarithmic; the edges are held in the client memory, and the loop tests them when they do not fit.
+	 * @param dynamic	if <c>true</c> the edges are tested against a \see DynamicConnectivity index.
+	 */
+	public void setDynamic( boolean dynamic )
+	{
+		this.dynamic = dynamic;
+	}
+	
+	/**
+	 * Enable the batched edge tests of \see ExperimentBridgeDriver: the Star Jobs test <em>numExperiments</em> edges at once,
+	 * paying the scheduling latency once per batch at the price of a copy of the edges list for each experiment.
+	 * @param numExperiments	number of edges tested by the same Star Jobs, the batches are disabled if it is less than two.
+	 */
+	public void setExperiments( int numExperiments )
+	{
+		this.numExperiments = numExperiments;
+	}
+	
+	/**
+	 * Enable the concurrent edge tests of \see ConcurrentBridgeDriver: up to <em>numConcurrent</em> single edge removals,
+	 * each tested by a reachability search, run as independent Jobs that share the slots of the cluster.
+	 * @param numConcurrent	maximum number of edge removals in flight, the concurrent tests are disabled if it is less than two.
+	 */
+	public void setConcurrent( int numConcurrent )
+	{
+		this.numConcurrent = numConcurrent;
+	}
+	
+	/**
+	 * Write the memory-mapped \see ClusterIndex of the final clusters, \see ClusterIndexDriver, at the end of the run.
+	 * @param clusterIndex	local folder of the index, <c>null</c> if the index is not written.
+	 */
+	public void setClusterIndex( File clusterIndex )
+	{
+		this.clusterIndex = clusterIndex;
+	}
+	
 	/**
 	 * Return the type of format of the input file.
 	 * @return 	the type of format of the input file.
@@ -230,6 +874,70 @@ public class ConnectedComponents
 		return this.testOk;
 	}
 	
+	/**
+	 * Return the number of Star rounds executed by this run, each one made of a Large-Star and a Small-Star.
+	 * @return 	number of Star rounds.
+	 */
+	public long getNumStarRounds()
+	{
+		return this.numStarRounds;
+	}
+	
+	/**
+	 * Return the number of pointer jumping rounds executed by this run.
+	 * @return 	number of pointer jumping rounds.
+	 */
+	public long getNumShortcutRounds()
+	{
+		return this.numShortcutRounds;
+	}
+	
+	/**
+	 * Return the number of propagation rounds executed by \see DeltaDriver in this run.
+	 * @return 	number of delta rounds.
+	 */
+	public long getNumDeltaRounds()
+	{
+		return this.numDeltaRounds;
+	}
+	
+	/**
+	 * Return the number of removed edges resolved by \see BidirectionalSearch, without computing the clusters.
+	 * @return 	number of search hits.
+	 */
+	public long getNumSearchHits()
+	{
+		return this.numSearchHits;
+	}
+	
+	/**
+	 * Return the number of removed edges for which \see BidirectionalSearch was inconclusive, so the clusters were computed.
+	 * @return 	number of search misses.
+	 */
+	public long getNumSearchMisses()
+	{
+		return this.numSearchMisses;
+	}
+	
+	/**
+	 * Return the number of rounds executed by \see ReachabilityDriver in this run.
+	 * @return 	number of reachability rounds.
+	 */
+	public long getNumReachabilityRounds()
+	{
+		return this.numReachabilityRounds;
+	}
+	
+	/**
+	 * Return <code>false</code> if the run has been stopped by the time budget before testing all the edges,
+	 * <code>true</code> otherwise.
+	 * @return 	<code>true</code> if the run is completed, <code>false</code> otherwise.
+	 */
+	public boolean isCompleted()
+	{
+		return this.completed;
+	}
+	
 	/**
 	 * Main of the \see ConnectedComponents class.
 	 * @param args	array of external arguments,
@@ -237,18 +945,89 @@ public class ConnectedComponents
 	 */
 	public static void main( String[] args ) throws Exception 
 	{
-		if ( args.length != 2 )
+		boolean resume = false;
+		long timeBudget = 0;
+		LabelOrder labelOrder = LabelOrder.NONE;
+		boolean shortcut = false;
+		boolean delta = false;
+		boolean sketch = false;
+		boolean dynamic = false;
+		int numExperiments = 0;
+		int numConcurrent = 0;
+		File clusterIndex = null;
+		// The generic options, like -D key=value, are parsed only here and reach every Driver through this configuration.
+		Configuration conf = new Configuration();
+		args = new GenericOptionsParser( conf, args ).getRemainingArgs();
+		boolean badArgs = ( args.length < 2 );
+		for ( int i = 2; i < args.length && !badArgs; i++ )
 		{
-			System.out.println( "Usage: ConnectedComponents <input> <output>" );
+			if ( args[i].equals( "-resume" ) )
+				resume = true;
+			else if ( args[i].equals( "-timeBudget" ) && i + 1 < args.length )
+				timeBudget = Long.parseLong( args[++i] ) * 1000;
+			else if ( args[i].equals( "-labelOrder" ) && i + 1 < args.length )
+				labelOrder = LabelOrder.valueOf( args[++i].toUpperCase() );
+			else if ( args[i].equals( "-shortcut" ) )
+				shortcut = true;
+			else if ( args[i].equals( "-delta" ) )
+				delta = true;
+			else if ( args[i].equals( "-sketch" ) )
+				sketch = true;
+			else if ( args[i].equals( "-dynamic" ) )
+				dynamic = true;
+			else if ( args[i].equals( "-experiments" ) && i + 1 < args.length )
+				numExperiments = Integer.parseInt( args[++i] );
+			else if ( args[i].equals( "-concurrent" ) && i + 1 < args.length )
+				numConcurrent = Integer.parseInt( args[++i] );
+			else if ( args[i].equals( "-index" ) && i + 1 < args.length )
+				clusterIndex = new File( args[++i] );
+			else if ( args[i].equals( "-leafStrip" ) )
+				conf.setBoolean( "leafStrip", true );
+			else if ( args[i].equals( "-certificate" ) )
+				conf.setBoolean( "sparseCertificate", true );
+			else if ( args[i].equals( "-triangles" ) )
+				conf.setBoolean( "triangleFilter", true );
+			else if ( args[i].equals( "-freezeStars" ) )
+				conf.setBoolean( "freezeStars", true );
+			else if ( args[i].equals( "-warmStart" ) )
+				conf.setBoolean( "warmStart", true );
+			else if ( args[i].equals( "-resident" ) )
+				conf.setBoolean( "resident", true );
+			else if ( args[i].equals( "-localSearch" ) )
+				conf.setBoolean( "localSearch", true );
+			else if ( args[i].equals( "-reachability" ) )
+				conf.setBoolean( "reachabilityTest", true );
+			else if ( args[i].equals( "-countOnly" ) )
+				conf.setBoolean( "countOnlyTermination", true );
+			else
+				badArgs = true;
+		}
+		if ( badArgs )
+		{
+			System.out.println( "Usage: ConnectedComponents <input> <output> [-resume] [-timeBudget <seconds>] [-labelOrder <none|hash|degree>] [-shortcut] [-delta] [-sketch] [-dynamic] [-experiments <k>] [-concurrent <k>] [-index <localFolder>]"
+					+ " [-leafStrip] [-certificate] [-triangles] [-freezeStars] [-warmStart] [-resident] [-localSearch] [-reachability] [-countOnly] [-D <key>=<value>]" );
 			System.exit(1);
 		}
 		
 		Path input = new Path( args[0] );
 		Path output = new Path( args[1] );
 		System.out.println( "Start ConnectedComponents." );
-		ConnectedComponents cc = new ConnectedComponents( input, output );
+		ConnectedComponents cc = new ConnectedComponents( conf, input, output, resume, timeBudget );
+		cc.setLabelOrder( labelOrder );
+		cc.setShortcut( shortcut );
+		cc.setDelta( delta );
+		cc.setSketch( sketch );
+		cc.setDynamic( dynamic );
+		cc.setExperiments( numExperiments );
+		cc.setConcurrent( numConcurrent );
+		cc.setClusterIndex( clusterIndex );
 		if ( !cc.run() )
 			System.exit( 1 );
+		if ( !cc.isCompleted() )
+		{
+			System.out.println( "Stopped ConnectedComponents: time budget reached, restart it with -resume." );
+			System.exit( 3 );
+		}
 		System.out.println( "End ConnectedComponents." );
 		
 		System.out.println( "Input file format: \033[1;94m" + cc.getInputType().toString() + "\033[0m." );
@@ -256,6 +1035,11 @@ public class ConnectedComponents
 		System.out.println( "Number of Cliques: \033[1;94m" + cc.getNumCliques() + "\033[0m." );
 		System.out.println( "Number of final nodes: \033[1;94m" + cc.getNumNodes() + "\033[0m." );
 		System.out.println( "Number of Clusters: \033[1;94m" + cc.getNumClusters() + "\033[0m." );
+		System.out.println( "Number of Star rounds: \033[1;94m" + cc.getNumStarRounds() + "\033[0m." );
+		System.out.println( "Number of shortcut rounds: \033[1;94m" + cc.getNumShortcutRounds() + "\033[0m." );
+		System.out.println( "Number of delta rounds: \033[1;94m" + cc.getNumDeltaRounds() + "\033[0m." );
+		System.out.println( "Number of reachability rounds: \033[1;94m" + cc.getNumReachabilityRounds() + "\033[0m." );
+		System.out.println( "Bidirectional search hits/misses: \033[1;94m" + cc.getNumSearchHits() + "/" + cc.getNumSearchMisses() + "\033[0m." );
 		System.out.println( "TestOK: \033[1;94m" + String.valueOf( cc.isTestOk() ) + "\033[0m." );
 		
 		System.exit( 0 );
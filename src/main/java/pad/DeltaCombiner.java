@@ -0,0 +1,52 @@
+/**
+ *	@file DeltaCombiner.java
+ *	@brief Combiner task of a propagation round of \see DeltaDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/** Combiner task of a propagation round of \see DeltaDriver. */
+public class DeltaCombiner extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable minLabel = new IntWritable();
+
+	/**
+	* Reduce method of the this DeltaCombiner class.
+	* Only the minimum of the labels proposed to a node can lower its label, so only that one is emitted.
+	* @param nodeID		identifier of the node.
+	* @param labels		labels proposed to the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> labels, Context context ) throws IOException, InterruptedException
+	{
+		int min = Integer.MAX_VALUE;
+		for ( IntWritable label : labels )
+			min = Math.min( min, label.get() );
+
+		minLabel.set( min );
+		context.write( nodeID, minLabel );
+	}
+}
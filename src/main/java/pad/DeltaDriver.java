@@ -0,0 +1,243 @@
+/**
+ *	@file DeltaDriver.java
+ *	@brief Driver of the Jobs responsible for the semi-naive propagation of the minimum labels over an almost converged edges list.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs responsible for the semi-naive propagation of the minimum labels over an almost converged edges list.
+ * In the late Star rounds only few labels change, but every round shuffles the whole edges list.
+ * This driver switches to a delta driven propagation: the label of each node is kept into a label table,
+ * stored as the star edges <NodeID, Label> of the nodes that are not labelled with themselves,
+ * and each round re-examines only the edges that touch the frontier, i.e. the nodes whose label has been lowered by the previous round.
+ * 	-	the first Job, using \see DeltaReducerInit, labels each node with its minimum neighbour and writes the first frontier;
+ * 	-	each following Job joins the edges with the frontier inside the Mapper, \see DeltaMapper, so that only the labels
+ * 		proposed to the neighbours of the frontier are shuffled, and merges them into the label table inside the Reducer, \see DeltaReducer.
+ * The label table is partitioned as the keys of the Jobs, so each Reducer reads its own part of the table without shuffling it.
+ * The rounds stop when the frontier is empty: the label table is then a valid result of the Star operations for \see TerminationDriver.
+ */
+public class DeltaDriver extends Configured implements Tool
+{
+	/** Named output of the nodes whose label has been lowered */
+	public static final String FRONTIER_OUTPUT_NAME = "frontier";
+	/** Base output path for the named output of the frontier */
+	public static final String FRONTIER_BASEOUTPUTPATH = FRONTIER_OUTPUT_NAME + "/part";
+	
+	private final String title;
+	private final Path input, output;
+	private final boolean verbose;
+	private long numRounds, numChanges;
+	
+	/**
+	* Initializes a new instance of the DeltaDriver class.
+	* @param input		path of the result folder of \see StarDriver Job.
+	* @param output		path of the output folder.
+	* @param iteration	used to build the title of the Jobs.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public DeltaDriver( Path input, Path output, long iteration, boolean verbose )
+	{
+		this.title = "Delta" + iteration;
+		this.input = input;
+		this.output = output;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the DeltaDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a DeltaDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		// The label tables and the frontiers of the rounds are kept into a work folder.
+		Path work = this.output.suffix( "_delta" );
+		fs.delete( work, true );
+		this.numRounds = 0;
+		this.numChanges = 0;
+		
+		// The StarMapper of the Large-Star emits each edge in both directions.
+		conf.set( "type", StarDriver.StarDriverType.LARGE.toString() );
+		Job job = new Job( conf, this.title + "-Init" );
+		job.setJarByClass( DeltaDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( StarMapper.class );
+		job.setCombinerClass( StarCombiner.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( DeltaReducerInit.class );
+		
+		JobSizing sizing = JobSizing.of( new Path[] { this.input }, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		// The partitions of the label table follow the Reducers, so every round must use the same number of them.
+		int numReducers = job.getNumReduceTasks();
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		MultipleOutputs.addNamedOutput( job, FRONTIER_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+		
+		FileInputFormat.addInputPath( job, this.input );
+		FileOutputFormat.setOutputPath( job, new Path( work, "table0" ) );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		long frontier = job.getCounters().findCounter( UtilCounters.NUM_DELTA_NODES ).getValue();
+		moveFrontier( fs, work, 0 );
+		
+		while ( frontier > 0 )
+		{
+			this.numRounds++;
+			this.numChanges += frontier;
+			
+			conf.set( "deltaTable", new Path( work, "table" + ( this.numRounds - 1 ) ).toString() );
+			conf.set( "deltaFrontier", new Path( work, "frontier" + ( this.numRounds - 1 ) ).toString() );
+			job = new Job( conf, this.title + "-" + this.numRounds );
+			job.setJarByClass( DeltaDriver.class );
+			
+			job.setMapOutputKeyClass( IntWritable.class );
+			job.setMapOutputValueClass( IntWritable.class );
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+			
+			job.setMapperClass( DeltaMapper.class );
+			job.setCombinerClass( DeltaCombiner.class );
+			job.setReducerClass( DeltaReducer.class );
+			
+			// The edges never change, while the shuffle holds only the labels proposed by the frontier.
+			sizing.configureSplits( job );
+			sizing.configureReducers( job );
+			job.setNumReduceTasks( numReducers );
+			job.setOutputFormatClass( SequenceFileOutputFormat.class );
+			MultipleOutputs.addNamedOutput( job, FRONTIER_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			
+			FileInputFormat.addInputPath( job, this.input );
+			FileOutputFormat.setOutputPath( job, new Path( work, "table" + this.numRounds ) );
+			
+			if ( !job.waitForCompletion( this.verbose ) )
+			{
+				fs.delete( work, true );
+				return 1;
+			}
+			frontier = job.getCounters().findCounter( UtilCounters.NUM_DELTA_NODES ).getValue();
+			moveFrontier( fs, work, this.numRounds );
+			
+			// Delete the table and the frontier read by this round.
+			fs.delete( new Path( work, "table" + ( this.numRounds - 1 ) ), true );
+			fs.delete( new Path( work, "frontier" + ( this.numRounds - 1 ) ), true );
+		}
+		
+		// The last label table is the result.
+		fs.delete( this.output, true );
+		fs.rename( new Path( work, "table" + this.numRounds ), this.output );
+		fs.delete( work, true );
+		return 0;
+	}
+	
+	/**
+	 * Move the frontier written by a round out of its label table, so that the table can be read as a whole.
+	 * @param fs		file system of the work folder.
+	 * @param work		work folder.
+	 * @param round		round that wrote the frontier.
+	 * @throws IOException
+	 */
+	private static void moveFrontier( FileSystem fs, Path work, long round ) throws IOException
+	{
+		Path frontierParts = new Path( work, "table" + round + "/" + FRONTIER_OUTPUT_NAME );
+		if ( fs.exists( frontierParts ) )
+			fs.rename( frontierParts, new Path( work, "frontier" + round ) );
+		else
+			fs.mkdirs( new Path( work, "frontier" + round ) );
+	}
+	
+	/**
+	 * Return the number of propagation rounds executed after the one that built the label table.
+	 * @return 	number of rounds.
+	 */
+	public long getNumRounds()
+	{
+		return this.numRounds;
+	}
+	
+	/**
+	 * Return the number of labels lowered by all the rounds, i.e. the total size of the frontiers.
+	 * @return 	number of changes.
+	 */
+	public long getNumChanges()
+	{
+		return this.numChanges;
+	}
+	
+	/**
+	 * Main of the \see DeltaDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 2 )
+		{
+			System.out.println( "Usage: DeltaDriver <input> <output>" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		System.out.println( "Start DeltaDriver." );
+		DeltaDriver delta = new DeltaDriver( input, output, 0, true );
+		if ( delta.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End DeltaDriver." );
+		
+		System.out.println( "Number of propagation rounds: " + delta.getNumRounds() );
+		System.out.println( "Number of label changes: " + delta.getNumChanges() );
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ *	@file DeltaMapper.java
+ *	@brief Mapper task of a propagation round of \see DeltaDriver, that joins the edges with the frontier.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * Mapper task of a propagation round of \see DeltaDriver, that joins the edges with the frontier.
+ * The frontier is small compared with the edges list, so every Mapper loads it into memory
+ * as a sorted array of packed <NodeID, Label> pairs and the edges are never shuffled.
+ */
+public class DeltaMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private long[] frontier;
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable label = new IntWritable();
+
+	/**
+	* Setup method of the this DeltaMapper class.
+	* Read the frontier written by the previous round from the <em>deltaFrontier</em> folder.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		Path folder = new Path( conf.get( "deltaFrontier" ) );
+		FileSystem fs = folder.getFileSystem( conf );
+		int size = 0;
+		frontier = new long[1024];
+		IntWritable node = new IntWritable(), nodeLabel = new IntWritable();
+		for ( FileStatus fileStatus : fs.listStatus( folder ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+			
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( node, nodeLabel ) )
+			{
+				if ( size == frontier.length )
+					frontier = Arrays.copyOf( frontier, 2 * size );
+				frontier[size++] = InitializationMapperDedup.pack( node.get(), nodeLabel.get() );
+			}
+			reader.close();
+		}
+		frontier = Arrays.copyOf( frontier, size );
+		Arrays.sort( frontier );
+	}
+
+	/**
+	* Map method of the this DeltaMapper class.
+	* For each endpoint of the edge that belongs to the frontier, its new label is proposed to the other endpoint,
+	* emitting <NeighbourID, Label>; the label is proposed only if it is smaller than the neighbour,
+	* otherwise it cannot be smaller than the label of the neighbour.
+	* The edges that do not touch the frontier and the lone nodes, <NodeID, -1>, emit nothing.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() < 0 )
+			return;
+		
+		propose( nodeID.get(), neighbourID.get(), context );
+		propose( neighbourID.get(), nodeID.get(), context );
+	}
+	
+	/**
+	* Propose the label of a node of the frontier to one of its neighbours.
+	* @param node		identifier of the node.
+	* @param neighbour	identifier of the neighbour.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void propose( int node, int neighbour, Context context ) throws IOException, InterruptedException
+	{
+		int index = Arrays.binarySearch( frontier, InitializationMapperDedup.pack( node, 0 ) );
+		// No pair has a negative label, so the search stops on the insertion point of <NodeID, 0>.
+		index = ( index < 0 ) ? -index - 1 : index;
+		if ( index == frontier.length || (int) ( frontier[index] >>> 32 ) != node )
+			return;
+		
+		int nodeLabel = (int) frontier[index];
+		if ( nodeLabel < neighbour )
+		{
+			this.nodeID.set( neighbour );
+			this.label.set( nodeLabel );
+			context.write( this.nodeID, this.label );
+		}
+	}
+}
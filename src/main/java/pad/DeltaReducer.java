@@ -0,0 +1,135 @@
+/**
+ *	@file DeltaReducer.java
+ *	@brief Reducer task of a propagation round of \see DeltaDriver, that merges the proposed labels into the label table.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**
+ * Reducer task of a propagation round of \see DeltaDriver, that merges the proposed labels into the label table.
+ * The keys of this Reducer and the part of the label table with the same number are both sorted by NodeID,
+ * so the table is read once side by side with the keys, and it is rewritten with the lowered labels.
+ */
+public class DeltaReducer extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private SequenceFile.Reader table = null;
+	private IntWritable tableNode = new IntWritable();
+	private IntWritable tableLabel = new IntWritable();
+	private boolean tableHasNext;
+	private IntWritable label = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this DeltaReducer class.
+	* Open the part of the label table, written in the <em>deltaTable</em> folder by the previous round,
+	* that has the same number of this Reducer, and instantiate the MultipleOutputs used to write the frontier.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		Path part = new Path( conf.get( "deltaTable" ), String.format( "part-r-%05d", context.getTaskAttemptID().getTaskID().getId() ) );
+		FileSystem fs = part.getFileSystem( conf );
+		if ( fs.exists( part ) )
+			table = new SequenceFile.Reader( fs, part, conf );
+		tableHasNext = ( table != null ) && table.next( tableNode, tableLabel );
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this DeltaReducer class.
+	* First the pairs of the table with a NodeID smaller than this node are copied unchanged.
+	* The current label of the node is the one stored into the table, or the node itself if it is not there.
+	* If the minimum proposed label is smaller, the node gets it: the pair <NodeID, Label> is emitted
+	* and written into the \see DeltaDriver.FRONTIER_OUTPUT_NAME named output; otherwise the current pair is kept.
+	* @param nodeID		identifier of the node.
+	* @param labels		labels proposed to the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> labels, Context context ) throws IOException, InterruptedException
+	{
+		int min = Integer.MAX_VALUE;
+		for ( IntWritable proposed : labels )
+			min = Math.min( min, proposed.get() );
+
+		copyTable( nodeID.get(), context );
+		int current = nodeID.get();
+		if ( tableHasNext && tableNode.get() == nodeID.get() )
+		{
+			current = tableLabel.get();
+			tableHasNext = table.next( tableNode, tableLabel );
+		}
+
+		// The lone nodes, labelled with minus one, have no neighbours, so they never receive a label.
+		if ( min < current )
+		{
+			label.set( min );
+			context.write( nodeID, label );
+			mos.write( DeltaDriver.FRONTIER_OUTPUT_NAME, nodeID, label, DeltaDriver.FRONTIER_BASEOUTPUTPATH );
+			context.getCounter( UtilCounters.NUM_DELTA_NODES ).increment( 1 );
+		}
+		else if ( current != nodeID.get() )
+		{
+			label.set( current );
+			context.write( nodeID, label );
+		}
+	}
+
+	/**
+	* Cleanup method of the this DeltaReducer class.
+	* Copy the rest of the label table and close it, then close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		copyTable( (long) Integer.MAX_VALUE + 1, context );
+		if ( table != null )
+			table.close();
+		this.mos.close();
+	}
+
+	/**
+	* Copy unchanged the pairs of the label table with a NodeID smaller than the given one.
+	* @param nodeID		identifier of the first node that must not be copied.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void copyTable( long nodeID, Context context ) throws IOException, InterruptedException
+	{
+		while ( tableHasNext && tableNode.get() < nodeID )
+		{
+			context.write( tableNode, tableLabel );
+			tableHasNext = table.next( tableNode, tableLabel );
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ *	@file DeltaReducerInit.java
+ *	@brief Reducer task of the first Job of \see DeltaDriver, that builds the label table and the first frontier.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**	Reducer task of the first Job of \see DeltaDriver, that builds the label table and the first frontier. */
+public class DeltaReducerInit extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable label = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this DeltaReducerInit class.
+	* Instantiate the MultipleOutputs used to write the frontier.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this DeltaReducerInit class.
+	* The label of a node is its minimum neighbour, or the node itself if it is smaller than all its neighbours;
+	* thanks to the secondary sort it is either the NodeID or the first neighbour.
+	* The pair <NodeID, Label> is emitted only if the label is not the node itself, and a lone node is emitted unchanged.
+	* The node joins the frontier only if its label may lower the label of a neighbour:
+	* 	-	a node labelled with itself cannot, since each neighbour has a label not greater than the node;
+	* 	-	a node with only one neighbour cannot, since its label is that neighbour;
+	* so only the nodes with a smaller neighbour and at least two neighbours write <NodeID, Label>
+	* into the \see DeltaDriver.FRONTIER_OUTPUT_NAME named output.
+	* @param pair			pair used to implement the secondary sort, \see NodesPair.
+	* @param neighbourhood	list of neighbours.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		int node = pair.NodeID;
+		int minLabel = node;
+		long degree = 0;
+		boolean lone = false;
+
+		// Do not exists a node with ID equal to minus two ( minus one already used to indicate loneliness )
+		int lastNodeSeen = -2;
+		for ( IntWritable neighbour : neighbourhood )
+		{
+			// Skip the duplicate nodes and the loneliness indicator.
+			if ( neighbour.get() < 0 )
+			{
+				lone |= ( neighbour.get() == -1 );
+				continue;
+			}
+			if ( neighbour.get() == lastNodeSeen )
+				continue;
+			lastNodeSeen = neighbour.get();
+
+			if ( degree == 0 )
+				minLabel = Math.min( node, neighbour.get() );
+			degree++;
+		}
+
+		nodeID.set( node );
+		if ( degree == 0 )
+		{
+			if ( lone )
+				context.write( nodeID, MINUS_ONE );
+			return;
+		}
+
+		if ( minLabel != node )
+		{
+			label.set( minLabel );
+			context.write( nodeID, label );
+			if ( degree > 1 )
+			{
+				mos.write( DeltaDriver.FRONTIER_OUTPUT_NAME, nodeID, label, DeltaDriver.FRONTIER_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_DELTA_NODES ).increment( 1 );
+			}
+		}
+	}
+
+	/**
+	* Cleanup method of the this DeltaReducerInit class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+}
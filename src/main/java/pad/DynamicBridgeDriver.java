@@ -0,0 +1,200 @@
+/**
+ *	@file DynamicBridgeDriver.java
+ *	@brief Driver that tests every edge of an edges list against a \see DynamicConnectivity index, in memory.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver that tests every edge of an edges list against a \see DynamicConnectivity index, in memory.
+ * The index is built one time from the edges list and the certain folder, i.e. the stars of the cliques and the
+ * edges lying on a triangle; then, like the loop of \see ConnectedComponents, each edge of the edges list is
+ * deleted in the order of its identifier, \see EdgeIndex: if its end nodes get disconnected it is a bridge and
+ * it stays deleted, otherwise it is inserted again. Each test is done in memory instead of a Connected Components Job,
+ * but its cost grows with the edges out of the forest around the deleted edge, \see DynamicConnectivity, and it is not polylogarithmic.
+ * For this reason the edges list must be a sparse certificate, \see CertificateDriver, with at most 2(n-1) edges:
+ * an edges list with more edges is refused, so a deletion costs at most O(n log n) instead of O(m log n).
+ * The edges are held in memory in the client, at most \see BYTES_PER_EDGE bytes each: when the edges list and the certain folder
+ * have more than <em>dynamicMaxEdges</em> edges, by default as many as fit in the heap, nothing is tested nor written
+ * and \see isSkipped tells the caller to test the edges with Jobs instead.
+ * Finally the map-only Job of \see SketchBridgeMapper removes the bridges from the edges list.
+ */
+public class DynamicBridgeDriver extends Configured implements Tool
+{
+	/** Name of the file, inside the bridges folder, where the bridges are written */
+	public static final String BRIDGES_FILE_NAME = "dynamic-bridges";
+	/** Upper bound of the memory used for each edge, by the edges, by the index and by the nodes, at most two per edge */
+	public static final int BYTES_PER_EDGE = 320;
+	
+	private final Path edges, certain, output, bridges;
+	private final boolean verbose;
+	private long numBridges, numTestedEdges;
+	private boolean skipped;
+	
+	/**
+	* Initializes a new instance of the DynamicBridgeDriver class.
+	* @param edges		path of the edges list folder, result of \see InitializationDriver Job.
+	* @param certain	path of the edges that are never bridges, \see InitializationDriver.getCliquesOutput, <c>null</c> if there are none.
+	* @param output		path of the output folder, where the edges list without the bridges is written.
+	* @param bridges	path of the folder where the bridges are written.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public DynamicBridgeDriver( Path edges, Path certain, Path output, Path bridges, boolean verbose )
+	{
+		this.edges = edges;
+		this.certain = certain;
+		this.output = output;
+		this.bridges = bridges;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Build the index, test the edges and execute the DynamicBridgeDriver Job.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the DynamicBridgeDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		
+		// The candidates come first, in the order of their identifier.
+		// The reading stops as soon as the edges would not fit in memory, so the heap is never exhausted.
+		long maxEdges = Math.min( conf.getLong( "dynamicMaxEdges", Runtime.getRuntime().maxMemory() / BYTES_PER_EDGE ), Integer.MAX_VALUE );
+		List<Path> files = SketchBridgeDriver.listFiles( fs, this.edges );
+		EdgeArray pairs = new EdgeArray();
+		this.skipped = !pairs.read( fs, conf, files, maxEdges );
+		int numCandidates = pairs.getNumEdges();
+		if ( !this.skipped && this.certain != null )
+			this.skipped = !pairs.read( fs, conf, SketchBridgeDriver.listFiles( fs, this.certain ), maxEdges );
+		if ( this.skipped )
+		{
+			System.out.println( "DynamicBridgeDriver: more than " + maxEdges + " edges, the edges are not tested in memory." );
+			return 0;
+		}
+		int numNodes = pairs.numberNodes();
+		if ( numCandidates > 2L * Math.max( 0, numNodes - 1 ) )
+		{
+			System.out.println( "DynamicBridgeDriver: " + numCandidates + " edges over " + numNodes + " nodes, the edges list is not a sparse certificate." );
+			return 1;
+		}
+		
+		DynamicConnectivity index = new DynamicConnectivity( numNodes, pairs.getNumEdges() );
+		for ( int e = 0; e < pairs.getNumEdges(); e++ )
+			index.insert( pairs.indexOf( pairs.getNodeID( e ) ), pairs.indexOf( pairs.getNeighbourID( e ) ) );
+		
+		// Delete each candidate: a bridge stays deleted, the others are inserted again.
+		fs.mkdirs( this.bridges );
+		Path file = new Path( this.bridges, BRIDGES_FILE_NAME );
+		SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, file, IntWritable.class, IntWritable.class );
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		this.numBridges = 0;
+		for ( int e = 0; e < numCandidates; e++ )
+		{
+			if ( index.delete( e ) )
+			{
+				nodeID.set( pairs.getNodeID( e ) );
+				neighbourID.set( pairs.getNeighbourID( e ) );
+				writer.append( nodeID, neighbourID );
+				this.numBridges++;
+			}
+			else
+				index.reinsert( e );
+		}
+		writer.close();
+		this.numTestedEdges = numCandidates;
+		
+		return SketchBridgeDriver.removeBridges( conf, this.edges, file, this.output, "DynamicBridgeDriver", this.verbose ) ? 0 : 1;
+	}
+	
+	/**
+	 * Return <c>true</c> if the edges list was too large to be tested in memory: then nothing is written.
+	 * @return 	<c>true</c> if the edges were not tested, <c>false</c> otherwise.
+	 */
+	public boolean isSkipped()
+	{
+		return this.skipped;
+	}
+	
+	/**
+	 * Return the number of bridges found.
+	 * @return 	number of bridges.
+	 */
+	public long getNumBridges()
+	{
+		return this.numBridges;
+	}
+	
+	/**
+	 * Return the number of edges tested, i.e. the edges of the edges list.
+	 * @return 	number of tested edges.
+	 */
+	public long getNumTestedEdges()
+	{
+		return this.numTestedEdges;
+	}
+	
+	/**
+	 * Main of the \see DynamicBridgeDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 && args.length != 4 )
+		{
+			System.out.println( "Usage: DynamicBridgeDriver <input> <output> <bridges> [<certain>]" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path bridges = new Path( args[2] );
+		Path certain = ( args.length == 4 ) ? new Path( args[3] ) : null;
+		System.out.println( "Start DynamicBridgeDriver." );
+		DynamicBridgeDriver dynamic = new DynamicBridgeDriver( input, certain, output, bridges, true );
+		if ( dynamic.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End DynamicBridgeDriver." );
+		if ( dynamic.isSkipped() )
+			System.out.println( "The edges list is too large, raise dynamicMaxEdges or the heap." );
+		
+		System.out.println( "Number of tested edges: " + dynamic.getNumTestedEdges() );
+		System.out.println( "Number of bridges: " + dynamic.getNumBridges() );
+		System.exit( 0 );
+	}
+}
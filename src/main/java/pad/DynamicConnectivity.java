@@ -0,0 +1,461 @@
+/**
+ *	@file DynamicConnectivity.java
+ *	@brief Spanning forest of a graph stored into Euler tour trees, that answers edge deletions and reinsertions in memory.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Spanning forest of a graph stored into Euler tour trees, that answers edge deletions and reinsertions in memory.
+ * The tour of each tree is a sequence made of one element for each node and one element for each direction of
+ * its forest edges, stored into a treap ordered by position: rerooting, linking and cutting a tree are done by
+ * splitting and merging the tours, in O(log n) expected time.
+ * The edges out of the forest are kept into a list for each end node, and every node element weighs the number
+ * of these edges, so the nodes that have some of them are found in a tree without visiting the others.
+ * Deleting an edge out of the forest never disconnects the graph. Deleting a forest edge splits its tree,
+ * then the smaller of the two parts looks for an edge out of the forest that reaches the other part:
+ * if it exists it replaces the deleted edge into the forest, otherwise the edge was a bridge.
+ * Unlike Holm, de Lichtenberg and Thorup, the edges checked in vain are not moved to a higher level,
+ * so the bound is not polylogarithmic: a deletion costs O(log n) for each edge out of the forest of the smaller part,
+ * and when the smaller part is large and the deleted edge is a bridge all of them are checked, up to O(m log n) with m edges.
+ * \see DynamicBridgeDriver keeps m within 2(n-1) with a sparse certificate, so a deletion costs O(n log n) at worst.
+ * The nodes are identified by the indices from zero to the number of nodes minus one, no object is allocated
+ * per node or per edge.
+ */
+public class DynamicConnectivity
+{
+	private static final int NIL = -1;
+	private final int numNodes;
+	// Edges: end nodes, forest flag and, for the forest edges, the two elements of their directions.
+	private int[] edgeU, edgeV, arcUV, arcVU;
+	private boolean[] forest, deleted;
+	private int numEdges;
+	// Lists of the edges out of the forest: the half edge 2e is kept by the end node U of the edge e, 2e+1 by V.
+	private int[] head, nextHalf, prevHalf;
+	// Treap of the tours: the first numNodes elements are the nodes, the others the directions of the forest edges.
+	private final int[] left, right, parent, priority, size, count, weight;
+	private final long[] sum;
+	private int freeArc;
+	// Result of the last split.
+	private int splitLeft, splitRight;
+	// Stack used to visit the elements of a tree.
+	private final int[] stack;
+	
+	/**
+	* Initializes a new instance of the DynamicConnectivity class, with no edges.
+	* @param numNodes		number of nodes.
+	* @param maxEdges		maximum number of edges that will be inserted.
+	*/
+	public DynamicConnectivity( int numNodes, int maxEdges )
+	{
+		this.numNodes = numNodes;
+		this.edgeU = new int[maxEdges];
+		this.edgeV = new int[maxEdges];
+		this.arcUV = new int[maxEdges];
+		this.arcVU = new int[maxEdges];
+		this.forest = new boolean[maxEdges];
+		this.deleted = new boolean[maxEdges];
+		this.head = new int[numNodes];
+		this.nextHalf = new int[2 * maxEdges];
+		this.prevHalf = new int[2 * maxEdges];
+		Arrays.fill( this.head, NIL );
+		
+		// A forest has at most numNodes - 1 edges, each one with two directions.
+		int numElements = numNodes + 2 * Math.max( 0, numNodes - 1 );
+		this.left = new int[numElements];
+		this.right = new int[numElements];
+		this.parent = new int[numElements];
+		this.priority = new int[numElements];
+		this.size = new int[numElements];
+		this.count = new int[numElements];
+		this.weight = new int[numElements];
+		this.sum = new long[numElements];
+		this.stack = new int[numElements];
+		Random random = new Random( numNodes );
+		for ( int x = 0; x < numElements; x++ )
+		{
+			this.left[x] = this.right[x] = this.parent[x] = NIL;
+			this.priority[x] = random.nextInt();
+			this.size[x] = 1;
+			this.count[x] = ( x < numNodes ) ? 1 : 0;
+		}
+		// The elements of the directions not in use are chained by their right child.
+		this.freeArc = ( numNodes < numElements ) ? numNodes : NIL;
+		for ( int x = numNodes; x < numElements; x++ )
+			this.right[x] = ( x + 1 < numElements ) ? x + 1 : NIL;
+	}
+	
+	/**
+	* Insert a new edge: it joins the forest if its end nodes are not connected yet.
+	* @param u	index of the first end node.
+	* @param v	index of the second end node.
+	* @return 	identifier of the edge, used to delete it.
+	*/
+	public int insert( int u, int v )
+	{
+		int e = this.numEdges++;
+		this.edgeU[e] = u;
+		this.edgeV[e] = v;
+		add( e );
+		return e;
+	}
+	
+	/**
+	* Delete an edge.
+	* @param e	identifier of the edge, not deleted yet.
+	* @return 	<c>true</c> if its end nodes are not connected anymore, i.e. the edge was a bridge, <c>false</c> otherwise.
+	*/
+	public boolean delete( int e )
+	{
+		this.deleted[e] = true;
+		if ( !this.forest[e] )
+		{
+			unlistHalf( 2 * e );
+			unlistHalf( 2 * e + 1 );
+			return false;
+		}
+		
+		cut( e );
+		int rootU = root( this.edgeU[e] ), rootV = root( this.edgeV[e] );
+		int smaller = ( this.count[rootU] <= this.count[rootV] ) ? rootU : rootV;
+		int replacement = findReplacement( smaller );
+		if ( replacement == NIL )
+			return true;
+		
+		unlistHalf( 2 * replacement );
+		unlistHalf( 2 * replacement + 1 );
+		link( replacement );
+		return false;
+	}
+	
+	/**
+	* Insert again a deleted edge, with the same identifier.
+	* @param e	identifier of the edge.
+	*/
+	public void reinsert( int e )
+	{
+		this.deleted[e] = false;
+		add( e );
+	}
+	
+	/**
+	* Check if two nodes are connected.
+	* @param u	index of the first node.
+	* @param v	index of the second node.
+	* @return 	<c>true</c> if they are in the same tree of the forest, <c>false</c> otherwise.
+	*/
+	public boolean connected( int u, int v )
+	{
+		return root( u ) == root( v );
+	}
+	
+	/**
+	* Return <c>true</c> if the edge is deleted.
+	* @param e	identifier of the edge.
+	* @return 	<c>true</c> if the edge is deleted, <c>false</c> otherwise.
+	*/
+	public boolean isDeleted( int e )
+	{
+		return this.deleted[e];
+	}
+	
+	/**
+	* Return the number of nodes connected to a node, itself included.
+	* @param u	index of the node.
+	* @return 	number of nodes of its tree.
+	*/
+	public int getComponentSize( int u )
+	{
+		return this.count[root( u )];
+	}
+	
+	/**
+	* Add an edge to the forest, or to the lists of its end nodes if they are connected already.
+	* @param e	identifier of the edge.
+	*/
+	private void add( int e )
+	{
+		if ( connected( this.edgeU[e], this.edgeV[e] ) )
+		{
+			listHalf( 2 * e, this.edgeU[e] );
+			listHalf( 2 * e + 1, this.edgeV[e] );
+		}
+		else
+			link( e );
+	}
+	
+	/**
+	* Look for an edge out of the forest that leaves a tree, visiting only the node elements that weigh something.
+	* @param tree	root element of the tree.
+	* @return 		identifier of the edge, <c>NIL</c> if there is none.
+	*/
+	private int findReplacement( int tree )
+	{
+		int top = 0;
+		if ( this.sum[tree] > 0 )
+			this.stack[top++] = tree;
+		while ( top > 0 )
+		{
+			int x = this.stack[--top];
+			if ( x < this.numNodes && this.weight[x] > 0 )
+				for ( int h = this.head[x]; h != NIL; h = this.nextHalf[h] )
+				{
+					int e = h >> 1;
+					int other = ( ( h & 1 ) == 0 ) ? this.edgeV[e] : this.edgeU[e];
+					if ( root( other ) != tree )
+						return e;
+				}
+			if ( this.left[x] != NIL && this.sum[this.left[x]] > 0 )
+				this.stack[top++] = this.left[x];
+			if ( this.right[x] != NIL && this.sum[this.right[x]] > 0 )
+				this.stack[top++] = this.right[x];
+		}
+		return NIL;
+	}
+	
+	/**
+	* Join the trees of the end nodes of an edge with the edge.
+	* @param e	identifier of the edge.
+	*/
+	private void link( int e )
+	{
+		int treeU = reroot( this.edgeU[e] );
+		int treeV = reroot( this.edgeV[e] );
+		this.arcUV[e] = newArc();
+		this.arcVU[e] = newArc();
+		int tour = merge( merge( merge( treeU, this.arcUV[e] ), treeV ), this.arcVU[e] );
+		this.parent[tour] = NIL;
+		this.forest[e] = true;
+	}
+	
+	/**
+	* Remove a forest edge, splitting its tree in two: the tour is A, UV, B, VU, C and
+	* the two new tours are B and A, C.
+	* @param e	identifier of the edge.
+	*/
+	private void cut( int e )
+	{
+		int first = this.arcUV[e], second = this.arcVU[e];
+		int tour = root( first );
+		int i = index( first ), j = index( second );
+		if ( i > j )
+		{
+			int swap = i;
+			i = j;
+			j = swap;
+		}
+		split( tour, i );
+		int a = this.splitLeft;
+		split( this.splitRight, 1 );
+		split( this.splitRight, j - i - 1 );
+		int b = this.splitLeft;
+		split( this.splitRight, 1 );
+		int c = this.splitRight;
+		if ( b != NIL )
+			this.parent[b] = NIL;
+		int rest = merge( a, c );
+		if ( rest != NIL )
+			this.parent[rest] = NIL;
+		
+		freeArc( first );
+		freeArc( second );
+		this.forest[e] = false;
+	}
+	
+	/**
+	* Rotate the tour of the tree of a node so that it starts from the node.
+	* @param u	index of the node.
+	* @return 	root element of the tour.
+	*/
+	private int reroot( int u )
+	{
+		split( root( u ), index( u ) );
+		int tour = merge( this.splitRight, this.splitLeft );
+		this.parent[tour] = NIL;
+		return tour;
+	}
+	
+	/**
+	* Return the root element of the treap of an element.
+	* @param x	element.
+	* @return 	root element.
+	*/
+	private int root( int x )
+	{
+		while ( this.parent[x] != NIL )
+			x = this.parent[x];
+		return x;
+	}
+	
+	/**
+	* Return the position of an element into its tour.
+	* @param x	element.
+	* @return 	position, starting from zero.
+	*/
+	private int index( int x )
+	{
+		int position = size( this.left[x] );
+		while ( this.parent[x] != NIL )
+		{
+			int p = this.parent[x];
+			if ( this.right[p] == x )
+				position += size( this.left[p] ) + 1;
+			x = p;
+		}
+		return position;
+	}
+	
+	/**
+	* Split a treap into the first k elements, <c>splitLeft</c>, and the others, <c>splitRight</c>.
+	* The parent of the two roots is not cleared.
+	* @param t	root element of the treap.
+	* @param k	number of elements of the first part.
+	*/
+	private void split( int t, int k )
+	{
+		if ( t == NIL )
+		{
+			this.splitLeft = this.splitRight = NIL;
+			return;
+		}
+		if ( size( this.left[t] ) < k )
+		{
+			split( this.right[t], k - size( this.left[t] ) - 1 );
+			setRight( t, this.splitLeft );
+			this.splitLeft = t;
+		}
+		else
+		{
+			split( this.left[t], k );
+			setLeft( t, this.splitRight );
+			this.splitRight = t;
+		}
+		update( t );
+	}
+	
+	/**
+	* Concatenate two treaps.
+	* The parent of the returned root is not cleared.
+	* @param a	root element of the first treap.
+	* @param b	root element of the second treap.
+	* @return 	root element of the concatenation.
+	*/
+	private int merge( int a, int b )
+	{
+		if ( a == NIL )
+			return b;
+		if ( b == NIL )
+			return a;
+		if ( this.priority[a] > this.priority[b] )
+		{
+			setRight( a, merge( this.right[a], b ) );
+			update( a );
+			return a;
+		}
+		setLeft( b, merge( a, this.left[b] ) );
+		update( b );
+		return b;
+	}
+	
+	private void setLeft( int x, int child )
+	{
+		this.left[x] = child;
+		if ( child != NIL )
+			this.parent[child] = x;
+	}
+	
+	private void setRight( int x, int child )
+	{
+		this.right[x] = child;
+		if ( child != NIL )
+			this.parent[child] = x;
+	}
+	
+	private int size( int x )
+	{
+		return ( x == NIL ) ? 0 : this.size[x];
+	}
+	
+	/**
+	* Recompute the aggregates of an element from its children.
+	* @param x	element.
+	*/
+	private void update( int x )
+	{
+		int l = this.left[x], r = this.right[x];
+		this.size[x] = 1 + size( l ) + size( r );
+		this.count[x] = ( ( x < this.numNodes ) ? 1 : 0 ) + ( ( l == NIL ) ? 0 : this.count[l] ) + ( ( r == NIL ) ? 0 : this.count[r] );
+		this.sum[x] = this.weight[x] + ( ( l == NIL ) ? 0 : this.sum[l] ) + ( ( r == NIL ) ? 0 : this.sum[r] );
+	}
+	
+	/**
+	* Change the weight of a node element, updating the sums up to the root.
+	* @param u		index of the node.
+	* @param delta	change of the weight.
+	*/
+	private void addWeight( int u, int delta )
+	{
+		this.weight[u] += delta;
+		for ( int x = u; x != NIL; x = this.parent[x] )
+			this.sum[x] += delta;
+	}
+	
+	private void listHalf( int h, int u )
+	{
+		this.prevHalf[h] = NIL;
+		this.nextHalf[h] = this.head[u];
+		if ( this.head[u] != NIL )
+			this.prevHalf[this.head[u]] = h;
+		this.head[u] = h;
+		addWeight( u, 1 );
+	}
+	
+	private void unlistHalf( int h )
+	{
+		int e = h >> 1;
+		int u = ( ( h & 1 ) == 0 ) ? this.edgeU[e] : this.edgeV[e];
+		if ( this.prevHalf[h] != NIL )
+			this.nextHalf[this.prevHalf[h]] = this.nextHalf[h];
+		else
+			this.head[u] = this.nextHalf[h];
+		if ( this.nextHalf[h] != NIL )
+			this.prevHalf[this.nextHalf[h]] = this.prevHalf[h];
+		addWeight( u, -1 );
+	}
+	
+	private int newArc()
+	{
+		int x = this.freeArc;
+		this.freeArc = this.right[x];
+		this.left[x] = this.right[x] = this.parent[x] = NIL;
+		this.size[x] = 1;
+		this.sum[x] = 0;
+		return x;
+	}
+	
+	private void freeArc( int x )
+	{
+		this.left[x] = this.parent[x] = NIL;
+		this.right[x] = this.freeArc;
+		this.freeArc = x;
+	}
+}
@@ -0,0 +1,266 @@
+/**
+ *	@file EdgeArray.java
+ *	@brief Growable array of packed edges, with the numbering of their nodes and their adjacency lists, for the Drivers that hold an edges list in memory.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+
+/**
+ * Growable array of edges, each one packed into a long by \see InitializationMapperDedup.pack, used by the Drivers that
+ * hold an edges list in memory: \see BidirectionalSearch, \see SketchBridgeDriver, \see DynamicBridgeDriver and \see ResidentStarDriver.
+ * The nodes are numbered with their position among the sorted identifiers, so that they index primitive arrays;
+ * the adjacency lists keep, for each neighbour, the position of the edge in this array.
+ */
+public class EdgeArray
+{
+	/** Packed edges, the first <em>size</em> are valid */
+	private long[] data = new long[1024];
+	/** Number of edges */
+	private int size = 0;
+	/** Node identifiers, sorted: the index of a node is its position in this array */
+	private int[] nodes;
+	/** Adjacency lists: the neighbours of the node i are from offsets[i] to offsets[i+1] */
+	private int[] offsets, neighbours, neighbourEdges;
+	
+	/**
+	* Append an edge.
+	* @param value	packed edge.
+	*/
+	public void add( long value )
+	{
+		if ( size == data.length )
+			data = Arrays.copyOf( data, 2 * data.length );
+		data[size++] = value;
+	}
+	
+	/**
+	* Append the edges of some files, skipping the lone nodes.
+	* @param fs		file system of the files.
+	* @param conf	configuration used to read the files.
+	* @param files	paths of the files.
+	* @throws IOException
+	*/
+	public void read( FileSystem fs, Configuration conf, List<Path> files ) throws IOException
+	{
+		read( fs, conf, files, Long.MAX_VALUE );
+	}
+	
+	/**
+	* Append the edges of some files, skipping the lone nodes, as long as the array holds at most <em>maxSize</em> edges.
+	* @param fs			file system of the files.
+	* @param conf		configuration used to read the files.
+	* @param files		paths of the files.
+	* @param maxSize	maximum number of edges of the array.
+	* @return 			<c>true</c> if all the edges are appended, <c>false</c> if the reading stopped at <em>maxSize</em> edges.
+	* @throws IOException
+	*/
+	public boolean read( FileSystem fs, Configuration conf, List<Path> files, long maxSize ) throws IOException
+	{
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		for ( Path file : files )
+		{
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, file, conf );
+			try
+			{
+				while ( reader.next( nodeID, neighbourID ) )
+					if ( neighbourID.get() != -1 )
+					{
+						if ( size >= maxSize )
+							return false;
+						add( InitializationMapperDedup.pack( nodeID.get(), neighbourID.get() ) );
+					}
+			}
+			finally
+			{
+				reader.close();
+			}
+		}
+		return true;
+	}
+	
+	/**
+	* Return the number of edges.
+	* @return 	number of edges.
+	*/
+	public int getNumEdges()
+	{
+		return size;
+	}
+	
+	/**
+	* Return a packed edge.
+	* @param e	position of the edge.
+	* @return 	packed edge.
+	*/
+	public long get( int e )
+	{
+		return data[e];
+	}
+	
+	/**
+	* Copy all the packed edges into an array.
+	* @param array		destination array.
+	* @param offset		position of the first edge in the destination array.
+	*/
+	public void copyTo( long[] array, int offset )
+	{
+		System.arraycopy( data, 0, array, offset, size );
+	}
+	
+	/**
+	* Return the first end node of an edge.
+	* @param e	position of the edge.
+	* @return 	identifier of the node.
+	*/
+	public int getNodeID( int e )
+	{
+		return (int) ( data[e] >>> 32 );
+	}
+	
+	/**
+	* Return the second end node of an edge.
+	* @param e	position of the edge.
+	* @return 	identifier of the node.
+	*/
+	public int getNeighbourID( int e )
+	{
+		return (int) data[e];
+	}
+	
+	/**
+	* Number the nodes with their position among the sorted identifiers.
+	* @return 	number of nodes.
+	*/
+	public int numberNodes()
+	{
+		int[] ends = new int[2 * size];
+		for ( int e = 0; e < size; e++ )
+		{
+			ends[2 * e] = getNodeID( e );
+			ends[2 * e + 1] = getNeighbourID( e );
+		}
+		Arrays.sort( ends );
+		int numNodes = 0;
+		for ( int i = 0; i < ends.length; i++ )
+			if ( i == 0 || ends[i] != ends[i - 1] )
+				ends[numNodes++] = ends[i];
+		nodes = Arrays.copyOf( ends, numNodes );
+		return numNodes;
+	}
+	
+	/**
+	* Number the nodes and build the adjacency lists.
+	*/
+	public void buildAdjacency()
+	{
+		int numNodes = numberNodes();
+		offsets = new int[numNodes + 1];
+		for ( int e = 0; e < size; e++ )
+		{
+			offsets[indexOf( getNodeID( e ) ) + 1]++;
+			offsets[indexOf( getNeighbourID( e ) ) + 1]++;
+		}
+		for ( int i = 0; i < numNodes; i++ )
+			offsets[i + 1] += offsets[i];
+		
+		int[] fill = Arrays.copyOf( offsets, numNodes );
+		neighbours = new int[2 * size];
+		neighbourEdges = new int[2 * size];
+		for ( int e = 0; e < size; e++ )
+		{
+			int u = indexOf( getNodeID( e ) );
+			int v = indexOf( getNeighbourID( e ) );
+			neighbours[fill[u]] = v;
+			neighbourEdges[fill[u]++] = e;
+			neighbours[fill[v]] = u;
+			neighbourEdges[fill[v]++] = e;
+		}
+	}
+	
+	/**
+	* Return the number of nodes, after \see numberNodes.
+	* @return 	number of nodes.
+	*/
+	public int getNumNodes()
+	{
+		return nodes.length;
+	}
+	
+	/**
+	* Return the position of the first neighbour of a node in the adjacency lists, after \see buildAdjacency.
+	* @param node	index of the node.
+	* @return 		position of its first neighbour.
+	*/
+	public int getAdjacencyStart( int node )
+	{
+		return offsets[node];
+	}
+	
+	/**
+	* Return the position after the last neighbour of a node in the adjacency lists, after \see buildAdjacency.
+	* @param node	index of the node.
+	* @return 		position after its last neighbour.
+	*/
+	public int getAdjacencyEnd( int node )
+	{
+		return offsets[node + 1];
+	}
+	
+	/**
+	* Return the index of a neighbour, after \see buildAdjacency.
+	* @param i	position in the adjacency lists.
+	* @return 	index of the neighbour.
+	*/
+	public int getNeighbour( int i )
+	{
+		return neighbours[i];
+	}
+	
+	/**
+	* Return the position, in this array, of the edge towards a neighbour, after \see buildAdjacency.
+	* @param i	position in the adjacency lists.
+	* @return 	position of the edge.
+	*/
+	public int getNeighbourEdge( int i )
+	{
+		return neighbourEdges[i];
+	}
+	
+	/**
+	* Return the index of a node, after \see numberNodes.
+	* @param nodeID		identifier of the node.
+	* @return 			index of the node, negative if the node is not found.
+	*/
+	public int indexOf( int nodeID )
+	{
+		return Arrays.binarySearch( nodes, nodeID );
+	}
+}
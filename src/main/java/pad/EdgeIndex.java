@@ -0,0 +1,122 @@
+/**
+ *	@file EdgeIndex.java
+ *	@brief Number of edges stored in each file of an edges list folder, used to compute the global identifier of the edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Number of edges stored in each file of an edges list folder, used to compute the global identifier of the edges.
+ * The edges are numbered following the order of the file names and, inside a file, the order of the records;
+ * the pairs <NodeID, -1> are not edges, so they are not numbered.
+ * The index is stored into the \see INDEX_DIR sub folder, as SequenceFile of <FileName, NumEdges> pairs;
+ * its name starts with an underscore, so it is ignored when the folder is read as input of a Job.
+ */
+public class EdgeIndex
+{
+	/** Name of the sub folder that contains the index */
+	public static final String INDEX_DIR = "_index";
+	/** Named output used by the Tasks that write the index */
+	public static final String MOS_OUTPUT_NAME = "index";
+	/** Base output path for the named output of the index */
+	public static final String MOS_BASEOUTPUTPATH = INDEX_DIR + "/part";
+
+	private final TreeMap<String, Long> offsets = new TreeMap<String, Long>();
+	private long numEdges;
+
+	/**
+	* Read the index of an edges list folder and compute, with a prefix sum, the identifier of the first edge of each file.
+	* @param edges	path of the edges list folder.
+	* @param conf	configuration used to access the file system.
+	* @throws IOException
+	*/
+	public EdgeIndex( Path edges, Configuration conf ) throws IOException
+	{
+		FileSystem fs = edges.getFileSystem( conf );
+		TreeMap<String, Long> counts = new TreeMap<String, Long>();
+
+		Text fileName = new Text();
+		LongWritable count = new LongWritable();
+		for ( FileStatus fileStatus : fs.listStatus( new Path( edges, INDEX_DIR ) ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( fileName, count ) )
+				counts.put( fileName.toString(), count.get() );
+			reader.close();
+		}
+
+		// Prefix sum over the files sorted by name.
+		this.numEdges = 0;
+		for ( Map.Entry<String, Long> entry : counts.entrySet() )
+		{
+			this.offsets.put( entry.getKey(), this.numEdges );
+			this.numEdges += entry.getValue();
+		}
+	}
+
+	/**
+	* Return the identifier of the first edge stored in the file.
+	* @param fileName	name of the file inside the edges list folder.
+	* @return 			identifier of the first edge of the file.
+	* @throws IOException if the file is not present in the index.
+	*/
+	public long getOffset( String fileName ) throws IOException
+	{
+		Long offset = this.offsets.get( fileName );
+		if ( offset == null )
+			throw new IOException( "File " + fileName + " not found in the edges index." );
+		return offset;
+	}
+
+	/**
+	* Return the number of edges of the edges list folder.
+	* @return 	number of edges.
+	*/
+	public long getNumEdges()
+	{
+		return this.numEdges;
+	}
+
+	/**
+	* Check if the edges list folder has an index.
+	* @param edges	path of the edges list folder.
+	* @param conf	configuration used to access the file system.
+	* @return 		<c>true</c> if the index exists, <c>false</c> otherwise.
+	* @throws IOException
+	*/
+	public static boolean exists( Path edges, Configuration conf ) throws IOException
+	{
+		return edges.getFileSystem( conf ).exists( new Path( edges, INDEX_DIR ) );
+	}
+}
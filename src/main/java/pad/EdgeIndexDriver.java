@@ -0,0 +1,132 @@
+/**
+ *	@file EdgeIndexDriver.java
+ *	@brief Driver of the Job responsible for building the \see EdgeIndex of an edges list folder.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Job responsible for building the \see EdgeIndex of an edges list folder.
+ * Each Mapper counts the edges of one file; the prefix sum of these counts gives
+ * a stable global identifier to every edge, so that \see EdgeRemover can run with many Tasks.
+ */
+public class EdgeIndexDriver extends Configured implements Tool
+{
+	private final Path edges;
+	private final boolean verbose;
+	private long numEdges;
+
+	/**
+	* Initializes a new instance of the EdgeIndexDriver class.
+	* @param edges		path of the edges list folder, the index is written inside it.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public EdgeIndexDriver( Path edges, boolean verbose )
+	{
+		this.edges = edges;
+		this.verbose = verbose;
+	}
+
+	/**
+	 * Execute the EdgeIndexDriver Job.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the EdgeIndexDriver Job failed its execution; <c>0</c> if everything is ok.
+	 * @throws Exception
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		Job job = new Job( conf, "EdgeIndexDriver" );
+		job.setJarByClass( EdgeIndexDriver.class );
+
+		job.setOutputKeyClass( Text.class );
+		job.setOutputValueClass( LongWritable.class );
+
+		// We need only a Mapper task for each file.
+		job.setMapperClass( EdgeIndexMapper.class );
+		job.setNumReduceTasks( 0 );
+
+		job.setInputFormatClass( EdgeListInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+
+		// Remove an old index, if any
+		Path index = new Path( this.edges, EdgeIndex.INDEX_DIR );
+		FileSystem.get( conf ).delete( index, true );
+
+		FileInputFormat.addInputPath( job, this.edges );
+		FileOutputFormat.setOutputPath( job, index );
+
+		if ( !job.waitForCompletion( this.verbose ) )
+			return 1;
+
+		this.numEdges = new EdgeIndex( this.edges, conf ).getNumEdges();
+		return 0;
+	}
+
+	/**
+	 * Return the number of edges indexed.
+	 * @return 	number of edges.
+	 */
+	public long getNumEdges()
+	{
+		return this.numEdges;
+	}
+
+	/**
+	 * Main of the \see EdgeIndexDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		if ( args.length != 1 )
+		{
+			System.out.println( "Usage: EdgeIndexDriver <edges>" );
+			System.exit(1);
+		}
+
+		Path edges = new Path( args[0] );
+		System.out.println( "Start EdgeIndexDriver. " );
+		EdgeIndexDriver index = new EdgeIndexDriver( edges, true );
+		if ( index.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( new Path( edges, EdgeIndex.INDEX_DIR ), true );
+			System.exit( 1 );
+		}
+		System.out.println( "End EdgeIndexDriver." );
+
+		System.out.println( "Number of edges: " + index.getNumEdges() );
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ *	@file EdgeIndexMapper.java
+ *	@brief Mapper task of the \see EdgeIndexDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+
+/**	Mapper task of the \see EdgeIndexDriver Job. */
+public class EdgeIndexMapper extends Mapper<IntWritable, IntWritable, Text, LongWritable>
+{
+	private Text fileName = new Text();
+	private long numEdges;
+
+	/**
+	* Setup method of the this EdgeIndexMapper class.
+	* Extract the name of the file read by this Mapper, thanks to \see EdgeListInputFormat it is the whole split.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		fileName.set( ( (FileSplit) context.getInputSplit() ).getPath().getName() );
+		numEdges = 0;
+	}
+
+	/**
+	* Map method of the this EdgeIndexMapper class.
+	* Count the edges of the file, skipping the pairs that indicate a lone node.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context )
+	{
+		if ( neighbourID.get() != -1 )
+			numEdges++;
+	}
+
+	/**
+	* Cleanup method of the this EdgeIndexMapper class.
+	* Emit the pair <FileName, NumEdges>.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		context.write( fileName, new LongWritable( numEdges ) );
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ *	@file EdgeListInputFormat.java
+ *	@brief Input format that reads each file of an edges list folder as a single split.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+
+/**
+ * Input format that reads each file of an edges list folder as a single split.
+ * In this way a Mapper sees all the edges of a file in order, and it can number them
+ * starting from the offset of the file stored in the \see EdgeIndex.
+ */
+public class EdgeListInputFormat extends SequenceFileInputFormat<IntWritable, IntWritable>
+{
+	/**
+	* The files are never split.
+	* @param context	context of the Job.
+	* @param file		file to read.
+	* @return 			always <c>false</c>.
+	*/
+	protected boolean isSplitable( JobContext context, Path file )
+	{
+		return false;
+	}
+}
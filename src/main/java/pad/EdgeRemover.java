@@ -1,6 +1,6 @@
 /**
  *	@file EdgeRemover.java
- *	@brief Input handler job for removing an edge and regenerating new edge list
+ *	@brief Driver of the Job responsible for removing an edge from the edges list.
  *  @author Devendra Dahiphale
  *  
  *	Copyright 2017 Devendra Dahiphale
@@ -21,105 +21,296 @@
 
 package pad;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
-import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import org.apache.hadoop.util.GenericOptionsParser;
 import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
 
-/**	Driver of the Job responsible for executing the Small-Star or Large-Star operation on the input graph. */
+/**
+ * Driver of the Job responsible for removing an edge from the edges list.
+ * The edge is identified by its global identifier, \see EdgeIndex, so the Job is map-only
+ * and it can use as many Tasks as the files of the input folder, without any shuffle.
+ * With more experiments, the Job writes a copy of the edges list for each of them, tagged with
+ * the experiment and without a different edge, \see ExperimentRemoverMapper: the Star rounds
+ * of \see StarDriver then test all of them in the same Jobs.
+ */
 public class EdgeRemover extends Configured implements Tool
 {
-	/** The StarDriver can be of type Large-StarDriver or Small-StarDriver */
-//	public enum StarDriverType { LARGE, SMALL };
+	/** Named output of the removed edge, its name starts with an underscore so it is not read as input */
+	public static final String REMOVED_OUTPUT_NAME = "removed";
+	/** Base output path for the named output of the removed edge */
+	public static final String REMOVED_BASEOUTPUTPATH = "_" + REMOVED_OUTPUT_NAME + "/part";
+	/** Named output of the pairs <OutputName, InputName> of the output files, its name starts with an underscore so it is not read as input */
+	public static final String RENAMES_OUTPUT_NAME = "renames";
+	/** Base output path for the named output of the renames */
+	public static final String RENAMES_BASEOUTPUTPATH = "_" + RENAMES_OUTPUT_NAME + "/part";
 	
 	private final String title;
-//	private final StarDriverType type;
-	private final Path input, output;
+	private final Path input, certain, output;
 	private final boolean verbose;
 	private final long edgeNumber;
-//	private long numChanges;
+	private final int numExperiments;
+	private boolean edgeRemoved;
+	private int removedNodeID = -1, removedNeighbourID = -1;
+	private int[] removedNodeIDs, removedNeighbourIDs;
+	private JobGroup group;
 	
 	/**
-	* Initializes a new instance of the StarDriver class.
-	* @param type		identify which kind of job execute: Small-Star or Large-Star.
-	* @param input		path of the result folder of \see InitializationDriver or \see StarDriver Job.
+	* Initializes a new instance of the EdgeRemover class.
+	* @param input		path of the edges list folder, result of \see InitializationDriver or \see EdgeRemover Job.
 	* @param output		path of the output folder.
-	* @param iteration	used to build the title of this Job.
+	* @param edgeNumber	global identifier of the edge to remove.
 	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
 	*/
 	public EdgeRemover( Path input, Path output, long edgeNumber, boolean verbose )
 	{
-	//	this.type = type;
 		this.title = "EdgeRemover_"  + Long.toString(edgeNumber);
 		this.input = input;
+		this.certain = null;
+		this.output = output;
+		this.edgeNumber = edgeNumber;
+		this.numExperiments = 0;
+		this.verbose = verbose;
+	}
+	
+	/**
+	* Initializes a new instance of the EdgeRemover class that writes an experiment-tagged edges list
+	* for each of the edges from <em>edgeNumber</em> to <em>edgeNumber + numExperiments - 1</em>.
+	* @param input			path of the edges list folder, result of \see InitializationDriver or \see EdgeRemover Job.
+	* @param certain		path of the edges that are never removed, copied into every experiment, <c>null</c> if there are none.
+	* @param output			path of the output folder.
+	* @param edgeNumber		global identifier of the edge removed by the first experiment.
+	* @param numExperiments	number of experiments.
+	* @param verbose		if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public EdgeRemover( Path input, Path certain, Path output, long edgeNumber, int numExperiments, boolean verbose )
+	{
+		this.title = "EdgeRemover_"  + Long.toString(edgeNumber) + "x" + numExperiments;
+		this.input = input;
+		this.certain = certain;
 		this.output = output;
 		this.edgeNumber = edgeNumber;
+		this.numExperiments = numExperiments;
 		this.verbose = verbose;
 	}
 	
 	/**
-	 * Execute the StarDriver Job.
+	 * Execute the EdgeRemover Job.
+	 * If the input folder has not an index yet, it is built first with \see EdgeIndexDriver.
+	 * Each \see EdgeRemoverMapper also writes the index of the output folder, under the name of its input file that its
+	 * output file takes after the Job, and the one that finds the edge writes it into the removed named output,
+	 * read back by \see getRemovedNodeID and \see getRemovedNeighbourID.
 	 * @param args		array of external arguments, not used in this method
-	 * @return 			<c>1</c> if the StarDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @return 			<c>1</c> if the EdgeRemover Job failed its execution; <c>0</c> if everything is ok. 
 	 * @throws Exception 
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
-		//conf.set( "type", this.type.toString() );
-		conf.set("edgeID", Long.toString(this.edgeNumber));
+		conf.setLong( "edgeID", this.edgeNumber );
+		conf.setInt( "numExperiments", this.numExperiments );
+		if ( this.certain != null )
+			conf.set( "experimentCertain", this.certain.toString() );
+		
+		if ( !EdgeIndex.exists( this.input, conf ) && ToolRunner.run( conf, new EdgeIndexDriver( this.input, this.verbose ), null ) != 0 )
+			return 1;
+		
 		Job job = new Job( conf, this.title );
 		job.setJarByClass( EdgeRemover.class );
 	
-		job.setMapOutputKeyClass(IntWritable.class);
-		job.setMapOutputValueClass( IntWritable.class );
-		job.setOutputKeyClass( IntWritable.class );
-		job.setOutputValueClass( IntWritable.class );
-		
-	
-		job.setMapperClass(EdgeRemoverMapper.class );
-//		job.setNumReduceTasks(0);
-		job.setCombinerClass( EdgeRemoverCombiner.class );
-	//	job.setPartitionerClass( NodePartitioner.class );
-		job.setGroupingComparatorClass( EdgeRemoverNodeGroupingComparator.class );
-		job.setReducerClass( EdgeRemoverReducer.class );
-	
-		job.setInputFormatClass( SequenceFileInputFormat.class );
+		// We need only a Mapper task for each file, the edge is found by its identifier.
+		job.setNumReduceTasks( 0 );
+		job.setInputFormatClass( EdgeListInputFormat.class );
 		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		if ( this.numExperiments > 0 )
+		{
+			job.setOutputKeyClass( ExperimentPairWritable.class );
+			job.setOutputValueClass( NullWritable.class );
+			job.setMapperClass( ExperimentRemoverMapper.class );
+			MultipleOutputs.addNamedOutput( job, REMOVED_OUTPUT_NAME, SequenceFileOutputFormat.class, ExperimentPairWritable.class, NullWritable.class );
+			if ( this.certain != null )
+				FileInputFormat.addInputPath( job, this.certain );
+		}
+		else
+		{
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+			job.setMapperClass( EdgeRemoverMapper.class );
+			MultipleOutputs.addNamedOutput( job, EdgeIndex.MOS_OUTPUT_NAME, SequenceFileOutputFormat.class, Text.class, LongWritable.class );
+			MultipleOutputs.addNamedOutput( job, REMOVED_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			MultipleOutputs.addNamedOutput( job, RENAMES_OUTPUT_NAME, SequenceFileOutputFormat.class, Text.class, Text.class );
+		}
 	
 		FileInputFormat.addInputPath( job, this.input );
 		FileOutputFormat.setOutputPath( job, this.output );
 
-		if ( !job.waitForCompletion( verbose ) )
+		if ( !JobGroup.waitForCompletion( this.group, job, verbose ) )
 			return 1;
 		
 		// Set up the private variable looking to the counter value
-	//	this.numChanges = job.getCounters().findCounter( UtilCounters.NUM_CHANGES ).getValue();
-		System.out.println("edge counter " + job.getCounters().findCounter( UtilCounters.NUM_EDGE_COUNTER ).getValue());
+		this.edgeRemoved = ( job.getCounters().findCounter( UtilCounters.NUM_REMOVED_EDGES ).getValue() > 0 );
+		
+		// Read the end nodes of the removed edge.
+		FileSystem fs = FileSystem.get( conf );
+		if ( this.numExperiments == 0 )
+			renameOutputs( fs, conf );
+		Path removed = new Path( this.output, "_" + REMOVED_OUTPUT_NAME );
+		if ( this.numExperiments > 0 )
+		{
+			// An experiment whose edge identifier is greater than the number of edges has no removed edge.
+			this.removedNodeIDs = new int[this.numExperiments];
+			this.removedNeighbourIDs = new int[this.numExperiments];
+			Arrays.fill( this.removedNodeIDs, -1 );
+			Arrays.fill( this.removedNeighbourIDs, -1 );
+			if ( fs.exists( removed ) )
+			{
+				ExperimentPairWritable edge = new ExperimentPairWritable();
+				NullWritable nothing = NullWritable.get();
+				for ( FileStatus fileStatus : fs.listStatus( removed ) )
+				{
+					if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+						continue;
+					SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+					while ( reader.next( edge, nothing ) )
+					{
+						this.removedNodeIDs[edge.Experiment] = edge.NodeID;
+						this.removedNeighbourIDs[edge.Experiment] = edge.NeighbourID;
+					}
+					reader.close();
+				}
+				fs.delete( removed, true );
+			}
+		}
+		else if ( fs.exists( removed ) )
+		{
+			IntWritable nodeID = new IntWritable(), neighbourID = new IntWritable();
+			for ( FileStatus fileStatus : fs.listStatus( removed ) )
+			{
+				if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+					continue;
+				SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+				if ( reader.next( nodeID, neighbourID ) )
+				{
+					this.removedNodeID = nodeID.get();
+					this.removedNeighbourID = neighbourID.get();
+				}
+				reader.close();
+			}
+			fs.delete( removed, true );
+		}
 		return 0;
 	}
 	
 	/**
-	 * Return the number of changes occurred during the operation Small-Star or Large-Star.
-	 * @return 	number of changes.
+	 * Rename each output file after the input file read by its Task, as written into the renames named output,
+	 * so the output files follow the order of the input files, like the index written by \see EdgeRemoverMapper.
+	 * The files are moved to temporary names first, since an output name can be the input name of another file.
+	 * @param fs		file system of the output folder.
+	 * @param conf		configuration used to read the renames.
+	 * @throws IOException
 	 */
-	//public long getNumChanges()
-//	{
-		//return this.numChanges;
-//	}
+	private void renameOutputs( FileSystem fs, Configuration conf ) throws IOException
+	{
+		Path renames = new Path( this.output, "_" + RENAMES_OUTPUT_NAME );
+		ArrayList<String> inputNames = new ArrayList<String>();
+		Text outputName = new Text(), inputName = new Text();
+		for ( FileStatus fileStatus : fs.listStatus( renames ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( outputName, inputName ) )
+			{
+				if ( !fs.rename( new Path( this.output, outputName.toString() ), new Path( this.output, "_" + inputName ) ) )
+					throw new IOException( "Cannot rename " + outputName + " of " + this.output + " into " + inputName + "." );
+				inputNames.add( inputName.toString() );
+			}
+			reader.close();
+		}
+		for ( String name : inputNames )
+			if ( !fs.rename( new Path( this.output, "_" + name ), new Path( this.output, name ) ) )
+				throw new IOException( "Cannot rename " + name + " of " + this.output + "." );
+		fs.delete( renames, true );
+	}
 	
 	/**
-	 * Main of the \see StarDriver class.
+	 * Add the Jobs to a group, so that they can be killed while running, \see JobGroup.
+	 * @param group		group of the Jobs, <c>null</c> for none.
+	 */
+	public void setJobGroup( JobGroup group )
+	{
+		this.group = group;
+	}
+	
+	/**
+	 * Return the first end node of the removed edge.
+	 * @return 	identifier of the node, minus one if no edge has been removed.
+	 */
+	public int getRemovedNodeID()
+	{
+		return this.removedNodeID;
+	}
+	
+	/**
+	 * Return the second end node of the removed edge.
+	 * @return 	identifier of the node, minus one if no edge has been removed.
+	 */
+	public int getRemovedNeighbourID()
+	{
+		return this.removedNeighbourID;
+	}
+	
+	/**
+	 * Return the first end node of the edge removed by each experiment.
+	 * @return 	identifiers of the nodes, minus one for an experiment without removed edge.
+	 */
+	public int[] getRemovedNodeIDs()
+	{
+		return this.removedNodeIDs;
+	}
+	
+	/**
+	 * Return the second end node of the edge removed by each experiment.
+	 * @return 	identifiers of the nodes, minus one for an experiment without removed edge.
+	 */
+	public int[] getRemovedNeighbourIDs()
+	{
+		return this.removedNeighbourIDs;
+	}
+	
+	/**
+	 * Return <code>true</code> if the edge has been found and removed, <code>false</code> if its identifier
+	 * is greater than the number of edges.
+	 * @return 	<code>true</code> if the edge has been removed, <code>false</code> otherwise.
+	 */
+	public boolean isEdgeRemoved()
+	{
+		return this.edgeRemoved;
+	}
+	
+	/**
+	 * Main of the \see EdgeRemover class.
 	 * @param args	array of external arguments,
 	 * @throws Exception
 	 */
@@ -127,26 +318,23 @@ public class EdgeRemover extends Configured implements Tool
 	{	
 		if ( args.length != 3 )
 		{
-			System.out.println( "Usage: StarDriver <type> <input> <output>" );
+			System.out.println( "Usage: EdgeRemover <edgeID> <input> <output>" );
 			System.exit(1);
 		}
 		
-		// Check what Job we need to execute: Small-Star or Large-Star
-	///	StarDriverType type = args[0].toLowerCase().equals("small") ? StarDriverType.SMALL : StarDriverType.LARGE;
-	//	String name = ( type == StarDriverType.SMALL ) ? "Small" : "Large";
-		
-		// Execute the Small-Star or Large-Star Job
+		long edgeNumber = Long.parseLong( args[0] );
 		Path input = new Path( args[1] );
 		Path output = new Path( args[2] );
-		System.out.println( "removing 0 edge" );
-		EdgeRemover star = new EdgeRemover( input, output, Integer.parseInt(args[0]), true );
-		if ( star.run( null ) != 0 )
+		System.out.println( "Start EdgeRemover." );
+		EdgeRemover remover = new EdgeRemover( input, output, edgeNumber, true );
+		if ( remover.run( null ) != 0 )
 		{
 			FileSystem.get( new Configuration() ).delete( output, true  );
 			System.exit( 1 );
 		}
-		System.out.println( "remved 0 edge");
+		System.out.println( "End EdgeRemover." );
 		
+		System.out.println( "Edge " + edgeNumber + ( remover.isEdgeRemoved() ? " removed." : " not found." ) );
 		System.exit( 0 );
 	}
 }
@@ -1,6 +1,6 @@
 /**
  *	@file EdgeRemoverMapper.java
- *	@brief Mapper task of the \see StarDriver Job.
+ *	@brief Mapper task of the \see EdgeRemover Job.
  *  @author Devendra Dahiphale
  *  
  *	Copyright 2017 Devendra Dahiphale
@@ -22,62 +22,98 @@
 package pad;
 
 import java.io.IOException;
-//import java.lang.*;
 
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
 
-/** Mapper task of the \see StarDriver Job. */
+import pad.UtilCounters;
+
+/** Mapper task of the \see EdgeRemover Job. */
 public class EdgeRemoverMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable> 
 {
-//	private boolean smallStar;
-	private int edgeNumber;
-	private int edgeCounter;
-	private IntWritable nodeID = new IntWritable();
-	private NodesPairWritable pair = new NodesPairWritable();
 	public static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private long edgeNumber;
+	private long edgeID;
+	private long numEdges;
+	private Text inputName = new Text();
+	private Text outputName = new Text();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
 
 	/**
-	* Setup method of the this StarMapper class.
-	* Extract the <em>type</em> variable from the context configuration.
-	* Based on this value, this Mapper will behave as a Small-Star Mapper or Large-Star Mapper.
+	* Setup method of the this EdgeRemoverMapper class.
+	* Extract the <em>edgeID</em> variable, i.e. the identifier of the edge to remove, from the context configuration.
+	* Thanks to \see EdgeListInputFormat this Mapper reads a whole file, so the identifier
+	* of its first edge is the offset of the file stored in the \see EdgeIndex of the input folder.
+	* The Task identifiers follow the size of the splits, not the order of the files, so the output file
+	* is renamed after the input file by \see EdgeRemover, and the edges keep their order.
 	* @param context	context of this Job.
+	* @throws IOException
 	*/
-	public void setup( Context context )
+	public void setup( Context context ) throws IOException
 	{
-		//smallStar = context.getConfiguration().get( "type" ).equals( "SMALL" );
-		edgeNumber = Integer.parseInt(context.getConfiguration().get( "edgeID" ));
-		edgeCounter = 0;
+		edgeNumber = context.getConfiguration().getLong( "edgeID", -1 );
+		
+		Path file = ( (FileSplit) context.getInputSplit() ).getPath();
+		edgeID = new EdgeIndex( file.getParent(), context.getConfiguration() ).getOffset( file.getName() );
+		numEdges = 0;
+		
+		// Name of the file read and of the file written by this map-only Task.
+		inputName.set( file.getName() );
+		outputName.set( String.format( "part-m-%05d", context.getTaskAttemptID().getTaskID().getId() ) );
+		mos = new MultipleOutputs<IntWritable, IntWritable>( context );
 	}
 	
 	/**
-	* Map method of the this StarMapper class.
-	* If it is a Large-Star Mapper, it emits the pairs <u,v> and <v,u>.
-	* If it is a Small-Star Mapper, it emits the pair <max(u,v), min(u,v)>.
+	* Map method of the this EdgeRemoverMapper class.
+	* Copy every pair unchanged, except the edge whose identifier is <em>edgeID</em>, that is written into the removed named output.
+	* In place of the removed edge, we emit its two end nodes as lone nodes:
+	* if one of them has no other edges it stays in the graph as a cluster on its own,
+	* otherwise the Large-Star operation discards the lone node pair.
 	* @param nodeID			identifier of the node.
-	* @param neighbourID		identifier of the neighbour.
-	* @param context	context of this Job.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
 	* @throws IOException, InterruptedException
 	*/
-	public void map(IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException 
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException 
 	{
-//		if(edgeNumber == context.getCounter(UtilCounters.NUM_EDGE_COUNTER).getValue() && neighbourID.get() != -1) {
-//			System.out.println("Skipping Edge " + edgeCounter);
-//			context.getCounter( UtilCounters.NUM_EDGE_COUNTER ).increment( 1 );
-//			return;		
-//		}
-
-	//	System.out.println("in map of edge remover, edgenumber " + edgeNumber + "edgeCOunter " + edgeCounter);
-
-		//pair.NodeID = nodeID.get();
-		//pair.NeighbourID =  neighbourID.get();
-//		this.nodeID.set( nodeID );
-		if(neighbourID.get() == -1) {
+		// The pairs of the lone nodes are not edges, so they do not have an identifier.
+		if ( neighbourID.get() == -1 )
+		{
 			context.write( nodeID, neighbourID );
-		} else {
-			context.write( neighbourID, nodeID );
+			return;
+		}
+		
+		if ( edgeID == edgeNumber )
+		{
+			context.write( nodeID, MINUS_ONE );
+			context.write( neighbourID, MINUS_ONE );
+			mos.write( EdgeRemover.REMOVED_OUTPUT_NAME, nodeID, neighbourID, EdgeRemover.REMOVED_BASEOUTPUTPATH );
+			context.getCounter( UtilCounters.NUM_REMOVED_EDGES ).increment( 1 );
+		}
+		else
+		{
 			context.write( nodeID, neighbourID );
+			numEdges++;
 		}
-	//	context.getCounter( UtilCounters.NUM_EDGE_COUNTER ).increment( 1 );
+		edgeID++;
+	}
+	
+	/**
+	 * Cleanup method of the this EdgeRemoverMapper class.
+	 * Store the number of edges written by this Task into the index of the output folder, under the name of the input file
+	 * that the output file takes, write the pair <OutputName, InputName> used to rename it and close the multiple output file.
+	 * @param context	context of this Job.
+	 * @throws IOException, InterruptedException
+	 */
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		mos.write( EdgeIndex.MOS_OUTPUT_NAME, inputName, new LongWritable( numEdges ), EdgeIndex.MOS_BASEOUTPUTPATH );
+		mos.write( EdgeRemover.RENAMES_OUTPUT_NAME, outputName, inputName, EdgeRemover.RENAMES_BASEOUTPUTPATH );
+		mos.close();
 	}
 }
@@ -0,0 +1,357 @@
+/**
+ *	@file ExperimentBridgeDriver.java
+ *	@brief Driver that tests the candidate edges in batches of experiments, each one removing a different edge.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+import pad.StarDriver.StarDriverType;
+
+/**
+ * Driver that tests the candidate edges in batches of experiments, each one removing a different edge.
+ * For each batch, \see EdgeRemover writes a copy of the edges list for each experiment, tagged with it and without
+ * the edge under test, together with the certain folder, i.e. the stars of the cliques and the edges lying on a triangle;
+ * the Large-Star and Small-Star Jobs of \see StarDriver run on all the experiments at once, since the keys are grouped
+ * and partitioned by experiment too, and a map-only Job, \see ExperimentLabelMapper, reads the labels of the end nodes
+ * of the removed edges. An edge is a bridge if its end nodes get different labels.
+ * All the experiments test the edges list of the batch, without the bridges found by the same batch:
+ * this gives the same result of removing them one at a time, since an edge that lies on a cycle keeps that cycle
+ * when a bridge is removed, and a bridge stays a bridge when any other edge is removed.
+ * Each Job serves a whole batch, so the scheduling latency is paid once every <em>numExperiments</em> edges,
+ * while the shuffle grows with the number of experiments.
+ * Finally the map-only Job of \see SketchBridgeMapper removes the bridges from the edges list.
+ */
+public class ExperimentBridgeDriver extends Configured implements Tool
+{
+	/** Name of the file, inside the bridges folder, where the bridges are written */
+	public static final String BRIDGES_FILE_NAME = "experiment-bridges";
+	private static final int MAX_ITERATIONS = 30;
+	
+	private final Path edges, certain, output, bridges;
+	private final int numExperiments;
+	private final boolean verbose;
+	private long numBridges, numTestedEdges, numBatches, numStarRounds;
+	private JobGroup group;
+	
+	/**
+	* Initializes a new instance of the ExperimentBridgeDriver class.
+	* @param edges			path of the edges list folder, result of \see InitializationDriver Job.
+	* @param certain		path of the edges that are never bridges, \see InitializationDriver.getCliquesOutput, <c>null</c> if there are none.
+	* @param output			path of the output folder, where the edges list without the bridges is written.
+	* @param bridges		path of the folder where the bridges are written.
+	* @param numExperiments	number of edges tested by each batch.
+	* @param verbose		if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public ExperimentBridgeDriver( Path edges, Path certain, Path output, Path bridges, int numExperiments, boolean verbose )
+	{
+		this.edges = edges;
+		this.certain = certain;
+		this.output = output;
+		this.bridges = bridges;
+		this.numExperiments = numExperiments;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Test the candidate edges batch by batch and execute the ExperimentBridgeDriver Job.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if an ExperimentBridgeDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.output.suffix( "_experiments" );
+		
+		if ( !EdgeIndex.exists( this.edges, conf ) && ToolRunner.run( conf, new EdgeIndexDriver( this.edges, this.verbose ), null ) != 0 )
+			return 1;
+		long numCandidates = new EdgeIndex( this.edges, conf ).getNumEdges();
+		
+		fs.mkdirs( this.bridges );
+		Path file = new Path( this.bridges, BRIDGES_FILE_NAME );
+		SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, file, IntWritable.class, IntWritable.class );
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		this.numBridges = 0;
+		try
+		{
+			for ( long first = 0; first < numCandidates; first += this.numExperiments )
+			{
+				int count = (int) Math.min( this.numExperiments, numCandidates - first );
+				EdgeArray found = testBatch( conf, fs, work, first, count );
+				if ( found == null )
+					return 1;
+				for ( int i = 0; i < found.getNumEdges(); i++ )
+				{
+					nodeID.set( found.getNodeID( i ) );
+					neighbourID.set( found.getNeighbourID( i ) );
+					writer.append( nodeID, neighbourID );
+				}
+				this.numBridges += found.getNumEdges();
+				this.numTestedEdges += count;
+				if ( this.verbose )
+					System.out.println( "Batch " + this.numBatches + ": " + this.numTestedEdges + " edges tested, " + this.numBridges + " bridges." );
+			}
+		}
+		finally
+		{
+			writer.close();
+			fs.delete( work, true );
+		}
+		
+		return SketchBridgeDriver.removeBridges( conf, this.edges, file, this.output, "ExperimentBridgeDriver", this.verbose ) ? 0 : 1;
+	}
+	
+	/**
+	 * Test a batch of consecutive candidate edges, each one removed by its own experiment.
+	 * @param conf		configuration of the Jobs.
+	 * @param fs		file system.
+	 * @param work		path of the work folder of the batch, deleted at the end.
+	 * @param first		global identifier of the first edge of the batch, \see EdgeIndex.
+	 * @param count		number of edges of the batch.
+	 * @return 			the bridges of the batch, <c>null</c> if a Job failed.
+	 * @throws Exception
+	 */
+	public EdgeArray testBatch( Configuration conf, FileSystem fs, Path work, long first, int count ) throws Exception
+	{
+		// The end nodes of the batch are set into a copy, so that the batches of other threads are not affected.
+		conf = new Configuration( conf );
+		fs.delete( work, true );
+		try
+		{
+			// Write a tagged copy of the edges list for each experiment of the batch.
+			EdgeRemover remover = new EdgeRemover( this.edges, this.certain, new Path( work, "star0" ), first, count, false );
+			remover.setJobGroup( this.group );
+			if ( ToolRunner.run( conf, remover, null ) != 0 )
+				return null;
+			int[] nodeU = remover.getRemovedNodeIDs();
+			int[] nodeV = remover.getRemovedNeighbourIDs();
+			
+			Path stars = starRounds( conf, fs, work );
+			if ( stars == null )
+				return null;
+			int[][] labels = readLabels( conf, fs, stars, new Path( work, "labels" ), nodeU, nodeV );
+			if ( labels == null )
+				return null;
+			
+			EdgeArray found = new EdgeArray();
+			for ( int i = 0; i < count; i++ )
+				if ( nodeU[i] != -1 && labels[0][i] != labels[1][i] )
+					found.add( InitializationMapperDedup.pack( nodeU[i], nodeV[i] ) );
+			this.numBatches++;
+			return found;
+		}
+		finally
+		{
+			fs.delete( work, true );
+		}
+	}
+	
+	/**
+	 * Run the tagged Large-Star and Small-Star Jobs on all the experiments of a batch, until none of them changes.
+	 * @param conf		configuration of the Jobs.
+	 * @param fs		file system.
+	 * @param work		path of the folder of the batch, where the tagged edges list is <em>star0</em>.
+	 * @return 			path of the converged stars, <c>null</c> if a Job failed.
+	 * @throws Exception
+	 */
+	private Path starRounds( Configuration conf, FileSystem fs, Path work ) throws Exception
+	{
+		long i = 0, numRounds = 0, numChanges;
+		JobSizing sizing = null;
+		do
+		{
+			StarDriver largeStar = new StarDriver( StarDriverType.LARGE, new Path( work, "star" + i ), new Path( work, "star" + (i+1) ), i, false );
+			largeStar.setTagged( true );
+			largeStar.setInputSizing( sizing );
+			largeStar.setJobGroup( this.group );
+			if ( ToolRunner.run( conf, largeStar, null ) != 0 )
+				return null;
+			fs.delete( new Path( work, "star" + i ), true );
+			i++;
+			
+			StarDriver smallStar = new StarDriver( StarDriverType.SMALL, new Path( work, "star" + i ), new Path( work, "star" + (i+1) ), i, false );
+			smallStar.setTagged( true );
+			smallStar.setInputSizing( largeStar.getOutputSizing() );
+			smallStar.setJobGroup( this.group );
+			if ( ToolRunner.run( conf, smallStar, null ) != 0 )
+				return null;
+			fs.delete( new Path( work, "star" + i ), true );
+			i++;
+			
+			sizing = smallStar.getOutputSizing();
+			numChanges = largeStar.getNumChanges() + smallStar.getNumChanges();
+			numRounds++;
+		} while ( numChanges != 0 && numRounds < MAX_ITERATIONS );
+		this.numStarRounds += numRounds;
+		return new Path( work, "star" + i );
+	}
+	
+	/**
+	 * Read the labels of the end nodes of the edges removed by the experiments, with the map-only Job of \see ExperimentLabelMapper.
+	 * @param conf		configuration of the Job.
+	 * @param fs		file system.
+	 * @param stars		path of the converged stars of the experiments.
+	 * @param labels	path of the output folder of the Job.
+	 * @param nodeU		first end node of the edge removed by each experiment.
+	 * @param nodeV		second end node of the edge removed by each experiment.
+	 * @return 			the labels of the first and of the second end nodes, <c>null</c> if the Job failed.
+	 * @throws Exception
+	 */
+	private int[][] readLabels( Configuration conf, FileSystem fs, Path stars, Path labels, int[] nodeU, int[] nodeV ) throws Exception
+	{
+		String[] u = new String[nodeU.length], v = new String[nodeV.length];
+		for ( int i = 0; i < nodeU.length; i++ )
+		{
+			u[i] = Integer.toString( nodeU[i] );
+			v[i] = Integer.toString( nodeV[i] );
+		}
+		conf.setStrings( "experimentNodeU", u );
+		conf.setStrings( "experimentNodeV", v );
+		Job job = new Job( conf, "ExperimentBridgeDriver-Labels" );
+		job.setJarByClass( ExperimentBridgeDriver.class );
+		
+		job.setOutputKeyClass( ExperimentPairWritable.class );
+		job.setOutputValueClass( NullWritable.class );
+		
+		job.setMapperClass( ExperimentLabelMapper.class );
+		job.setNumReduceTasks( 0 );
+		
+		JobSizing.of( new Path[] { stars }, conf ).configureSplits( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, stars );
+		FileOutputFormat.setOutputPath( job, labels );
+		
+		if ( !JobGroup.waitForCompletion( this.group, job, this.verbose ) )
+			return null;
+		
+		// A node without any pair keeps the label minus one, like an experiment without removed edge.
+		int[][] result = new int[2][nodeU.length];
+		ExperimentPairWritable label = new ExperimentPairWritable();
+		NullWritable nothing = NullWritable.get();
+		for ( FileStatus fileStatus : fs.listStatus( labels ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( label, nothing ) )
+				result[( label.NodeID == nodeU[label.Experiment] ) ? 0 : 1][label.Experiment] = label.NeighbourID;
+			reader.close();
+		}
+		return result;
+	}
+	
+	/**
+	 * Add the Jobs to a group, so that they can be killed while running, \see JobGroup.
+	 * @param group		group of the Jobs, <c>null</c> for none.
+	 */
+	public void setJobGroup( JobGroup group )
+	{
+		this.group = group;
+	}
+	
+	/**
+	 * Return the number of bridges found.
+	 * @return 	number of bridges.
+	 */
+	public long getNumBridges()
+	{
+		return this.numBridges;
+	}
+	
+	/**
+	 * Return the number of edges tested, i.e. the edges of the edges list.
+	 * @return 	number of tested edges.
+	 */
+	public long getNumTestedEdges()
+	{
+		return this.numTestedEdges;
+	}
+	
+	/**
+	 * Return the number of batches of experiments.
+	 * @return 	number of batches.
+	 */
+	public long getNumBatches()
+	{
+		return this.numBatches;
+	}
+	
+	/**
+	 * Return the number of tagged Large-Star and Small-Star rounds executed by all the batches.
+	 * @return 	number of Star rounds.
+	 */
+	public long getNumStarRounds()
+	{
+		return this.numStarRounds;
+	}
+	
+	/**
+	 * Main of the \see ExperimentBridgeDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 4 && args.length != 5 )
+		{
+			System.out.println( "Usage: ExperimentBridgeDriver <input> <output> <bridges> <numExperiments> [<certain>]" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path bridges = new Path( args[2] );
+		int numExperiments = Integer.parseInt( args[3] );
+		Path certain = ( args.length == 5 ) ? new Path( args[4] ) : null;
+		System.out.println( "Start ExperimentBridgeDriver." );
+		ExperimentBridgeDriver experiments = new ExperimentBridgeDriver( input, certain, output, bridges, numExperiments, true );
+		if ( experiments.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End ExperimentBridgeDriver." );
+		
+		System.out.println( "Number of tested edges: " + experiments.getNumTestedEdges() + " in " + experiments.getNumBatches() + " batches" );
+		System.out.println( "Number of Star rounds: " + experiments.getNumStarRounds() );
+		System.out.println( "Number of bridges: " + experiments.getNumBridges() );
+		System.exit( 0 );
+	}
+}
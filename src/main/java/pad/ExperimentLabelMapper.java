@@ -0,0 +1,105 @@
+/**
+ *	@file ExperimentLabelMapper.java
+ *	@brief Mapper task of the Job that reads the labels of the end nodes of the removed edges, \see ExperimentBridgeDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/** Mapper task of the Job that reads the labels of the end nodes of the removed edges, \see ExperimentBridgeDriver. */
+public class ExperimentLabelMapper extends Mapper<ExperimentPairWritable, NullWritable, ExperimentPairWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private int[] nodeU, nodeV;
+	private boolean[] rootU, rootV;
+	private ExperimentPairWritable label = new ExperimentPairWritable();
+
+	/**
+	* Setup method of the this ExperimentLabelMapper class.
+	* Extract the end nodes of the edge removed by each experiment from the <em>experimentNodeU</em>
+	* and <em>experimentNodeV</em> variables of the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		Configuration conf = context.getConfiguration();
+		String[] u = conf.getStrings( "experimentNodeU" );
+		String[] v = conf.getStrings( "experimentNodeV" );
+		nodeU = new int[u.length];
+		nodeV = new int[v.length];
+		for ( int i = 0; i < u.length; i++ )
+		{
+			nodeU[i] = Integer.parseInt( u[i] );
+			nodeV[i] = Integer.parseInt( v[i] );
+		}
+		rootU = new boolean[u.length];
+		rootV = new boolean[v.length];
+	}
+
+	/**
+	* Map method of the this ExperimentLabelMapper class.
+	* After the Star rounds each pair links a node to the minimum label of its cluster, and a lone node is labelled by itself.
+	* If the node, or the label itself, is an end node of the edge removed by the experiment, we emit <Experiment, Node, Label>;
+	* a label is the root of many pairs, so it is emitted only the first time this Task meets it.
+	* @param edge		experiment and end nodes of the star edge.
+	* @param nothing	nothing.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ExperimentPairWritable edge, NullWritable nothing, Context context ) throws IOException, InterruptedException
+	{
+		int e = edge.Experiment;
+		int node = ( edge.NeighbourID == -1 ) ? edge.NodeID : Math.max( edge.NodeID, edge.NeighbourID );
+		int root = ( edge.NeighbourID == -1 ) ? edge.NodeID : Math.min( edge.NodeID, edge.NeighbourID );
+		
+		if ( node != root && ( node == nodeU[e] || node == nodeV[e] ) )
+			write( e, node, root, context );
+		if ( root == nodeU[e] && !rootU[e] )
+		{
+			rootU[e] = true;
+			write( e, root, root, context );
+		}
+		if ( root == nodeV[e] && !rootV[e] )
+		{
+			rootV[e] = true;
+			write( e, root, root, context );
+		}
+	}
+	
+	/**
+	* Write the label of an end node.
+	* @param experiment	identifier of the experiment.
+	* @param node		end node.
+	* @param root		label of the end node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void write( int experiment, int node, int root, Context context ) throws IOException, InterruptedException
+	{
+		label.Experiment = experiment;
+		label.NodeID = node;
+		label.NeighbourID = root;
+		context.write( label, NULL );
+	}
+}
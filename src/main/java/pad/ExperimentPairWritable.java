@@ -0,0 +1,104 @@
+/**
+ *	@file ExperimentPairWritable.java
+ *	@brief Pair of nodes tagged with the identifier of the experiment it belongs to.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Pair of nodes tagged with the identifier of the experiment it belongs to.
+ * Each experiment is an independent copy of the edges list, so the keys are sorted
+ * first by experiment and then, like \see NodesPairWritable, by NodeID and NeighbourID.
+ */
+public class ExperimentPairWritable extends NodesPairWritable
+{
+	/**	Identifier of the experiment */
+	public Integer Experiment = new Integer( 0 );
+	
+	/**
+	* Deserializes the pair. Read the data out in the order it is written.
+	* @param in		source for raw byte representation.
+	* @throws IOException
+	*/
+	public void readFields( DataInput in ) throws IOException
+	{
+		this.Experiment = in.readInt();
+		super.readFields( in );
+	}
+	
+	/**
+	* Serializes this pair. Write the data out in the order it is read.
+	* @param out	where to write the raw byte representation.
+	* @throws IOException
+	*/
+	public void write( DataOutput out ) throws IOException
+	{
+		out.writeInt( this.Experiment );
+		super.write( out );
+	}
+	
+	/**
+	* Convert the object into a string.
+	* @return	the resulting string.
+	*/
+	public String toString()
+	{
+		return this.Experiment + "\t" + super.toString();
+	}
+	
+	/**
+	* Compare this object with other one of its kind.
+	* It compare first the two objects looking to the Experiment, then to the NodeID and the NeighbourID.
+	* @param other	the other object with which to make comparisons.
+	* @return 		<c>0</c> if the two objects are identical,
+	* 				<c>-1</c> if this object is smaller than the <em>other</em>.
+	* 				<c>1</c> if this object is greater than the <em>other</em>.
+	*/
+	public int compareTo( NodesPairWritable other )
+	{
+		int result = this.Experiment - ( (ExperimentPairWritable) other ).Experiment;
+		if ( result == 0 )
+			result = super.compareTo( other );
+		return result;
+	}
+	
+	/**
+	* Calculate hash code of this object.
+	* @return 		the hash code.
+	*/
+	public int hashCode()
+	{
+		return 31 * super.hashCode() + this.Experiment;
+	}
+	
+	/**
+	* Check if two objects that are instance of \see ExperimentPairWritable are equals.
+	* @param other	the other object with which to make comparisons.
+	* @return 		<c>true</c> if the two objects are equals, <c>false</c> otherwise.
+	*/
+	public boolean equals( Object other )
+	{
+		if ( !(other instanceof ExperimentPairWritable) ) return false;
+		return super.equals( other ) && this.Experiment.equals( ( (ExperimentPairWritable) other ).Experiment );
+	}
+}
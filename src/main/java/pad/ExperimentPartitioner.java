@@ -0,0 +1,42 @@
+/**
+ *	@file ExperimentPartitioner.java
+ *	@brief Partitioner of the experiment-tagged keys, \see ExperimentPairWritable.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Partitioner;
+
+/**	Thanks to this class, the keys (\see ExperimentPairWritable) are partitioned considering the Experiment and the NodeID. */
+public class ExperimentPartitioner extends Partitioner<ExperimentPairWritable, IntWritable>
+{
+	/**
+	* Choose the Reducer identifier to which send the record using the Experiment and the NodeID information,
+	* so that the same node of different experiments is spread over the Reducers.
+	* @param pair			key of the record, \see ExperimentPairWritable.
+	* @param _				value of the record.
+	* @param numPartitions	number of Reducer used.
+	* @return 				Reducer identifier to which send this record.
+	*/
+	public int getPartition( ExperimentPairWritable pair, IntWritable _, int numPartitions )
+	{
+		return ( ( 31 * pair.NodeID + pair.Experiment ) & Integer.MAX_VALUE ) % numPartitions;
+	}
+}
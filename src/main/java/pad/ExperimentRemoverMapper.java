@@ -0,0 +1,125 @@
+/**
+ *	@file ExperimentRemoverMapper.java
+ *	@brief Mapper task of the \see EdgeRemover Job that writes a copy of the edges list for each experiment.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+import pad.UtilCounters;
+
+/** Mapper task of the \see EdgeRemover Job that writes a copy of the edges list for each experiment. */
+public class ExperimentRemoverMapper extends Mapper<IntWritable, IntWritable, ExperimentPairWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private long firstEdge;
+	private long edgeID;
+	private int numExperiments;
+	private boolean certain;
+	private ExperimentPairWritable edge = new ExperimentPairWritable();
+	private MultipleOutputs<ExperimentPairWritable, NullWritable> mos = null;
+
+	/**
+	* Setup method of the this ExperimentRemoverMapper class.
+	* Extract the <em>edgeID</em> variable, i.e. the identifier of the edge removed by the first experiment,
+	* and the <em>numExperiments</em> variable from the context configuration.
+	* The files of the <em>experimentCertain</em> folder, compared by fully qualified path, are copied into every experiment; for the others,
+	* like \see EdgeRemoverMapper, the identifier of the first edge is the offset of the file in the \see EdgeIndex.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		firstEdge = conf.getLong( "edgeID", -1 );
+		numExperiments = conf.getInt( "numExperiments", 1 );
+		
+		Path file = ( (FileSplit) context.getInputSplit() ).getPath();
+		String certainFolder = conf.get( "experimentCertain" );
+		if ( certainFolder != null )
+		{
+			Path folder = new Path( certainFolder );
+			FileSystem fs = folder.getFileSystem( conf );
+			certain = fs.makeQualified( file.getParent() ).equals( fs.makeQualified( folder ) );
+		}
+		if ( !certain )
+			edgeID = new EdgeIndex( file.getParent(), conf ).getOffset( file.getName() );
+		mos = new MultipleOutputs<ExperimentPairWritable, NullWritable>( context );
+	}
+	
+	/**
+	* Map method of the this ExperimentRemoverMapper class.
+	* The experiment <em>i</em> removes the edge whose identifier is <em>edgeID + i</em>: every pair is written into
+	* every experiment, except the removed edge, that is written into the removed named output of its experiment
+	* and replaced by its two end nodes as lone nodes, like \see EdgeRemoverMapper does.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException 
+	{
+		// The pairs of the lone nodes and of the certain edges do not have an identifier.
+		long removed = ( certain || neighbourID.get() == -1 ) ? -1 : edgeID++ - firstEdge;
+		
+		for ( int i = 0; i < numExperiments; i++ )
+		{
+			edge.Experiment = i;
+			if ( i == removed )
+			{
+				edge.NodeID = nodeID.get();
+				edge.NeighbourID = neighbourID.get();
+				mos.write( EdgeRemover.REMOVED_OUTPUT_NAME, edge, NULL, EdgeRemover.REMOVED_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_REMOVED_EDGES ).increment( 1 );
+				
+				edge.NeighbourID = -1;
+				context.write( edge, NULL );
+				edge.NodeID = neighbourID.get();
+				context.write( edge, NULL );
+			}
+			else
+			{
+				edge.NodeID = nodeID.get();
+				edge.NeighbourID = neighbourID.get();
+				context.write( edge, NULL );
+			}
+		}
+	}
+	
+	/**
+	 * Cleanup method of the this ExperimentRemoverMapper class.
+	 * Close the multiple output file.
+	 * @param context	context of this Job.
+	 * @throws IOException, InterruptedException
+	 */
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		mos.close();
+	}
+}
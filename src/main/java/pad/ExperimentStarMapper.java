@@ -0,0 +1,95 @@
+/**
+ *	@file ExperimentStarMapper.java
+ *	@brief Mapper task of the \see StarDriver Job on experiment-tagged edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/** Mapper task of the \see StarDriver Job on experiment-tagged edges. */
+public class ExperimentStarMapper extends Mapper<ExperimentPairWritable, NullWritable, ExperimentPairWritable, IntWritable>
+{
+	private boolean smallStar;
+	private ExperimentPairWritable pair = new ExperimentPairWritable();
+	private IntWritable neighbour = new IntWritable();
+
+	/**
+	* Setup method of the this ExperimentStarMapper class.
+	* Extract the <em>type</em> variable from the context configuration.
+	* Based on this value, this Mapper will behave as a Small-Star Mapper or Large-Star Mapper.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		smallStar = context.getConfiguration().get( "type" ).equals( "SMALL" );
+	}
+	
+	/**
+	* Map method of the this ExperimentStarMapper class.
+	* Like \see StarMapper, keeping the experiment of the edge:
+	* if it is a Large-Star Mapper, it emits the pairs <u,v> and <v,u>;
+	* if it is a Small-Star Mapper, it emits the pair <max(u,v), min(u,v)>.
+	* @param edge		experiment and end nodes of the edge.
+	* @param nothing	nothing.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ExperimentPairWritable edge, NullWritable nothing, Context context ) throws IOException, InterruptedException
+	{
+		pair.Experiment = edge.Experiment;
+		
+		// if the node is alone, emit it like is it in order to keep that information.
+		if ( edge.NeighbourID < 0 )
+		{
+			emit( edge.NodeID, edge.NeighbourID, context );
+			return;
+		}
+		
+		// If we are running Small-Star, we emit only the pair <max(u,v), min(u,v)>
+		if ( smallStar )
+		{
+			emit( Math.max( edge.NodeID, edge.NeighbourID ), Math.min( edge.NodeID, edge.NeighbourID ), context );
+			return;
+		}
+		
+		// If we are running Large-Star, we always emit: <NodeID; NeighbourID> and <NeighbourID; NodeID>
+		emit( edge.NodeID, edge.NeighbourID, context );
+		emit( edge.NeighbourID, edge.NodeID, context );
+	}
+	
+	/**
+	* Emit the pair <NodeID, NeighbourID> of the current experiment.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void emit( int nodeID, int neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		pair.NodeID = nodeID;
+		pair.NeighbourID = neighbourID;
+		neighbour.set( neighbourID );
+		context.write( pair, neighbour );
+	}
+}
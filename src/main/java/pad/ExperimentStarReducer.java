@@ -0,0 +1,124 @@
+/**
+ *	@file ExperimentStarReducer.java
+ *	@brief Reducer task of the \see StarDriver Job on experiment-tagged edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/** Reducer task of the \see StarDriver Job on experiment-tagged edges. */
+public class ExperimentStarReducer extends Reducer<ExperimentPairWritable, IntWritable, ExperimentPairWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private ExperimentPairWritable edge = new ExperimentPairWritable();
+	private boolean smallStar;
+	
+	/**
+	* Setup method of the this ExperimentStarReducer class.
+	* Extract the <em>type</em> variable from the context configuration.
+	* Based on this value, this Reducer will behave as a Small-Star Reducer or Large-Star Reducer.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		smallStar = context.getConfiguration().get( "type" ).equals( "SMALL" );
+	}
+	
+	/**
+	* Reduce method of the this ExperimentStarReducer class.
+	* Like \see StarReducer, inside the experiment of the key: the minimum node <em>MinNodeID</em> is either
+	* the NodeID or the first neighbour, and for each neighbour we produce the pair <NeighbourID, MinNodeID>
+	* always if it is a Small-Star Reducer, only when NeighbourID is greater than NodeID if it is a Large-Star Reducer.
+	* The converged stars are not frozen: the rounds stop when no experiment changes.
+	* @param pair			pair used to implement the secondary sort, \see ExperimentPairWritable.
+	* @param neighbourhood	list of neighbours.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( ExperimentPairWritable pair, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		long numProducedPairs = 0;
+		boolean alone = true, lone = false;
+		int minNodeID = pair.NodeID;
+		edge.Experiment = pair.Experiment;
+		
+		// Do not exists a node with ID equal to minus two ( minus one already used to indicate loneliness )
+		int lastNodeSeen = -2;
+		for ( IntWritable neighbour : neighbourhood )
+		{
+			// Skip the duplicate nodes and the loneliness indicator.
+			if ( neighbour.get() == -1 )
+				lone = true;
+			if ( neighbour.get() == lastNodeSeen || neighbour.get() == -1 )
+				continue;
+			lastNodeSeen = neighbour.get();
+			
+			if ( alone )
+			{
+				alone = false;
+				
+				// Thanks to the secondary sorting, the first neighbour is the one with the minimum label.
+				minNodeID = Math.min( pair.NodeID, neighbour.get() );
+				
+				// If we are running Small-Star, we need to connect this node to the minimum neighbours
+				if ( smallStar && pair.NodeID != minNodeID )
+					write( pair.NodeID, minNodeID, context );
+			}
+			
+			boolean cond = ( smallStar ? ( neighbour.get() != minNodeID ) : ( neighbour.get() > pair.NodeID ) );
+			if ( cond )
+			{
+				write( neighbour.get(), minNodeID, context );
+				numProducedPairs++;
+			}
+		}
+		
+		// This means that the nodeID is isolated, so we emit it unchanged.
+		if ( alone )
+		{
+			if ( lone )
+				write( pair.NodeID, -1, context );
+			return;
+		}
+		
+		if ( pair.NodeID != minNodeID )
+			context.getCounter( UtilCounters.NUM_CHANGES ).increment( numProducedPairs );
+	}
+	
+	/**
+	* Write the pair <NodeID, NeighbourID> of the current experiment.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void write( int nodeID, int neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		edge.NodeID = nodeID;
+		edge.NeighbourID = neighbourID;
+		context.write( edge, NULL );
+	}
+}
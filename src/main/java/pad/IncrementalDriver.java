@@ -0,0 +1,343 @@
+/**
+ *	@file IncrementalDriver.java
+ *	@brief Driver of the Jobs that update the clusters of a previous run with a batch of new edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.util.ArrayList;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.MultipleInputs;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+import pad.StarDriver.StarDriverType;
+
+/**
+ * Driver of the Jobs that update the connected components of a previous run with a batch of new edges.
+ * The clusters are plain connected components, not the clusters of \see ConnectedComponents, which are left once the
+ * bridges are removed: a new edge between two of those clusters would be a bridge itself, and a new edge that closes
+ * a cycle through some removed bridges would merge all the clusters along the cycle, so they cannot be updated by
+ * contracting the clusters alone. The first components are built by this Driver too, starting from an empty folder
+ * of clusters with the whole graph as the batch of new edges. Every output of this Driver holds a \see COMPONENTS_MARKER file,
+ * and a folder of clusters without it, like the output of \see ConnectedComponents, is refused.
+ * Adding edges can only merge connected components, so each cluster of the previous run can be contracted to its representative,
+ * i.e. its minimum node. The new edges are read by \see InitializationDriver; then a map-only Job, using
+ * \see IncrementalMapperTouched, links each node touched by a new edge to the representative of its cluster.
+ * The Star rounds run only on the links and the new edges, so their cost depends on the size of the batch,
+ * and they give to each touched cluster the label of the merged one. Finally the last Job rewrites the clusters:
+ * the untouched ones are copied by \see IncrementalMapperCluster without going through the shuffle, while the
+ * touched ones and the nodes of the new stars, \see IncrementalMapperStar, are merged by \see IncrementalReducer.
+ * The clusters of the previous run must be sorted in ascending order, as written by \see TerminationDriver.
+ */
+public class IncrementalDriver extends Configured implements Tool
+{
+	/** Named output of the clusters that do not change */
+	public static final String UNCHANGED_OUTPUT_NAME = "unchanged";
+	/** Base output path for the named output of the clusters that do not change */
+	public static final String UNCHANGED_BASEOUTPUTPATH = UNCHANGED_OUTPUT_NAME + "/part";
+	/** Empty file that marks the folders of connected components written by this Driver, hidden to the input formats */
+	public static final String COMPONENTS_MARKER = "_COMPONENTS";
+	private static final int MAX_ITERATIONS = 30;
+	
+	private final Path clusters, input, output;
+	private final boolean verbose;
+	private long numNewEdges, numLinks, numStarRounds, numTouchedClusters, numNodes, numClusters;
+	
+	/**
+	* Initializes a new instance of the IncrementalDriver class.
+	* @param clusters	path of the connected components of a previous run of this Driver, an empty folder for the first run;
+	* 					the clusters of \see ConnectedComponents are refused.
+	* @param input		path of the new edges, as adjacency list or cliques list.
+	* @param output		path of the output folder.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public IncrementalDriver( Path clusters, Path input, Path output, boolean verbose )
+	{
+		this.clusters = clusters;
+		this.input = input;
+		this.output = output;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the IncrementalDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if an IncrementalDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.output.suffix( "_incremental" );
+		Path edges = new Path( work, "edges" );
+		Path links = new Path( work, "links" );
+		Path stars = new Path( work, "stars" );
+		fs.delete( work, true );
+		
+		// Only plain connected components can be contracted, \see IncrementalDriver.
+		if ( !fs.exists( new Path( this.clusters, COMPONENTS_MARKER ) ) )
+			for ( FileStatus fileStatus : fs.listStatus( this.clusters ) )
+				if ( fileStatus.getPath().getName().startsWith( "part" ) )
+				{
+					System.out.println( "IncrementalDriver: " + this.clusters + " is not an output of IncrementalDriver, its clusters may have lost their bridges." );
+					return 1;
+				}
+		
+		// Transform the new edges into an edges list, with the cliques written as stars.
+		InitializationDriver init = new InitializationDriver( this.input, edges, true, true, false );
+		if ( ToolRunner.run( conf, init, null ) != 0 )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		this.numNewEdges = init.getNumEdges();
+		ArrayList<Path> starInputs = new ArrayList<Path>();
+		starInputs.add( edges );
+		if ( init.getCliquesOutput() != null && fs.exists( init.getCliquesOutput() ) )
+			starInputs.add( init.getCliquesOutput() );
+		String[] folders = new String[starInputs.size()];
+		for ( int i = 0; i < folders.length; i++ )
+			folders[i] = starInputs.get( i ).toString();
+		conf.setStrings( "incrementalEdges", folders );
+		
+		// Link the touched nodes to the representatives of their clusters.
+		Job job = new Job( conf, "IncrementalDriver-Touched" );
+		job.setJarByClass( IncrementalDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( IncrementalMapperTouched.class );
+		job.setNumReduceTasks( 0 );
+		
+		JobSizing.of( new Path[] { this.clusters }, conf ).configureSplits( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, this.clusters );
+		FileOutputFormat.setOutputPath( job, links );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		this.numLinks = JobSizing.ofOutput( job ).getNumRecords();
+		starInputs.add( links );
+		
+		// Connect the contracted clusters.
+		if ( starRounds( conf, fs, starInputs.toArray( new Path[starInputs.size()] ), work, stars ) != 0 )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		
+		// Rewrite the clusters: the touched ones are merged together with the nodes of their star.
+		conf.set( "incrementalStars", stars.toString() );
+		job = new Job( conf, "IncrementalDriver-Merge" );
+		job.setJarByClass( IncrementalDriver.class );
+		
+		job.setMapOutputKeyClass( IntWritable.class );
+		job.setMapOutputValueClass( ClusterWritable.class );
+		job.setOutputKeyClass( ClusterWritable.class );
+		job.setOutputValueClass( NullWritable.class );
+		
+		MultipleInputs.addInputPath( job, this.clusters, SequenceFileInputFormat.class, IncrementalMapperCluster.class );
+		MultipleInputs.addInputPath( job, stars, SequenceFileInputFormat.class, IncrementalMapperStar.class );
+		job.setReducerClass( IncrementalReducer.class );
+		
+		// The shuffle holds only the touched clusters and the new stars.
+		JobSizing.of( new Path[] { stars }, conf ).configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		MultipleOutputs.addNamedOutput( job, UNCHANGED_OUTPUT_NAME, SequenceFileOutputFormat.class, ClusterWritable.class, NullWritable.class );
+		FileOutputFormat.setOutputPath( job, this.output );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		
+		// Set up the private variables looking to the counters value
+		this.numTouchedClusters = job.getCounters().findCounter( UtilCounters.NUM_TOUCHED_CLUSTERS ).getValue();
+		this.numNodes = job.getCounters().findCounter( UtilCounters.NUM_NODES ).getValue();
+		this.numClusters = job.getCounters().findCounter( UtilCounters.NUM_CLUSTERS ).getValue();
+		
+		// Move the clusters that do not change into the output folder, renaming them to not overwrite the merged ones
+		Path unchanged = this.output.suffix( "/" + UNCHANGED_OUTPUT_NAME );
+		if ( fs.exists( unchanged ) )
+		{
+			for ( FileStatus fileStatus : fs.listStatus( unchanged ) )
+				if ( fileStatus.getPath().getName().startsWith( "part" ) )
+					fs.rename( fileStatus.getPath(), this.output.suffix( "/" + UNCHANGED_OUTPUT_NAME + "-" + fileStatus.getPath().getName() ) );
+			fs.delete( unchanged, true );
+		}
+		fs.create( new Path( this.output, COMPONENTS_MARKER ) ).close();
+		fs.delete( work, true );
+		return 0;
+	}
+	
+	/**
+	 * Run the Large-Star and Small-Star rounds until convergence, in memory if the edges are few, as Jobs otherwise.
+	 * @param conf		configuration of the \see IncrementalDriver Jobs.
+	 * @param fs		file system.
+	 * @param inputs	paths of the folders that contain the edges list.
+	 * @param work		path of the folder of the rounds.
+	 * @param stars		path of the output folder.
+	 * @return 			<c>1</c> if a round failed; <c>0</c> if everything is ok.
+	 * @throws Exception
+	 */
+	private int starRounds( Configuration conf, FileSystem fs, Path[] inputs, Path work, Path stars ) throws Exception
+	{
+		if ( conf.getBoolean( "resident", false ) && this.numNewEdges + this.numLinks <= conf.getLong( "residentMaxEdges", ResidentStarDriver.DEFAULT_MAX_EDGES ) )
+		{
+			ResidentStarDriver star = new ResidentStarDriver( inputs, stars, MAX_ITERATIONS, false );
+			if ( ToolRunner.run( conf, star, null ) != 0 )
+				return 1;
+			this.numStarRounds = star.getNumRounds();
+			return 0;
+		}
+		
+		long i = 0, numChanges;
+		Path current = null;
+		this.numStarRounds = 0;
+		do
+		{
+			StarDriver largeStar = new StarDriver( StarDriverType.LARGE, ( current != null ) ? new Path[] { current } : inputs, new Path( work, "star" + (i+1) ), i, false );
+			if ( ToolRunner.run( conf, largeStar, null ) != 0 )
+				return 1;
+			if ( current != null )
+				fs.delete( current, true );
+			i++;
+			
+			StarDriver smallStar = new StarDriver( StarDriverType.SMALL, new Path( work, "star" + i ), new Path( work, "star" + (i+1) ), i, false );
+			smallStar.setInputSizing( largeStar.getOutputSizing() );
+			if ( ToolRunner.run( conf, smallStar, null ) != 0 )
+				return 1;
+			fs.delete( new Path( work, "star" + i ), true );
+			i++;
+			
+			current = new Path( work, "star" + i );
+			numChanges = largeStar.getNumChanges() + smallStar.getNumChanges();
+			this.numStarRounds++;
+		} while ( numChanges != 0 && this.numStarRounds < MAX_ITERATIONS );
+		fs.rename( current, stars );
+		return 0;
+	}
+	
+	/**
+	 * Return the number of new edges.
+	 * @return 	number of new edges.
+	 */
+	public long getNumNewEdges()
+	{
+		return this.numNewEdges;
+	}
+	
+	/**
+	 * Return the number of Large-Star and Small-Star rounds executed on the contracted clusters.
+	 * @return 	number of Star rounds.
+	 */
+	public long getNumStarRounds()
+	{
+		return this.numStarRounds;
+	}
+	
+	/**
+	 * Return the number of clusters of the previous run rewritten since they have been touched by a new edge.
+	 * @return 	number of touched clusters.
+	 */
+	public long getNumTouchedClusters()
+	{
+		return this.numTouchedClusters;
+	}
+	
+	/**
+	 * Return the number of nodes found.
+	 * @return 	number of nodes.
+	 */
+	public long getNumNodes()
+	{
+		return this.numNodes;
+	}
+	
+	/**
+	 * Return the number of clusters found.
+	 * @return 	number of clusters.
+	 */
+	public long getNumClusters()
+	{
+		return this.numClusters;
+	}
+	
+	/**
+	 * Main of the \see IncrementalDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 )
+		{
+			System.out.println( "Usage: IncrementalDriver <components> <newEdges> <output>" );
+			System.out.println( "The components are the output of a previous run of IncrementalDriver, or an empty folder: not the clusters of ConnectedComponents." );
+			System.exit(1);
+		}
+		
+		Path clusters = new Path( args[0] );
+		Path input = new Path( args[1] );
+		Path output = new Path( args[2] );
+		System.out.println( "Start IncrementalDriver." );
+		IncrementalDriver incremental = new IncrementalDriver( clusters, input, output, true );
+		if ( incremental.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		CheckDriver check = new CheckDriver( output, false );
+		if ( check.run( null ) != 0 )
+			System.exit( 1 );
+		System.out.println( "End IncrementalDriver." );
+		
+		System.out.println( "Number of new edges: \033[1;94m" + incremental.getNumNewEdges() + "\033[0m." );
+		System.out.println( "Number of Star rounds: \033[1;94m" + incremental.getNumStarRounds() + "\033[0m." );
+		System.out.println( "Number of touched clusters: \033[1;94m" + incremental.getNumTouchedClusters() + "\033[0m." );
+		System.out.println( "Number of nodes: \033[1;94m" + incremental.getNumNodes() + "\033[0m." );
+		System.out.println( "Number of Clusters: \033[1;94m" + incremental.getNumClusters() + "\033[0m." );
+		System.out.println( "TestOK: \033[1;94m" + String.valueOf( check.isTestOk() ) + "\033[0m." );
+		System.exit( 0 );
+	}
+}
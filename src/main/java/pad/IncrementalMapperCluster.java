@@ -0,0 +1,147 @@
+/**
+ *	@file IncrementalMapperCluster.java
+ *	@brief Mapper task of the Job that rewrites the clusters of the previous run, \see IncrementalDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+import pad.UtilCounters;
+
+/**	Mapper task of the Job that rewrites the clusters of the previous run, \see IncrementalDriver. */
+public class IncrementalMapperCluster extends Mapper<ClusterWritable, NullWritable, IntWritable, ClusterWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private long[] labels;
+	private IntWritable label = new IntWritable();
+	private MultipleOutputs<IntWritable, ClusterWritable> mos = null;
+
+	/**
+	* Setup method of the this IncrementalMapperCluster class.
+	* Read the stars computed on the links and on the new edges from the <em>incrementalStars</em> folder.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		labels = readLabels( new Path( context.getConfiguration().get( "incrementalStars" ) ), context.getConfiguration() );
+		mos = new MultipleOutputs<IntWritable, ClusterWritable>( context );
+	}
+
+	/**
+	* Map method of the this IncrementalMapperCluster class.
+	* If the representative of the cluster belongs to a new star, the cluster has been touched by the new edges:
+	* we emit <Label, Cluster> so that \see IncrementalReducer merges it with the other clusters of the star.
+	* Otherwise the cluster does not change, and it is written as it is into the named output \see IncrementalDriver.UNCHANGED_OUTPUT_NAME
+	* without going through the shuffle.
+	* @param cluster	nodes of the cluster, in ascending order.
+	* @param nothing	nothing.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ClusterWritable cluster, NullWritable nothing, Context context ) throws IOException, InterruptedException
+	{
+		int representative = lookup( labels, cluster.get( 0 ) );
+		if ( representative != -1 )
+		{
+			label.set( representative );
+			context.write( label, cluster );
+			context.getCounter( UtilCounters.NUM_TOUCHED_CLUSTERS ).increment( 1 );
+			return;
+		}
+
+		mos.write( IncrementalDriver.UNCHANGED_OUTPUT_NAME, cluster, NULL, IncrementalDriver.UNCHANGED_BASEOUTPUTPATH );
+		context.getCounter( UtilCounters.NUM_NODES ).increment( cluster.size() );
+		context.getCounter( UtilCounters.NUM_CLUSTERS ).increment( 1 );
+	}
+
+	/**
+	* Cleanup method of the this IncrementalMapperCluster class.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		mos.close();
+	}
+
+	/**
+	* Read the label of each node of a stars folder, packed as <NodeID, Label> and sorted.
+	* The root of a star is labelled by itself, as a lone node.
+	* @param folder	path of the stars folder.
+	* @param conf	configuration used to access the file system.
+	* @return 		the sorted labels.
+	* @throws IOException
+	*/
+	public static long[] readLabels( Path folder, Configuration conf ) throws IOException
+	{
+		FileSystem fs = folder.getFileSystem( conf );
+		int size = 0;
+		long[] labels = new long[1024];
+		IntWritable nodeID = new IntWritable(), neighbourID = new IntWritable();
+		for ( FileStatus fileStatus : fs.listStatus( folder ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( nodeID, neighbourID ) )
+			{
+				if ( size + 2 > labels.length )
+					labels = Arrays.copyOf( labels, 2 * labels.length );
+				int root = ( neighbourID.get() == -1 ) ? nodeID.get() : Math.min( nodeID.get(), neighbourID.get() );
+				labels[size++] = InitializationMapperDedup.pack( Math.max( nodeID.get(), neighbourID.get() ), root );
+				labels[size++] = InitializationMapperDedup.pack( root, root );
+			}
+			reader.close();
+		}
+		labels = Arrays.copyOf( labels, size );
+		Arrays.sort( labels );
+		return labels;
+	}
+
+	/**
+	* Look for the label of a node.
+	* @param labels	sorted labels, \see readLabels.
+	* @param node	identifier of the node.
+	* @return 		the label of the node, minus one if the node does not belong to any star.
+	*/
+	public static int lookup( long[] labels, int node )
+	{
+		// The pair of the node, if any, follows the position of <NodeID, 0>.
+		int i = Arrays.binarySearch( labels, InitializationMapperDedup.pack( node, 0 ) );
+		if ( i < 0 )
+			i = -i - 1;
+		if ( i == labels.length || (int) ( labels[i] >> 32 ) != node )
+			return -1;
+		return (int) labels[i];
+	}
+}
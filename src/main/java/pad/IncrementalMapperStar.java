@@ -0,0 +1,60 @@
+/**
+ *	@file IncrementalMapperStar.java
+ *	@brief Mapper task of the Job that adds the nodes of the new stars to the merged clusters, \see IncrementalDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that adds the nodes of the new stars to the merged clusters, \see IncrementalDriver. */
+public class IncrementalMapperStar extends Mapper<IntWritable, IntWritable, IntWritable, ClusterWritable>
+{
+	private IntWritable label = new IntWritable();
+	private ClusterWritable node = new ClusterWritable();
+
+	/**
+	* Map method of the this IncrementalMapperStar class.
+	* Each pair of the new stars links a node to the minimum label of its star, so we emit <Label, {NodeID}>:
+	* in this way the nodes that did not belong to any cluster join the merged cluster of their star.
+	* A lone node is emitted as <NodeID, {NodeID}>.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		node.clear();
+		if ( neighbourID.get() == -1 )
+		{
+			label.set( nodeID.get() );
+			node.add( nodeID.get() );
+		}
+		else
+		{
+			label.set( Math.min( nodeID.get(), neighbourID.get() ) );
+			node.add( Math.max( nodeID.get(), neighbourID.get() ) );
+		}
+		context.write( label, node );
+	}
+}
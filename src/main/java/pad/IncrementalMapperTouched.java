@@ -0,0 +1,101 @@
+/**
+ *	@file IncrementalMapperTouched.java
+ *	@brief Mapper task of the Job that links the nodes touched by the new edges to their previous cluster, \see IncrementalDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that links the nodes touched by the new edges to their previous cluster, \see IncrementalDriver. */
+public class IncrementalMapperTouched extends Mapper<ClusterWritable, NullWritable, IntWritable, IntWritable>
+{
+	private int[] touched;
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable representative = new IntWritable();
+
+	/**
+	* Setup method of the this IncrementalMapperTouched class.
+	* Read the end nodes of the new edges from the folders of the <em>incrementalEdges</em> variable,
+	* and keep them sorted in order to look for them with a binary search.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		int size = 0;
+		touched = new int[1024];
+		IntWritable u = new IntWritable(), v = new IntWritable();
+		for ( String edges : conf.getStrings( "incrementalEdges" ) )
+		{
+			Path folder = new Path( edges );
+			FileSystem fs = folder.getFileSystem( conf );
+			for ( FileStatus fileStatus : fs.listStatus( folder ) )
+			{
+				if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+					continue;
+
+				SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+				while ( reader.next( u, v ) )
+				{
+					if ( size + 2 > touched.length )
+						touched = Arrays.copyOf( touched, 2 * touched.length );
+					touched[size++] = u.get();
+					if ( v.get() != -1 )
+						touched[size++] = v.get();
+				}
+				reader.close();
+			}
+		}
+		touched = Arrays.copyOf( touched, size );
+		Arrays.sort( touched );
+	}
+
+	/**
+	* Map method of the this IncrementalMapperTouched class.
+	* The first node of a cluster is its minimum one, i.e. its representative: for each other node of the cluster
+	* touched by a new edge we emit the link <NodeID, Representative>. The Star rounds on the links and the new edges
+	* connect the clusters as if they were contracted to their representatives, without reading their other nodes.
+	* @param cluster	nodes of the cluster, in ascending order.
+	* @param nothing	nothing.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ClusterWritable cluster, NullWritable nothing, Context context ) throws IOException, InterruptedException
+	{
+		representative.set( cluster.get( 0 ) );
+		for ( int i = 1; i < cluster.size(); i++ )
+			if ( Arrays.binarySearch( touched, cluster.get( i ) ) >= 0 )
+			{
+				nodeID.set( cluster.get( i ) );
+				context.write( nodeID, representative );
+			}
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ *	@file IncrementalReducer.java
+ *	@brief Reducer task of the Job that writes the merged clusters, \see IncrementalDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/**	Reducer task of the Job that writes the merged clusters, \see IncrementalDriver. */
+public class IncrementalReducer extends Reducer<IntWritable, ClusterWritable, ClusterWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private ClusterWritable nodes = new ClusterWritable();
+	private ClusterWritable cluster = new ClusterWritable();
+
+	/**
+	* Reduce method of the this IncrementalReducer class.
+	* The label receives the clusters of the previous run touched by its star, together with the nodes of the star:
+	* their union, in ascending order and without duplicates, is the merged cluster.
+	* Than we increment the NUM_CLUSTERS and NUM_NODES of \see UtilCounters.
+	* @param label		label of the merged cluster, i.e. its minimum node.
+	* @param clusters	clusters and single nodes that make up the merged cluster.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable label, Iterable<ClusterWritable> clusters, Context context ) throws IOException, InterruptedException
+	{
+		nodes.clear();
+		nodes.add( label.get() );
+		for ( ClusterWritable part : clusters )
+			nodes.addAll( part );
+		Collections.sort( nodes );
+
+		// Skip the duplicate nodes.
+		cluster.clear();
+		for ( int node : nodes )
+			if ( cluster.isEmpty() || cluster.get( cluster.size() - 1 ) != node )
+				cluster.add( node );
+
+		context.getCounter( UtilCounters.NUM_NODES ).increment( cluster.size() );
+		context.getCounter( UtilCounters.NUM_CLUSTERS ).increment( 1 );
+		context.write( cluster, NULL );
+	}
+}
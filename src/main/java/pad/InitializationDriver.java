@@ -31,14 +31,18 @@ import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import org.apache.hadoop.util.GenericOptionsParser;
 import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
 
 /**	Driver of the Job responsible for transforming the adjacency list or clique list into a edges list  <nodeID, neighborID>. */
 public class InitializationDriver extends Configured implements Tool
@@ -49,11 +53,29 @@ public class InitializationDriver extends Configured implements Tool
 	public static final String MOS_OUTPUT_NAME = "result";
 	/** Base output path for multiple output */
 	public static final String MOS_BASEOUTPUTPATH = MOS_OUTPUT_NAME + "/part";
+	/** Directory name for the stars that replace the cliques with three or more nodes */
+	public static final String CLIQUES_OUTPUT_NAME = "cliques";
+	/** Base output path for the stars that replace the cliques */
+	public static final String CLIQUES_BASEOUTPUTPATH = CLIQUES_OUTPUT_NAME + "/part";
+	/** Directory name for the work units of the oversized cliques */
+	public static final String BLOCKS_OUTPUT_NAME = "blocks";
+	/** Base output path for the work units of the oversized cliques */
+	public static final String BLOCKS_BASEOUTPUTPATH = BLOCKS_OUTPUT_NAME + "/part";
+	/** Directory name for the nodes of the oversized cliques, written one time each */
+	public static final String OVERSIZED_OUTPUT_NAME = "oversized";
+	/** Base output path for the nodes of the oversized cliques */
+	public static final String OVERSIZED_BASEOUTPUTPATH = OVERSIZED_OUTPUT_NAME + "/part";
+	/** Cliques with more nodes than this value are expanded in parallel, blocks of this size at a time */
+	public static final int DEFAULT_CLIQUE_BLOCK_SIZE = 1024;
+	/** Number of pairs that each task expanding the oversized cliques should produce */
+	public static final long DEFAULT_CLIQUE_PAIRS_PER_TASK = 64L * 1024 * 1024;
+	/** Number of edges that each Mapper removing the duplicates keeps in memory */
+	public static final int DEFAULT_DEDUP_CACHE_SIZE = 100000;
 	
 	private final Path input, output;
-	private final boolean verbose;
+	private final boolean cliqueStars, dedupEdges, verbose;
 	private InputType type;
-	private long numCliques, numInitialNodes, numEdges;
+	private long numCliques, numInitialNodes, numEdges, numIndexedEdges, numMalformedTokens, numDuplicateEdges;
 	
 	/**
 	* Initializes a new instance of the InitializationDriver class.
@@ -63,9 +85,26 @@ public class InitializationDriver extends Configured implements Tool
 	* @throws IOException 
 	*/
 	public InitializationDriver( Path input, Path output, boolean verbose ) throws IOException
+	{
+		this( input, output, false, false, verbose );
+	}
+	
+	/**
+	* Initializes a new instance of the InitializationDriver class.
+	* @param input			path of the input graph stored on hdfs.
+	* @param output			path of the output folder.
+	* @param cliqueStars	if <c>true</c> the cliques with three or more nodes are written as stars
+	* 						into the folder returned by \see getCliquesOutput, instead of being expanded.
+	* @param dedupEdges		if <c>true</c> each edge is written only one time, in the form <max(u,v), min(u,v)>.
+	* @param verbose		if <c>true</c> shows on screen the messages of the Job execution.
+	* @throws IOException 
+	*/
+	public InitializationDriver( Path input, Path output, boolean cliqueStars, boolean dedupEdges, boolean verbose ) throws IOException
 	{
 		this.input = input;
 		this.output = output;
+		this.cliqueStars = cliqueStars;
+		this.dedupEdges = dedupEdges;
 		this.verbose = verbose;
 		
 		// Analyze the first line of the input file in order to determine
@@ -124,6 +163,14 @@ public class InitializationDriver extends Configured implements Tool
 	 * the number of duplicated nodes.
 	 * Obtained the value of the NUM_INITIAL_NODES counter ( \see UtilCounters ), we delete the empty files
 	 * produced by the Reducer and we move the real results into the main/regular folder.
+	 * If <em>cliqueStars</em> is set, the stars that replace the cliques with three or more nodes
+	 * are moved into the folder returned by \see getCliquesOutput. Those edges are never bridges,
+	 * so they must take part in the connectivity but not in the edge removal.
+	 * Otherwise, the cliques bigger than <em>cliqueBlockSize</em> nodes are split into work units
+	 * that a second map-only Job expands in parallel, \see expandCliqueBlocks.
+	 * 
+	 * If <em>dedupEdges</em> is set, the duplicated edges are removed, \see deduplicateEdges.
+	 * Finally, the \see EdgeIndexDriver Job numbers the edges of the output folder.
 	 * 
 	 * @param args		array of external arguments, not used in this method
 	 * @return 			<c>1</c> if the InitializationDriver Job failed its execution; <c>0</c> if everything is ok. 
@@ -131,9 +178,11 @@ public class InitializationDriver extends Configured implements Tool
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
+		conf.setBoolean( "cliqueStars", this.cliqueStars );
+		conf.setBoolean( "dedupEdges", this.dedupEdges );
 		Job job = new Job( conf, "InitializationDriver" );
 		job.setJarByClass( InitializationDriver.class );
 		
@@ -156,6 +205,8 @@ public class InitializationDriver extends Configured implements Tool
 		{
 			// Set up the special folder.
 			MultipleOutputs.addNamedOutput( job, MOS_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			MultipleOutputs.addNamedOutput( job, BLOCKS_OUTPUT_NAME, SequenceFileOutputFormat.class, LongWritable.class, NodesPairWritable.class );
+			MultipleOutputs.addNamedOutput( job, OVERSIZED_OUTPUT_NAME, SequenceFileOutputFormat.class, LongWritable.class, ClusterWritable.class );
 			MultipleOutputs.setCountersEnabled( job, true );
 			// In order to obtain the edges list from the cliques list, we need only a Mapper task
 			// and we save the result into the special folder.
@@ -172,6 +223,7 @@ public class InitializationDriver extends Configured implements Tool
 		this.numCliques = job.getCounters().findCounter( UtilCounters.NUM_CLIQUES ).getValue();
 		this.numInitialNodes = job.getCounters().findCounter( UtilCounters.NUM_INITIAL_NODES ).getValue();
 		this.numEdges = job.getCounters().findCounter( UtilCounters.NUM_EDGES ).getValue();
+		this.numMalformedTokens = job.getCounters().findCounter( UtilCounters.NUM_MALFORMED_TOKENS ).getValue();
 		
 		if ( this.type == InputType.CLIQUES_LIST )
 		{
@@ -184,17 +236,167 @@ public class InitializationDriver extends Configured implements Tool
 					fs.delete( fileStatus.getPath(), false );
 			
 			// Move the real outputs into the parent folder
-			filesStatus = fs.listStatus( this.output.suffix( "/" + MOS_OUTPUT_NAME ) );
-			for ( FileStatus fileStatus : filesStatus )
-				fs.rename( fileStatus.getPath(), this.output.suffix( "/" + fileStatus.getPath().getName() ) );
+			// ( the special folder is not created when every clique has been written as a star or as blocks )
+			if ( fs.exists( this.output.suffix( "/" + MOS_OUTPUT_NAME ) ) )
+			{
+				filesStatus = fs.listStatus( this.output.suffix( "/" + MOS_OUTPUT_NAME ) );
+				for ( FileStatus fileStatus : filesStatus )
+					fs.rename( fileStatus.getPath(), this.output.suffix( "/" + fileStatus.getPath().getName() ) );
+			}
 			
 			// Delete empty special folder
 			fs.delete( this.output.suffix( "/" + MOS_OUTPUT_NAME), true );
+			
+			// Expand the oversized cliques in parallel
+			if ( job.getCounters().findCounter( UtilCounters.NUM_CLIQUE_BLOCKS ).getValue() > 0 )
+			{
+				if ( !expandCliqueBlocks( conf, fs ) )
+					return 1;
+			}
+			else
+			{
+				fs.delete( this.output.suffix( "/" + BLOCKS_OUTPUT_NAME ), true );
+				fs.delete( this.output.suffix( "/" + OVERSIZED_OUTPUT_NAME ), true );
+			}
+			
+			// Move the stars of the cliques into their own folder
+			if ( this.cliqueStars )
+			{
+				Path cliques = getCliquesOutput();
+				fs.delete( cliques, true );
+				fs.mkdirs( cliques );
+				if ( fs.exists( this.output.suffix( "/" + CLIQUES_OUTPUT_NAME ) ) )
+				{
+					filesStatus = fs.listStatus( this.output.suffix( "/" + CLIQUES_OUTPUT_NAME ) );
+					for ( FileStatus fileStatus : filesStatus )
+						fs.rename( fileStatus.getPath(), cliques.suffix( "/" + fileStatus.getPath().getName() ) );
+					fs.delete( this.output.suffix( "/" + CLIQUES_OUTPUT_NAME ), true );
+				}
+			}
 		}
 		
+		// Write every edge only one time.
+		if ( this.dedupEdges && !deduplicateEdges( conf ) )
+			return 1;
+		
+		// Give a global identifier to every edge, so that the edges can be removed by many Tasks.
+		EdgeIndexDriver index = new EdgeIndexDriver( this.output, this.verbose );
+		if ( ToolRunner.run( conf, index, null ) != 0 )
+			return 1;
+		this.numIndexedEdges = index.getNumEdges();
+		
 		return 0;
 	}
 	
+	/**
+	 * Execute the map-only Job that expands the work units of the oversized cliques,
+	 * using \see InitializationMapperCliqueBlock as Mapper.
+	 * The oversized cliques are moved out of the output folder, and each task reads from them the blocks of its units.
+	 * The input splits are sized so that each task produces about <em>cliquePairsPerTask</em> pairs,
+	 * in this way the time spent does not depend on the biggest clique but on the total number of pairs.
+	 * The produced pairs are moved into the main/regular folder and the work units are deleted.
+	 * @param conf		configuration of the \see InitializationDriver Job.
+	 * @param fs		file system where the outputs are stored.
+	 * @return 			<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean expandCliqueBlocks( Configuration conf, FileSystem fs ) throws Exception
+	{
+		Path blocks = this.output.suffix( "/" + BLOCKS_OUTPUT_NAME );
+		Path expanded = this.output.suffix( "_" + BLOCKS_OUTPUT_NAME );
+		Path oversized = this.output.suffix( "_" + OVERSIZED_OUTPUT_NAME );
+		fs.delete( oversized, true );
+		fs.rename( this.output.suffix( "/" + OVERSIZED_OUTPUT_NAME ), oversized );
+		conf = new Configuration( conf );
+		conf.set( "cliqueOversized", oversized.toString() );
+		
+		Job job = new Job( conf, "InitializationDriver-CliqueBlocks" );
+		job.setJarByClass( InitializationDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		// A work unit takes about 24 bytes, with the record header, and produces about blockSize^2 pairs.
+		long blockSize = conf.getInt( "cliqueBlockSize", DEFAULT_CLIQUE_BLOCK_SIZE );
+		long unitsPerTask = Math.max( 1, conf.getLong( "cliquePairsPerTask", DEFAULT_CLIQUE_PAIRS_PER_TASK ) / ( blockSize * blockSize ) );
+		FileInputFormat.setMaxInputSplitSize( job, unitsPerTask * 24 );
+		
+		job.setMapperClass( InitializationMapperCliqueBlock.class );
+		job.setNumReduceTasks( 0 );
+		
+		FileInputFormat.addInputPath( job, blocks );
+		FileOutputFormat.setOutputPath( job, expanded );
+		
+		boolean completed = job.waitForCompletion( verbose );
+		fs.delete( oversized, true );
+		if ( !completed )
+			return false;
+		
+		this.numEdges += job.getCounters().findCounter( UtilCounters.NUM_EDGES ).getValue();
+		
+		// Move the pairs into the main folder, renaming them to not overwrite the existing parts
+		FileStatus[] filesStatus = fs.listStatus( expanded );
+		for ( FileStatus fileStatus : filesStatus )
+			if ( fileStatus.getPath().getName().startsWith( "part" ) )
+				fs.rename( fileStatus.getPath(), this.output.suffix( "/" + BLOCKS_OUTPUT_NAME + "-" + fileStatus.getPath().getName() ) );
+		
+		fs.delete( expanded, true );
+		fs.delete( blocks, true );
+		return true;
+	}
+	
+	/**
+	 * Execute the Job that removes the duplicated edges of the output folder,
+	 * produced for example by overlapping cliques or by the symmetric entries of an adjacency list.
+	 * The \see InitializationMapperDedup emits the edges in canonical form, dropping the ones
+	 * already found in its in-memory cache; the \see InitializationCombinerDedup and the
+	 * \see InitializationReducerDedup write each remaining edge only one time.
+	 * The number of removed edges is stored in the NUM_DUPLICATE_EDGES counter of \see UtilCounters.
+	 * @param conf		configuration of the \see InitializationDriver Job.
+	 * @return 			<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean deduplicateEdges( Configuration conf ) throws Exception
+	{
+		Path dedup = this.output.suffix( "_dedup" );
+		
+		Job job = new Job( conf, "InitializationDriver-Dedup" );
+		job.setJarByClass( InitializationDriver.class );
+		
+		job.setMapOutputKeyClass( LongWritable.class );
+		job.setMapOutputValueClass( NullWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( InitializationMapperDedup.class );
+		job.setCombinerClass( InitializationCombinerDedup.class );
+		job.setReducerClass( InitializationReducerDedup.class );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, this.output );
+		FileOutputFormat.setOutputPath( job, dedup );
+		
+		if ( !job.waitForCompletion( verbose ) )
+		{
+			FileSystem.get( conf ).delete( dedup, true );
+			return false;
+		}
+		
+		this.numDuplicateEdges = job.getCounters().findCounter( UtilCounters.NUM_DUPLICATE_EDGES ).getValue();
+		this.numEdges -= this.numDuplicateEdges;
+		
+		// Replace the output folder with the deduplicated one
+		FileSystem fs = FileSystem.get( conf );
+		fs.delete( this.output, true );
+		fs.rename( dedup, this.output );
+		return true;
+	}
+	
 	/**
 	 * Return the type of format of the input file.
 	 * @return 	the type of format of the input file.
@@ -218,6 +420,16 @@ public class InitializationDriver extends Configured implements Tool
 		return this.numEdges;
 	}
 	
+	/**
+	 * Returns the number of edges that received a global identifier, i.e. the candidates of the \see EdgeRemover Job.
+	 * The lone nodes and the stars of the cliques are not counted.
+	 * @return 	number of indexed edges.
+	 */
+	public long getNumIndexedEdges()
+	{
+		return this.numIndexedEdges;
+	}
+	
 	/**
 	 * Returns the number of initial nodes founds in the input file.
 	 * @return 	number of initial nodes.
@@ -227,6 +439,35 @@ public class InitializationDriver extends Configured implements Tool
 		return this.numInitialNodes;
 	}
 	
+	/**
+	 * Returns the folder that contains the stars written in place of the cliques with three or more nodes.
+	 * @return 	path of the cliques folder, <c>null</c> if the cliques have been expanded into the main output.
+	 */
+	public Path getCliquesOutput()
+	{
+		if ( !this.cliqueStars || this.type != InputType.CLIQUES_LIST )
+			return null;
+		return this.output.suffix( "_" + CLIQUES_OUTPUT_NAME );
+	}
+	
+	/**
+	 * Returns the number of duplicated edges removed, if <em>dedupEdges</em> is set.
+	 * @return 	number of duplicated edges.
+	 */
+	public long getNumDuplicateEdges()
+	{
+		return this.numDuplicateEdges;
+	}
+	
+	/**
+	 * Returns the number of tokens of the input file skipped because they are not valid node identifiers.
+	 * @return 	number of malformed tokens.
+	 */
+	public long getNumMalformedTokens()
+	{
+		return this.numMalformedTokens;
+	}
+	
 	/**
 	 * Main of the \see InitializationDriver class.
 	 * @param args	array of external arguments,
@@ -250,6 +491,9 @@ public class InitializationDriver extends Configured implements Tool
 			System.exit( 1 );
 		}
 		System.out.println( "End InitializationDriver." );
+		
+		if ( init.getNumMalformedTokens() > 0 )
+			System.out.println( "Malformed tokens skipped: " + init.getNumMalformedTokens() );
 
 		System.exit( 0 );
 	}
@@ -36,13 +36,29 @@ public class InitializationMapperAdjacency extends Mapper<LongWritable, Text, In
 	public static final IntWritable MINUS_ONE = new IntWritable( -1 );
 	private IntWritable nodeID = new IntWritable();
 	private IntWritable neighbourID = new IntWritable();
+	private NodeIDScanner scanner = new NodeIDScanner();
+	private boolean dedupEdges;
+	
+	/**
+	* Setup method of the this InitializationMapperAdjacency class.
+	* Extract the <em>dedupEdges</em> variable from the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		dedupEdges = context.getConfiguration().getBoolean( "dedupEdges", false );
+	}
 	
 	/**
 	* Map method of the this InitializationMapperAdjacent class.
 	* Each line has the following format: NodeID<TAB>NeighborID1,NeighborID2,...
-	* So we read a line and we split it by the <TAB> character, and the second part by the comma character.
+	* So we scan the bytes of the line, without building a String, reading first the NodeID and then the neighbours.
 	* Then, for each neighbor, we produce the pair <NodeID, NeighborID>
 	* if NodeID > NeighborID since it is the connection that we need in the following operations.
+	* If <em>dedupEdges</em> is set, we emit every neighbour in the canonical form <max(NodeID, NeighborID), min(NodeID, NeighborID)>,
+	* so that an edge listed only by its smaller node is not lost; the duplicates are removed later.
+	* The pairs are emitted while the line is scanned, so the memory used does not depend on the neighbourhood size.
+	* Malformed tokens are skipped and counted in the NUM_MALFORMED_TOKENS of \see UtilCounters.
 	* @param _			offset of the line read, not used in this method.
 	* @param value		text of the line read.
 	* @param context	context of this Job.
@@ -50,39 +66,55 @@ public class InitializationMapperAdjacency extends Mapper<LongWritable, Text, In
 	*/
 	public void map( LongWritable _, Text value, Context context ) throws IOException, InterruptedException 
 	{
-		// Read line.
-		String line = value.toString();
+		scanner.reset( value );
 		
-		// Increment the number of nodes, since the input file presents a new node in each line.
-		context.getCounter( UtilCounters.NUM_INITIAL_NODES ).increment( 1 );
-
-		// Split the line on the tab character.
-		String userID_neighbourhood[] = line.split( "\t" );
-		
-		// Extract the nodeID.
-		nodeID.set( Integer.parseInt( userID_neighbourhood[0] ) );
+		// Skip the empty lines.
+		if ( !scanner.next() )
+			return;
 		
-		// If the node is alone.
-		if ( userID_neighbourhood.length == 1 )
+		// Without a valid nodeID we cannot attach the neighbours to anything, so we skip the whole line.
+		if ( !scanner.isValid() )
 		{
-			// NeighbourID is set to minus one, to indicate that the node is alone.
-			context.write( nodeID, MINUS_ONE );
-			context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
+			context.getCounter( UtilCounters.NUM_MALFORMED_TOKENS ).increment( 1 );
 			return;
 		}
 		
-		// Split by "," to find the list of neighbours of nodeID.
-		String neighbours[] = userID_neighbourhood[1].split( "," );
+		// Increment the number of nodes, since the input file presents a new node in each line.
+		context.getCounter( UtilCounters.NUM_INITIAL_NODES ).increment( 1 );
+		
+		// Extract the nodeID.
+		nodeID.set( scanner.get() );
 		
 		// Emit the pair <nodeID, neighbourID> for each neighbours.
-		for ( int i = 0; i < neighbours.length; i++ )
+		boolean alone = true;
+		while ( scanner.next() )
 		{
-			neighbourID.set( Integer.parseInt( neighbours[i] ) );
+			if ( !scanner.isValid() )
+			{
+				context.getCounter( UtilCounters.NUM_MALFORMED_TOKENS ).increment( 1 );
+				continue;
+			}
+			alone = false;
+			
+			neighbourID.set( scanner.get() );
 			// only if nodeID > neighbourID
 			if ( nodeID.get() > neighbourID.get() ) {
 				context.write( nodeID, neighbourID );
 				context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
 			}
+			// or in the canonical form, if the duplicates are removed later
+			else if ( dedupEdges && nodeID.get() < neighbourID.get() ) {
+				context.write( neighbourID, nodeID );
+				context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
+			}
+		}
+		
+		// If the node is alone.
+		if ( alone )
+		{
+			// NeighbourID is set to minus one, to indicate that the node is alone.
+			context.write( nodeID, MINUS_ONE );
+			context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
 		}
 	}
 }
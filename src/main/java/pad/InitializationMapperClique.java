@@ -22,6 +22,7 @@
 package pad;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
@@ -39,27 +40,50 @@ public class InitializationMapperClique extends Mapper<LongWritable, Text, IntWr
 	private IntWritable nodeID = new IntWritable();
 	private IntWritable neighbourID = new IntWritable();
 	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+	private NodeIDScanner scanner = new NodeIDScanner();
+	// Nodes of the current clique, the buffer is reused and only grows when a bigger clique is found.
+	private int[] clique = new int[64];
+	private boolean cliqueStars;
+	private int blockSize;
+	// Identifier of the next oversized clique: the number of the task in the high half, a counter in the low half.
+	private long nextCliqueID;
+	private LongWritable cliqueID = new LongWritable();
+	private ClusterWritable nodes = new ClusterWritable();
+	private NodesPairWritable unit = new NodesPairWritable();
 	
 	/**
 	 * Setup method of the this InitializationMapperClique class.
 	 * Set up the multiple outputs variable, used to write the "real" result into the special folder.
+	 * Extract the <em>cliqueStars</em> and <em>cliqueBlockSize</em> variables from the context configuration.
+	 * The identifiers of the oversized cliques start from the number of this task, shifted in the high half.
 	 * @param context	context of this Job.
 	 * @throws IOException, InterruptedException
 	 */
 	protected void setup( Context context ) throws IOException, InterruptedException
 	{
 		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+		this.cliqueStars = context.getConfiguration().getBoolean( "cliqueStars", false );
+		this.blockSize = context.getConfiguration().getInt( "cliqueBlockSize", pad.InitializationDriver.DEFAULT_CLIQUE_BLOCK_SIZE );
+		this.nextCliqueID = (long) context.getTaskAttemptID().getTaskID().getId() << 32;
 	}
 	
 	/**
 	 * Map method of the this InitializationMapperClique class.
 	 * Each line has the following format: NodeID1<SPACE>NodeID2<SPACE>NodeID3....
 	 * This means that all the nodes in the line are strongly connected to each others.
-	 * In this case, we read a line and we split it by the <SPACE> character.
+	 * In this case, we scan the bytes of the line, without building a String, and we collect the nodes
+	 * into a buffer that is reused among the lines.
 	 * Then, we produce all the combination between two nodes found in the set and we
 	 * emit the pair <NodeID, NeighborID> if NodeID > NeighborID.
 	 * We store this result into the special folder.
 	 * In the regular folder we emit all the encountered nodes.
+	 * Malformed tokens are skipped and counted in the NUM_MALFORMED_TOKENS of \see UtilCounters.
+	 * If <em>cliqueStars</em> is set, a clique of three or more nodes is not expanded: we only connect
+	 * every node to the minimum node of the clique and we store this star into the cliques folder,
+	 * since a star is enough for the connectivity and no edge of such a clique can be a bridge.
+	 * Otherwise, a clique with more than <em>cliqueBlockSize</em> nodes is not expanded here:
+	 * we store it one time into the oversized folder and we store into the blocks folder a small work unit
+	 * for each pair of its blocks, so that its pairs are produced by many \see InitializationMapperCliqueBlock tasks.
 	 * @param _			offset of the line read, not used in this method.
 	 * @param value		text of the line read.
 	 * @param context	context of this Job.
@@ -67,43 +91,72 @@ public class InitializationMapperClique extends Mapper<LongWritable, Text, IntWr
 	 */
 	public void map( LongWritable _, Text value, Context context ) throws IOException, InterruptedException 
 	{
-		// Read line.
-		String line = value.toString();
+		// Collect the nodes of the clique.
+		int size = 0;
+		scanner.reset( value );
+		while ( scanner.next() )
+		{
+			if ( !scanner.isValid() )
+			{
+				context.getCounter( UtilCounters.NUM_MALFORMED_TOKENS ).increment( 1 );
+				continue;
+			}
+			
+			// Double the buffer when it is full.
+			if ( size == clique.length )
+				clique = Arrays.copyOf( clique, 2 * clique.length );
+			clique[size++] = scanner.get();
+		}
+		
+		// Skip the empty lines.
+		if ( size == 0 )
+			return;
 		
 		// Increment the number of cliques, since in each line there is a new cliques.
 		context.getCounter( UtilCounters.NUM_CLIQUES ).increment( 1 );
-
-		// Split the line on the space character.
-		String cliquesLists[] = line.split( " " );
 		
 		// If the node is alone.
-		if ( cliquesLists.length == 1 )
+		if ( size == 1 )
 		{
 			// Extract the nodeID.
-			nodeID.set( Integer.parseInt( cliquesLists[0] ) );
+			nodeID.set( clique[0] );
 			// Emit the node.
 			context.write( nodeID, MINUS_ONE );
 			// Emit the node in the special folder.
 			mos.write( nodeID, MINUS_ONE, pad.InitializationDriver.MOS_BASEOUTPUTPATH );
+			context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
+			return;
+		}
+		
+		if ( cliqueStars && size > 2 )
+		{
+			writeStar( size, context );
+			return;
+		}
+		
+		if ( size > blockSize )
+		{
+			writeBlocks( size, context );
 			return;
 		}
 		
 		// The input file is format as cliques list.
 		// We produce all the combination between two nodes found in the set.
-		for ( int i = 0; i < cliquesLists.length - 1; i++ )
+		for ( int i = 0; i < size - 1; i++ )
 		{
 			// Extract the nodeID.
-			int nodeX = Integer.parseInt( cliquesLists[i] );
+			int nodeX = clique[i];
 			
-			for ( int j = i + 1; j < cliquesLists.length; j++ )
+			for ( int j = i + 1; j < size; j++ )
 			{
 				// Extract the neighbourID.
-				int nodeY = Integer.parseInt( cliquesLists[j] );
+				int nodeY = clique[j];
 				
 				nodeID.set( Math.max ( nodeX, nodeY ) );
 				neighbourID.set( Math.min ( nodeX, nodeY ) );
 				// Emit the pair in the special folder.
 				mos.write( nodeID, neighbourID, pad.InitializationDriver.MOS_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_EDGES ).increment( 1 );
 			}
 			
 			// Emit the encountered node.
@@ -111,10 +164,81 @@ public class InitializationMapperClique extends Mapper<LongWritable, Text, IntWr
 			context.write( nodeID, MINUS_ONE );
 		}
 		// Emit the encountered node.
-		nodeID.set( Integer.parseInt( cliquesLists[cliquesLists.length - 1] ) );
+		nodeID.set( clique[size - 1] );
 		context.write( nodeID, MINUS_ONE );
 	}
 	
+	/**
+	 * Connect every node of the clique to its minimum node and store the edges into the cliques folder.
+	 * In the regular folder we emit all the encountered nodes.
+	 * @param size		number of nodes of the clique stored in the buffer.
+	 * @param context	context of this Job.
+	 * @throws IOException, InterruptedException
+	 */
+	private void writeStar( int size, Context context ) throws IOException, InterruptedException
+	{
+		int minNode = clique[0];
+		for ( int i = 1; i < size; i++ )
+			minNode = Math.min( minNode, clique[i] );
+		
+		neighbourID.set( minNode );
+		for ( int i = 0; i < size; i++ )
+		{
+			nodeID.set( clique[i] );
+			// Emit the edge <NodeID, MinNodeID> in the cliques folder.
+			if ( clique[i] != minNode )
+			{
+				mos.write( nodeID, neighbourID, pad.InitializationDriver.CLIQUES_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_CLIQUE_EDGES ).increment( 1 );
+			}
+			// Emit the encountered node.
+			context.write( nodeID, MINUS_ONE );
+		}
+	}
+	
+	/**
+	 * Store the clique into the oversized folder, as <CliqueID, Nodes>, and split it into blocks of <em>cliqueBlockSize</em> nodes:
+	 * for each pair of blocks <A, B> with A before B we store into the blocks folder the work unit <CliqueID, <A, B>>,
+	 * and a diagonal unit <CliqueID, <A, -1>> for each block. The units only hold the numbers of the blocks,
+	 * so their size does not depend on the size of the clique.
+	 * In the regular folder we emit all the encountered nodes.
+	 * @param size		number of nodes of the clique stored in the buffer.
+	 * @param context	context of this Job.
+	 * @throws IOException, InterruptedException
+	 */
+	private void writeBlocks( int size, Context context ) throws IOException, InterruptedException
+	{
+		cliqueID.set( nextCliqueID++ );
+		nodes.clear();
+		for ( int i = 0; i < size; i++ )
+			nodes.add( clique[i] );
+		mos.write( pad.InitializationDriver.OVERSIZED_OUTPUT_NAME, cliqueID, nodes, pad.InitializationDriver.OVERSIZED_BASEOUTPUTPATH );
+		
+		int numBlocks = ( size + blockSize - 1 ) / blockSize;
+		for ( int blockA = 0; blockA < numBlocks; blockA++ )
+		{
+			// Diagonal unit.
+			unit.NodeID = blockA;
+			unit.NeighbourID = -1;
+			mos.write( pad.InitializationDriver.BLOCKS_OUTPUT_NAME, cliqueID, unit, pad.InitializationDriver.BLOCKS_BASEOUTPUTPATH );
+			context.getCounter( UtilCounters.NUM_CLIQUE_BLOCKS ).increment( 1 );
+			
+			for ( int blockB = blockA + 1; blockB < numBlocks; blockB++ )
+			{
+				unit.NeighbourID = blockB;
+				mos.write( pad.InitializationDriver.BLOCKS_OUTPUT_NAME, cliqueID, unit, pad.InitializationDriver.BLOCKS_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_CLIQUE_BLOCKS ).increment( 1 );
+			}
+		}
+		
+		// Emit the encountered nodes.
+		for ( int i = 0; i < size; i++ )
+		{
+			nodeID.set( clique[i] );
+			context.write( nodeID, MINUS_ONE );
+		}
+	}
+	
 	/**
 	 * Cleanup method of the this InitializationMapperClique class.
 	 * Close the multiple output file.
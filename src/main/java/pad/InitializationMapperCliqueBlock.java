@@ -0,0 +1,145 @@
+/**
+ *	@file InitializationMapperCliqueBlock.java
+ *	@brief Mapper task of the Job that expands the oversized cliques found by the \see InitializationDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+
+import pad.UtilCounters;
+
+/**	Mapper task of the Job that expands the oversized cliques found by the \see InitializationDriver Job. */
+public class InitializationMapperCliqueBlock extends Mapper<LongWritable, NodesPairWritable, IntWritable, IntWritable>
+{
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+	private Configuration conf;
+	private FileSystem fs;
+	private Path oversized;
+	private int blockSize;
+	// The units of a clique are written one after the other, so the file of the last clique read is kept open.
+	private SequenceFile.Reader reader = null;
+	private int readerTask = -1;
+	private LongWritable readerID = new LongWritable( -1 );
+	private ClusterWritable clique = new ClusterWritable();
+	private long cliqueID = -1;
+
+	/**
+	* Setup method of the this InitializationMapperCliqueBlock class.
+	* Extract the <em>cliqueOversized</em> folder and the <em>cliqueBlockSize</em> variable from the context configuration.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void setup( Context context ) throws IOException, InterruptedException
+	{
+		this.conf = context.getConfiguration();
+		this.oversized = new Path( this.conf.get( "cliqueOversized" ) );
+		this.fs = this.oversized.getFileSystem( this.conf );
+		this.blockSize = this.conf.getInt( "cliqueBlockSize", pad.InitializationDriver.DEFAULT_CLIQUE_BLOCK_SIZE );
+	}
+
+	/**
+	* Map method of the this InitializationMapperCliqueBlock class.
+	* Each record is a work unit made of the numbers of two blocks of the same clique, whose nodes are read
+	* from the oversized folder, \see load.
+	* If the second block is minus one, the unit is a diagonal one and we produce all the combination
+	* between two nodes of the first block; otherwise we produce all the combination between
+	* a node of the first block and a node of the second block.
+	* In both cases we emit the pair <NodeID, NeighborID> with NodeID > NeighborID.
+	* @param id			identifier of the clique.
+	* @param blocks		numbers of the two blocks of the clique, the second one is minus one for a diagonal unit.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( LongWritable id, NodesPairWritable blocks, Context context ) throws IOException, InterruptedException
+	{
+		if ( id.get() != this.cliqueID )
+			load( id.get() );
+
+		long numPairs = 0;
+		int startA = blocks.NodeID * blockSize, endA = Math.min( startA + blockSize, clique.size() );
+		boolean diagonal = ( blocks.NeighbourID == -1 );
+		int startB = diagonal ? startA : blocks.NeighbourID * blockSize, endB = Math.min( startB + blockSize, clique.size() );
+		for ( int i = startA; i < endA; i++ )
+		{
+			int nodeX = clique.get( i );
+
+			// Diagonal unit: pair the node with the following ones of the same block.
+			// Otherwise: pair the node with every node of the other block.
+			for ( int j = diagonal ? i + 1 : startB; j < endB; j++ )
+			{
+				int nodeY = clique.get( j );
+
+				nodeID.set( Math.max ( nodeX, nodeY ) );
+				neighbourID.set( Math.min ( nodeX, nodeY ) );
+				context.write( nodeID, neighbourID );
+				numPairs++;
+			}
+		}
+
+		context.getCounter( UtilCounters.NUM_EDGES ).increment( numPairs );
+	}
+
+	/**
+	* Read the nodes of a clique from the file written by the task that found it, i.e. the high half of its identifier.
+	* The identifiers grow along the file, so the reader goes on from the last clique read when it can.
+	* @param id		identifier of the clique.
+	* @throws IOException
+	*/
+	private void load( long id ) throws IOException
+	{
+		int task = (int) ( id >>> 32 );
+		if ( reader == null || task != readerTask || readerID.get() >= id )
+		{
+			if ( reader != null )
+				reader.close();
+			reader = new SequenceFile.Reader( fs, new Path( oversized, String.format( "part-m-%05d", task ) ), conf );
+			readerTask = task;
+			readerID.set( -1 );
+		}
+		while ( reader.next( readerID, clique ) )
+			if ( readerID.get() == id )
+			{
+				cliqueID = id;
+				return;
+			}
+		throw new IOException( "the oversized clique " + id + " is not found" );
+	}
+
+	/**
+	* Cleanup method of the this InitializationMapperCliqueBlock class.
+	* Close the reader of the oversized cliques.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		if ( reader != null )
+			reader.close();
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ *	@file InitializationMapperDedup.java
+ *	@brief Mapper task of the Job that removes the duplicated edges found by the \see InitializationDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+import pad.UtilCounters;
+
+/**	Mapper task of the Job that removes the duplicated edges found by the \see InitializationDriver Job. */
+public class InitializationMapperDedup extends Mapper<IntWritable, IntWritable, LongWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private LongWritable edge = new LongWritable();
+	// Edges recently emitted by this Mapper, cleared when it reaches the size of dedupCacheSize.
+	private HashSet<Long> seen = new HashSet<Long>();
+	private int cacheSize;
+
+	/**
+	* Setup method of the this InitializationMapperDedup class.
+	* Extract the <em>dedupCacheSize</em> variable from the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		cacheSize = context.getConfiguration().getInt( "dedupCacheSize", pad.InitializationDriver.DEFAULT_DEDUP_CACHE_SIZE );
+	}
+
+	/**
+	* Map method of the this InitializationMapperDedup class.
+	* Emit the edge in its canonical form <max(u,v), min(u,v)>, packed into a long,
+	* unless it has been already emitted by this Mapper recently.
+	* The lone nodes, <NodeID, -1>, are emitted as they are.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		long key = ( neighbourID.get() == -1 ) ? pack( nodeID.get(), -1 ) :
+				pack( Math.max( nodeID.get(), neighbourID.get() ), Math.min( nodeID.get(), neighbourID.get() ) );
+
+		if ( !seen.add( key ) )
+		{
+			context.getCounter( UtilCounters.NUM_DUPLICATE_EDGES ).increment( 1 );
+			return;
+		}
+		if ( seen.size() >= cacheSize )
+			seen.clear();
+
+		edge.set( key );
+		context.write( edge, NULL );
+	}
+
+	/**
+	* Pack the pair <NodeID, NeighbourID> into a long, in this way the pairs are sorted by NodeID and then by NeighbourID
+	* ( the lone node indicator, minus one, comes after all the neighbours ).
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @return 				the packed pair.
+	*/
+	public static long pack( int nodeID, int neighbourID )
+	{
+		return ( (long) nodeID << 32 ) | ( neighbourID & 0xFFFFFFFFL );
+	}
+}
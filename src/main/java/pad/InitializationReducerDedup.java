@@ -0,0 +1,64 @@
+/**
+ *	@file InitializationReducerDedup.java
+ *	@brief Reducer task of the Job that removes the duplicated edges found by the \see InitializationDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/**	Reducer task of the Job that removes the duplicated edges found by the \see InitializationDriver Job. */
+public class InitializationReducerDedup extends Reducer<LongWritable, NullWritable, IntWritable, IntWritable>
+{
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+
+	/**
+	* Reduce method of the this InitializationReducerDedup class.
+	* Unpack the edge and write it only one time, incrementing the NUM_DUPLICATE_EDGES of \see UtilCounters
+	* by the number of copies dropped.
+	* @param edge		the packed edge, \see InitializationMapperDedup.
+	* @param values		one value for each copy of the edge.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( LongWritable edge, Iterable<NullWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		long copies = 0;
+		Iterator<NullWritable> iter = values.iterator();
+		while ( iter.hasNext() )
+		{
+			iter.next();
+			copies++;
+		}
+		context.getCounter( UtilCounters.NUM_DUPLICATE_EDGES ).increment( copies - 1 );
+
+		nodeID.set( (int) ( edge.get() >>> 32 ) );
+		neighbourID.set( (int) edge.get() );
+		context.write( nodeID, neighbourID );
+	}
+}
@@ -0,0 +1,76 @@
+
+package pad;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.apache.hadoop.mapreduce.Job;
+
+/**
+ * Jobs of the Drivers that share a group, so that the ones still running can be killed together.
+ * The experiments of \see ConcurrentBridgeDriver run their Jobs from different threads: when one of them fails,
+ * interrupting the threads only stops their waiting, while the Jobs keep running on the cluster and writing
+ * into the work folders. Every Job is added to the group once submitted, and once the group is killed no other
+ * Job of it can be submitted.
+ */
+public class JobGroup
+{
+	private final ArrayList<Job> jobs = new ArrayList<Job>();
+	private boolean killed;
+	
+	/**
+	* Submit a Job, adding it to a group, and wait for its completion.
+	* @param group		group of the Job, <c>null</c> to just wait for its completion.
+	* @param job		Job to run.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	* @return 			<c>true</c> if the Job succeeded, <c>false</c> if it failed or it has been killed.
+	* @throws IOException, InterruptedException, ClassNotFoundException
+	*/
+	public static boolean waitForCompletion( JobGroup group, Job job, boolean verbose ) throws IOException, InterruptedException, ClassNotFoundException
+	{
+		if ( group == null )
+			return job.waitForCompletion( verbose );
+		
+		// A Job can be killed only after its submission.
+		job.submit();
+		if ( !group.add( job ) )
+		{
+			job.killJob();
+			return false;
+		}
+		try
+		{
+			return job.waitForCompletion( verbose );
+		}
+		finally
+		{
+			group.remove( job );
+		}
+	}
+	
+	private synchronized boolean add( Job job )
+	{
+		if ( this.killed )
+			return false;
+		this.jobs.add( job );
+		return true;
+	}
+	
+	private synchronized void remove( Job job )
+	{
+		this.jobs.remove( job );
+	}
+	
+	/**
+	* Kill the Jobs of the group still running, and refuse the ones submitted later.
+	* @throws IOException
+	*/
+	public synchronized void killAll() throws IOException
+	{
+		this.killed = true;
+		for ( Job job : this.jobs )
+			if ( !job.isComplete() )
+				job.killJob();
+		this.jobs.clear();
+	}
+}
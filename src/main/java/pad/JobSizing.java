@@ -0,0 +1,185 @@
+/**
+ *	@file JobSizing.java
+ *	@brief Size of the data read by a Job, used to choose its number of reducers, its input splits and the memory of its tasks.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.Counters;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.TaskCounter;
+import org.apache.hadoop.mapreduce.lib.input.CombineSequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormatCounter;
+
+/**
+ * Size of the data read by a Job, used to choose its number of reducers, its input splits and the memory of its tasks.
+ * The size is taken from the output counters of the previous Job of the chain, or measured on hdfs when no
+ * previous Job is available. In this way the first rounds, that read the whole graph, get enough reducers,
+ * and the last rounds, that read few edges, do not launch hundreds of almost empty tasks.
+ * The defaults can be changed with the options <em>sizingBytesPerReducer</em>, <em>sizingRecordsPerReducer</em>,
+ * <em>sizingMaxReducers</em>, <em>sizingBytesPerSplit</em>, <em>sizingMinMemoryMB</em> and <em>sizingMaxMemoryMB</em>.
+ * The memory of the tasks is left to the cluster settings, unless the option <em>sizingMemory</em> is <c>true</c>.
+ */
+public class JobSizing
+{
+	/** Default number of input bytes handled by a reducer */
+	public static final long DEFAULT_BYTES_PER_REDUCER = 256L * 1024 * 1024;
+	/** Default number of input records handled by a reducer */
+	public static final long DEFAULT_RECORDS_PER_REDUCER = 20000000L;
+	/** Default maximum number of reducers of a Job */
+	public static final int DEFAULT_MAX_REDUCERS = 512;
+	/** Default size of a combined input split */
+	public static final long DEFAULT_BYTES_PER_SPLIT = 128L * 1024 * 1024;
+	/** Default minimum memory of a task, in MB */
+	public static final int DEFAULT_MIN_MEMORY_MB = 1024;
+	/** Default maximum memory of a task, in MB */
+	public static final int DEFAULT_MAX_MEMORY_MB = 4096;
+	/** Bytes of a <IntWritable, IntWritable> record in a SequenceFile: record length, key length, key and value */
+	private static final long BYTES_PER_EDGE = 16;
+	
+	private final long numRecords, numBytes;
+	
+	/**
+	* Initializes a new instance of the JobSizing class.
+	* @param numRecords		number of records read by the Job.
+	* @param numBytes		number of bytes read by the Job.
+	*/
+	public JobSizing( long numRecords, long numBytes )
+	{
+		this.numRecords = numRecords;
+		this.numBytes = numBytes;
+	}
+	
+	/**
+	* Measure the size of the input folders of a Job on hdfs.
+	* The number of records is estimated from the number of bytes, assuming an edges list.
+	* @param inputs		paths of the input folders.
+	* @param conf		configuration used to access the file system.
+	* @return 			the size of the input folders.
+	* @throws IOException
+	*/
+	public static JobSizing of( Path[] inputs, Configuration conf ) throws IOException
+	{
+		long numBytes = 0;
+		for ( Path input : inputs )
+			numBytes += input.getFileSystem( conf ).getContentSummary( input ).getLength();
+		return new JobSizing( numBytes / BYTES_PER_EDGE, numBytes );
+	}
+	
+	/**
+	* Read the size of the output of a completed Job from its counters.
+	* @param job	completed Job.
+	* @return 		the size of the output of the Job.
+	* @throws IOException
+	*/
+	public static JobSizing ofOutput( Job job ) throws IOException
+	{
+		Counters counters = job.getCounters();
+		long numRecords = ( job.getNumReduceTasks() == 0 ) ?
+				counters.findCounter( TaskCounter.MAP_OUTPUT_RECORDS ).getValue() :
+				counters.findCounter( TaskCounter.REDUCE_OUTPUT_RECORDS ).getValue();
+		long numBytes = counters.findCounter( FileOutputFormatCounter.BYTES_WRITTEN ).getValue();
+		return new JobSizing( numRecords, numBytes );
+	}
+	
+	/**
+	* Set the number of reducers of the Job and the memory of its reduce tasks.
+	* @param job	Job to configure, not submitted yet.
+	*/
+	public void configureReducers( Job job )
+	{
+		Configuration conf = job.getConfiguration();
+		long byBytes = divideRoundUp( this.numBytes, conf.getLong( "sizingBytesPerReducer", DEFAULT_BYTES_PER_REDUCER ) );
+		long byRecords = divideRoundUp( this.numRecords, conf.getLong( "sizingRecordsPerReducer", DEFAULT_RECORDS_PER_REDUCER ) );
+		int numReducers = (int) Math.max( 1, Math.min( Math.max( byBytes, byRecords ), conf.getInt( "sizingMaxReducers", DEFAULT_MAX_REDUCERS ) ) );
+		job.setNumReduceTasks( numReducers );
+		
+		// A reducer sorts in memory the part of the shuffle that fits, so give it room for about twice its share.
+		configureMemory( conf, "reduce", 2 * this.numBytes / numReducers );
+	}
+	
+	/**
+	* Combine the small files of the input folders into splits of about <em>sizingBytesPerSplit</em> bytes
+	* and set the memory of the map tasks. The input must be made of SequenceFiles and the Mapper
+	* must not depend on the file it is reading.
+	* @param job	Job to configure, not submitted yet.
+	*/
+	public void configureSplits( Job job )
+	{
+		Configuration conf = job.getConfiguration();
+		long bytesPerSplit = conf.getLong( "sizingBytesPerSplit", DEFAULT_BYTES_PER_SPLIT );
+		job.setInputFormatClass( CombineSequenceFileInputFormat.class );
+		FileInputFormat.setMaxInputSplitSize( job, bytesPerSplit );
+		
+		// A map task sorts its output, that is about as big as its split.
+		configureMemory( conf, "map", 2 * Math.min( this.numBytes, bytesPerSplit ) );
+	}
+	
+	/**
+	* Return the number of records read by the Job.
+	* @return 	number of records.
+	*/
+	public long getNumRecords()
+	{
+		return this.numRecords;
+	}
+	
+	/**
+	* Return the number of bytes read by the Job.
+	* @return 	number of bytes.
+	*/
+	public long getNumBytes()
+	{
+		return this.numBytes;
+	}
+	
+	/**
+	* Set the container size and the heap size of the map or reduce tasks, if the option <em>sizingMemory</em> is enabled.
+	* @param conf		configuration of the Job.
+	* @param phase		<c>map</c> or <c>reduce</c>.
+	* @param numBytes	bytes that a task should be able to hold in memory.
+	*/
+	private static void configureMemory( Configuration conf, String phase, long numBytes )
+	{
+		int maxMemory = conf.getInt( "sizingMaxMemoryMB", DEFAULT_MAX_MEMORY_MB );
+		if ( !conf.getBoolean( "sizingMemory", false ) || maxMemory <= 0 )
+			return;
+		
+		int memory = (int) Math.max( conf.getInt( "sizingMinMemoryMB", DEFAULT_MIN_MEMORY_MB ), Math.min( maxMemory, numBytes >> 20 ) );
+		conf.setInt( "mapreduce." + phase + ".memory.mb", memory );
+		// Leave a fifth of the container to the non heap memory of the JVM.
+		conf.set( "mapreduce." + phase + ".java.opts", "-Xmx" + ( memory * 4 / 5 ) + "m" );
+	}
+	
+	/**
+	* Divide rounding up.
+	* @param a	dividend.
+	* @param b	divisor, greater than zero.
+	* @return 	the smallest integer not lower than a / b.
+	*/
+	private static long divideRoundUp( long a, long b )
+	{
+		return ( a + b - 1 ) / b;
+	}
+}
@@ -0,0 +1,291 @@
+/**
+ *	@file LeafStripDriver.java
+ *	@brief Driver of the Jobs that peel the degree-1 nodes of an edges list, recording their edges as bridges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs that peel the degree-1 nodes of an edges list, recording their edges as bridges.
+ * The edge of a node with only one neighbour is always a bridge, and removing it can leave another node
+ * with only one neighbour: peeling them repeatedly leaves the 2-core of the graph, that has the same bridges
+ * of the graph except the peeled edges, so only the 2-core needs to go through the edge removal loop.
+ * Between two rounds each edge is stored as two half edges <NodeID, NeighbourID>, one for each end node,
+ * and the neighbour is replaced by \see leafMarker when it had only one neighbour in the previous round.
+ * In this way both the end nodes of an edge see the degree of each other and they take the same decision,
+ * with one shuffle for each round, \see LeafStripReducer.
+ * The nodes of the cliques with three or more nodes are never peeled: the anchors folder, i.e. the stars of
+ * those cliques, is read only to mark them with \see ANCHOR_MARKER, since the stars do not tell their degree.
+ * The peeled nodes are kept as lone nodes, <NodeID, -1>, so the clusters of the graph do not change.
+ */
+public class LeafStripDriver extends Configured implements Tool
+{
+	/** Named output of the peeled edges */
+	public static final String BRIDGES_OUTPUT_NAME = "bridges";
+	/** Base output path for the named output of the peeled edges */
+	public static final String BRIDGES_BASEOUTPUTPATH = BRIDGES_OUTPUT_NAME + "/part";
+	/** Marker of the nodes that belong to a clique with three or more nodes */
+	public static final int ANCHOR_MARKER = -2;
+	/** Default maximum number of peeling rounds */
+	public static final int DEFAULT_MAX_ROUNDS = 16;
+	
+	private final Path edges, anchors, output, bridges;
+	private final boolean verbose;
+	private long numRounds, numBridges;
+	
+	/**
+	* Initializes a new instance of the LeafStripDriver class.
+	* @param edges		path of the edges list folder, result of \see InitializationDriver Job.
+	* @param anchors	path of the stars of the cliques, \see InitializationDriver.getCliquesOutput, <c>null</c> if there are none.
+	* @param output		path of the output folder, where the 2-core is written.
+	* @param bridges	path of the folder where the peeled edges are written.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public LeafStripDriver( Path edges, Path anchors, Path output, Path bridges, boolean verbose )
+	{
+		this.edges = edges;
+		this.anchors = anchors;
+		this.output = output;
+		this.bridges = bridges;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the LeafStripDriver Jobs.
+	 * The rounds stop when no node is left with only one neighbour, or after <em>leafMaxRounds</em> rounds:
+	 * the edges not peeled yet are kept in the 2-core, the edge removal loop finds them anyway.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a LeafStripDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		// The half edges of the rounds are kept into a work folder.
+		Path work = this.output.suffix( "_leaves" );
+		fs.delete( work, true );
+		int maxRounds = conf.getInt( "leafMaxRounds", DEFAULT_MAX_ROUNDS );
+		this.numRounds = 0;
+		this.numBridges = 0;
+		
+		if ( this.anchors != null )
+			conf.set( "leafAnchors", this.anchors.toString() );
+		conf.setBoolean( "leafFirstRound", true );
+		Job job = new Job( conf, "LeafStrip-Init" );
+		job.setJarByClass( LeafStripDriver.class );
+		
+		job.setMapOutputKeyClass( IntWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		// The Mapper looks to the file it is reading, so the splits are not combined.
+		job.setMapperClass( LeafStripMapperInit.class );
+		job.setReducerClass( LeafStripReducer.class );
+		Path[] inputs = ( this.anchors != null ) ? new Path[] { this.edges, this.anchors } : new Path[] { this.edges };
+		JobSizing sizing = JobSizing.of( inputs, conf );
+		sizing.configureReducers( job );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		MultipleOutputs.addNamedOutput( job, BRIDGES_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+		
+		for ( Path input : inputs )
+			FileInputFormat.addInputPath( job, input );
+		FileOutputFormat.setOutputPath( job, new Path( work, "round0" ) );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		long numLeaves = job.getCounters().findCounter( UtilCounters.NUM_LEAF_NODES ).getValue();
+		conf.setBoolean( "leafFirstRound", false );
+		
+		// Each round peels the edges of the nodes that had only one neighbour in the previous round.
+		while ( numLeaves > 0 && this.numRounds < maxRounds )
+		{
+			this.numRounds++;
+			job = new Job( conf, "LeafStrip-" + this.numRounds );
+			job.setJarByClass( LeafStripDriver.class );
+			
+			job.setMapOutputKeyClass( IntWritable.class );
+			job.setMapOutputValueClass( IntWritable.class );
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+			
+			job.setMapperClass( Mapper.class );
+			job.setReducerClass( LeafStripReducer.class );
+			sizing = JobSizing.of( new Path[] { new Path( work, "round" + ( this.numRounds - 1 ) ) }, conf );
+			sizing.configureSplits( job );
+			sizing.configureReducers( job );
+			
+			job.setOutputFormatClass( SequenceFileOutputFormat.class );
+			MultipleOutputs.addNamedOutput( job, BRIDGES_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			
+			FileInputFormat.addInputPath( job, new Path( work, "round" + ( this.numRounds - 1 ) ) );
+			FileOutputFormat.setOutputPath( job, new Path( work, "round" + this.numRounds ) );
+			
+			if ( !job.waitForCompletion( this.verbose ) )
+			{
+				fs.delete( work, true );
+				return 1;
+			}
+			numLeaves = job.getCounters().findCounter( UtilCounters.NUM_LEAF_NODES ).getValue();
+			this.numBridges += job.getCounters().findCounter( UtilCounters.NUM_PEELED_EDGES ).getValue();
+			moveBridges( fs, new Path( work, "round" + this.numRounds ), "LeafStrip-" + this.numRounds );
+			fs.delete( new Path( work, "round" + ( this.numRounds - 1 ) ), true );
+		}
+		
+		// Turn the half edges left into the edges list of the 2-core.
+		job = new Job( conf, "LeafStrip-Core" );
+		job.setJarByClass( LeafStripDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( LeafStripMapperCore.class );
+		job.setNumReduceTasks( 0 );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, new Path( work, "round" + this.numRounds ) );
+		FileOutputFormat.setOutputPath( job, this.output );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		fs.delete( work, true );
+		return 0;
+	}
+	
+	/**
+	 * Move the edges peeled by a round into the bridges folder, renaming them to not overwrite the parts of the other rounds.
+	 * @param fs		file system of the folders.
+	 * @param folder	output folder of the round.
+	 * @param title		title of the Job of the round.
+	 * @throws IOException
+	 */
+	private void moveBridges( FileSystem fs, Path folder, String title ) throws IOException
+	{
+		Path bridgesParts = new Path( folder, BRIDGES_OUTPUT_NAME );
+		if ( !fs.exists( bridgesParts ) )
+			return;
+		
+		fs.mkdirs( this.bridges );
+		for ( FileStatus fileStatus : fs.listStatus( bridgesParts ) )
+			if ( fileStatus.getPath().getName().startsWith( "part" ) )
+				fs.rename( fileStatus.getPath(), new Path( this.bridges, title + "-" + fileStatus.getPath().getName() ) );
+		fs.delete( bridgesParts, true );
+	}
+	
+	/**
+	 * Return the value that replaces the neighbour of a half edge when the neighbour had only one neighbour.
+	 * @param nodeID	identifier of the neighbour.
+	 * @return 			the marker, lower than \see ANCHOR_MARKER.
+	 */
+	public static int leafMarker( int nodeID )
+	{
+		return ANCHOR_MARKER - 1 - nodeID;
+	}
+	
+	/**
+	 * Return the neighbour replaced by a leaf marker, \see leafMarker.
+	 * @param marker	the marker.
+	 * @return 			identifier of the neighbour.
+	 */
+	public static int leafNode( int marker )
+	{
+		return ANCHOR_MARKER - 1 - marker;
+	}
+	
+	/**
+	 * Return the number of peeling rounds executed.
+	 * @return 	number of rounds.
+	 */
+	public long getNumRounds()
+	{
+		return this.numRounds;
+	}
+	
+	/**
+	 * Return the number of edges peeled, i.e. the number of bridges written into the bridges folder.
+	 * @return 	number of bridges.
+	 */
+	public long getNumBridges()
+	{
+		return this.numBridges;
+	}
+	
+	/**
+	 * Main of the \see LeafStripDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 && args.length != 4 )
+		{
+			System.out.println( "Usage: LeafStripDriver <input> <output> <bridges> [<anchors>]" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path bridges = new Path( args[2] );
+		Path anchors = ( args.length == 4 ) ? new Path( args[3] ) : null;
+		System.out.println( "Start LeafStripDriver." );
+		LeafStripDriver strip = new LeafStripDriver( input, anchors, output, bridges, true );
+		if ( strip.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End LeafStripDriver." );
+		
+		System.out.println( "Number of peeling rounds: " + strip.getNumRounds() );
+		System.out.println( "Number of bridges: " + strip.getNumBridges() );
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ *	@file LeafStripMapperCore.java
+ *	@brief Mapper task of the last Job of \see LeafStripDriver, that turns the half edges left back into an edges list.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the last Job of \see LeafStripDriver, that turns the half edges left back into an edges list. */
+public class LeafStripMapperCore extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable neighbourID = new IntWritable();
+
+	/**
+	* Map method of the this LeafStripMapperCore class.
+	* Each edge is stored as two half edges, so only the one with NodeID > NeighbourID is emitted;
+	* the leaf markers left by the last round are replaced by their node, the anchor markers are dropped
+	* and the lone nodes are emitted unchanged.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour, or a marker.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		int neighbour = neighbourID.get();
+		if ( neighbour == -1 )
+		{
+			context.write( nodeID, neighbourID );
+			return;
+		}
+		if ( neighbour == LeafStripDriver.ANCHOR_MARKER )
+			return;
+		if ( neighbour < LeafStripDriver.ANCHOR_MARKER )
+			neighbour = LeafStripDriver.leafNode( neighbour );
+		
+		if ( neighbour < nodeID.get() )
+		{
+			this.neighbourID.set( neighbour );
+			context.write( nodeID, this.neighbourID );
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ *	@file LeafStripMapperInit.java
+ *	@brief Mapper task of the first Job of \see LeafStripDriver, that turns the edges list into half edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+
+/**	Mapper task of the first Job of \see LeafStripDriver, that turns the edges list into half edges. */
+public class LeafStripMapperInit extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable ANCHOR = new IntWritable( LeafStripDriver.ANCHOR_MARKER );
+	private boolean anchors;
+
+	/**
+	* Setup method of the this LeafStripMapperInit class.
+	* Check if the file read by this Mapper belongs to the <em>leafAnchors</em> folder, i.e. to the stars of the cliques.
+	* The folders are compared by their fully qualified paths, so that a folder with the same name elsewhere does not match.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		String anchorsFolder = context.getConfiguration().get( "leafAnchors" );
+		Path file = ( (FileSplit) context.getInputSplit() ).getPath();
+		if ( anchorsFolder == null )
+			return;
+
+		Path folder = new Path( anchorsFolder );
+		FileSystem fs = folder.getFileSystem( context.getConfiguration() );
+		anchors = fs.makeQualified( file.getParent() ).equals( fs.makeQualified( folder ) );
+	}
+
+	/**
+	* Map method of the this LeafStripMapperInit class.
+	* An edge of the edges list is emitted as the two half edges <u,v> and <v,u>, while a lone node is emitted unchanged.
+	* An edge of the stars of the cliques emits <u, ANCHOR_MARKER> and <v, ANCHOR_MARKER>, \see LeafStripDriver.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() < 0 )
+		{
+			if ( !anchors )
+				context.write( nodeID, neighbourID );
+			return;
+		}
+		
+		if ( anchors )
+		{
+			context.write( nodeID, ANCHOR );
+			context.write( neighbourID, ANCHOR );
+		}
+		else
+		{
+			context.write( nodeID, neighbourID );
+			context.write( neighbourID, nodeID );
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ *	@file LeafStripReducer.java
+ *	@brief Reducer task of the peeling rounds of \see LeafStripDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**
+ * Reducer task of the peeling rounds of \see LeafStripDriver.
+ * The half edges of a node are not sorted, and the degree of the node is known only at the end;
+ * but a node with two neighbours is surely not a leaf, so only the first half edge read
+ * and the first one kept need to wait, and the neighbourhood is never stored.
+ */
+public class LeafStripReducer extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private static final IntWritable ANCHOR = new IntWritable( LeafStripDriver.ANCHOR_MARKER );
+	private IntWritable targetID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+	private int node, numKept, firstKept;
+	private boolean firstRound;
+
+	/**
+	* Setup method of the this LeafStripReducer class.
+	* Extract the <em>leafFirstRound</em> variable from the context configuration: the first round only tells
+	* the neighbours which nodes are leaves, since they cannot know it yet.
+	* Instantiate the MultipleOutputs used to write the peeled edges.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		firstRound = context.getConfiguration().getBoolean( "leafFirstRound", false );
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this LeafStripReducer class.
+	* The half edges received are the neighbours that the node had in the previous round, so the node was a leaf
+	* if it received only one half edge and no anchor marker. An edge is peeled if one of its end nodes was a leaf:
+	* the end node with the greater identifier writes it as <NodeID, NeighbourID> into the
+	* \see LeafStripDriver.BRIDGES_OUTPUT_NAME named output.
+	* Each edge kept is sent back to the neighbour as the half edge <NeighbourID, NodeID>, or <NeighbourID, leafMarker(NodeID)>
+	* if it is the only edge kept by a node without anchor marker.
+	* Finally the anchor marker is emitted again, and a node left without edges is emitted as lone node.
+	* @param nodeID			identifier of the node.
+	* @param neighbourhood	half edges received by the node and its markers.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		node = nodeID.get();
+		numKept = 0;
+		boolean anchored = false, lone = false;
+		long numReceived = 0;
+		int firstNeighbour = -1;
+		boolean firstLeaf = false;
+		
+		for ( IntWritable neighbour : neighbourhood )
+		{
+			int value = neighbour.get();
+			if ( value == -1 )
+			{
+				lone = true;
+				continue;
+			}
+			if ( value == LeafStripDriver.ANCHOR_MARKER )
+			{
+				anchored = true;
+				continue;
+			}
+			
+			boolean leaf = ( value < LeafStripDriver.ANCHOR_MARKER );
+			value = leaf ? LeafStripDriver.leafNode( value ) : value;
+			numReceived++;
+			if ( numReceived == 1 )
+			{
+				firstNeighbour = value;
+				firstLeaf = leaf;
+				continue;
+			}
+			
+			// The node has at least two neighbours, so it was not a leaf.
+			if ( numReceived == 2 )
+				decide( firstNeighbour, firstLeaf, context );
+			decide( value, leaf, context );
+		}
+		if ( numReceived == 1 )
+			decide( firstNeighbour, firstLeaf || ( !anchored && !firstRound ), context );
+		
+		// Send the only edge kept, telling the neighbour that this node is a leaf now.
+		if ( numKept == 1 )
+		{
+			targetID.set( firstKept );
+			neighbourID.set( anchored ? node : LeafStripDriver.leafMarker( node ) );
+			context.write( targetID, neighbourID );
+			if ( !anchored )
+				context.getCounter( UtilCounters.NUM_LEAF_NODES ).increment( 1 );
+		}
+		
+		if ( anchored )
+			context.write( nodeID, ANCHOR );
+		else if ( numKept == 0 && ( numReceived > 0 || lone ) )
+			context.write( nodeID, MINUS_ONE );
+	}
+
+	/**
+	* Peel or keep an edge of the node.
+	* @param neighbour	identifier of the neighbour.
+	* @param peel		<c>true</c> if one of the end nodes was a leaf.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void decide( int neighbour, boolean peel, Context context ) throws IOException, InterruptedException
+	{
+		if ( peel )
+		{
+			if ( node > neighbour )
+			{
+				targetID.set( node );
+				neighbourID.set( neighbour );
+				mos.write( LeafStripDriver.BRIDGES_OUTPUT_NAME, targetID, neighbourID, LeafStripDriver.BRIDGES_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_PEELED_EDGES ).increment( 1 );
+			}
+			return;
+		}
+		
+		numKept++;
+		if ( numKept == 1 )
+		{
+			firstKept = neighbour;
+			return;
+		}
+		
+		// The node keeps at least two edges, so it is not a leaf.
+		neighbourID.set( node );
+		if ( numKept == 2 )
+		{
+			targetID.set( firstKept );
+			context.write( targetID, neighbourID );
+		}
+		targetID.set( neighbour );
+		context.write( targetID, neighbourID );
+	}
+
+	/**
+	* Cleanup method of the this LeafStripReducer class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+}
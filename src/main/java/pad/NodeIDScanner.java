@@ -0,0 +1,112 @@
+/**
+ *	@file NodeIDScanner.java
+ *	@brief Scans the node identifiers of a Text line in place, without materializing the line as a String.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.io.Text;
+
+/**
+ * Scans the node identifiers of a Text line in place, without materializing the line as a String.
+ * Tokens are separated by any run of <TAB>, <SPACE>, comma or carriage return characters,
+ * so the same scanner reads both the adjacency list and the cliques list format.
+ * A token that is not a non-negative integer fitting into an int is reported as malformed.
+ */
+public class NodeIDScanner
+{
+	private byte[] bytes;
+	private int position, end;
+	private int value;
+	private boolean valid;
+
+	/**
+	* Start scanning a new line.
+	* The scanner keeps a reference to the backing array of the Text, so the line must not change while it is scanned.
+	* @param line	text of the line read.
+	*/
+	public void reset( Text line )
+	{
+		this.bytes = line.getBytes();
+		this.position = 0;
+		this.end = line.getLength();
+	}
+
+	/**
+	* Move to the next token of the line.
+	* @return 	<c>true</c> if a token has been found, <c>false</c> if the end of the line has been reached.
+	*/
+	public boolean next()
+	{
+		// Skip the separators.
+		while ( position < end && isSeparator( bytes[position] ) )
+			position++;
+
+		if ( position == end )
+			return false;
+
+		// Accumulate the digits until the next separator, remembering if we met something else.
+		long result = 0;
+		valid = true;
+		while ( position < end && !isSeparator( bytes[position] ) )
+		{
+			int digit = bytes[position] - '0';
+			if ( digit < 0 || digit > 9 )
+				valid = false;
+			else if ( valid )
+			{
+				result = result * 10 + digit;
+				if ( result > Integer.MAX_VALUE )
+					valid = false;
+			}
+			position++;
+		}
+
+		value = (int) result;
+		return true;
+	}
+
+	/**
+	* Return <c>true</c> if the current token is a well formed node identifier.
+	* @return 	<c>true</c> if the current token can be read with \see get, <c>false</c> otherwise.
+	*/
+	public boolean isValid()
+	{
+		return this.valid;
+	}
+
+	/**
+	* Return the node identifier of the current token.
+	* @return 	node identifier.
+	*/
+	public int get()
+	{
+		return this.value;
+	}
+
+	/**
+	* Check if the byte separates two tokens.
+	* @param b	byte to check.
+	* @return 	<c>true</c> if the byte is a separator, <c>false</c> otherwise.
+	*/
+	private static boolean isSeparator( byte b )
+	{
+		return b == '\t' || b == ' ' || b == ',' || b == '\r';
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ *	@file NodeRelabeling.java
+ *	@brief Bijection between the node identifiers of the input graph and the labels used by the Star rounds.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Bijection between the node identifiers of the input graph and the labels used by the Star rounds.
+ * The number of rounds of the Alternating algorithm is bounded assuming random labels, while sequentially
+ * numbered paths and chains need many more rounds when they keep their input identifiers.
+ * Three orders are available:
+ * - NONE: the labels are the node identifiers;
+ * - HASH: the labels are a pseudo random permutation of the non negative int values, computed without any table;
+ * - DEGREE: the nodes are labelled 0, 1, 2, ... by decreasing degree, so the hubs become the roots of the stars;
+ *   the table <Label, NodeID> is stored on hdfs and applied by the join Jobs of \see RelabelDriver,
+ *   so \see relabel and \see restore do not support it.
+ * The lone node indicator, minus one, is never relabelled.
+ * The order is passed to the tasks through the <em>labelOrder</em>, <em>labelSeed</em> and <em>labelTable</em> options.
+ */
+public class NodeRelabeling
+{
+	/** Order of the labels */
+	public enum LabelOrder { NONE, HASH, DEGREE };
+	
+	/** Default seed of the HASH order */
+	public static final int DEFAULT_SEED = 0x1E3779B9;
+	private static final int MASK = Integer.MAX_VALUE;
+	// Odd multipliers are invertible modulo 2^31.
+	private static final int MUL_A = 0x5BD1E995, MUL_B = 0x27D4EB2D;
+	private static final int INV_A = inverse( MUL_A ), INV_B = inverse( MUL_B );
+	
+	private final LabelOrder order;
+	private final int seed;
+	private final Path table;
+	
+	/**
+	* Initializes a new instance of the NodeRelabeling class.
+	* @param order	order of the labels.
+	* @param seed	seed of the HASH order.
+	* @param table	path of the table of the DEGREE order, <c>null</c> for the other orders.
+	*/
+	public NodeRelabeling( LabelOrder order, int seed, Path table )
+	{
+		this.order = order;
+		this.seed = seed & MASK;
+		this.table = table;
+	}
+	
+	/**
+	* Read the relabeling from the configuration of a Job.
+	* @param conf	configuration of the Job.
+	* @return 		the relabeling, of order NONE if it has not been set.
+	*/
+	public static NodeRelabeling get( Configuration conf )
+	{
+		LabelOrder order = LabelOrder.valueOf( conf.get( "labelOrder", LabelOrder.NONE.toString() ) );
+		String table = conf.get( "labelTable" );
+		return new NodeRelabeling( order, conf.getInt( "labelSeed", DEFAULT_SEED ), ( table != null ) ? new Path( table ) : null );
+	}
+	
+	/**
+	* Store the relabeling into the configuration of a Job.
+	* @param conf	configuration of the Job.
+	*/
+	public void configure( Configuration conf )
+	{
+		conf.set( "labelOrder", this.order.toString() );
+		conf.setInt( "labelSeed", this.seed );
+		if ( this.table != null )
+			conf.set( "labelTable", this.table.toString() );
+	}
+	
+	/**
+	* Return the label of a node.
+	* @param nodeID		identifier of the node.
+	* @return 			the label.
+	* @throws IOException for the DEGREE order.
+	*/
+	public int relabel( int nodeID ) throws IOException
+	{
+		if ( nodeID == -1 )
+			return -1;
+		switch ( this.order )
+		{
+			case HASH:
+				int x = ( nodeID ^ seed ) & MASK;
+				x = ( x * MUL_A ) & MASK;
+				x ^= x >>> 16;
+				x = ( x * MUL_B ) & MASK;
+				return x ^ ( x >>> 13 );
+			case DEGREE:
+				throw new IOException( "The DEGREE order is applied by the join Jobs of RelabelDriver." );
+			default:
+				return nodeID;
+		}
+	}
+	
+	/**
+	* Return the node identified by a label.
+	* @param label	the label.
+	* @return 		identifier of the node.
+	* @throws IOException for the DEGREE order.
+	*/
+	public int restore( int label ) throws IOException
+	{
+		if ( label == -1 )
+			return -1;
+		switch ( this.order )
+		{
+			case HASH:
+				int x = label ^ ( label >>> 13 ) ^ ( label >>> 26 );
+				x = ( x * INV_B ) & MASK;
+				x ^= x >>> 16;
+				x = ( x * INV_A ) & MASK;
+				return x ^ seed;
+			case DEGREE:
+				throw new IOException( "The DEGREE order is restored by the join Jobs of RelabelDriver." );
+			default:
+				return label;
+		}
+	}
+	
+	/**
+	* Return <c>true</c> if the labels are the node identifiers.
+	* @return 	<c>true</c> for the order NONE, <c>false</c> otherwise.
+	*/
+	public boolean isIdentity()
+	{
+		return this.order == LabelOrder.NONE;
+	}
+	
+	/**
+	* Return the order of the labels.
+	* @return 	the order.
+	*/
+	public LabelOrder getOrder()
+	{
+		return this.order;
+	}
+	
+	/**
+	* Return the seed of the HASH order.
+	* @return 	the seed.
+	*/
+	public int getSeed()
+	{
+		return this.seed;
+	}
+	
+	/**
+	* Return the path of the table of the DEGREE order.
+	* @return 	the path, <c>null</c> for the other orders.
+	*/
+	public Path getTable()
+	{
+		return this.table;
+	}
+	
+	/**
+	* Compute the multiplicative inverse of an odd number modulo 2^32, and so modulo 2^31, with the Newton iteration.
+	* @param a	odd number.
+	* @return 	the inverse.
+	*/
+	private static int inverse( int a )
+	{
+		int x = a;
+		// Each step doubles the number of correct low bits: 3, 6, 12, 24, 48.
+		for ( int i = 0; i < 4; i++ )
+			x *= 2 - a * x;
+		return x;
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *	@file ReachabilityCombiner.java
+ *	@brief Combiner task of the \see ReachabilityDriver Jobs.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/** Combiner task of the \see ReachabilityDriver Jobs. */
+public class ReachabilityCombiner extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable sides = new IntWritable();
+
+	/**
+	* Reduce method of the this ReachabilityCombiner class.
+	* The values are bit masks of sides, so they are merged with a bitwise OR.
+	* @param nodeID		identifier of the node.
+	* @param masks		bit masks of the sides that reach the node or that reached it before.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> masks, Context context ) throws IOException, InterruptedException
+	{
+		int mask = 0;
+		for ( IntWritable m : masks )
+			mask |= m.get();
+
+		sides.set( mask );
+		context.write( nodeID, sides );
+	}
+}
@@ -0,0 +1,274 @@
+/**
+ *	@file ReachabilityDriver.java
+ *	@brief Driver of the Jobs that check if two nodes are connected, with a BFS started from both of them.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs that check if two nodes are connected, with a BFS started from both of them.
+ * After the removal of an edge, the loop of \see ConnectedComponents only needs to know if its end nodes are still connected,
+ * not all the clusters. Each node is visited from one side, the first end node, or from the other one, or from both:
+ * 	-	the visited table holds the pairs <NodeID, Sides> of the visited nodes, where Sides is a bit mask of \see FIRST_SIDE and \see SECOND_SIDE;
+ * 	-	the frontier holds the nodes visited for the first time by the previous round, with the new sides only;
+ * 	-	each round joins the edges with the frontier inside the Mapper, \see ReachabilityMapper, so only the edges that
+ * 		touch the frontier are shuffled, and merges the reached nodes into the visited table inside the Reducer, \see ReachabilityReducer.
+ * The rounds stop as soon as a node is visited from both sides, i.e. the two frontiers meet, or when a side has no new node,
+ * i.e. it has visited the whole cluster of its end node without meeting the other side.
+ * On a graph with a large diameter, or when both the sides grow into a large cluster, the rounds also stop after
+ * <em>reachMaxRounds</em> rounds or when a round reaches more than <em>reachMaxFrontier</em> new nodes: the test is
+ * then undecided, \see isDecided, and the caller computes the clusters instead.
+ */
+public class ReachabilityDriver extends Configured implements Tool
+{
+	/** Named output of the nodes visited for the first time */
+	public static final String FRONTIER_OUTPUT_NAME = "frontier";
+	/** Base output path for the named output of the frontier */
+	public static final String FRONTIER_BASEOUTPUTPATH = FRONTIER_OUTPUT_NAME + "/part";
+	/** Side of the first end node */
+	public static final int FIRST_SIDE = 1;
+	/** Side of the second end node */
+	public static final int SECOND_SIDE = 2;
+	/** Both the sides */
+	public static final int BOTH_SIDES = FIRST_SIDE | SECOND_SIDE;
+	/** Shift of the sides of the visited table, so the Reducer tells them from the sides that reach a node */
+	public static final int VISITED_SHIFT = 2;
+	/** Default maximum number of rounds */
+	public static final int DEFAULT_MAX_ROUNDS = 20;
+	/** Default maximum number of new nodes reached by a round */
+	public static final long DEFAULT_MAX_FRONTIER = 1000000L;
+	
+	private final String title;
+	private final Path[] inputs;
+	private final Path work;
+	private final int nodeU, nodeV;
+	private final boolean verbose;
+	private boolean connected, decided;
+	private long numRounds;
+	private JobGroup group;
+	
+	/**
+	* Initializes a new instance of the ReachabilityDriver class.
+	* @param inputs		paths of the folders that contain the edges list.
+	* @param work		path of the work folder, deleted at the end.
+	* @param nodeU		first end node.
+	* @param nodeV		second end node.
+	* @param iteration	used to build the title of the Jobs.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public ReachabilityDriver( Path[] inputs, Path work, int nodeU, int nodeV, long iteration, boolean verbose )
+	{
+		this.title = "Reachability" + iteration;
+		this.inputs = inputs;
+		this.work = work;
+		this.nodeU = nodeU;
+		this.nodeV = nodeV;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the ReachabilityDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a ReachabilityDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		fs.delete( this.work, true );
+		this.numRounds = 0;
+		this.connected = false;
+		this.decided = false;
+		int maxRounds = conf.getInt( "reachMaxRounds", DEFAULT_MAX_ROUNDS );
+		long maxFrontier = conf.getLong( "reachMaxFrontier", DEFAULT_MAX_FRONTIER );
+		
+		// The end nodes are both the first visited table and the first frontier.
+		seed( fs, conf, new Path( this.work, "visited0" ) );
+		seed( fs, conf, new Path( this.work, "frontier0" ) );
+		
+		while ( true )
+		{
+			Path visited = new Path( this.work, "visited" + this.numRounds );
+			conf.set( "reachVisited", visited.toString() );
+			conf.set( "reachFrontier", new Path( this.work, "frontier" + this.numRounds ).toString() );
+			this.numRounds++;
+			Job job = new Job( conf, this.title + "-" + this.numRounds );
+			job.setJarByClass( ReachabilityDriver.class );
+			
+			job.setMapOutputKeyClass( IntWritable.class );
+			job.setMapOutputValueClass( IntWritable.class );
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+			
+			// The Mapper looks to the file it is reading, so the splits are not combined.
+			job.setMapperClass( ReachabilityMapper.class );
+			job.setCombinerClass( ReachabilityCombiner.class );
+			job.setReducerClass( ReachabilityReducer.class );
+			// The shuffle holds only the visited table and the nodes reached by the frontier.
+			JobSizing.of( new Path[] { visited }, conf ).configureReducers( job );
+			
+			job.setInputFormatClass( SequenceFileInputFormat.class );
+			job.setOutputFormatClass( SequenceFileOutputFormat.class );
+			MultipleOutputs.addNamedOutput( job, FRONTIER_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+			
+			for ( Path input : this.inputs )
+				FileInputFormat.addInputPath( job, input );
+			FileInputFormat.addInputPath( job, visited );
+			Path nextVisited = new Path( this.work, "visited" + this.numRounds );
+			FileOutputFormat.setOutputPath( job, nextVisited );
+			
+			if ( !JobGroup.waitForCompletion( this.group, job, this.verbose ) )
+			{
+				fs.delete( this.work, true );
+				return 1;
+			}
+			
+			// Move the frontier out of the visited table, so that the table can be read as a whole.
+			Path frontierParts = new Path( nextVisited, FRONTIER_OUTPUT_NAME );
+			Path nextFrontier = new Path( this.work, "frontier" + this.numRounds );
+			if ( fs.exists( frontierParts ) )
+				fs.rename( frontierParts, nextFrontier );
+			else
+				fs.mkdirs( nextFrontier );
+			fs.delete( visited, true );
+			fs.delete( new Path( this.work, "frontier" + ( this.numRounds - 1 ) ), true );
+			
+			long reachedFirst = job.getCounters().findCounter( UtilCounters.NUM_REACHED_FIRST ).getValue();
+			long reachedSecond = job.getCounters().findCounter( UtilCounters.NUM_REACHED_SECOND ).getValue();
+			if ( this.verbose )
+				System.out.println( "Reachability round " + this.numRounds + ": " + reachedFirst + " and " + reachedSecond + " new nodes." );
+			if ( job.getCounters().findCounter( UtilCounters.NUM_MEETINGS ).getValue() > 0 )
+			{
+				this.connected = true;
+				this.decided = true;
+				break;
+			}
+			if ( reachedFirst == 0 || reachedSecond == 0 )
+			{
+				this.decided = true;
+				break;
+			}
+			if ( this.numRounds >= maxRounds || reachedFirst + reachedSecond > maxFrontier )
+				break;
+		}
+		
+		fs.delete( this.work, true );
+		return 0;
+	}
+	
+	/**
+	 * Write the two end nodes, each one with its side.
+	 * @param fs		file system of the work folder.
+	 * @param conf		configuration used to write the file.
+	 * @param folder	folder of the file.
+	 * @throws IOException
+	 */
+	private void seed( FileSystem fs, Configuration conf, Path folder ) throws IOException
+	{
+		fs.mkdirs( folder );
+		SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, new Path( folder, "part-r-00000" ), IntWritable.class, IntWritable.class );
+		writer.append( new IntWritable( this.nodeU ), new IntWritable( FIRST_SIDE ) );
+		writer.append( new IntWritable( this.nodeV ), new IntWritable( SECOND_SIDE ) );
+		writer.close();
+	}
+	
+	/**
+	 * Add the Jobs to a group, so that they can be killed while running, \see JobGroup.
+	 * @param group		group of the Jobs, <c>null</c> for none.
+	 */
+	public void setJobGroup( JobGroup group )
+	{
+		this.group = group;
+	}
+	
+	/**
+	 * Return <c>true</c> if the two end nodes are connected, meaningful only when the test is decided.
+	 * @return 	<c>true</c> if the end nodes are connected, <c>false</c> otherwise.
+	 */
+	public boolean isConnected()
+	{
+		return this.connected;
+	}
+	
+	/**
+	 * Return <c>true</c> if the rounds found whether the end nodes are connected, <c>false</c> if they stopped at a limit.
+	 * @return 	<c>true</c> if the test is decided, <c>false</c> otherwise.
+	 */
+	public boolean isDecided()
+	{
+		return this.decided;
+	}
+	
+	/**
+	 * Return the number of rounds executed.
+	 * @return 	number of rounds.
+	 */
+	public long getNumRounds()
+	{
+		return this.numRounds;
+	}
+	
+	/**
+	 * Main of the \see ReachabilityDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 )
+		{
+			System.out.println( "Usage: ReachabilityDriver <input> <nodeU> <nodeV>" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		int nodeU = Integer.parseInt( args[1] );
+		int nodeV = Integer.parseInt( args[2] );
+		System.out.println( "Start ReachabilityDriver." );
+		ReachabilityDriver reach = new ReachabilityDriver( new Path[] { input }, input.suffix( "_reach" ), nodeU, nodeV, 0, true );
+		if ( reach.run( null ) != 0 )
+			System.exit( 1 );
+		System.out.println( "End ReachabilityDriver." );
+		
+		System.out.println( "Number of rounds: " + reach.getNumRounds() );
+		System.out.println( "Decided: " + reach.isDecided() );
+		System.out.println( "Connected: " + reach.isConnected() );
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ *	@file ReachabilityMapper.java
+ *	@brief Mapper task of the \see ReachabilityDriver Jobs.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+
+/** Mapper task of the \see ReachabilityDriver Jobs. */
+public class ReachabilityMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private long[] frontier;
+	private boolean visited;
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable sides = new IntWritable();
+
+	/**
+	* Setup method of the this ReachabilityMapper class.
+	* Check if the file read by this Mapper belongs to the <em>reachVisited</em> folder, and read the frontier
+	* written by the previous round from the <em>reachFrontier</em> folder, as pairs <NodeID, Sides> sorted by NodeID.
+	* The folders are compared by their fully qualified paths, so that a folder with the same name elsewhere does not match.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		Path file = ( (FileSplit) context.getInputSplit() ).getPath();
+		Path visitedFolder = new Path( conf.get( "reachVisited" ) );
+		FileSystem visitedFs = visitedFolder.getFileSystem( conf );
+		visited = visitedFs.makeQualified( file.getParent() ).equals( visitedFs.makeQualified( visitedFolder ) );
+		if ( visited )
+			return;
+
+		Path folder = new Path( conf.get( "reachFrontier" ) );
+		FileSystem fs = folder.getFileSystem( conf );
+		int size = 0;
+		frontier = new long[1024];
+		IntWritable node = new IntWritable(), nodeSides = new IntWritable();
+		for ( FileStatus fileStatus : fs.listStatus( folder ) )
+		{
+			if ( !fileStatus.getPath().getName().startsWith( "part" ) )
+				continue;
+
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+			while ( reader.next( node, nodeSides ) )
+			{
+				if ( size == frontier.length )
+					frontier = Arrays.copyOf( frontier, 2 * size );
+				frontier[size++] = InitializationMapperDedup.pack( node.get(), nodeSides.get() );
+			}
+			reader.close();
+		}
+		frontier = Arrays.copyOf( frontier, size );
+		Arrays.sort( frontier );
+	}
+
+	/**
+	* Map method of the this ReachabilityMapper class.
+	* A record of the visited table <NodeID, Sides> is emitted as <NodeID, Sides << VISITED_SHIFT>.
+	* For an edge, if one of its end nodes belongs to the frontier the other end node is reached from the same sides,
+	* so we emit <NeighbourID, Sides>; the edges far from the frontier are not emitted at all.
+	* @param u			identifier of the node, or of the first end node.
+	* @param v			sides that visited the node, or the second end node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable u, IntWritable v, Context context ) throws IOException, InterruptedException
+	{
+		if ( visited )
+		{
+			sides.set( v.get() << ReachabilityDriver.VISITED_SHIFT );
+			context.write( u, sides );
+			return;
+		}
+
+		// The pairs of the lone nodes are not edges.
+		if ( v.get() == -1 )
+			return;
+
+		propose( u.get(), v.get(), context );
+		propose( v.get(), u.get(), context );
+	}
+
+	/**
+	* Emit the sides of a node of the frontier to its neighbour.
+	* @param node		node that could belong to the frontier.
+	* @param neighbour	neighbour of the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void propose( int node, int neighbour, Context context ) throws IOException, InterruptedException
+	{
+		// The first pair of the node, if any, follows the position of <NodeID, 0>.
+		int i = Arrays.binarySearch( frontier, InitializationMapperDedup.pack( node, 0 ) );
+		if ( i < 0 )
+			i = -i - 1;
+		if ( i == frontier.length || (int) ( frontier[i] >>> 32 ) != node )
+			return;
+
+		nodeID.set( neighbour );
+		sides.set( (int) frontier[i] );
+		context.write( nodeID, sides );
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ *	@file ReachabilityReducer.java
+ *	@brief Reducer task of the \see ReachabilityDriver Jobs.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+import pad.UtilCounters;
+
+/** Reducer task of the \see ReachabilityDriver Jobs. */
+public class ReachabilityReducer extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable sides = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this ReachabilityReducer class.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this ReachabilityReducer class.
+	* The sides that reach the node and did not visit it before put the node into the new frontier, with those sides only;
+	* the node is written into the new visited table with all its sides. A node visited from both sides proves
+	* that the two end nodes are connected.
+	* @param nodeID		identifier of the node.
+	* @param masks		bit masks of the sides that reach the node or that reached it before.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> masks, Context context ) throws IOException, InterruptedException
+	{
+		int mask = 0;
+		for ( IntWritable m : masks )
+			mask |= m.get();
+
+		int old = mask >>> ReachabilityDriver.VISITED_SHIFT;
+		int reached = mask & ReachabilityDriver.BOTH_SIDES;
+		int fresh = reached & ~old;
+		if ( fresh != 0 )
+		{
+			sides.set( fresh );
+			mos.write( ReachabilityDriver.FRONTIER_OUTPUT_NAME, nodeID, sides, ReachabilityDriver.FRONTIER_BASEOUTPUTPATH );
+			if ( ( fresh & ReachabilityDriver.FIRST_SIDE ) != 0 )
+				context.getCounter( UtilCounters.NUM_REACHED_FIRST ).increment( 1 );
+			if ( ( fresh & ReachabilityDriver.SECOND_SIDE ) != 0 )
+				context.getCounter( UtilCounters.NUM_REACHED_SECOND ).increment( 1 );
+			if ( ( old | reached ) == ReachabilityDriver.BOTH_SIDES )
+				context.getCounter( UtilCounters.NUM_MEETINGS ).increment( 1 );
+		}
+
+		sides.set( old | reached );
+		context.write( nodeID, sides );
+	}
+
+	/**
+	* Cleanup method of the this ReachabilityReducer class.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		mos.close();
+	}
+}
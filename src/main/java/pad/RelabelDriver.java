@@ -0,0 +1,382 @@
+/**
+ *	@file RelabelDriver.java
+ *	@brief Driver of the Jobs that replace the node identifiers of the edges lists with the labels of a \see NodeRelabeling.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.MultipleInputs;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+import pad.NodeRelabeling.LabelOrder;
+
+/**
+ * Driver of the Jobs that replace the node identifiers of the edges lists with the labels of a \see NodeRelabeling.
+ * The HASH order needs no table, so each edges list is relabelled by a map-only Job.
+ * For the DEGREE order, a first Job computes the degree of each node and a second one, with a single Reducer,
+ * sorts the nodes by decreasing degree and writes the table <Label, NodeID> into the <em>table</em> sub folder
+ * of the work folder. The table is never loaded in memory: each edges list is relabelled by two join Jobs,
+ * the first one replaces the first node of each pair and the second one the other node, \see RelabelReducerJoin;
+ * in the same way \see restoreClusters gives back the node identifiers to the clusters.
+ * Each edges list folder is then replaced by its relabelled copy; the \see EdgeIndex of a folder is not copied,
+ * it is built again by the \see EdgeRemover that needs it.
+ */
+public class RelabelDriver extends Configured implements Tool
+{
+	/** Value of the NeighbourID of the label table pairs, lower than the lone node indicator */
+	public static final int TABLE_MARKER = -2;
+	/** Named output of the lone nodes, its name starts with an underscore so it is not read as input */
+	public static final String LONE_OUTPUT_NAME = "lone";
+	/** Base output path for the named output of the lone nodes */
+	public static final String LONE_BASEOUTPUTPATH = "_" + LONE_OUTPUT_NAME + "/part";
+	
+	private final LabelOrder order;
+	private final Path[] folders;
+	private final Path work;
+	private final boolean verbose;
+	private NodeRelabeling relabeling;
+	
+	/**
+	* Initializes a new instance of the RelabelDriver class.
+	* @param order		order of the labels, HASH or DEGREE.
+	* @param folders	paths of the edges list folders to relabel, replaced by the relabelled ones.
+	* @param work		path of the folder where the table of the DEGREE order is stored.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public RelabelDriver( LabelOrder order, Path[] folders, Path work, boolean verbose )
+	{
+		this.order = order;
+		this.folders = folders;
+		this.work = work;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the RelabelDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a RelabelDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		
+		this.relabeling = new NodeRelabeling( LabelOrder.HASH, conf.getInt( "labelSeed", NodeRelabeling.DEFAULT_SEED ), null );
+		Path table = new Path( this.work, "table" );
+		if ( this.order == LabelOrder.DEGREE )
+		{
+			Path degrees = new Path( this.work, "degrees" );
+			if ( !computeDegrees( conf, degrees ) || !rankNodes( conf, degrees, table ) )
+				return 1;
+			fs.delete( degrees, true );
+			this.relabeling = new NodeRelabeling( LabelOrder.DEGREE, 0, table );
+		}
+		
+		this.relabeling.configure( conf );
+		for ( Path folder : this.folders )
+		{
+			Path relabelled = folder.suffix( "_relabel" );
+			boolean done = ( this.order == LabelOrder.DEGREE ) ? relabelJoin( conf, folder, table, relabelled ) : relabelMap( conf, folder, relabelled );
+			if ( !done )
+			{
+				fs.delete( relabelled, true );
+				return 1;
+			}
+			
+			// Replace the folder with the relabelled one
+			fs.delete( folder, true );
+			fs.rename( relabelled, folder );
+		}
+		return 0;
+	}
+	
+	/**
+	 * Return the relabeling applied to the edges lists, to be passed to the Jobs that restore the node identifiers.
+	 * @return 	the relabeling.
+	 */
+	public NodeRelabeling getRelabeling()
+	{
+		return this.relabeling;
+	}
+	
+	/**
+	 * Execute the map-only Job that relabels an edges list with a table-free order, using \see RelabelMapper as Mapper.
+	 * @param conf			configuration of the \see RelabelDriver Jobs, with the relabeling.
+	 * @param folder		path of the edges list folder.
+	 * @param relabelled	path of the output folder.
+	 * @return 				<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean relabelMap( Configuration conf, Path folder, Path relabelled ) throws Exception
+	{
+		Job job = new Job( conf, "RelabelDriver " + folder.getName() );
+		job.setJarByClass( RelabelDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( RelabelMapper.class );
+		job.setNumReduceTasks( 0 );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, folder );
+		FileOutputFormat.setOutputPath( job, relabelled );
+		
+		return job.waitForCompletion( this.verbose );
+	}
+	
+	/**
+	 * Relabel an edges list with the two join Jobs of the DEGREE order.
+	 * The lone nodes are written by the first join into its lone named output, and then moved into the output folder.
+	 * @param conf			configuration of the \see RelabelDriver Jobs.
+	 * @param folder		path of the edges list folder.
+	 * @param table			path of the table <Label, NodeID>.
+	 * @param relabelled	path of the output folder.
+	 * @return 				<c>false</c> if a Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean relabelJoin( Configuration conf, Path folder, Path table, Path relabelled ) throws Exception
+	{
+		FileSystem fs = FileSystem.get( conf );
+		Path half = relabelled.suffix( "_half" );
+		boolean done = join( conf, "RelabelDriver-Join1 " + folder.getName(), folder, RelabelMapperJoin.class, table, false, half, this.verbose )
+				&& join( conf, "RelabelDriver-Join2 " + folder.getName(), half, RelabelMapperJoin.class, table, true, relabelled, this.verbose );
+		
+		Path lone = new Path( half, "_" + LONE_OUTPUT_NAME );
+		if ( done && fs.exists( lone ) )
+			for ( FileStatus fileStatus : fs.listStatus( lone ) )
+				if ( fileStatus.getPath().getName().startsWith( "part" ) )
+					fs.rename( fileStatus.getPath(), new Path( relabelled, LONE_OUTPUT_NAME + "-" + fileStatus.getPath().getName() ) );
+		fs.delete( half, true );
+		return done;
+	}
+	
+	/**
+	 * Execute a join Job between a folder of pairs and the label table, using \see RelabelMapperTable for the table
+	 * and \see RelabelReducerJoin as Reducer: the pairs are grouped by their first node, that is replaced.
+	 * @param conf		configuration of the \see RelabelDriver Jobs.
+	 * @param title		title of the Job.
+	 * @param input		path of the folder of pairs.
+	 * @param mapper	Mapper of the folder of pairs.
+	 * @param table		path of the table <Label, NodeID>.
+	 * @param last		<c>true</c> for the second join of an edges list, that writes the canonical pairs.
+	 * @param output	path of the output folder.
+	 * @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	 * @return 			<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	@SuppressWarnings( "rawtypes" )
+	private static boolean join( Configuration conf, String title, Path input, Class<? extends Mapper> mapper, Path table, boolean last, Path output, boolean verbose ) throws Exception
+	{
+		Job job = new Job( conf, title );
+		job.setJarByClass( RelabelDriver.class );
+		// The clusters are made of labels, their node identifiers are restored.
+		job.getConfiguration().setBoolean( "relabelInverse", mapper == RelabelMapperCluster.class );
+		job.getConfiguration().setBoolean( "relabelCanonical", last );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		MultipleInputs.addInputPath( job, input, SequenceFileInputFormat.class, mapper );
+		MultipleInputs.addInputPath( job, table, SequenceFileInputFormat.class, RelabelMapperTable.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( RelabelReducerJoin.class );
+		JobSizing.of( new Path[] { input, table }, conf ).configureReducers( job );
+		
+		MultipleOutputs.addNamedOutput( job, LONE_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		FileOutputFormat.setOutputPath( job, output );
+		
+		if ( !job.waitForCompletion( verbose ) )
+		{
+			FileSystem.get( conf ).delete( output, true );
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Give back the node identifiers to clusters made of labels of the DEGREE order.
+	 * A join Job, \see RelabelMapperCluster, sends each label to the Reducer of its table pair that emits <Root, NodeID>;
+	 * a second Job groups the node identifiers by root, \see RelabelReducerCluster, so the clusters are written in ascending order.
+	 * @param conf		configuration of the Jobs.
+	 * @param table		path of the table <Label, NodeID>.
+	 * @param clusters	path of the folder of clusters made of labels.
+	 * @param output	path of the output folder.
+	 * @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	 * @return 			<c>false</c> if a Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	public static boolean restoreClusters( Configuration conf, Path table, Path clusters, Path output, boolean verbose ) throws Exception
+	{
+		FileSystem fs = FileSystem.get( conf );
+		Path pairs = output.suffix( "_pairs" );
+		if ( !join( conf, "RelabelDriver-Restore", clusters, RelabelMapperCluster.class, table, false, pairs, verbose ) )
+			return false;
+		
+		Job job = new Job( conf, "RelabelDriver-Clusters" );
+		job.setJarByClass( RelabelDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( ClusterWritable.class );
+		job.setOutputValueClass( NullWritable.class );
+		
+		job.setMapperClass( RelabelMapperJoin.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( RelabelReducerCluster.class );
+		JobSizing sizing = JobSizing.of( new Path[] { pairs }, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, pairs );
+		FileOutputFormat.setOutputPath( job, output );
+		
+		boolean done = job.waitForCompletion( verbose );
+		fs.delete( pairs, true );
+		return done;
+	}
+	
+	/**
+	 * Execute the Job that computes the degree of each node, using \see RelabelMapperDegree as Mapper
+	 * and \see RelabelReducerDegree as Combiner and Reducer.
+	 * @param conf		configuration of the \see RelabelDriver Jobs.
+	 * @param degrees	path of the output folder, made of <NodeID, Degree> pairs.
+	 * @return 			<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean computeDegrees( Configuration conf, Path degrees ) throws Exception
+	{
+		Job job = new Job( conf, "RelabelDriver-Degrees" );
+		job.setJarByClass( RelabelDriver.class );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( RelabelMapperDegree.class );
+		job.setCombinerClass( RelabelReducerDegree.class );
+		job.setReducerClass( RelabelReducerDegree.class );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		for ( Path folder : this.folders )
+			FileInputFormat.addInputPath( job, folder );
+		FileOutputFormat.setOutputPath( job, degrees );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			FileSystem.get( conf ).delete( degrees, true );
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Execute the Job that sorts the nodes by decreasing degree, breaking the ties by identifier, and writes
+	 * the table <Label, NodeID>, using \see RelabelMapperRank as Mapper and a single \see RelabelReducerRank as Reducer.
+	 * @param conf		configuration of the \see RelabelDriver Jobs.
+	 * @param degrees	path of the folder of <NodeID, Degree> pairs.
+	 * @param table		path of the table folder.
+	 * @return 			<c>false</c> if the Job failed its execution; <c>true</c> if everything is ok.
+	 * @throws Exception 
+	 */
+	private boolean rankNodes( Configuration conf, Path degrees, Path table ) throws Exception
+	{
+		Job job = new Job( conf, "RelabelDriver-Table" );
+		job.setJarByClass( RelabelDriver.class );
+		
+		job.setMapOutputKeyClass( LongWritable.class );
+		job.setMapOutputValueClass( NullWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( RelabelMapperRank.class );
+		job.setReducerClass( RelabelReducerRank.class );
+		// The labels are consecutive, so a single Reducer numbers all the nodes.
+		job.setNumReduceTasks( 1 );
+		
+		JobSizing.of( new Path[] { degrees }, conf ).configureSplits( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, degrees );
+		FileOutputFormat.setOutputPath( job, table );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			FileSystem.get( conf ).delete( table, true );
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Main of the \see RelabelDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length < 3 )
+		{
+			System.out.println( "Usage: RelabelDriver <hash|degree> <work> <folder> [<folder> ...]" );
+			System.exit(1);
+		}
+		
+		LabelOrder order = LabelOrder.valueOf( args[0].toUpperCase() );
+		Path work = new Path( args[1] );
+		Path[] folders = new Path[args.length - 2];
+		for ( int i = 2; i < args.length; i++ )
+			folders[i - 2] = new Path( args[i] );
+		
+		System.out.println( "Start RelabelDriver." );
+		RelabelDriver relabel = new RelabelDriver( order, folders, work, true );
+		if ( relabel.run( null ) != 0 )
+			System.exit( 1 );
+		System.out.println( "End RelabelDriver." );
+		
+		System.exit( 0 );
+	}
+}
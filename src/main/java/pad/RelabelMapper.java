@@ -0,0 +1,64 @@
+/**
+ *	@file RelabelMapper.java
+ *	@brief Mapper task of the Job that relabels the nodes of an edges list, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that relabels the nodes of an edges list, \see RelabelDriver. */
+public class RelabelMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+	private NodeRelabeling relabeling;
+
+	/**
+	* Setup method of the this RelabelMapper class.
+	* Extract the relabeling from the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		relabeling = NodeRelabeling.get( context.getConfiguration() );
+	}
+
+	/**
+	* Map method of the this RelabelMapper class.
+	* Replace the identifiers of the two nodes with their labels and emit the edge in its canonical
+	* form <max(u,v), min(u,v)>; the lone nodes, <NodeID, -1>, keep the minus one.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		int u = relabeling.relabel( nodeID.get() );
+		int v = relabeling.relabel( neighbourID.get() );
+
+		this.nodeID.set( ( v == -1 ) ? u : Math.max( u, v ) );
+		this.neighbourID.set( ( v == -1 ) ? v : Math.min( u, v ) );
+		context.write( this.nodeID, this.neighbourID );
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ *	@file RelabelMapperCluster.java
+ *	@brief Mapper task of the Job that restores the node identifiers of the clusters, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that restores the node identifiers of the clusters, \see RelabelDriver. */
+public class RelabelMapperCluster extends Mapper<ClusterWritable, NullWritable, NodesPairWritable, IntWritable>
+{
+	private NodesPairWritable pair = new NodesPairWritable();
+	private IntWritable root = new IntWritable();
+
+	/**
+	* Map method of the this RelabelMapperCluster class.
+	* The first node of a cluster written by \see TerminationReducer is its root, so for each label of the cluster
+	* we emit <Label, Root> with the root as value; the Reducer of the label sends back <Root, NodeID>.
+	* @param cluster	the cluster, made of labels.
+	* @param _			not used.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( ClusterWritable cluster, NullWritable _, Context context ) throws IOException, InterruptedException
+	{
+		root.set( cluster.get( 0 ) );
+		pair.NeighbourID = root.get();
+		for ( Integer label : cluster )
+		{
+			pair.NodeID = label;
+			context.write( pair, root );
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ *	@file RelabelMapperDegree.java
+ *	@brief Mapper task of the Job that computes the degree of the nodes for the DEGREE order, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that computes the degree of the nodes for the DEGREE order, \see RelabelDriver. */
+public class RelabelMapperDegree extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable ZERO = new IntWritable( 0 );
+	private static final IntWritable ONE = new IntWritable( 1 );
+
+	/**
+	* Map method of the this RelabelMapperDegree class.
+	* Emit <NodeID, 1> and <NeighbourID, 1> for each edge, and <NodeID, 0> for each lone node,
+	* so that also the nodes without edges get a label.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() == -1 )
+		{
+			context.write( nodeID, ZERO );
+			return;
+		}
+
+		context.write( nodeID, ONE );
+		context.write( neighbourID, ONE );
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ *	@file RelabelMapperJoin.java
+ *	@brief Mapper task of the join Jobs that read the pairs to relabel, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the join Jobs that read the pairs to relabel, \see RelabelDriver. */
+public class RelabelMapperJoin extends Mapper<IntWritable, IntWritable, NodesPairWritable, IntWritable>
+{
+	private NodesPairWritable pair = new NodesPairWritable();
+
+	/**
+	* Map method of the this RelabelMapperJoin class.
+	* Emit <NodeID, NeighbourID> with the neighbour as value, so the Reducer of the node
+	* replaces its identifier and sends the pair to the neighbour; the lone nodes keep the minus one.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		pair.NodeID = nodeID.get();
+		pair.NeighbourID = neighbourID.get();
+		context.write( pair, neighbourID );
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *	@file RelabelMapperRank.java
+ *	@brief Mapper task of the Job that sorts the nodes by degree for the DEGREE order, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the Job that sorts the nodes by degree for the DEGREE order, \see RelabelDriver. */
+public class RelabelMapperRank extends Mapper<IntWritable, IntWritable, LongWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private LongWritable key = new LongWritable();
+
+	/**
+	* Map method of the this RelabelMapperRank class.
+	* Pack <MaxDegree - Degree, NodeID> into a long, in this way the natural order of the shuffle
+	* is by decreasing degree, breaking the ties by identifier.
+	* @param nodeID		identifier of the node.
+	* @param degree		degree of the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable degree, Context context ) throws IOException, InterruptedException
+	{
+		key.set( InitializationMapperDedup.pack( Integer.MAX_VALUE - degree.get(), nodeID.get() ) );
+		context.write( key, NULL );
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ *	@file RelabelMapperTable.java
+ *	@brief Mapper task of the join Jobs that read the label table, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the join Jobs that read the label table, \see RelabelDriver. */
+public class RelabelMapperTable extends Mapper<IntWritable, IntWritable, NodesPairWritable, IntWritable>
+{
+	private NodesPairWritable pair = new NodesPairWritable();
+	private IntWritable value = new IntWritable();
+	private boolean inverse;
+
+	/**
+	* Setup method of the this RelabelMapperTable class.
+	* Extract the <em>relabelInverse</em> option from the context configuration:
+	* if it is <c>true</c> the labels are replaced by the node identifiers, otherwise the node identifiers by the labels.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		inverse = context.getConfiguration().getBoolean( "relabelInverse", false );
+	}
+
+	/**
+	* Map method of the this RelabelMapperTable class.
+	* Emit <Key, TABLE_MARKER> with the replacement of the key as value: the marker is lower than any identifier
+	* and than the lone node indicator, so the secondary sort gives the replacement as first value of the group.
+	* @param label		label of the node.
+	* @param nodeID		identifier of the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable label, IntWritable nodeID, Context context ) throws IOException, InterruptedException
+	{
+		pair.NodeID = inverse ? label.get() : nodeID.get();
+		pair.NeighbourID = RelabelDriver.TABLE_MARKER;
+		value.set( inverse ? nodeID.get() : label.get() );
+		context.write( pair, value );
+	}
+}
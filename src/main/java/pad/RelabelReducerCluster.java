@@ -0,0 +1,51 @@
+/**
+ *	@file RelabelReducerCluster.java
+ *	@brief Reducer task of the Job that groups the restored clusters, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer task of the Job that groups the restored clusters, \see RelabelDriver. */
+public class RelabelReducerCluster extends Reducer<NodesPairWritable, IntWritable, ClusterWritable, NullWritable>
+{
+	private static final NullWritable NULL = NullWritable.get();
+	private ClusterWritable cluster = new ClusterWritable();
+
+	/**
+	* Reduce method of the this RelabelReducerCluster class.
+	* The key is the root of a cluster and the values its node identifiers, in ascending order thanks to the secondary sort.
+	* @param pair			pair used to implement the secondary sort, \see NodesPairWritable.
+	* @param nodes			node identifiers of the cluster.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> nodes, Context context ) throws IOException, InterruptedException
+	{
+		cluster.clear();
+		for ( IntWritable node : nodes )
+			cluster.add( node.get() );
+		context.write( cluster, NULL );
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *	@file RelabelReducerDegree.java
+ *	@brief Reducer and Combiner task of the Job that computes the degree of the nodes for the DEGREE order, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer and Combiner task of the Job that computes the degree of the nodes for the DEGREE order, \see RelabelDriver. */
+public class RelabelReducerDegree extends Reducer<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable degree = new IntWritable();
+
+	/**
+	* Reduce method of the this RelabelReducerDegree class.
+	* Sum the partial degrees of the node.
+	* @param nodeID		identifier of the node.
+	* @param values		partial degrees of the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		int sum = 0;
+		for ( IntWritable value : values )
+			sum += value.get();
+
+		degree.set( sum );
+		context.write( nodeID, degree );
+	}
+}
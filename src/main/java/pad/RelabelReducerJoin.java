@@ -0,0 +1,95 @@
+/**
+ *	@file RelabelReducerJoin.java
+ *	@brief Reducer task of the join Jobs of \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**	Reducer task of the join Jobs of \see RelabelDriver. */
+public class RelabelReducerJoin extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private IntWritable first = new IntWritable();
+	private IntWritable second = new IntWritable();
+	private boolean canonical;
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this RelabelReducerJoin class.
+	* Extract the <em>relabelCanonical</em> option from the context configuration: it is <c>true</c> for the
+	* last join, whose pairs have both the nodes replaced and are written in the form <max(u,v), min(u,v)>.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		canonical = context.getConfiguration().getBoolean( "relabelCanonical", false );
+		mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this RelabelReducerJoin class.
+	* The first value of the group is the replacement of the key, from the label table; for each other value
+	* we emit <Value, Replacement>, or its canonical form. The lone nodes are complete after the first join,
+	* so they are written into the lone named output.
+	* @param pair		pair used to implement the secondary sort, \see NodesPairWritable.
+	* @param values		the replacement of the key followed by the other end nodes.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		if ( pair.NeighbourID != RelabelDriver.TABLE_MARKER )
+			throw new IOException( "Node " + pair.NodeID + " not found in the label table." );
+		
+		Iterator<IntWritable> iterator = values.iterator();
+		int replacement = iterator.next().get();
+		while ( iterator.hasNext() )
+		{
+			int value = iterator.next().get();
+			if ( value == -1 )
+			{
+				first.set( replacement );
+				mos.write( RelabelDriver.LONE_OUTPUT_NAME, first, MINUS_ONE, RelabelDriver.LONE_BASEOUTPUTPATH );
+				continue;
+			}
+			
+			first.set( canonical ? Math.max( value, replacement ) : value );
+			second.set( canonical ? Math.min( value, replacement ) : replacement );
+			context.write( first, second );
+		}
+	}
+
+	/**
+	 * Cleanup method of the this RelabelReducerJoin class.
+	 * Close the multiple output file.
+	 * @param context	context of this Job.
+	 * @throws IOException, InterruptedException
+	 */
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		mos.close();
+	}
+}
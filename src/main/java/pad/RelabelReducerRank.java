@@ -0,0 +1,52 @@
+/**
+ *	@file RelabelReducerRank.java
+ *	@brief Reducer task of the Job that writes the label table of the DEGREE order, \see RelabelDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer task of the Job that writes the label table of the DEGREE order, \see RelabelDriver. */
+public class RelabelReducerRank extends Reducer<LongWritable, NullWritable, IntWritable, IntWritable>
+{
+	private IntWritable label = new IntWritable( 0 );
+	private IntWritable nodeID = new IntWritable();
+
+	/**
+	* Reduce method of the this RelabelReducerRank class.
+	* The Job has a single Reducer, that receives the nodes by decreasing degree and labels them 0, 1, 2, ...;
+	* it emits the pair <Label, NodeID> without keeping anything in memory.
+	* @param key		pair <MaxDegree - Degree, NodeID> packed into a long.
+	* @param _			not used.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( LongWritable key, Iterable<NullWritable> _, Context context ) throws IOException, InterruptedException
+	{
+		nodeID.set( (int) key.get() );
+		context.write( label, nodeID );
+		label.set( label.get() + 1 );
+	}
+}
@@ -0,0 +1,425 @@
+/**
+ *	@file ResidentStarDriver.java
+ *	@brief Driver that runs all the Large-Star and Small-Star rounds in memory, keeping the edges list resident between the rounds.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+import pad.StarDriver.StarDriverType;
+
+/**
+ * Driver that runs all the Large-Star and Small-Star rounds in memory, keeping the edges list resident between the rounds.
+ * The edges are split among <em>residentWorkers</em> partitions, one for each worker thread, with the same rule of
+ * \see NodePartitioner. In each round a worker applies the logic of \see StarMapper to its edges and sends every pair
+ * to the partition that owns its NodeID; then it sorts the received pairs, as the secondary sort does, and applies
+ * the logic of \see StarReducer, keeping the produced edges for the next round.
+ * In this way there is no Job setup and nothing is written on hdfs, except every <em>residentCheckpointRounds</em>
+ * rounds (if greater than zero) and at the end, when the result is written in the same format of \see StarDriver.
+ */
+public class ResidentStarDriver extends Configured implements Tool
+{
+	/**
+	 * Graphs with more edges than this value are not kept in memory by \see ConnectedComponents: in a round each edge
+	 * is held by its partition, by the outboxes and by the sorted pairs, about 128 bytes, and they take at most half of the heap.
+	 */
+	public static final long DEFAULT_MAX_EDGES = Math.min( 10000000L, Runtime.getRuntime().maxMemory() / 256 );
+
+	private final Path[] inputs;
+	private final Path output;
+	private final int maxIterations;
+	private final boolean verbose;
+	private long numRounds, numChanges;
+
+	/**
+	* Initializes a new instance of the ResidentStarDriver class.
+	* @param inputs			paths of the folders that contain the edges list.
+	* @param output			path of the output folder.
+	* @param maxIterations	maximum number of Large-Star and Small-Star rounds.
+	* @param verbose		if <c>true</c> shows on screen the progress of the rounds.
+	*/
+	public ResidentStarDriver( Path[] inputs, Path output, int maxIterations, boolean verbose )
+	{
+		this.inputs = inputs;
+		this.output = output;
+		this.maxIterations = maxIterations;
+		this.verbose = verbose;
+	}
+
+	/**
+	 * Execute the Large-Star and Small-Star rounds until convergence.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the execution failed; <c>0</c> if everything is ok.
+	 * @throws Exception
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		int numWorkers = conf.getInt( "residentWorkers", Runtime.getRuntime().availableProcessors() );
+		int checkpointRounds = conf.getInt( "residentCheckpointRounds", 0 );
+
+		Partition[] partitions = load( fs, conf, numWorkers );
+		ExecutorService pool = Executors.newFixedThreadPool( numWorkers );
+		try
+		{
+			long changes;
+			this.numRounds = 0;
+			this.numChanges = 0;
+			do
+			{
+				changes = round( pool, partitions, StarDriverType.LARGE ) + round( pool, partitions, StarDriverType.SMALL );
+				this.numChanges += changes;
+				this.numRounds++;
+				if ( this.verbose )
+					System.out.println( "Resident round " + this.numRounds + ": " + changes + " changes." );
+
+				if ( checkpointRounds > 0 && this.numRounds % checkpointRounds == 0 && changes != 0 )
+					write( pool, fs, conf, partitions, this.output.suffix( "_checkpoint" ) );
+			} while ( changes != 0 && this.numRounds < this.maxIterations );
+
+			write( pool, fs, conf, partitions, this.output );
+			fs.delete( this.output.suffix( "_checkpoint" ), true );
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		return 0;
+	}
+
+	/**
+	 * Return the number of Large-Star and Small-Star rounds executed.
+	 * @return 	number of rounds.
+	 */
+	public long getNumRounds()
+	{
+		return this.numRounds;
+	}
+
+	/**
+	 * Return the number of changes occurred during all the rounds.
+	 * @return 	number of changes.
+	 */
+	public long getNumChanges()
+	{
+		return this.numChanges;
+	}
+
+	/**
+	* Read the edges list from the input folders and split it among the partitions.
+	* The edges do not need to be in the right partition yet, the first round will move them.
+	* @param fs				file system where the inputs are stored.
+	* @param conf			configuration used to read the inputs.
+	* @param numWorkers		number of partitions.
+	* @return 				the partitions.
+	* @throws IOException
+	*/
+	private Partition[] load( FileSystem fs, Configuration conf, int numWorkers ) throws IOException
+	{
+		Partition[] partitions = new Partition[numWorkers];
+		for ( int w = 0; w < numWorkers; w++ )
+			partitions[w] = new Partition( numWorkers );
+
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		int next = 0;
+		for ( Path input : this.inputs )
+			for ( FileStatus fileStatus : fs.listStatus( input ) )
+			{
+				String name = fileStatus.getPath().getName();
+				if ( fileStatus.isDirectory() || name.startsWith( "_" ) || name.startsWith( "." ) )
+					continue;
+
+				SequenceFile.Reader reader = new SequenceFile.Reader( fs, fileStatus.getPath(), conf );
+				while ( reader.next( nodeID, neighbourID ) )
+				{
+					partitions[next].edges.add( pack( nodeID.get(), neighbourID.get() ) );
+					next = ( next + 1 ) % numWorkers;
+				}
+				reader.close();
+			}
+		return partitions;
+	}
+
+	/**
+	* Execute a Large-Star or Small-Star round: first every worker sends its pairs, then every worker reduces what it received.
+	* @param pool			worker threads.
+	* @param partitions		the partitions.
+	* @param type			Large-Star or Small-Star.
+	* @return 				number of changes occurred.
+	* @throws Exception
+	*/
+	private long round( ExecutorService pool, final Partition[] partitions, final StarDriverType type ) throws Exception
+	{
+		final boolean smallStar = ( type == StarDriverType.SMALL );
+
+		List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+		for ( final Partition partition : partitions )
+			tasks.add( new Callable<Long>() {
+				public Long call() { partition.map( smallStar, partitions.length ); return 0L; }
+			} );
+		waitAll( pool.invokeAll( tasks ) );
+
+		tasks.clear();
+		for ( int w = 0; w < partitions.length; w++ )
+		{
+			final int worker = w;
+			tasks.add( new Callable<Long>() {
+				public Long call() { return partitions[worker].reduce( smallStar, partitions, worker ); }
+			} );
+		}
+		return waitAll( pool.invokeAll( tasks ) );
+	}
+
+	/**
+	* Write the edges of every partition into a SequenceFile of the output folder.
+	* @param pool			worker threads.
+	* @param fs				file system where the output is stored.
+	* @param conf			configuration used to write the output.
+	* @param partitions		the partitions.
+	* @param folder			output folder.
+	* @throws Exception
+	*/
+	private void write( ExecutorService pool, final FileSystem fs, final Configuration conf, final Partition[] partitions, final Path folder ) throws Exception
+	{
+		fs.delete( folder, true );
+		fs.mkdirs( folder );
+
+		List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+		for ( int w = 0; w < partitions.length; w++ )
+		{
+			final int worker = w;
+			tasks.add( new Callable<Long>() {
+				public Long call() throws IOException
+				{
+					Path file = new Path( folder, String.format( "part-r-%05d", worker ) );
+					SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, file, IntWritable.class, IntWritable.class );
+					IntWritable nodeID = new IntWritable();
+					IntWritable neighbourID = new IntWritable();
+					EdgeArray edges = partitions[worker].edges;
+					for ( int i = 0; i < edges.getNumEdges(); i++ )
+					{
+						nodeID.set( first( edges.get( i ) ) );
+						neighbourID.set( second( edges.get( i ) ) );
+						writer.append( nodeID, neighbourID );
+					}
+					writer.close();
+					return 0L;
+				}
+			} );
+		}
+		waitAll( pool.invokeAll( tasks ) );
+	}
+
+	/**
+	* Wait for the tasks and sum their results, rethrowing the first failure.
+	* @param futures	results of the tasks.
+	* @return 			sum of the results.
+	* @throws Exception
+	*/
+	private static long waitAll( List<Future<Long>> futures ) throws Exception
+	{
+		long sum = 0;
+		for ( Future<Long> future : futures )
+			sum += future.get();
+		return sum;
+	}
+
+	/**
+	* Pack the pair <NodeID, NeighbourID> into a long, sorted by NodeID and then by NeighbourID.
+	* The loneliness indicator, minus one, comes after all the neighbours.
+	*/
+	private static long pack( int nodeID, int neighbourID )
+	{
+		return ( (long) nodeID << 32 ) | ( neighbourID & 0xFFFFFFFFL );
+	}
+
+	private static int first( long pair )
+	{
+		return (int) ( pair >>> 32 );
+	}
+
+	private static int second( long pair )
+	{
+		return (int) pair;
+	}
+
+	/**	Edges owned by a worker, together with the pairs that it is sending to the other workers. */
+	private static class Partition
+	{
+		EdgeArray edges = new EdgeArray();
+		final EdgeArray[] outbox;
+
+		Partition( int numWorkers )
+		{
+			outbox = new EdgeArray[numWorkers];
+		}
+
+		/**
+		* Apply the logic of \see StarMapper to the edges of this partition, sending each pair to the partition of its NodeID.
+		*/
+		void map( boolean smallStar, int numWorkers )
+		{
+			for ( int w = 0; w < numWorkers; w++ )
+				outbox[w] = new EdgeArray();
+
+			for ( int i = 0; i < edges.getNumEdges(); i++ )
+			{
+				int nodeID = first( edges.get( i ) );
+				int neighbourID = second( edges.get( i ) );
+
+				// if the node is alone, emit it like is it in order to keep that information
+				if ( neighbourID == -1 )
+					send( nodeID, -1, numWorkers );
+				// If we are running Small-Star, we emit only <max(u,v), min(u,v)>
+				else if ( smallStar )
+					send( Math.max( nodeID, neighbourID ), Math.min( nodeID, neighbourID ), numWorkers );
+				// If we are running Large-Star, we always emit: <NodeID; NeighbourID> and <NeighbourID; NodeID>
+				else
+				{
+					send( nodeID, neighbourID, numWorkers );
+					send( neighbourID, nodeID, numWorkers );
+				}
+			}
+			edges = null;
+		}
+
+		private void send( int nodeID, int neighbourID, int numWorkers )
+		{
+			outbox[nodeID % numWorkers].add( pack( nodeID, neighbourID ) );
+		}
+
+		/**
+		* Collect the pairs sent to this partition, sort them and apply the logic of \see StarReducer to each NodeID.
+		* @return 	number of changes occurred.
+		*/
+		long reduce( boolean smallStar, Partition[] partitions, int worker )
+		{
+			int size = 0;
+			for ( Partition partition : partitions )
+				size += partition.outbox[worker].getNumEdges();
+			long[] pairs = new long[size];
+			size = 0;
+			for ( Partition partition : partitions )
+			{
+				partition.outbox[worker].copyTo( pairs, size );
+				size += partition.outbox[worker].getNumEdges();
+			}
+			Arrays.sort( pairs );
+
+			EdgeArray produced = new EdgeArray();
+			long numChanges = 0;
+			int start = 0;
+			while ( start < size )
+			{
+				int nodeID = first( pairs[start] );
+				int end = start;
+				while ( end < size && first( pairs[end] ) == nodeID )
+					end++;
+
+				long numProducedPairs = 0;
+				int minNodeID = nodeID;
+				boolean alone = true;
+				int lastNodeSeen = -2;
+				for ( int i = start; i < end; i++ )
+				{
+					int neighbour = second( pairs[i] );
+					// Skip the duplicate nodes and the loneliness indicator.
+					if ( neighbour == lastNodeSeen || neighbour == -1 )
+						continue;
+
+					if ( alone )
+					{
+						alone = false;
+						minNodeID = Math.min( nodeID, neighbour );
+						if ( smallStar && nodeID != minNodeID )
+							produced.add( pack( nodeID, minNodeID ) );
+					}
+
+					boolean cond = ( smallStar ? ( neighbour != minNodeID ) : ( neighbour > nodeID ) );
+					if ( cond )
+					{
+						produced.add( pack( neighbour, minNodeID ) );
+						numProducedPairs++;
+					}
+					lastNodeSeen = neighbour;
+				}
+
+				if ( alone )
+					produced.add( pack( nodeID, -1 ) );
+				else if ( nodeID != minNodeID )
+					numChanges += numProducedPairs;
+
+				start = end;
+			}
+
+			this.edges = produced;
+			return numChanges;
+		}
+	}
+
+	/**
+	 * Main of the \see ResidentStarDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception
+	{
+		if ( args.length != 2 )
+		{
+			System.out.println( "Usage: ResidentStarDriver <input> <output>" );
+			System.exit(1);
+		}
+
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		System.out.println( "Start ResidentStarDriver." );
+		ResidentStarDriver star = new ResidentStarDriver( new Path[] { input }, output, Integer.MAX_VALUE, true );
+		if ( star.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End ResidentStarDriver." );
+
+		System.out.println( "Number of rounds: " + star.getNumRounds() );
+		System.exit( 0 );
+	}
+}
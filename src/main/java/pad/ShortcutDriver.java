@@ -0,0 +1,194 @@
+/**
+ *	@file ShortcutDriver.java
+ *	@brief Driver of the Jobs responsible for a pointer jumping round on the result of a Star operation.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs responsible for a pointer jumping round on the result of a Star operation.
+ * On long chains the Star operations move the labels by one hop per round; a pointer jumping round
+ * halves the depth of the chains instead. The parent of a node is its minimum neighbour ( or the node itself ),
+ * so the parents form a forest; the edge toward the parent is replaced by the edge toward the grandparent,
+ * which keeps every node in the tree of its root, while all the other edges are kept unchanged.
+ * The grandparent is found with a self-join: the first Job, using \see ShortcutReducerParent, computes the parents,
+ * the second Job, using \see ShortcutReducerJump, joins each node with the parent of its parent.
+ */
+public class ShortcutDriver extends Configured implements Tool
+{
+	/** Named output of the first Job, holding the records of the self-join */
+	public static final String JUMPS_OUTPUT_NAME = "jumps";
+	/** Base output path for the named output of the self-join */
+	public static final String JUMPS_BASEOUTPUTPATH = JUMPS_OUTPUT_NAME + "/part";
+	
+	private final String title;
+	private final Path input, output;
+	private final boolean verbose;
+	private long numShortcuts;
+	
+	/**
+	* Initializes a new instance of the ShortcutDriver class.
+	* @param input		path of the result folder of \see StarDriver Job.
+	* @param output		path of the output folder.
+	* @param iteration	used to build the title of the Jobs.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public ShortcutDriver( Path input, Path output, long iteration, boolean verbose )
+	{
+		this.title = "Shortcut" + iteration;
+		this.input = input;
+		this.output = output;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the ShortcutDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a ShortcutDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path jumps = this.output.suffix( "/" + JUMPS_OUTPUT_NAME );
+		Path jumped = this.output.suffix( "_" + JUMPS_OUTPUT_NAME );
+		
+		// The StarMapper of the Large-Star emits each edge in both directions.
+		conf.set( "type", StarDriver.StarDriverType.LARGE.toString() );
+		Job job = new Job( conf, this.title + "-Parent" );
+		job.setJarByClass( ShortcutDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( StarMapper.class );
+		job.setCombinerClass( StarCombiner.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( ShortcutReducerParent.class );
+		
+		JobSizing sizing = JobSizing.of( new Path[] { this.input }, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		MultipleOutputs.addNamedOutput( job, JUMPS_OUTPUT_NAME, SequenceFileOutputFormat.class, NodesPairWritable.class, IntWritable.class );
+		
+		FileInputFormat.addInputPath( job, this.input );
+		FileOutputFormat.setOutputPath( job, this.output );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+			return 1;
+		
+		// Join each node with the parent of its parent.
+		job = new Job( conf, this.title + "-Jump" );
+		job.setJarByClass( ShortcutDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( Mapper.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( ShortcutReducerJump.class );
+		sizing.configureReducers( job );
+		
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, jumps );
+		FileOutputFormat.setOutputPath( job, jumped );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( jumped, true );
+			return 1;
+		}
+		
+		// Set up the private variable looking to the counter value
+		this.numShortcuts = job.getCounters().findCounter( UtilCounters.NUM_SHORTCUTS ).getValue();
+		
+		// Move the edges toward the grandparents into the output folder, renaming them to not overwrite the existing parts
+		for ( FileStatus fileStatus : fs.listStatus( jumped ) )
+			if ( fileStatus.getPath().getName().startsWith( "part" ) )
+				fs.rename( fileStatus.getPath(), this.output.suffix( "/" + JUMPS_OUTPUT_NAME + "-" + fileStatus.getPath().getName() ) );
+		fs.delete( jumped, true );
+		fs.delete( jumps, true );
+		return 0;
+	}
+	
+	/**
+	 * Return the number of nodes moved to the parent of their parent.
+	 * @return 	number of shortcuts.
+	 */
+	public long getNumShortcuts()
+	{
+		return this.numShortcuts;
+	}
+	
+	/**
+	 * Main of the \see ShortcutDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 2 )
+		{
+			System.out.println( "Usage: ShortcutDriver <input> <output>" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		System.out.println( "Start ShortcutDriver." );
+		ShortcutDriver shortcut = new ShortcutDriver( input, output, 0, true );
+		if ( shortcut.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End ShortcutDriver." );
+		
+		System.out.println( "Number of shortcuts: " + shortcut.getNumShortcuts() );
+		System.exit( 0 );
+	}
+}
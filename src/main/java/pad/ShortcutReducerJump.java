@@ -0,0 +1,68 @@
+/**
+ *	@file ShortcutReducerJump.java
+ *	@brief Reducer task of the second Job of the pointer jumping round, \see ShortcutDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/**	Reducer task of the second Job of the pointer jumping round, \see ShortcutDriver. */
+public class ShortcutReducerJump extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable grandparentID = new IntWritable();
+
+	/**
+	* Reduce method of the this ShortcutReducerJump class.
+	* Thanks to the secondary sort, the first value is the parent of the NodeID, written with the minus one
+	* neighbour by \see ShortcutReducerParent; the following values are the children of the NodeID.
+	* For each child we emit the pair <ChildID, ParentID>, i.e. the child is connected to its grandparent.
+	* When the NodeID is not a root, each pair is a shortcut and increments NUM_SHORTCUTS of \see UtilCounters.
+	* @param pair		pair used to implement the secondary sort, \see NodesPair.
+	* @param values		parent and children of the node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		int node = pair.NodeID;
+		long numShortcuts = 0;
+		boolean first = true;
+		for ( IntWritable value : values )
+		{
+			if ( first )
+			{
+				first = false;
+				grandparentID.set( value.get() );
+				continue;
+			}
+
+			context.write( value, grandparentID );
+			if ( grandparentID.get() != node )
+				numShortcuts++;
+		}
+
+		context.getCounter( UtilCounters.NUM_SHORTCUTS ).increment( numShortcuts );
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ *	@file ShortcutReducerParent.java
+ *	@brief Reducer task of the first Job of the pointer jumping round, \see ShortcutDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**	Reducer task of the first Job of the pointer jumping round, \see ShortcutDriver. */
+public class ShortcutReducerParent extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable parentID = new IntWritable();
+	private NodesPairWritable request = new NodesPairWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this ShortcutReducerParent class.
+	* Instantiate the MultipleOutputs used to write the requests to the parents.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this ShortcutReducerParent class.
+	* The parent of a node is its minimum neighbour, or the node itself if it is smaller than all its neighbours;
+	* thanks to the secondary sort it is either the NodeID or the first neighbour.
+	* The parents form a forest whose roots are the nodes that are parent of themselves.
+	* For the edges toward a smaller neighbour, that are decided by this node:
+	* 	-	the edge toward the parent is not emitted, it will be replaced by the edge toward the grandparent;
+	* 	-	the other edges are emitted unchanged.
+	* Then two records are written into the \see ShortcutDriver.JUMPS_OUTPUT_NAME named output:
+	* <(NodeID, -1), ParentID>, that tells the node its own parent, and <(ParentID, NodeID), NodeID>,
+	* that asks the parent for its parent.
+	* A lone node is emitted unchanged.
+	* @param pair			pair used to implement the secondary sort, \see NodesPair.
+	* @param neighbourhood	list of neighbours.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		int node = pair.NodeID;
+		int parent = -1;
+
+		// Do not exists a node with ID equal to minus two ( minus one already used to indicate loneliness )
+		int lastNodeSeen = -2;
+		for ( IntWritable neighbour : neighbourhood )
+		{
+			// Skip the duplicate nodes and the loneliness indicator.
+			if ( neighbour.get() == lastNodeSeen || neighbour.get() == -1 )
+				continue;
+			lastNodeSeen = neighbour.get();
+
+			if ( parent == -1 )
+				parent = Math.min( node, neighbour.get() );
+
+			// Keep the edges toward the smaller neighbours that are not the parent.
+			if ( neighbour.get() < node && neighbour.get() != parent )
+			{
+				nodeID.set( node );
+				context.write( nodeID, neighbour );
+			}
+		}
+
+		nodeID.set( node );
+		if ( parent == -1 )
+		{
+			context.write( nodeID, MINUS_ONE );
+			return;
+		}
+
+		// Tell the node its parent.
+		request.NodeID = node;
+		request.NeighbourID = -1;
+		parentID.set( parent );
+		mos.write( ShortcutDriver.JUMPS_OUTPUT_NAME, request, parentID, ShortcutDriver.JUMPS_BASEOUTPUTPATH );
+
+		// Ask the parent for its parent.
+		if ( parent != node )
+		{
+			request.NodeID = parent;
+			request.NeighbourID = node;
+			mos.write( ShortcutDriver.JUMPS_OUTPUT_NAME, request, nodeID, ShortcutDriver.JUMPS_BASEOUTPUTPATH );
+		}
+	}
+
+	/**
+	* Cleanup method of the this ShortcutReducerParent class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+}
@@ -0,0 +1,398 @@
+/**
+ *	@file SketchBridgeDriver.java
+ *	@brief Driver that finds the bridges of an edges list with a spanning forest and random XOR sketches, in two sequential passes.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver that finds the bridges of an edges list with a spanning forest and random XOR sketches, in two sequential passes.
+ * The first pass streams the edges through a \see UnionFind and keeps only the edges of a spanning forest.
+ * The second pass gives every other edge a random 64 bits value and XORs it into both its end nodes.
+ * The XOR of the values stored into the subtree of a forest edge is the XOR of the edges that leave the subtree,
+ * since an edge with both end nodes inside it is counted twice: it is zero when the forest edge is the only one
+ * crossing its cut, i.e. when it is a bridge, and otherwise it is zero with probability 2^-64.
+ * Only the forest is kept in memory, about 100 bytes for each node, so the edges list does not need to fit in memory.
+ * The certain folder, i.e. the stars of the cliques and the edges lying on a triangle, is read like the edges list,
+ * but its edges are never reported since they are not real bridges.
+ * Finally the map-only Job of \see SketchBridgeMapper removes the bridges from the edges list.
+ */
+public class SketchBridgeDriver extends Configured implements Tool
+{
+	/** Name of the file, inside the bridges folder, where the bridges are written */
+	public static final String BRIDGES_FILE_NAME = "sketch-bridges";
+	
+	private final Path edges, certain, output, bridges;
+	private final boolean verbose;
+	private long numBridges, numForestEdges;
+	
+	/**
+	* Initializes a new instance of the SketchBridgeDriver class.
+	* @param edges		path of the edges list folder, result of \see InitializationDriver Job.
+	* @param certain	path of the edges that are never bridges, \see InitializationDriver.getCliquesOutput, <c>null</c> if there are none.
+	* @param output		path of the output folder, where the edges list without the bridges is written.
+	* @param bridges	path of the folder where the bridges are written.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public SketchBridgeDriver( Path edges, Path certain, Path output, Path bridges, boolean verbose )
+	{
+		this.edges = edges;
+		this.certain = certain;
+		this.output = output;
+		this.bridges = bridges;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the two passes and the SketchBridgeDriver Job.
+	 * The seed of the random values can be fixed with <em>sketchSeed</em>.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the SketchBridgeDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		long seed = conf.getLong( "sketchSeed", System.nanoTime() );
+		
+		// Both the passes must read the edges in the same order, so that an edge is recognized by its position.
+		List<Path> files = listFiles( fs, this.edges );
+		int numCandidateFiles = files.size();
+		if ( this.certain != null )
+			files.addAll( listFiles( fs, this.certain ) );
+		
+		Forest forest = spanningForest( fs, conf, files, numCandidateFiles );
+		this.numForestEdges = forest.getNumEdges();
+		long[] sketches = sketch( fs, conf, files, forest, seed );
+		
+		// Write the forest edges with a zero subtree XOR, then remove them from the edges list.
+		fs.mkdirs( this.bridges );
+		Path file = new Path( this.bridges, BRIDGES_FILE_NAME );
+		this.numBridges = forest.writeBridges( fs, conf, file, sketches );
+		
+		return removeBridges( conf, this.edges, file, this.output, "SketchBridgeDriver", this.verbose ) ? 0 : 1;
+	}
+	
+	/**
+	 * Run the map-only Job of \see SketchBridgeMapper, that copies an edges list without the bridges of a file.
+	 * @param conf		configuration of the Job.
+	 * @param edges		path of the edges list folder.
+	 * @param file		path of the file of the bridges.
+	 * @param output	path of the output folder.
+	 * @param title		title of the Job.
+	 * @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	 * @return 			<c>true</c> if the Job succeeded, <c>false</c> otherwise.
+	 * @throws Exception
+	 */
+	static boolean removeBridges( Configuration conf, Path edges, Path file, Path output, String title, boolean verbose ) throws Exception
+	{
+		Job job = new Job( conf, title );
+		job.setJarByClass( SketchBridgeDriver.class );
+		job.getConfiguration().set( "sketchBridges", file.toString() );
+		
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( SketchBridgeMapper.class );
+		job.setNumReduceTasks( 0 );
+		JobSizing.of( new Path[] { edges }, conf ).configureSplits( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, edges );
+		FileOutputFormat.setOutputPath( job, output );
+		
+		return job.waitForCompletion( verbose );
+	}
+	
+	/**
+	 * Return the data files of a folder, sorted by name.
+	 * @param fs		file system of the folder.
+	 * @param folder	path of the folder.
+	 * @return 			paths of the files.
+	 * @throws IOException
+	 */
+	static List<Path> listFiles( FileSystem fs, Path folder ) throws IOException
+	{
+		List<String> names = new ArrayList<String>();
+		for ( FileStatus fileStatus : fs.listStatus( folder ) )
+		{
+			String name = fileStatus.getPath().getName();
+			if ( !fileStatus.isDirectory() && !name.startsWith( "_" ) && !name.startsWith( "." ) )
+				names.add( name );
+		}
+		Collections.sort( names );
+		
+		List<Path> files = new ArrayList<Path>();
+		for ( String name : names )
+			files.add( new Path( folder, name ) );
+		return files;
+	}
+	
+	/**
+	 * First pass: keep the edges that join two different sets of the \see UnionFind.
+	 * @param fs					file system of the files.
+	 * @param conf					configuration used to read the files.
+	 * @param files					files of the edges list followed by the files of the certain folder.
+	 * @param numCandidateFiles		number of files of the edges list.
+	 * @return 						the spanning forest.
+	 * @throws IOException
+	 */
+	private static Forest spanningForest( FileSystem fs, Configuration conf, List<Path> files, int numCandidateFiles ) throws IOException
+	{
+		UnionFind sets = new UnionFind( 1 << 16 );
+		Forest forest = new Forest();
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		long position = 0;
+		for ( int f = 0; f < files.size(); f++ )
+		{
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, files.get( f ), conf );
+			while ( reader.next( nodeID, neighbourID ) )
+			{
+				// The pairs of the lone nodes are not edges.
+				if ( neighbourID.get() == -1 )
+					continue;
+				
+				if ( sets.union( nodeID.get(), neighbourID.get() ) )
+					forest.add( nodeID.get(), neighbourID.get(), position, f < numCandidateFiles );
+				position++;
+			}
+			reader.close();
+		}
+		// Every node of the edges list is a node of the forest, since its first edge joins two different sets.
+		forest.buildAdjacency();
+		return forest;
+	}
+	
+	/**
+	 * Second pass: XOR a random value of every edge out of the forest into its end nodes.
+	 * @param fs		file system of the files.
+	 * @param conf		configuration used to read the files.
+	 * @param files		files read by the first pass, in the same order.
+	 * @param forest	the spanning forest.
+	 * @param seed		seed of the random values.
+	 * @return 			the XOR of the values of each node, indexed like the nodes of the forest.
+	 * @throws IOException
+	 */
+	private static long[] sketch( FileSystem fs, Configuration conf, List<Path> files, Forest forest, long seed ) throws IOException
+	{
+		long[] sketches = new long[forest.getNumNodes()];
+		IntWritable nodeID = new IntWritable();
+		IntWritable neighbourID = new IntWritable();
+		long position = 0;
+		int next = 0;
+		for ( Path file : files )
+		{
+			SequenceFile.Reader reader = new SequenceFile.Reader( fs, file, conf );
+			while ( reader.next( nodeID, neighbourID ) )
+			{
+				if ( neighbourID.get() == -1 )
+					continue;
+				
+				// The forest edges are stored in the order of their position.
+				if ( next < forest.getNumEdges() && forest.positions[next] == position )
+					next++;
+				else
+				{
+					long value = mix( seed + position );
+					sketches[forest.indexOf( nodeID.get() )] ^= value;
+					sketches[forest.indexOf( neighbourID.get() )] ^= value;
+				}
+				position++;
+			}
+			reader.close();
+		}
+		return sketches;
+	}
+	
+	/**
+	 * Finalizer of the SplitMix64 generator, used to get an independent random value from each position.
+	 * @param x		value to mix.
+	 * @return 		mixed value.
+	 */
+	private static long mix( long x )
+	{
+		x = ( x ^ ( x >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+		x = ( x ^ ( x >>> 27 ) ) * 0x94D049BB133111EBL;
+		return x ^ ( x >>> 31 );
+	}
+	
+	/**
+	 * Return the number of bridges found.
+	 * @return 	number of bridges.
+	 */
+	public long getNumBridges()
+	{
+		return this.numBridges;
+	}
+	
+	/**
+	 * Return the number of edges of the spanning forest.
+	 * @return 	number of forest edges.
+	 */
+	public long getNumForestEdges()
+	{
+		return this.numForestEdges;
+	}
+	
+	/**	Edges of the spanning forest, stored into primitive arrays together with their position in the edges list. */
+	private static class Forest extends EdgeArray
+	{
+		long[] positions = new long[1024];
+		boolean[] candidates = new boolean[1024];
+		
+		void add( int nodeID, int neighbourID, long position, boolean candidate )
+		{
+			int size = getNumEdges();
+			if ( size == positions.length )
+			{
+				positions = Arrays.copyOf( positions, 2 * size );
+				candidates = Arrays.copyOf( candidates, 2 * size );
+			}
+			positions[size] = position;
+			candidates[size] = candidate;
+			add( InitializationMapperDedup.pack( nodeID, neighbourID ) );
+		}
+		
+		/**
+		* Visit every tree of the forest and XOR the sketches of each subtree into its root, from the leaves up:
+		* a candidate forest edge whose subtree XOR is zero is written as a bridge <NodeID, NeighbourID>.
+		* @param fs			file system of the file.
+		* @param conf		configuration used to write the file.
+		* @param file		path of the file where the bridges are written.
+		* @param sketches	XOR of the values of each node, overwritten with the XOR of its subtree.
+		* @return 			number of bridges written.
+		* @throws IOException
+		*/
+		long writeBridges( FileSystem fs, Configuration conf, Path file, long[] sketches ) throws IOException
+		{
+			int numNodes = getNumNodes();
+			// Order of visit of the nodes, each one preceded by its parent, and the forest edge towards the parent.
+			int[] order = new int[numNodes];
+			int[] parentEdges = new int[numNodes];
+			boolean[] visited = new boolean[numNodes];
+			int numVisited = 0;
+			for ( int root = 0; root < numNodes; root++ )
+			{
+				if ( visited[root] )
+					continue;
+				
+				visited[root] = true;
+				parentEdges[root] = -1;
+				order[numVisited++] = root;
+				// The order array is also the queue of the visit.
+				for ( int head = numVisited - 1; head < numVisited; head++ )
+				{
+					int node = order[head];
+					for ( int i = getAdjacencyStart( node ); i < getAdjacencyEnd( node ); i++ )
+					{
+						int neighbour = getNeighbour( i );
+						if ( !visited[neighbour] )
+						{
+							visited[neighbour] = true;
+							parentEdges[neighbour] = getNeighbourEdge( i );
+							order[numVisited++] = neighbour;
+						}
+					}
+				}
+			}
+			visited = null;
+			
+			SequenceFile.Writer writer = SequenceFile.createWriter( fs, conf, file, IntWritable.class, IntWritable.class );
+			IntWritable nodeID = new IntWritable();
+			IntWritable neighbourID = new IntWritable();
+			long numBridges = 0;
+			for ( int k = numNodes - 1; k >= 0; k-- )
+			{
+				int node = order[k];
+				int e = parentEdges[node];
+				if ( e == -1 )
+					continue;
+				
+				// The parent is the other end node of the forest edge.
+				int u = indexOf( getNodeID( e ) );
+				int parent = ( u == node ) ? indexOf( getNeighbourID( e ) ) : u;
+				sketches[parent] ^= sketches[node];
+				if ( sketches[node] == 0 && candidates[e] )
+				{
+					nodeID.set( getNodeID( e ) );
+					neighbourID.set( getNeighbourID( e ) );
+					writer.append( nodeID, neighbourID );
+					numBridges++;
+				}
+			}
+			writer.close();
+			return numBridges;
+		}
+	}
+	
+	/**
+	 * Main of the \see SketchBridgeDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 && args.length != 4 )
+		{
+			System.out.println( "Usage: SketchBridgeDriver <input> <output> <bridges> [<certain>]" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path bridges = new Path( args[2] );
+		Path certain = ( args.length == 4 ) ? new Path( args[3] ) : null;
+		System.out.println( "Start SketchBridgeDriver." );
+		SketchBridgeDriver sketch = new SketchBridgeDriver( input, certain, output, bridges, true );
+		if ( sketch.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End SketchBridgeDriver." );
+		
+		System.out.println( "Number of forest edges: " + sketch.getNumForestEdges() );
+		System.out.println( "Number of bridges: " + sketch.getNumBridges() );
+		System.exit( 0 );
+	}
+}
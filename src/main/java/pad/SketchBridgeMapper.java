@@ -0,0 +1,89 @@
+/**
+ *	@file SketchBridgeMapper.java
+ *	@brief Mapper task of the Job that removes the bridges found by \see SketchBridgeDriver from the edges list.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.Mapper;
+
+import pad.UtilCounters;
+
+/** Mapper task of the Job that removes the bridges found by \see SketchBridgeDriver from the edges list. */
+public class SketchBridgeMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	private long[] bridges;
+	
+	/**
+	* Setup method of the this SketchBridgeMapper class.
+	* Read the bridges from the <em>sketchBridges</em> file, written by \see SketchBridgeDriver or \see DynamicBridgeDriver;
+	* they are at most one less than the nodes.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Configuration conf = context.getConfiguration();
+		Path file = new Path( conf.get( "sketchBridges" ) );
+		FileSystem fs = file.getFileSystem( conf );
+		int size = 0;
+		bridges = new long[1024];
+		IntWritable nodeID = new IntWritable(), neighbourID = new IntWritable();
+		SequenceFile.Reader reader = new SequenceFile.Reader( fs, file, conf );
+		while ( reader.next( nodeID, neighbourID ) )
+		{
+			if ( size == bridges.length )
+				bridges = Arrays.copyOf( bridges, 2 * size );
+			bridges[size++] = InitializationMapperDedup.pack( nodeID.get(), neighbourID.get() );
+		}
+		reader.close();
+		bridges = Arrays.copyOf( bridges, size );
+		Arrays.sort( bridges );
+	}
+	
+	/**
+	* Map method of the this SketchBridgeMapper class.
+	* Copy every pair unchanged, except the bridges: like \see EdgeRemoverMapper,
+	* in place of a bridge we emit its two end nodes as lone nodes.
+	* A bridge is never duplicated, otherwise it would lie on a cycle of two edges.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException 
+	{
+		if ( neighbourID.get() != -1 && Arrays.binarySearch( bridges, InitializationMapperDedup.pack( nodeID.get(), neighbourID.get() ) ) >= 0 )
+		{
+			context.write( nodeID, EdgeRemoverMapper.MINUS_ONE );
+			context.write( neighbourID, EdgeRemoverMapper.MINUS_ONE );
+			context.getCounter( UtilCounters.NUM_REMOVED_EDGES ).increment( 1 );
+		}
+		else
+			context.write( nodeID, neighbourID );
+	}
+}
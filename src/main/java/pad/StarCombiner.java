@@ -43,8 +43,8 @@ public class StarCombiner extends Reducer<NodesPairWritable, IntWritable, NodesP
 		int lastNodeSeen = -2;
 		for ( IntWritable neighbour : neighbourhood )
 		{
-			// Skip the duplicate nodes.
-			if ( neighbour.get() == lastNodeSeen )
+			// Skip the duplicate nodes, but keep all the freeze markers since they are counted.
+			if ( neighbour.get() == lastNodeSeen && neighbour.get() >= -1 )
 				continue;
 			
 			// Emit the pair
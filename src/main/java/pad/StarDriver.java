@@ -23,12 +23,13 @@ package pad;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
-import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import org.apache.hadoop.util.GenericOptionsParser;
@@ -40,11 +41,29 @@ public class StarDriver extends Configured implements Tool
 	/** The StarDriver can be of type Large-StarDriver or Small-StarDriver */
 	public enum StarDriverType { LARGE, SMALL };
 	
+	/** Named output of the freeze markers, read by the next Star operation */
+	public static final String FREEZE_OUTPUT_NAME = "freeze";
+	/** Base output path for the named output of the freeze markers */
+	public static final String FREEZE_BASEOUTPUTPATH = FREEZE_OUTPUT_NAME + "/part";
+	/** Named output of the converged stars */
+	public static final String DONE_OUTPUT_NAME = "done";
+	/** Base output path for the named output of the converged stars */
+	public static final String DONE_BASEOUTPUTPATH = DONE_OUTPUT_NAME + "/part";
+	/** Marker sent by a leaf to its only neighbour */
+	public static final int LEAF_MARKER = -2;
+	/** Marker that tells a root that its component is a converged star */
+	public static final int FROZEN_MARKER = -3;
+	
 	private final String title;
 	private final StarDriverType type;
-	private final Path input, output;
+	private final Path[] inputs;
+	private final Path output;
 	private final boolean verbose;
-	private long numChanges;
+	private JobSizing inputSizing, outputSizing;
+	private Path markers, done;
+	private boolean tagged;
+	private JobGroup group;
+	private long numChanges, numFrozenNodes;
 	
 	/**
 	* Initializes a new instance of the StarDriver class.
@@ -55,10 +74,24 @@ public class StarDriver extends Configured implements Tool
 	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
 	*/
 	public StarDriver( StarDriverType type, Path input, Path output, long iteration, boolean verbose )
+	{
+		this( type, new Path[] { input }, output, iteration, verbose );
+	}
+	
+	/**
+	* Initializes a new instance of the StarDriver class reading the edges from more folders,
+	* e.g. the result of \see InitializationDriver together with the stars of its cliques.
+	* @param type		identify which kind of job execute: Small-Star or Large-Star.
+	* @param inputs		paths of the folders that contain the edges list.
+	* @param output		path of the output folder.
+	* @param iteration	used to build the title of this Job.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public StarDriver( StarDriverType type, Path[] inputs, Path output, long iteration, boolean verbose )
 	{
 		this.type = type;
 		this.title = type.equals( StarDriverType.SMALL ) ? "Small-Star" + iteration : "Large-Star" + iteration;
-		this.input = input;
+		this.inputs = inputs;
 		this.output = output;
 		this.verbose = verbose;
 	}
@@ -71,38 +104,148 @@ public class StarDriver extends Configured implements Tool
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
 		conf.set( "type", this.type.toString() );
+		conf.setBoolean( "freeze", this.done != null );
 		Job job = new Job( conf, this.title );
 		job.setJarByClass( StarDriver.class );
 	
-		job.setMapOutputKeyClass( NodesPairWritable.class );
 		job.setMapOutputValueClass( IntWritable.class );
-		job.setOutputKeyClass( IntWritable.class );
-		job.setOutputValueClass( IntWritable.class );
-	
-		job.setMapperClass( StarMapper.class );
 		job.setCombinerClass( StarCombiner.class );
-		job.setPartitionerClass( NodePartitioner.class );
-		job.setGroupingComparatorClass( NodeGroupingComparator.class );
-		job.setReducerClass( StarReducer.class );
+		if ( this.tagged )
+		{
+			// The keys are grouped and routed by experiment too, so each experiment is an independent graph.
+			job.setMapOutputKeyClass( ExperimentPairWritable.class );
+			job.setOutputKeyClass( ExperimentPairWritable.class );
+			job.setOutputValueClass( NullWritable.class );
+			
+			job.setMapperClass( ExperimentStarMapper.class );
+			job.setPartitionerClass( ExperimentPartitioner.class );
+			job.setGroupingComparatorClass( ExperimentGroupingComparator.class );
+			job.setReducerClass( ExperimentStarReducer.class );
+		}
+		else
+		{
+			job.setMapOutputKeyClass( NodesPairWritable.class );
+			job.setOutputKeyClass( IntWritable.class );
+			job.setOutputValueClass( IntWritable.class );
+		
+			job.setMapperClass( StarMapper.class );
+			job.setPartitionerClass( NodePartitioner.class );
+			job.setGroupingComparatorClass( NodeGroupingComparator.class );
+			job.setReducerClass( StarReducer.class );
+		}
 	
-		job.setInputFormatClass( SequenceFileInputFormat.class );
+		// Size the Job looking to the output of the previous one, or to the input folders if it is not known.
+		JobSizing sizing = ( this.inputSizing != null ) ? this.inputSizing : JobSizing.of( this.inputs, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
 		job.setOutputFormatClass( SequenceFileOutputFormat.class );
 	
-		FileInputFormat.addInputPath( job, this.input );
+		for ( Path input : this.inputs )
+			FileInputFormat.addInputPath( job, input );
+		FileSystem fs = FileSystem.get( conf );
+		if ( this.markers != null && fs.exists( this.markers ) )
+			FileInputFormat.addInputPath( job, this.markers );
 		FileOutputFormat.setOutputPath( job, this.output );
 
-		if ( !job.waitForCompletion( verbose ) )
+		if ( !JobGroup.waitForCompletion( this.group, job, verbose ) )
 			return 1;
 		
-		// Set up the private variable looking to the counter value
+		this.outputSizing = JobSizing.ofOutput( job );
+		// Set up the private variables looking to the counters value
 		this.numChanges = job.getCounters().findCounter( UtilCounters.NUM_CHANGES ).getValue();
+		this.numFrozenNodes = job.getCounters().findCounter( UtilCounters.NUM_FROZEN_NODES ).getValue();
+		
+		if ( this.done != null )
+		{
+			// Move the converged stars into the done folder, renaming them to not overwrite the parts of the other rounds
+			Path doneParts = this.output.suffix( "/" + DONE_OUTPUT_NAME );
+			if ( fs.exists( doneParts ) )
+			{
+				fs.mkdirs( this.done );
+				for ( FileStatus fileStatus : fs.listStatus( doneParts ) )
+					if ( fileStatus.getPath().getName().startsWith( "part" ) )
+						fs.rename( fileStatus.getPath(), new Path( this.done, this.title + "-" + fileStatus.getPath().getName() ) );
+				fs.delete( doneParts, true );
+			}
+			
+			// Move the markers out of the output folder, and drop the ones that have been read
+			if ( this.markers != null )
+				fs.delete( this.markers, true );
+			fs.delete( getMarkersOutput(), true );
+			Path freezeParts = this.output.suffix( "/" + FREEZE_OUTPUT_NAME );
+			if ( fs.exists( freezeParts ) )
+				fs.rename( freezeParts, getMarkersOutput() );
+		}
 		return 0;
 	}
 	
+	/**
+	 * Freeze the converged stars: the markers of the previous Star operation are read together with the edges,
+	 * the stars found converged are moved into the done folder, and the new markers are written for the next
+	 * Star operation into \see getMarkersOutput. The markers read are deleted.
+	 * The freeze needs two rounds to find a converged star: the Large-Star finds the roots and the leaves,
+	 * the Small-Star finds the roots whose neighbours are all leaves, and the next Large-Star moves their stars.
+	 * @param markers	path of the markers written by the previous Star operation, <c>null</c> if there is none.
+	 * @param done		path of the folder of the converged stars.
+	 */
+	public void setFreeze( Path markers, Path done )
+	{
+		this.markers = markers;
+		this.done = done;
+	}
+	
+	/**
+	 * Read and write experiment-tagged edges, \see ExperimentPairWritable, as written by \see EdgeRemover
+	 * with more experiments: the Star operation runs on each experiment independently, in the same Job.
+	 * The converged stars are not frozen.
+	 * @param tagged	if <c>true</c> the edges are tagged with their experiment.
+	 */
+	public void setTagged( boolean tagged )
+	{
+		this.tagged = tagged;
+	}
+	
+	/**
+	 * Add the Jobs to a group, so that they can be killed while running, \see JobGroup.
+	 * @param group		group of the Jobs, <c>null</c> for none.
+	 */
+	public void setJobGroup( JobGroup group )
+	{
+		this.group = group;
+	}
+	
+	/**
+	 * Return the path of the markers written for the next Star operation.
+	 * @return 	path of the markers, <c>null</c> if the converged stars are not frozen.
+	 */
+	public Path getMarkersOutput()
+	{
+		return ( this.done != null ) ? this.output.suffix( "_" + FREEZE_OUTPUT_NAME ) : null;
+	}
+	
+	/**
+	 * Return the number of nodes moved into the done folder.
+	 * @return 	number of frozen nodes.
+	 */
+	public long getNumFrozenNodes()
+	{
+		return this.numFrozenNodes;
+	}
+	
+	/**
+	 * Return the marker that tells the next Small-Star that the node is a root and how many neighbours it has.
+	 * @param degree	number of neighbours of the root.
+	 * @return 			the marker, lower than \see FROZEN_MARKER.
+	 */
+	public static int rootMarker( long degree )
+	{
+		return FROZEN_MARKER - (int) degree;
+	}
+	
 	/**
 	 * Return the number of changes occurred during the operation Small-Star or Large-Star.
 	 * @return 	number of changes.
@@ -112,6 +255,24 @@ public class StarDriver extends Configured implements Tool
 		return this.numChanges;
 	}
 	
+	/**
+	 * Set the size of the input, usually the output size of the previous Job; if it is not set, the input folders are measured.
+	 * @param inputSizing	size of the input.
+	 */
+	public void setInputSizing( JobSizing inputSizing )
+	{
+		this.inputSizing = inputSizing;
+	}
+	
+	/**
+	 * Return the size of the output, read from the counters of the Job.
+	 * @return 	size of the output.
+	 */
+	public JobSizing getOutputSizing()
+	{
+		return this.outputSizing;
+	}
+	
 	/**
 	 * Main of the \see StarDriver class.
 	 * @param args	array of external arguments,
@@ -54,8 +54,9 @@ public class StarMapper extends Mapper<IntWritable, IntWritable, NodesPairWritab
 	*/
 	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException 
 	{		
-		// if the node is alone, emit it like is it in order to keep that information
-		if ( neighbourID.get() == -1 )
+		// if the node is alone, emit it like is it in order to keep that information;
+		// the same for the freeze markers, \see StarDriver.
+		if ( neighbourID.get() < 0 )
 		{
 			// Set up the pair.
 			pair.NodeID = nodeID.get();
@@ -25,6 +25,7 @@ import java.io.IOException;
 
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
 
 import pad.UtilCounters;
 
@@ -34,17 +35,21 @@ public class StarReducer extends Reducer<NodesPairWritable, IntWritable, IntWrit
 	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
 	private IntWritable nodeID = new IntWritable();
 	private IntWritable minNodeID = new IntWritable();
-	private boolean smallStar;
+	private IntWritable marker = new IntWritable();
+	private boolean smallStar, freeze;
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
 	
 	/**
 	* Setup method of the this StarReducer class.
-	* Extract the <em>type</em> variable from the context configuration.
-	* Based on this value, this Reducer will behave as a Small-Star Reducer or Large-Star Reducer.
+	* Extract the <em>type</em> and <em>freeze</em> variables from the context configuration.
+	* Based on the type, this Reducer will behave as a Small-Star Reducer or Large-Star Reducer.
 	* @param context	context of this Job.
 	*/
 	public void setup( Context context )
 	{
 		smallStar = context.getConfiguration().get( "type" ).equals( "SMALL" );
+		freeze = context.getConfiguration().getBoolean( "freeze", false );
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
 	}
 	
 	/**
@@ -54,6 +59,15 @@ public class StarReducer extends Reducer<NodesPairWritable, IntWritable, IntWrit
 	* For each neighbour, we produce the pairs <NeighbourID, MinNodeID> and <MinNodeID, NeighbourID> :
 	* 	-	always, if it is a Small-Star Reducer;
 	*   -	only when NeighbourID is greater than NodeID, if it is a Large-Star Reducer.
+	* The pair <NodeID, -1>, that indicates a lone node, is kept only if the node has no neighbours
+	* ( \see EdgeRemoverMapper emits it for both the end nodes of the removed edge ).
+	* When the converged stars are frozen, the freeze markers of \see StarDriver come before the neighbours:
+	* 	-	a Large-Star Reducer tells the next Small-Star if the node is a root, i.e. the minimum of its
+	* 		neighbourhood, and how many neighbours it has, or if the node is a leaf, i.e. it has only one smaller neighbour;
+	* 	-	a Small-Star Reducer that receives the root marker and one leaf marker for each neighbour knows
+	* 		that the component is a converged star, and tells it to the next Large-Star;
+	* 	-	a Large-Star Reducer that receives the frozen marker writes the star into the done output,
+	* 		as well as the lone nodes, so that they are not read by the next rounds.
 	* @param pair			pair used to implement the secondary sort, \see NodesPair.
 	* @param neighbourhood	list of neighbours.
 	* @param context		context of this Job.
@@ -62,34 +76,59 @@ public class StarReducer extends Reducer<NodesPairWritable, IntWritable, IntWrit
 	public void reduce( NodesPairWritable pair, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException 
 	{
 		long numProducedPairs = 0;
-		
-		// This means that the nodeID is isolated, so we emit it unchanged
-		if ( pair.NeighbourID == -1 )
-		{
-			minNodeID.set( pair.NodeID );
-			context.write( minNodeID, MINUS_ONE );
-			return;			
-		}
-		
-		// Thanks to the secondary sorting, we know the the first element contains
-		// the neighbour node with the minimum label. We just need to compare it with the node id.
-		minNodeID.set( Math.min( pair.NodeID, pair.NeighbourID ) );
-		
-		// If we are running Small-Star, we need to connect this node to the minimum neighbours
-		if ( smallStar && ( pair.NodeID != minNodeID.get() ) )
-		{
-			nodeID.set( pair.NodeID );
-			context.write( nodeID, minNodeID );		
-		}
+		long degree = 0, rootDegree = 0, numLeaves = 0;
+		boolean alone = true, lone = false, frozen = false;
 		
 		// Do not exists a node with ID equal to minus two ( minus one already used to indicate loneliness )
 		int lastNodeSeen = -2;
 		for ( IntWritable neighbour : neighbourhood )
 		{
-			// Skip the duplicate nodes.
-			if ( neighbour.get() == lastNodeSeen )
+			// The freeze markers are sorted before the loneliness indicator and the neighbours.
+			if ( neighbour.get() < -1 )
+			{
+				if ( neighbour.get() == StarDriver.FROZEN_MARKER )
+					frozen = true;
+				else if ( neighbour.get() == StarDriver.LEAF_MARKER )
+					numLeaves++;
+				else
+					rootDegree = StarDriver.FROZEN_MARKER - neighbour.get();
+				continue;
+			}
+			
+			// Skip the duplicate nodes and the loneliness indicator.
+			if ( neighbour.get() == -1 )
+				lone = true;
+			if ( neighbour.get() == lastNodeSeen || neighbour.get() == -1 )
 				continue;
 			
+			// Store the last neighbourId that we have processed.
+			lastNodeSeen = neighbour.get();
+			degree++;
+			
+			// The star of this root has converged: move it into the done output.
+			if ( frozen )
+			{
+				nodeID.set( pair.NodeID );
+				mos.write( neighbour, nodeID, StarDriver.DONE_BASEOUTPUTPATH );
+				continue;
+			}
+			
+			if ( alone )
+			{
+				alone = false;
+				
+				// Thanks to the secondary sorting, we know the the first neighbour is the one
+				// with the minimum label. We just need to compare it with the node id.
+				minNodeID.set( Math.min( pair.NodeID, neighbour.get() ) );
+				
+				// If we are running Small-Star, we need to connect this node to the minimum neighbours
+				if ( smallStar && ( pair.NodeID != minNodeID.get() ) )
+				{
+					nodeID.set( pair.NodeID );
+					context.write( nodeID, minNodeID );		
+				}
+			}
+			
 			// If we are running Small-Star, we always emit the neighbours except when it is the minNodeID
 			// If we are running Large-Star, we emit only when the neighbourID is greater than nodeID
 			boolean cond = ( smallStar ? ( neighbour.get() != minNodeID.get() ) : ( neighbour.get() > pair.NodeID ) );
@@ -99,9 +138,42 @@ public class StarReducer extends Reducer<NodesPairWritable, IntWritable, IntWrit
 				context.write( neighbour, minNodeID );
 				numProducedPairs++;
 			}
+		}
+		
+		if ( frozen )
+		{
+			context.getCounter( UtilCounters.NUM_FROZEN_NODES ).increment( degree + 1 );
+			return;
+		}
+		
+		// All the neighbours of the root are leaves: the component is a converged star.
+		if ( smallStar && rootDegree > 0 && numLeaves == rootDegree )
+			writeMarker( pair.NodeID, StarDriver.FROZEN_MARKER );
+		
+		// This means that the nodeID is isolated, so we emit it unchanged
+		// ( or it has been reached only by the freeze markers, then there is nothing to emit ).
+		if ( alone )
+		{
+			if ( !lone )
+				return;
 			
-			// Store the last neighbourId that we have processed.
-			lastNodeSeen = neighbour.get();
+			minNodeID.set( pair.NodeID );
+			if ( freeze && !smallStar )
+			{
+				mos.write( minNodeID, MINUS_ONE, StarDriver.DONE_BASEOUTPUTPATH );
+				context.getCounter( UtilCounters.NUM_FROZEN_NODES ).increment( 1 );
+			}
+			else
+				context.write( minNodeID, MINUS_ONE );
+			return;
+		}
+		
+		if ( freeze && !smallStar )
+		{
+			if ( pair.NodeID == minNodeID.get() )
+				writeMarker( pair.NodeID, StarDriver.rootMarker( degree ) );
+			else if ( degree == 1 )
+				writeMarker( minNodeID.get(), StarDriver.LEAF_MARKER );
 		}
 		
 		// If the NodeID has not the minimum label means that the produced pairs will be different,
@@ -109,4 +181,28 @@ public class StarReducer extends Reducer<NodesPairWritable, IntWritable, IntWrit
 		if ( pair.NodeID != minNodeID.get() )
 			context.getCounter( UtilCounters.NUM_CHANGES ).increment( numProducedPairs );
 	}
+	
+	/**
+	* Cleanup method of the this StarReducer class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+	
+	/**
+	* Write a freeze marker, read by the next Star operation.
+	* @param node		node that receives the marker.
+	* @param value		the marker, \see StarDriver.
+	* @throws IOException, InterruptedException
+	*/
+	private void writeMarker( int node, int value ) throws IOException, InterruptedException
+	{
+		nodeID.set( node );
+		marker.set( value );
+		mos.write( nodeID, marker, StarDriver.FREEZE_BASEOUTPUTPATH );
+	}
 }
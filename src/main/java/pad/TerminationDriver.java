@@ -26,11 +26,12 @@ import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
-import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.NullOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import org.apache.hadoop.util.GenericOptionsParser;
 import org.apache.hadoop.util.Tool;
@@ -38,11 +39,18 @@ import org.apache.hadoop.util.Tool;
 /**	
  * Driver of the Job responsible for transforming the edges list 
  * <nodeID, neighbourID> into sets of nodes (clusters).
+ * In the count-only mode the clusters are not written: the Job only counts the clusters and their nodes,
+ * summing the nodes of each label inside the Mappers, \see TerminationMapperCount, so the shuffle holds
+ * a pair for each label of each Mapper.
  */
 public class TerminationDriver extends Configured implements Tool
 {	
-	private final Path input, output;
+	private final Path[] inputs;
+	private final Path output;
 	private final boolean verbose;
+	private JobSizing inputSizing, outputSizing;
+	private NodeRelabeling relabeling;
+	private boolean countOnly;
 	private long numNodes, numClusters;
 	
 	/**
@@ -53,7 +61,19 @@ public class TerminationDriver extends Configured implements Tool
 	*/
 	public TerminationDriver( Path input, Path output, boolean verbose )
 	{
-		this.input = input;
+		this( new Path[] { input }, output, verbose );
+	}
+	
+	/**
+	* Initializes a new instance of the TerminationDriver class reading the edges from more folders,
+	* e.g. the result of \see StarDriver Job together with the converged stars frozen by the previous rounds.
+	* @param inputs		paths of the folders that contain the stars.
+	* @param output		path of the output folder.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public TerminationDriver( Path[] inputs, Path output, boolean verbose )
+	{
+		this.inputs = inputs;
 		this.output = output;
 		this.verbose = verbose;
 	}
@@ -66,34 +86,68 @@ public class TerminationDriver extends Configured implements Tool
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
-		Job job = new Job( conf, "TerminationDriver" );
+		// The clusters of the DEGREE order are written with their labels, and then restored by the join Jobs of \see RelabelDriver.
+		boolean restore = ( !this.countOnly && this.relabeling != null && this.relabeling.getOrder() == NodeRelabeling.LabelOrder.DEGREE );
+		Path clusters = restore ? this.output.suffix( "_restore" ) : this.output;
+		if ( this.relabeling != null && !restore )
+			this.relabeling.configure( conf );
+		Job job = new Job( conf, this.countOnly ? "TerminationDriver-Count" : "TerminationDriver" );
 		job.setJarByClass( TerminationDriver.class );
+		// Size the Job looking to the output of the previous one, or to the input folders if it is not known.
+		JobSizing sizing = ( this.inputSizing != null ) ? this.inputSizing : JobSizing.of( this.inputs, conf );
+		sizing.configureSplits( job );
 		
-		job.setMapOutputKeyClass( NodesPairWritable.class );
-		job.setMapOutputValueClass( IntWritable.class );
-		job.setOutputKeyClass( ClusterWritable.class );
-		job.setOutputValueClass( NullWritable.class );
-		
-		job.setMapperClass( TerminationMapper.class );
-		job.setPartitionerClass( NodePartitioner.class );
-		job.setGroupingComparatorClass( NodeGroupingComparator.class );
-		job.setReducerClass( TerminationReducer.class );
-	
-		job.setInputFormatClass( SequenceFileInputFormat.class );
-		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		if ( this.countOnly )
+		{
+			job.setMapOutputKeyClass( IntWritable.class );
+			job.setMapOutputValueClass( LongWritable.class );
+			job.setOutputKeyClass( NullWritable.class );
+			job.setOutputValueClass( NullWritable.class );
+			
+			job.setMapperClass( TerminationMapperCount.class );
+			job.setReducerClass( TerminationReducerCount.class );
+			// The shuffle holds only the labels counted by the Mappers, a few Reducers are enough.
+			sizing.configureReducers( job );
+			job.setNumReduceTasks( Math.max( 1, Math.min( job.getNumReduceTasks(), conf.getInt( "terminationCountReducers", 4 ) ) ) );
+			job.setOutputFormatClass( NullOutputFormat.class );
+		}
+		else
+		{
+			job.setMapOutputKeyClass( NodesPairWritable.class );
+			job.setMapOutputValueClass( IntWritable.class );
+			job.setOutputKeyClass( ClusterWritable.class );
+			job.setOutputValueClass( NullWritable.class );
+			
+			job.setMapperClass( TerminationMapper.class );
+			job.setPartitionerClass( NodePartitioner.class );
+			job.setGroupingComparatorClass( NodeGroupingComparator.class );
+			job.setReducerClass( TerminationReducer.class );
+			sizing.configureReducers( job );
+			job.setOutputFormatClass( SequenceFileOutputFormat.class );
+			FileOutputFormat.setOutputPath( job, clusters );
+		}
 	
-		FileInputFormat.addInputPath( job, this.input );
-		FileOutputFormat.setOutputPath( job, this.output );
+		for ( Path input : this.inputs )
+			FileInputFormat.addInputPath( job, input );
 		
 		if ( !job.waitForCompletion( this.verbose ) )
 			return 1;
 		
+		this.outputSizing = this.countOnly ? null : JobSizing.ofOutput( job );
 		// Set up the private variables looking to the counters value
 		this.numNodes = job.getCounters().findCounter( UtilCounters.NUM_NODES ).getValue();
 		this.numClusters = job.getCounters().findCounter( UtilCounters.NUM_CLUSTERS ).getValue();
+		
+		if ( restore )
+		{
+			boolean restored = RelabelDriver.restoreClusters( conf, this.relabeling.getTable(), clusters, this.output, this.verbose );
+			FileSystem.get( conf ).delete( clusters, true );
+			if ( !restored )
+				return 1;
+		}
 		return 0;
 	}
 	
@@ -115,6 +169,42 @@ public class TerminationDriver extends Configured implements Tool
 		return this.numClusters;
 	}
 	
+	/**
+	 * Set the size of the input, usually the output size of the previous Job; if it is not set, the input folders are measured.
+	 * @param inputSizing	size of the input.
+	 */
+	public void setInputSizing( JobSizing inputSizing )
+	{
+		this.inputSizing = inputSizing;
+	}
+	
+	/**
+	 * Set the relabeling applied to the nodes of the input, so that the clusters are written with the original identifiers.
+	 * @param relabeling	relabeling of the input nodes.
+	 */
+	public void setRelabeling( NodeRelabeling relabeling )
+	{
+		this.relabeling = relabeling;
+	}
+	
+	/**
+	 * Set the count-only mode, that counts the clusters and their nodes without writing them.
+	 * @param countOnly		if <c>true</c> the clusters are not written.
+	 */
+	public void setCountOnly( boolean countOnly )
+	{
+		this.countOnly = countOnly;
+	}
+	
+	/**
+	 * Return the size of the output, read from the counters of the Job.
+	 * @return 	size of the output.
+	 */
+	public JobSizing getOutputSizing()
+	{
+		return this.outputSizing;
+	}
+	
 	/**
 	 * Main of the \see TerminationDriver class.
 	 * @param args	array of external arguments,
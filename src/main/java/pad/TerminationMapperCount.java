@@ -0,0 +1,131 @@
+/**
+ *	@file TerminationMapperCount.java
+ *	@brief Mapper task of the count-only \see TerminationDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the count-only \see TerminationDriver Job. */
+public class TerminationMapperCount extends Mapper<IntWritable, IntWritable, IntWritable, LongWritable>
+{
+	private static final int EMPTY = -1;
+	/** Default number of labels counted in memory before flushing them */
+	public static final int DEFAULT_MAX_LABELS = 1 << 20;
+	private int[] labels;
+	private long[] counts;
+	private int size, maxLabels;
+	private IntWritable label = new IntWritable();
+	private LongWritable count = new LongWritable();
+
+	/**
+	* Setup method of the this TerminationMapperCount class.
+	* Allocate the table of the labels, whose size is read from <em>terminationMaxLabels</em>.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		maxLabels = Math.max( 16, context.getConfiguration().getInt( "terminationMaxLabels", DEFAULT_MAX_LABELS ) );
+		labels = new int[Integer.highestOneBit( 2 * maxLabels - 1 ) * 2];
+		counts = new long[labels.length];
+		Arrays.fill( labels, EMPTY );
+	}
+
+	/**
+	* Map method of the this TerminationMapperCount class.
+	* After the Star rounds each node, except the minimum label of its cluster, appears in exactly one pair
+	* together with that label; so each pair adds one node to the cluster of min(u,v), while a lone node
+	* is a cluster on its own. The nodes of each label are summed in memory, and emitted as <Label, NumNodes>
+	* when the table is full or at the end of the Task.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() == -1 )
+			add( nodeID.get(), 0, context );
+		else
+			add( Math.min( nodeID.get(), neighbourID.get() ), 1, context );
+	}
+
+	/**
+	* Add some nodes to a label, flushing the table first if it is full.
+	* @param node		label.
+	* @param nodes		number of nodes.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void add( int node, long nodes, Context context ) throws IOException, InterruptedException
+	{
+		int mask = labels.length - 1;
+		int slot = ( node * 0x9E3779B9 ) & mask;
+		while ( labels[slot] != EMPTY && labels[slot] != node )
+			slot = ( slot + 1 ) & mask;
+
+		if ( labels[slot] == EMPTY )
+		{
+			if ( size == maxLabels )
+			{
+				flush( context );
+				add( node, nodes, context );
+				return;
+			}
+			labels[slot] = node;
+			counts[slot] = 0;
+			size++;
+		}
+		counts[slot] += nodes;
+	}
+
+	/**
+	* Emit the pairs <Label, NumNodes> of the table and empty it.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void flush( Context context ) throws IOException, InterruptedException
+	{
+		for ( int slot = 0; slot < labels.length; slot++ )
+			if ( labels[slot] != EMPTY )
+			{
+				label.set( labels[slot] );
+				count.set( counts[slot] );
+				context.write( label, count );
+				labels[slot] = EMPTY;
+			}
+		size = 0;
+	}
+
+	/**
+	* Cleanup method of the this TerminationMapperCount class.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	protected void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		flush( context );
+	}
+}
@@ -22,6 +22,7 @@
 package pad;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.NullWritable;
@@ -34,6 +35,17 @@ public class TerminationReducer extends Reducer<NodesPairWritable, IntWritable,
 {
 	private static final NullWritable NULL = NullWritable.get();
 	private ClusterWritable cluster = new ClusterWritable();
+	private NodeRelabeling relabeling;
+	
+	/**
+	* Setup method of the this TerminationReducer class.
+	* Extract the relabeling of the nodes from the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		relabeling = NodeRelabeling.get( context.getConfiguration() );
+	}
 	
 	/**
 	* Reduce method of the this TerminationReducer class.
@@ -76,6 +88,14 @@ public class TerminationReducer extends Reducer<NodesPairWritable, IntWritable,
 		}
 		
 		// Increment the number of nodes by the number of nodes of this cluster.
+		// Restore the original identifiers of the nodes, keeping them in ascending order.
+		if ( !relabeling.isIdentity() )
+		{
+			for ( int i = 0; i < cluster.size(); i++ )
+				cluster.set( i, relabeling.restore( cluster.get( i ) ) );
+			Collections.sort( cluster );
+		}
+		
 		context.getCounter( UtilCounters.NUM_NODES ).increment( cluster.size() );
 		// Increment the number of clusters by one.
 		context.getCounter( UtilCounters.NUM_CLUSTERS ).increment( 1 );
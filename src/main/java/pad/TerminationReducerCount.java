@@ -0,0 +1,54 @@
+/**
+ *	@file TerminationReducerCount.java
+ *	@brief Reducer task of the count-only \see TerminationDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/**	Reducer task of the count-only \see TerminationDriver Job. */
+public class TerminationReducerCount extends Reducer<IntWritable, LongWritable, NullWritable, NullWritable>
+{
+	/**
+	* Reduce method of the this TerminationReducerCount class.
+	* Each label is a cluster made of the label itself and of the nodes counted by the Mappers;
+	* nothing is written, only NUM_CLUSTERS and NUM_NODES of \see pad.UtilCounters are incremented.
+	* @param label		minimum label of the cluster.
+	* @param counts		number of nodes of the cluster counted by each Mapper.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable label, Iterable<LongWritable> counts, Context context ) throws IOException, InterruptedException
+	{
+		long numNodes = 1;
+		for ( LongWritable count : counts )
+			numNodes += count.get();
+
+		context.getCounter( UtilCounters.NUM_NODES ).increment( numNodes );
+		context.getCounter( UtilCounters.NUM_CLUSTERS ).increment( 1 );
+	}
+}
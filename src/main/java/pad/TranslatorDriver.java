@@ -78,7 +78,7 @@ public class TranslatorDriver extends Configured implements Tool
 	 */
 	public int run( String[] args ) throws Exception
 	{
-		Configuration conf = new Configuration();
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
 		// GenericOptionsParser invocation in order to suppress the hadoop warning.
 		new GenericOptionsParser( conf, args );
 		Job job = new Job( conf, "TranslatorDriver " + this.type.toString() );
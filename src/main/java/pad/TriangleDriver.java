@@ -0,0 +1,255 @@
+/**
+ *	@file TriangleDriver.java
+ *	@brief Driver of the Jobs that find the edges lying on a triangle, which are never bridges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Jobs that find the edges lying on a triangle, which are never bridges.
+ * The triangles are enumerated with the degree ordering: each edge is oriented from the node with lower rank,
+ * i.e. lower degree and then lower identifier, toward the other one, so that every triangle is found only once,
+ * from its node with the lowest rank, and no node has more than O(sqrt(E)) oriented neighbours.
+ * 	-	the first Job, using \see TriangleReducerDegree, tells each node the degree of its neighbours;
+ * 	-	the second Job, using \see TriangleReducerWedge, emits the oriented edges and the wedges, i.e. the pairs of oriented neighbours of a node;
+ * 	-	the third Job, using \see TriangleReducerClose, checks which wedges are closed by an edge and emits the three edges of each triangle;
+ * 	-	the last Job, using \see TriangleReducerSplit, splits the edges list: the edges lying on a triangle are moved into
+ * 		the triangles folder, that joins every connectivity computation as the stars of the cliques do, while the other edges
+ * 		stay in the edges list and they are still candidates of the edge removal.
+ * Only the edges of the edges list are enumerated: the stars of the cliques are not the edges of the cliques.
+ */
+public class TriangleDriver extends Configured implements Tool
+{
+	/** Named output of the edges lying on a triangle */
+	public static final String TRIANGLES_OUTPUT_NAME = "triangles";
+	/** Base output path for the named output of the edges lying on a triangle */
+	public static final String TRIANGLES_BASEOUTPUTPATH = TRIANGLES_OUTPUT_NAME + "/part";
+	/** Value that marks an edge lying on a triangle in the last Job */
+	public static final int TRIANGLE_MARKER = -2;
+	
+	private final Path input, output, triangles;
+	private final boolean verbose;
+	private long numTriangleEdges;
+	
+	/**
+	* Initializes a new instance of the TriangleDriver class.
+	* @param input		path of the edges list folder, result of \see InitializationDriver Job.
+	* @param output		path of the output folder, where the edges that do not lie on a triangle are written.
+	* @param triangles	path of the folder where the edges lying on a triangle are moved; it may already contain other edges.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public TriangleDriver( Path input, Path output, Path triangles, boolean verbose )
+	{
+		this.input = input;
+		this.output = output;
+		this.triangles = triangles;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the TriangleDriver Jobs.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if a TriangleDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		FileSystem fs = FileSystem.get( conf );
+		Path work = this.output.suffix( "_triangles" );
+		fs.delete( work, true );
+		JobSizing sizing = JobSizing.of( new Path[] { this.input }, conf );
+		
+		// Tell each node the degree of its neighbours.
+		Job job = new Job( conf, "Triangles-Degree" );
+		job.setJarByClass( TriangleDriver.class );
+		
+		job.setMapOutputKeyClass( IntWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( LongWritable.class );
+		
+		job.setMapperClass( TriangleMapper.class );
+		job.setReducerClass( TriangleReducerDegree.class );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, this.input );
+		FileOutputFormat.setOutputPath( job, new Path( work, "degrees" ) );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		
+		// Emit the oriented edges and the wedges.
+		job = new Job( conf, "Triangles-Wedge" );
+		job.setJarByClass( TriangleDriver.class );
+		
+		job.setMapOutputKeyClass( IntWritable.class );
+		job.setMapOutputValueClass( LongWritable.class );
+		job.setOutputKeyClass( NodesPairWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( Mapper.class );
+		job.setReducerClass( TriangleReducerWedge.class );
+		sizing.configureReducers( job );
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, new Path( work, "degrees" ) );
+		FileOutputFormat.setOutputPath( job, new Path( work, "wedges" ) );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		fs.delete( new Path( work, "degrees" ), true );
+		
+		// Close the wedges: the pairs are grouped as a whole, so no grouping comparator is set.
+		job = new Job( conf, "Triangles-Close" );
+		job.setJarByClass( TriangleDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( Mapper.class );
+		job.setReducerClass( TriangleReducerClose.class );
+		JobSizing.of( new Path[] { new Path( work, "wedges" ) }, conf ).configureReducers( job );
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, new Path( work, "wedges" ) );
+		FileOutputFormat.setOutputPath( job, new Path( work, "marks" ) );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		fs.delete( new Path( work, "wedges" ), true );
+		
+		// Split the edges list looking to the edges of the triangles.
+		conf.set( "triangleMarks", new Path( work, "marks" ).toString() );
+		job = new Job( conf, "Triangles-Split" );
+		job.setJarByClass( TriangleDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		// The Mapper looks to the file it is reading, so the splits are not combined.
+		job.setMapperClass( TriangleMapperSplit.class );
+		job.setReducerClass( TriangleReducerSplit.class );
+		sizing.configureReducers( job );
+		job.setInputFormatClass( SequenceFileInputFormat.class );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		MultipleOutputs.addNamedOutput( job, TRIANGLES_OUTPUT_NAME, SequenceFileOutputFormat.class, IntWritable.class, IntWritable.class );
+		
+		FileInputFormat.addInputPath( job, this.input );
+		FileInputFormat.addInputPath( job, new Path( work, "marks" ) );
+		FileOutputFormat.setOutputPath( job, this.output );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+		{
+			fs.delete( work, true );
+			return 1;
+		}
+		fs.delete( work, true );
+		
+		// Set up the private variable looking to the counter value
+		this.numTriangleEdges = job.getCounters().findCounter( UtilCounters.NUM_TRIANGLE_EDGES ).getValue();
+		
+		// Move the edges lying on a triangle into the triangles folder, renaming them to not overwrite its parts
+		Path triangleParts = this.output.suffix( "/" + TRIANGLES_OUTPUT_NAME );
+		if ( fs.exists( triangleParts ) )
+		{
+			fs.mkdirs( this.triangles );
+			for ( FileStatus fileStatus : fs.listStatus( triangleParts ) )
+				if ( fileStatus.getPath().getName().startsWith( "part" ) )
+					fs.rename( fileStatus.getPath(), new Path( this.triangles, TRIANGLES_OUTPUT_NAME + "-" + fileStatus.getPath().getName() ) );
+			fs.delete( triangleParts, true );
+		}
+		return 0;
+	}
+	
+	/**
+	 * Return the number of edges moved into the triangles folder.
+	 * @return 	number of edges lying on a triangle.
+	 */
+	public long getNumTriangleEdges()
+	{
+		return this.numTriangleEdges;
+	}
+	
+	/**
+	 * Main of the \see TriangleDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length != 3 )
+		{
+			System.out.println( "Usage: TriangleDriver <input> <output> <triangles>" );
+			System.exit(1);
+		}
+		
+		Path input = new Path( args[0] );
+		Path output = new Path( args[1] );
+		Path triangles = new Path( args[2] );
+		System.out.println( "Start TriangleDriver." );
+		TriangleDriver triangle = new TriangleDriver( input, output, triangles, true );
+		if ( triangle.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End TriangleDriver." );
+		
+		System.out.println( "Number of edges lying on a triangle: " + triangle.getNumTriangleEdges() );
+		System.exit( 0 );
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ *	@file TriangleMapper.java
+ *	@brief Mapper task of the first Job of \see TriangleDriver.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the first Job of \see TriangleDriver. */
+public class TriangleMapper extends Mapper<IntWritable, IntWritable, IntWritable, IntWritable>
+{
+	/**
+	* Map method of the this TriangleMapper class.
+	* Emit the edge in both directions, <u,v> and <v,u>; the lone nodes, <NodeID, -1>, lie on no triangle.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() < 0 )
+			return;
+		
+		context.write( nodeID, neighbourID );
+		context.write( neighbourID, nodeID );
+	}
+}
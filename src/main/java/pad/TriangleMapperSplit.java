@@ -0,0 +1,84 @@
+/**
+ *	@file TriangleMapperSplit.java
+ *	@brief Mapper task of the last Job of \see TriangleDriver, that joins the edges list with the triangle edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+
+/**	Mapper task of the last Job of \see TriangleDriver, that joins the edges list with the triangle edges. */
+public class TriangleMapperSplit extends Mapper<IntWritable, IntWritable, NodesPairWritable, IntWritable>
+{
+	private static final IntWritable TRIANGLE = new IntWritable( TriangleDriver.TRIANGLE_MARKER );
+	private boolean marks;
+	private NodesPairWritable pair = new NodesPairWritable();
+
+	/**
+	* Setup method of the this TriangleMapperSplit class.
+	* Check if the file read by this Mapper belongs to the <em>triangleMarks</em> folder, i.e. to the edges of the triangles.
+	* The folders are compared by their fully qualified paths, so that a folder with the same name elsewhere does not match.
+	* @param context	context of this Job.
+	* @throws IOException
+	*/
+	public void setup( Context context ) throws IOException
+	{
+		Path file = ( (FileSplit) context.getInputSplit() ).getPath();
+		Path folder = new Path( context.getConfiguration().get( "triangleMarks" ) );
+		FileSystem fs = folder.getFileSystem( context.getConfiguration() );
+		marks = fs.makeQualified( file.getParent() ).equals( fs.makeQualified( folder ) );
+	}
+
+	/**
+	* Map method of the this TriangleMapperSplit class.
+	* An edge of the edges list is emitted as <(max(u,v), min(u,v)), min(u,v)>, and a lone node as <(NodeID, -1), -1>;
+	* an edge of a triangle is emitted as <(max(u,v), min(u,v)), TRIANGLE_MARKER>, \see TriangleDriver.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		if ( neighbourID.get() == -1 )
+		{
+			pair.NodeID = nodeID.get();
+			pair.NeighbourID = -1;
+			context.write( pair, neighbourID );
+			return;
+		}
+		
+		pair.NodeID = Math.max( nodeID.get(), neighbourID.get() );
+		pair.NeighbourID = Math.min( nodeID.get(), neighbourID.get() );
+		if ( marks )
+			context.write( pair, TRIANGLE );
+		else
+		{
+			neighbourID.set( pair.NeighbourID );
+			context.write( pair, neighbourID );
+		}
+	}
+}
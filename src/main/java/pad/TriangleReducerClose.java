@@ -0,0 +1,89 @@
+/**
+ *	@file TriangleReducerClose.java
+ *	@brief Reducer task of the third Job of \see TriangleDriver, that closes the wedges into triangles.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer task of the third Job of \see TriangleDriver, that closes the wedges into triangles. */
+public class TriangleReducerClose extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private int[] apexes = new int[1024];
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+
+	/**
+	* Reduce method of the this TriangleReducerClose class.
+	* The key is a pair of nodes (v, w), the values are minus one if the edge exists and the apexes of the wedges over the pair.
+	* If the edge exists, each apex u closes the triangle (u, v, w), whose edges are emitted in the form <max, min>.
+	* @param pair		pair of nodes.
+	* @param values		minus one for the edge, the apex for each wedge.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		boolean edge = false;
+		int size = 0;
+		for ( IntWritable value : values )
+		{
+			if ( value.get() == -1 )
+			{
+				edge = true;
+				continue;
+			}
+			if ( size == apexes.length )
+				apexes = Arrays.copyOf( apexes, 2 * size );
+			apexes[size++] = value.get();
+		}
+		
+		if ( !edge || size == 0 )
+			return;
+		
+		// The apex has a lower rank than the two nodes, but not necessarily a lower identifier.
+		emit( pair.NodeID, pair.NeighbourID, context );
+		for ( int i = 0; i < size; i++ )
+		{
+			emit( pair.NodeID, apexes[i], context );
+			emit( pair.NeighbourID, apexes[i], context );
+		}
+		context.getCounter( UtilCounters.NUM_TRIANGLES ).increment( size );
+	}
+	
+	/**
+	* Emit an edge in the form <max(u,v), min(u,v)>.
+	* @param u			first end node.
+	* @param v			second end node.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	private void emit( int u, int v, Context context ) throws IOException, InterruptedException
+	{
+		nodeID.set( Math.max( u, v ) );
+		neighbourID.set( Math.min( u, v ) );
+		context.write( nodeID, neighbourID );
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ *	@file TriangleReducerDegree.java
+ *	@brief Reducer task of the first Job of \see TriangleDriver, that counts the neighbours of each node.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer task of the first Job of \see TriangleDriver, that counts the neighbours of each node. */
+public class TriangleReducerDegree extends Reducer<IntWritable, IntWritable, IntWritable, LongWritable>
+{
+	private int[] neighbours = new int[1024];
+	private IntWritable neighbourID = new IntWritable();
+	private LongWritable rank = new LongWritable();
+
+	/**
+	* Reduce method of the this TriangleReducerDegree class.
+	* The neighbours are collected and the duplicated ones are dropped, so that the degree of the node is known;
+	* then each neighbour receives the pair <NeighbourID, (NodeID, Degree)>, packed into a long.
+	* @param nodeID			identifier of the node.
+	* @param neighbourhood	list of neighbours.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		int size = 0;
+		for ( IntWritable neighbour : neighbourhood )
+		{
+			if ( size == neighbours.length )
+				neighbours = Arrays.copyOf( neighbours, 2 * size );
+			neighbours[size++] = neighbour.get();
+		}
+		
+		Arrays.sort( neighbours, 0, size );
+		int degree = 0;
+		for ( int i = 0; i < size; i++ )
+			if ( i == 0 || neighbours[i] != neighbours[i - 1] )
+				neighbours[degree++] = neighbours[i];
+		
+		rank.set( InitializationMapperDedup.pack( nodeID.get(), degree ) );
+		for ( int i = 0; i < degree; i++ )
+		{
+			neighbourID.set( neighbours[i] );
+			context.write( neighbourID, rank );
+		}
+	}
+}
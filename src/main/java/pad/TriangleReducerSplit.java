@@ -0,0 +1,94 @@
+/**
+ *	@file TriangleReducerSplit.java
+ *	@brief Reducer task of the last Job of \see TriangleDriver, that splits the edges list.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**	Reducer task of the last Job of \see TriangleDriver, that splits the edges list. */
+public class TriangleReducerSplit extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable nodeID = new IntWritable();
+	private IntWritable neighbourID = new IntWritable();
+	private MultipleOutputs<IntWritable, IntWritable> mos = null;
+
+	/**
+	* Setup method of the this TriangleReducerSplit class.
+	* Instantiate the MultipleOutputs used to write the edges lying on a triangle.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		this.mos = new MultipleOutputs<IntWritable, IntWritable>( context );
+	}
+
+	/**
+	* Reduce method of the this TriangleReducerSplit class.
+	* The key is an edge of the edges list, or a lone node, and the values are its copies and its triangle markers.
+	* If at least one marker has been received, the copies of the edge are written into the
+	* \see TriangleDriver.TRIANGLES_OUTPUT_NAME named output, otherwise they are emitted into the edges list.
+	* The markers of the edges not present into the edges list are ignored.
+	* @param pair		pair of nodes.
+	* @param values		copies of the edge and triangle markers.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> values, Context context ) throws IOException, InterruptedException
+	{
+		boolean triangle = false;
+		long numCopies = 0;
+		for ( IntWritable value : values )
+		{
+			if ( value.get() == TriangleDriver.TRIANGLE_MARKER )
+				triangle = true;
+			else
+				numCopies++;
+		}
+		
+		nodeID.set( pair.NodeID );
+		neighbourID.set( pair.NeighbourID );
+		for ( long i = 0; i < numCopies; i++ )
+		{
+			if ( triangle )
+				mos.write( TriangleDriver.TRIANGLES_OUTPUT_NAME, nodeID, neighbourID, TriangleDriver.TRIANGLES_BASEOUTPUTPATH );
+			else
+				context.write( nodeID, neighbourID );
+		}
+		if ( triangle )
+			context.getCounter( UtilCounters.NUM_TRIANGLE_EDGES ).increment( numCopies );
+	}
+
+	/**
+	* Cleanup method of the this TriangleReducerSplit class.
+	* Close the MultipleOutputs.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void cleanup( Context context ) throws IOException, InterruptedException
+	{
+		this.mos.close();
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ *	@file TriangleReducerWedge.java
+ *	@brief Reducer task of the second Job of \see TriangleDriver, that builds the wedges of each node.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**	Reducer task of the second Job of \see TriangleDriver, that builds the wedges of each node. */
+public class TriangleReducerWedge extends Reducer<IntWritable, LongWritable, NodesPairWritable, IntWritable>
+{
+	private static final IntWritable MINUS_ONE = new IntWritable( -1 );
+	private long[] neighbours = new long[1024];
+	private int[] higher = new int[1024];
+	private NodesPairWritable pair = new NodesPairWritable();
+	private IntWritable apexID = new IntWritable();
+
+	/**
+	* Reduce method of the this TriangleReducerWedge class.
+	* The node receives one pair (NeighbourID, Degree) for each neighbour, so its own degree is the number of pairs.
+	* The oriented neighbours are the ones with a higher rank, i.e. a higher degree or the same degree and a higher identifier.
+	* For each oriented neighbour v the oriented edge is emitted as <(max(u,v), min(u,v)), -1>,
+	* and for each couple of oriented neighbours v, w the wedge is emitted as <(max(v,w), min(v,w)), NodeID>.
+	* @param nodeID		identifier of the node.
+	* @param ranks		packed pairs (NeighbourID, Degree) of the neighbours.
+	* @param context	context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( IntWritable nodeID, Iterable<LongWritable> ranks, Context context ) throws IOException, InterruptedException
+	{
+		int node = nodeID.get();
+		int degree = 0;
+		for ( LongWritable rank : ranks )
+		{
+			if ( degree == neighbours.length )
+				neighbours = Arrays.copyOf( neighbours, 2 * degree );
+			neighbours[degree++] = rank.get();
+		}
+		
+		int size = 0;
+		for ( int i = 0; i < degree; i++ )
+		{
+			int neighbour = (int) ( neighbours[i] >>> 32 );
+			int neighbourDegree = (int) neighbours[i];
+			if ( neighbourDegree > degree || ( neighbourDegree == degree && neighbour > node ) )
+			{
+				if ( size == higher.length )
+					higher = Arrays.copyOf( higher, 2 * size );
+				higher[size++] = neighbour;
+			}
+		}
+		
+		apexID.set( node );
+		for ( int i = 0; i < size; i++ )
+		{
+			pair.NodeID = Math.max( node, higher[i] );
+			pair.NeighbourID = Math.min( node, higher[i] );
+			context.write( pair, MINUS_ONE );
+			
+			for ( int j = i + 1; j < size; j++ )
+			{
+				pair.NodeID = Math.max( higher[i], higher[j] );
+				pair.NeighbourID = Math.min( higher[i], higher[j] );
+				context.write( pair, apexID );
+			}
+		}
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ *	@file UnionFind.java
+ *	@brief Disjoint sets of node identifiers, stored into primitive arrays.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets of node identifiers, stored into primitive arrays.
+ * The node identifiers are mapped to slots of an open addressing hash table, kept at most half full,
+ * so a node costs from 24 to 48 bytes and no object is allocated per node; each slot stores the slot
+ * of its parent, the union is by size and the find halves the paths.
+ */
+public class UnionFind
+{
+	private static final int EMPTY = -1;
+	private int[] nodes;
+	private int[] parents;
+	private int[] sizes;
+	private int numNodes, numSets;
+	
+	/**
+	* Initializes a new instance of the UnionFind class.
+	* @param capacity	expected number of nodes, the table grows when needed.
+	*/
+	public UnionFind( int capacity )
+	{
+		int length = Integer.highestOneBit( Math.max( 16, capacity ) * 2 - 1 ) * 2;
+		this.nodes = new int[length];
+		this.parents = new int[length];
+		this.sizes = new int[length];
+		Arrays.fill( this.nodes, EMPTY );
+	}
+	
+	/**
+	* Remove all the nodes, keeping the memory already allocated.
+	*/
+	public void clear()
+	{
+		Arrays.fill( this.nodes, EMPTY );
+		this.numNodes = 0;
+		this.numSets = 0;
+	}
+	
+	/**
+	* Return the representative of the set of a node, adding the node as a set on its own if it is new.
+	* @param node	identifier of the node, not negative.
+	* @return 		identifier of the representative.
+	*/
+	public int find( int node )
+	{
+		int root = root( slot( node ) );
+		return this.nodes[root];
+	}
+	
+	/**
+	* Merge the sets of two nodes.
+	* @param u	identifier of the first node, not negative.
+	* @param v	identifier of the second node, not negative.
+	* @return 	<c>true</c> if the nodes were in different sets, <c>false</c> if they were already in the same one.
+	*/
+	public boolean union( int u, int v )
+	{
+		// Add the first node before looking for the roots, since adding a node may move the others.
+		slot( u );
+		int rootV = root( slot( v ) );
+		int rootU = root( slot( u ) );
+		if ( rootU == rootV )
+			return false;
+		
+		if ( this.sizes[rootU] < this.sizes[rootV] )
+		{
+			int swap = rootU;
+			rootU = rootV;
+			rootV = swap;
+		}
+		this.parents[rootV] = rootU;
+		this.sizes[rootU] += this.sizes[rootV];
+		this.numSets--;
+		return true;
+	}
+	
+	/**
+	* Return the number of nodes added.
+	* @return 	number of nodes.
+	*/
+	public int getNumNodes()
+	{
+		return this.numNodes;
+	}
+	
+	/**
+	* Return the number of disjoint sets.
+	* @return 	number of sets.
+	*/
+	public int getNumSets()
+	{
+		return this.numSets;
+	}
+	
+	/**
+	* Find the root slot of a slot, halving the path.
+	* @param slot	slot of a node.
+	* @return 		slot of the representative.
+	*/
+	private int root( int slot )
+	{
+		while ( this.parents[slot] != slot )
+		{
+			this.parents[slot] = this.parents[this.parents[slot]];
+			slot = this.parents[slot];
+		}
+		return slot;
+	}
+	
+	/**
+	* Return the slot of a node, adding it as a set on its own if it is new.
+	* @param node	identifier of the node.
+	* @return 		slot of the node.
+	*/
+	private int slot( int node )
+	{
+		int mask = this.nodes.length - 1;
+		int slot = mix( node ) & mask;
+		while ( this.nodes[slot] != EMPTY )
+		{
+			if ( this.nodes[slot] == node )
+				return slot;
+			slot = ( slot + 1 ) & mask;
+		}
+		
+		if ( 2 * ( this.numNodes + 1 ) > this.nodes.length )
+		{
+			grow();
+			return slot( node );
+		}
+		this.nodes[slot] = node;
+		this.parents[slot] = slot;
+		this.sizes[slot] = 1;
+		this.numNodes++;
+		this.numSets++;
+		return slot;
+	}
+	
+	/**
+	* Double the table, moving every node into its new slot and translating the parents.
+	*/
+	private void grow()
+	{
+		int[] oldNodes = this.nodes, oldParents = this.parents, oldSizes = this.sizes;
+		int length = 2 * oldNodes.length, mask = length - 1;
+		this.nodes = new int[length];
+		this.parents = new int[length];
+		this.sizes = new int[length];
+		Arrays.fill( this.nodes, EMPTY );
+		
+		// First place the nodes, remembering the new slot of each old one, then translate the parents.
+		int[] moved = new int[oldNodes.length];
+		for ( int i = 0; i < oldNodes.length; i++ )
+		{
+			if ( oldNodes[i] == EMPTY )
+				continue;
+			int slot = mix( oldNodes[i] ) & mask;
+			while ( this.nodes[slot] != EMPTY )
+				slot = ( slot + 1 ) & mask;
+			this.nodes[slot] = oldNodes[i];
+			this.sizes[slot] = oldSizes[i];
+			moved[i] = slot;
+		}
+		for ( int i = 0; i < oldNodes.length; i++ )
+			if ( oldNodes[i] != EMPTY )
+				this.parents[moved[i]] = moved[oldParents[i]];
+	}
+	
+	/**
+	* Spread the bits of a node identifier, the consecutive identifiers would fill consecutive slots otherwise.
+	* @param node	identifier of the node.
+	* @return 		hash of the node.
+	*/
+	private static int mix( int node )
+	{
+		int h = node * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+}
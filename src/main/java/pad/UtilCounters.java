@@ -16,8 +16,43 @@ public enum UtilCounters
 	NUM_ERRORS,
 
 	NUM_EDGES,
+	/// Count the number of edges dropped by the \see EdgeRemover Job.
+	NUM_REMOVED_EDGES,
 
-	NUM_EDGE_COUNTER,
-
-	REMOVED_EDGE_END
+	/// Count the number of tokens of the input file that are not valid node identifiers.
+	NUM_MALFORMED_TOKENS,
+	/// Count the number of star edges written in place of the cliques with three or more nodes.
+	NUM_CLIQUE_EDGES,
+	/// Count the number of work units in which the oversized cliques have been split.
+	NUM_CLIQUE_BLOCKS,
+	/// Count the number of duplicated edges removed during the initialization.
+	NUM_DUPLICATE_EDGES,
+	/// Count the number of nodes moved to the parent of their parent by a pointer jumping round.
+	NUM_SHORTCUTS,
+	/// Count the number of nodes of the converged stars written into the done output.
+	NUM_FROZEN_NODES,
+	/// Count the number of nodes whose label has been lowered by a round of \see DeltaDriver, i.e. the size of its frontier.
+	NUM_DELTA_NODES,
+	/// Count the number of nodes left with only one neighbour by a round of \see LeafStripDriver.
+	NUM_LEAF_NODES,
+	/// Count the number of edges peeled as bridges by \see LeafStripDriver.
+	NUM_PEELED_EDGES,
+	/// Count the number of triangles found by \see TriangleDriver.
+	NUM_TRIANGLES,
+	/// Count the number of edges moved out of the edge removal candidates because they lie on a triangle.
+	NUM_TRIANGLE_EDGES,
+	/// Count the number of edges left out of the spanning forests by a round of \see CertificateDriver.
+	NUM_NON_FOREST_EDGES,
+	/// Count the number of nodes reached for the first time from the first end node by a round of \see ReachabilityDriver.
+	NUM_REACHED_FIRST,
+	/// Count the number of nodes reached for the first time from the second end node by a round of \see ReachabilityDriver.
+	NUM_REACHED_SECOND,
+	/// Count the number of nodes reached from both the end nodes by a round of \see ReachabilityDriver.
+	NUM_MEETINGS,
+	/// Count the number of nodes whose label is kept by \see WarmStartDriver.
+	NUM_WARM_NODES,
+	/// Count the number of nodes whose label is reset by \see WarmStartDriver, since their cluster may have been split.
+	NUM_RESET_NODES,
+	/// Count the number of clusters of the previous run merged again by \see IncrementalDriver, since a new edge touches them.
+	NUM_TOUCHED_CLUSTERS
 }
@@ -0,0 +1,169 @@
+/**
+ *	@file WarmStartDriver.java
+ *	@brief Driver of the Job that keeps the labels of the previous Star rounds for the clusters not touched by the removed edges.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+import org.apache.hadoop.util.Tool;
+
+/**
+ * Driver of the Job that keeps the labels of the previous Star rounds for the clusters not touched by the removed edges.
+ * After the Star rounds each node is linked to the minimum label of its cluster; removing an edge can only split
+ * the cluster of its end nodes, so every other cluster keeps its label. The stars of the previous rounds are grouped
+ * by label, and the clusters that contain a node to reset, i.e. an end node of a removed edge, are dropped.
+ * The stars left are read by the first Large-Star together with the edges list: a star is a fixed point of the
+ * Star operations, so its edges point to the label after one round, and only the dropped clusters go through
+ * the whole sequence of rounds.
+ */
+public class WarmStartDriver extends Configured implements Tool
+{
+	/** Default maximum number of nodes to reset, above which the Star rounds start from the edges list */
+	public static final int DEFAULT_MAX_RESET = 1024;
+	/** Marker sent to the label of a cluster to reset, it comes before the lone node marker */
+	public static final int RESET_MARKER = -2;
+	
+	private final Path stars, output;
+	private final Collection<Integer> reset;
+	private final boolean verbose;
+	private long numWarmNodes, numResetNodes;
+	
+	/**
+	* Initializes a new instance of the WarmStartDriver class.
+	* @param stars		path of the stars written by the previous Star rounds.
+	* @param output		path of the output folder.
+	* @param reset		nodes whose cluster has to be computed again.
+	* @param verbose	if <c>true</c> shows on screen the messages of the Job execution.
+	*/
+	public WarmStartDriver( Path stars, Path output, Collection<Integer> reset, boolean verbose )
+	{
+		this.stars = stars;
+		this.output = output;
+		this.reset = reset;
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Execute the WarmStartDriver Job.
+	 * @param args		array of external arguments, not used in this method
+	 * @return 			<c>1</c> if the WarmStartDriver Job failed its execution; <c>0</c> if everything is ok. 
+	 * @throws Exception 
+	 */
+	public int run( String[] args ) throws Exception
+	{
+		Configuration conf = ( getConf() != null ) ? new Configuration( getConf() ) : new Configuration();
+		// GenericOptionsParser invocation in order to suppress the hadoop warning.
+		new GenericOptionsParser( conf, args );
+		String[] nodes = new String[this.reset.size()];
+		int i = 0;
+		for ( int node : this.reset )
+			nodes[i++] = Integer.toString( node );
+		conf.setStrings( "warmStartReset", nodes );
+		Job job = new Job( conf, "WarmStartDriver" );
+		job.setJarByClass( WarmStartDriver.class );
+		
+		job.setMapOutputKeyClass( NodesPairWritable.class );
+		job.setMapOutputValueClass( IntWritable.class );
+		job.setOutputKeyClass( IntWritable.class );
+		job.setOutputValueClass( IntWritable.class );
+		
+		job.setMapperClass( WarmStartMapper.class );
+		job.setPartitionerClass( NodePartitioner.class );
+		job.setGroupingComparatorClass( NodeGroupingComparator.class );
+		job.setReducerClass( WarmStartReducer.class );
+		
+		JobSizing sizing = JobSizing.of( new Path[] { this.stars }, conf );
+		sizing.configureSplits( job );
+		sizing.configureReducers( job );
+		job.setOutputFormatClass( SequenceFileOutputFormat.class );
+		
+		FileInputFormat.addInputPath( job, this.stars );
+		FileOutputFormat.setOutputPath( job, this.output );
+		
+		if ( !job.waitForCompletion( this.verbose ) )
+			return 1;
+		
+		// Set up the private variables looking to the counters value
+		this.numWarmNodes = job.getCounters().findCounter( UtilCounters.NUM_WARM_NODES ).getValue();
+		this.numResetNodes = job.getCounters().findCounter( UtilCounters.NUM_RESET_NODES ).getValue();
+		return 0;
+	}
+	
+	/**
+	 * Return the number of nodes whose label has been kept.
+	 * @return 	number of warm nodes.
+	 */
+	public long getNumWarmNodes()
+	{
+		return this.numWarmNodes;
+	}
+	
+	/**
+	 * Return the number of nodes whose label has been reset, i.e. the size of the clusters dropped.
+	 * @return 	number of reset nodes.
+	 */
+	public long getNumResetNodes()
+	{
+		return this.numResetNodes;
+	}
+	
+	/**
+	 * Main of the \see WarmStartDriver class.
+	 * @param args	array of external arguments,
+	 * @throws Exception
+	 */
+	public static void main( String[] args ) throws Exception 
+	{	
+		if ( args.length < 2 )
+		{
+			System.out.println( "Usage: WarmStartDriver <stars> <output> [<nodeID>...]" );
+			System.exit(1);
+		}
+		
+		Path stars = new Path( args[0] );
+		Path output = new Path( args[1] );
+		ArrayList<Integer> reset = new ArrayList<Integer>();
+		for ( int i = 2; i < args.length; i++ )
+			reset.add( Integer.parseInt( args[i] ) );
+		System.out.println( "Start WarmStartDriver." );
+		WarmStartDriver warm = new WarmStartDriver( stars, output, reset, true );
+		if ( warm.run( null ) != 0 )
+		{
+			FileSystem.get( new Configuration() ).delete( output, true  );
+			System.exit( 1 );
+		}
+		System.out.println( "End WarmStartDriver." );
+		
+		System.out.println( "Nodes kept/reset: " + warm.getNumWarmNodes() + "/" + warm.getNumResetNodes() );
+		System.exit( 0 );
+	}
+}
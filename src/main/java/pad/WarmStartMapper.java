@@ -0,0 +1,88 @@
+/**
+ *	@file WarmStartMapper.java
+ *	@brief Mapper task of the \see WarmStartDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**	Mapper task of the \see WarmStartDriver Job. */
+public class WarmStartMapper extends Mapper<IntWritable, IntWritable, NodesPairWritable, IntWritable>
+{
+	private static final IntWritable RESET = new IntWritable( WarmStartDriver.RESET_MARKER );
+	private HashSet<Integer> reset = new HashSet<Integer>();
+	private NodesPairWritable pair = new NodesPairWritable();
+	private IntWritable node = new IntWritable();
+
+	/**
+	* Setup method of the this WarmStartMapper class.
+	* Extract the nodes to reset from the <em>warmStartReset</em> variable of the context configuration.
+	* @param context	context of this Job.
+	*/
+	public void setup( Context context )
+	{
+		String[] nodes = context.getConfiguration().getStrings( "warmStartReset" );
+		if ( nodes != null )
+			for ( String node : nodes )
+				reset.add( Integer.parseInt( node ) );
+	}
+
+	/**
+	* Map method of the this WarmStartMapper class.
+	* After the Star rounds each pair links a node to the minimum label of its cluster, so the pair is emitted
+	* as <Label, Node> toward the label; a lone node is a cluster on its own, and it is emitted as <Node, -1>.
+	* If one of the two nodes has to be reset, the \see WarmStartDriver.RESET_MARKER is sent to the label too:
+	* it comes first in the neighbourhood of the label, so \see WarmStartReducer drops the cluster without buffering it.
+	* @param nodeID			identifier of the node.
+	* @param neighbourID	identifier of the neighbour.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void map( IntWritable nodeID, IntWritable neighbourID, Context context ) throws IOException, InterruptedException
+	{
+		// Skip what is not a star edge or a lone node.
+		if ( neighbourID.get() < -1 )
+			return;
+
+		if ( neighbourID.get() == -1 )
+		{
+			pair.NodeID = nodeID.get();
+			pair.NeighbourID = -1;
+			context.write( pair, neighbourID );
+		}
+		else
+		{
+			pair.NodeID = Math.min( nodeID.get(), neighbourID.get() );
+			pair.NeighbourID = Math.max( nodeID.get(), neighbourID.get() );
+			node.set( pair.NeighbourID );
+			context.write( pair, node );
+		}
+
+		if ( reset.contains( nodeID.get() ) || reset.contains( neighbourID.get() ) )
+		{
+			pair.NeighbourID = WarmStartDriver.RESET_MARKER;
+			context.write( pair, RESET );
+		}
+	}
+}
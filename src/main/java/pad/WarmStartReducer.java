@@ -0,0 +1,79 @@
+/**
+ *	@file WarmStartReducer.java
+ *	@brief Reducer task of the \see WarmStartDriver Job.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+package pad;
+
+import java.io.IOException;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+import pad.UtilCounters;
+
+/**	Reducer task of the \see WarmStartDriver Job. */
+public class WarmStartReducer extends Reducer<NodesPairWritable, IntWritable, IntWritable, IntWritable>
+{
+	private IntWritable label = new IntWritable();
+	private IntWritable nodeID = new IntWritable();
+
+	/**
+	* Reduce method of the this WarmStartReducer class.
+	* The key is the label of a cluster, and its neighbourhood holds the nodes of the cluster in ascending order,
+	* preceded by the \see WarmStartDriver.RESET_MARKER if the cluster has a node to reset.
+	* A cluster to reset is dropped, otherwise its star edges <Node, Label> are emitted, together with the lone nodes.
+	* The nodes kept are counted by NUM_WARM_NODES, the ones dropped by NUM_RESET_NODES of \see UtilCounters.
+	* @param pair			pair used to implement the secondary sort, \see NodesPairWritable.
+	* @param neighbourhood	list of the nodes of the cluster.
+	* @param context		context of this Job.
+	* @throws IOException, InterruptedException
+	*/
+	public void reduce( NodesPairWritable pair, Iterable<IntWritable> neighbourhood, Context context ) throws IOException, InterruptedException
+	{
+		boolean drop = ( pair.NeighbourID == WarmStartDriver.RESET_MARKER );
+		long numNodes = 1;
+		// Do not exists a node with ID equal to minus two ( minus one already used to indicate loneliness )
+		int lastNodeSeen = -2;
+
+		label.set( pair.NodeID );
+		for ( IntWritable node : neighbourhood )
+		{
+			// Skip the markers, the lone label and the duplicate nodes.
+			if ( node.get() < 0 || node.get() == lastNodeSeen )
+				continue;
+			lastNodeSeen = node.get();
+			numNodes++;
+
+			if ( !drop )
+			{
+				nodeID.set( node.get() );
+				context.write( nodeID, label );
+			}
+		}
+
+		// A label without any other node is a lone node.
+		if ( !drop && numNodes == 1 )
+		{
+			nodeID.set( -1 );
+			context.write( label, nodeID );
+		}
+		context.getCounter( drop ? UtilCounters.NUM_RESET_NODES : UtilCounters.NUM_WARM_NODES ).increment( numNodes );
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ *	@file ClusterIndexTest.java
+ *	@brief Unit tests of the \see ClusterIndex class.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+/** Tests of the lookups of \see ClusterIndex, over shards written like \see ClusterIndexDriver does. */
+public class ClusterIndexTest extends TestCase
+{
+	private File folder;
+	
+	/**
+	* Create an empty temporary folder for the index.
+	* @throws IOException
+	*/
+	protected void setUp() throws IOException
+	{
+		folder = File.createTempFile( "clusterIndex", "" );
+		folder.delete();
+		folder.mkdir();
+	}
+	
+	/** Delete the temporary folder, with its version folders. */
+	protected void tearDown()
+	{
+		for ( File file : folder.listFiles() )
+		{
+			File[] files = file.listFiles();
+			if ( files != null )
+				for ( File shard : files )
+					shard.delete();
+			file.delete();
+		}
+		folder.delete();
+	}
+	
+	/**
+	* Write the nodes 0 to numNodes - 1 into the shards, the label of a node is the node rounded down to a multiple of 10.
+	* @param numNodes	number of nodes.
+	* @param numShards	number of shards.
+	* @throws IOException
+	*/
+	private void writeShards( int numNodes, int numShards ) throws IOException
+	{
+		writeShards( folder, numNodes, numShards );
+	}
+	
+	/**
+	* Write the nodes 0 to numNodes - 1 into the shards of a folder, the label of a node is the node rounded down to a multiple of 10.
+	* @param folder		folder of the shards.
+	* @param numNodes	number of nodes.
+	* @param numShards	number of shards.
+	* @throws IOException
+	*/
+	private static void writeShards( File folder, int numNodes, int numShards ) throws IOException
+	{
+		for ( int shard = 0; shard < numShards; shard++ )
+		{
+			DataOutputStream out = new DataOutputStream( new FileOutputStream( new File( folder, String.format( "%s%05d", ClusterIndex.SHARD_PREFIX, shard ) ) ) );
+			for ( int node = 0; node < numNodes; node++ )
+				if ( ClusterIndex.getShard( node, numShards ) == shard )
+				{
+					out.writeInt( node );
+					out.writeInt( node - node % 10 );
+				}
+			out.close();
+		}
+	}
+	
+	/** Every node is found in its shard, and the missing nodes have no label. */
+	public void testLookup() throws IOException
+	{
+		writeShards( 1000, 3 );
+		ClusterIndex index = new ClusterIndex( folder );
+		assertEquals( 3, index.getNumShards() );
+		assertEquals( 1000, index.getNumNodes() );
+		for ( int node = 0; node < 1000; node++ )
+			assertEquals( node - node % 10, index.getLabel( node ) );
+		assertEquals( -1, index.getLabel( 1000 ) );
+		assertEquals( -1, index.getLabel( -5 ) );
+		assertTrue( index.isSameComponent( 21, 29 ) );
+		assertFalse( index.isSameComponent( 29, 30 ) );
+		assertFalse( index.isSameComponent( 5, 5000 ) );
+		
+		int[] nodes = { 7, 1000, 993 };
+		int[] labels = new int[3];
+		index.getLabels( nodes, labels );
+		assertEquals( 0, labels[0] );
+		assertEquals( -1, labels[1] );
+		assertEquals( 990, labels[2] );
+	}
+	
+	/** The index reads the version named by the CURRENT file, instead of the shards of the index folder. */
+	public void testCurrentVersion() throws IOException
+	{
+		writeShards( 10, 1 );
+		File version = new File( folder, ClusterIndex.VERSION_PREFIX + 3 );
+		version.mkdir();
+		writeShards( version, 50, 2 );
+		assertEquals( 10, new ClusterIndex( folder ).getNumNodes() );
+		
+		FileOutputStream out = new FileOutputStream( new File( folder, ClusterIndex.CURRENT_FILE_NAME ) );
+		out.write( version.getName().getBytes( "UTF-8" ) );
+		out.close();
+		assertEquals( version, ClusterIndex.getCurrentVersion( folder ) );
+		ClusterIndex index = new ClusterIndex( folder );
+		assertEquals( 50, index.getNumNodes() );
+		assertEquals( 2, index.getNumShards() );
+		assertEquals( 40, index.getLabel( 47 ) );
+	}
+	
+	/** A folder without shards, or with a truncated shard, is refused. */
+	public void testBadFolder() throws IOException
+	{
+		try
+		{
+			new ClusterIndex( folder );
+			fail( "An empty folder was opened." );
+		}
+		catch ( IOException e )
+		{
+		}
+		
+		FileOutputStream out = new FileOutputStream( new File( folder, ClusterIndex.SHARD_PREFIX + "00000" ) );
+		out.write( new byte[5] );
+		out.close();
+		try
+		{
+			new ClusterIndex( folder );
+			fail( "A corrupted shard was opened." );
+		}
+		catch ( IOException e )
+		{
+		}
+	}
+}
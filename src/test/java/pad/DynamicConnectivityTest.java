@@ -0,0 +1,112 @@
+/**
+ *	@file DynamicConnectivityTest.java
+ *	@brief Unit tests of the \see DynamicConnectivity class.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/** Tests of the edge deletions of \see DynamicConnectivity, checked against a breadth first search. */
+public class DynamicConnectivityTest extends TestCase
+{
+	/** On a cycle with a tail, only the deletion of the tail edge disconnects the graph. */
+	public void testBridges()
+	{
+		DynamicConnectivity index = new DynamicConnectivity( 5, 5 );
+		int[] edges = { index.insert( 0, 1 ), index.insert( 1, 2 ), index.insert( 2, 3 ), index.insert( 3, 0 ), index.insert( 3, 4 ) };
+		for ( int e = 0; e < 4; e++ )
+		{
+			assertFalse( index.delete( edges[e] ) );
+			assertTrue( index.isDeleted( edges[e] ) );
+			assertEquals( 5, index.getComponentSize( 0 ) );
+			index.reinsert( edges[e] );
+			assertFalse( index.isDeleted( edges[e] ) );
+		}
+		assertTrue( index.delete( edges[4] ) );
+		assertFalse( index.connected( 0, 4 ) );
+		assertEquals( 4, index.getComponentSize( 0 ) );
+		assertEquals( 1, index.getComponentSize( 4 ) );
+		index.reinsert( edges[4] );
+		assertTrue( index.connected( 0, 4 ) );
+	}
+	
+	/** Deleting every edge of random graphs, one at a time, agrees with a breadth first search of the remaining edges. */
+	public void testRandomGraphs()
+	{
+		Random random = new Random( 42 );
+		for ( int graph = 0; graph < 50; graph++ )
+		{
+			int numNodes = 2 + random.nextInt( 30 );
+			int numEdges = random.nextInt( 2 * numNodes );
+			int[] u = new int[numEdges], v = new int[numEdges];
+			DynamicConnectivity index = new DynamicConnectivity( numNodes, numEdges );
+			for ( int e = 0; e < numEdges; e++ )
+			{
+				u[e] = random.nextInt( numNodes );
+				v[e] = random.nextInt( numNodes );
+				assertEquals( e, index.insert( u[e], v[e] ) );
+			}
+			for ( int e = 0; e < numEdges; e++ )
+			{
+				boolean bridge = index.delete( e );
+				boolean[] reached = reach( u[e], numNodes, u, v, e );
+				assertEquals( !reached[v[e]], bridge );
+				for ( int x = 0; x < numNodes; x++ )
+					assertEquals( reached[x], index.connected( u[e], x ) );
+				index.reinsert( e );
+			}
+		}
+	}
+	
+	/**
+	* Return the nodes reached from a node by a breadth first search, without crossing an edge.
+	* @param source		node where the search starts.
+	* @param numNodes	number of nodes.
+	* @param u			first end nodes of the edges.
+	* @param v			second end nodes of the edges.
+	* @param skip		edge that is not crossed.
+	* @return 			<c>true</c> for each node reached.
+	*/
+	private static boolean[] reach( int source, int numNodes, int[] u, int[] v, int skip )
+	{
+		boolean[] reached = new boolean[numNodes];
+		int[] queue = new int[numNodes];
+		int first = 0, last = 0;
+		reached[source] = true;
+		queue[last++] = source;
+		while ( first < last )
+		{
+			int x = queue[first++];
+			for ( int e = 0; e < u.length; e++ )
+			{
+				int y = ( u[e] == x ) ? v[e] : ( v[e] == x ) ? u[e] : -1;
+				if ( e != skip && y != -1 && !reached[y] )
+				{
+					reached[y] = true;
+					queue[last++] = y;
+				}
+			}
+		}
+		return reached;
+	}
+}
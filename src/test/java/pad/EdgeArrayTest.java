@@ -0,0 +1,88 @@
+/**
+ *	@file EdgeArrayTest.java
+ *	@brief Unit tests of the \see EdgeArray class.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import junit.framework.TestCase;
+
+/** Tests of the numbering of the nodes and of the adjacency lists of \see EdgeArray. */
+public class EdgeArrayTest extends TestCase
+{
+	/**
+	* Return an array of the edges 10-30, 30-20, 20-10 and 30-40, more than the initial capacity times.
+	* @param copies	number of copies of the edges.
+	* @return 		array of the edges.
+	*/
+	private static EdgeArray triangleWithTail( int copies )
+	{
+		EdgeArray edges = new EdgeArray();
+		for ( int i = 0; i < copies; i++ )
+		{
+			edges.add( InitializationMapperDedup.pack( 10, 30 ) );
+			edges.add( InitializationMapperDedup.pack( 30, 20 ) );
+			edges.add( InitializationMapperDedup.pack( 20, 10 ) );
+			edges.add( InitializationMapperDedup.pack( 30, 40 ) );
+		}
+		return edges;
+	}
+	
+	/** The edges keep their end nodes, also after the array grows. */
+	public void testAdd()
+	{
+		EdgeArray edges = triangleWithTail( 1000 );
+		assertEquals( 4000, edges.getNumEdges() );
+		assertEquals( InitializationMapperDedup.pack( 30, 40 ), edges.get( 3999 ) );
+		assertEquals( 30, edges.getNodeID( 3997 ) );
+		assertEquals( 20, edges.getNeighbourID( 3997 ) );
+	}
+	
+	/** The nodes are numbered with their position among the sorted identifiers. */
+	public void testNumberNodes()
+	{
+		EdgeArray edges = triangleWithTail( 2 );
+		assertEquals( 4, edges.numberNodes() );
+		assertEquals( 0, edges.indexOf( 10 ) );
+		assertEquals( 3, edges.indexOf( 40 ) );
+		assertTrue( edges.indexOf( 25 ) < 0 );
+	}
+	
+	/** Every edge appears in the adjacency lists of both its end nodes. */
+	public void testBuildAdjacency()
+	{
+		EdgeArray edges = triangleWithTail( 1 );
+		edges.buildAdjacency();
+		int node30 = edges.indexOf( 30 );
+		assertEquals( 3, edges.getAdjacencyEnd( node30 ) - edges.getAdjacencyStart( node30 ) );
+		int node40 = edges.indexOf( 40 );
+		assertEquals( 1, edges.getAdjacencyEnd( node40 ) - edges.getAdjacencyStart( node40 ) );
+		assertEquals( node30, edges.getNeighbour( edges.getAdjacencyStart( node40 ) ) );
+		assertEquals( 3, edges.getNeighbourEdge( edges.getAdjacencyStart( node40 ) ) );
+		for ( int x = 0; x < edges.getNumNodes(); x++ )
+			for ( int i = edges.getAdjacencyStart( x ); i < edges.getAdjacencyEnd( x ); i++ )
+			{
+				int e = edges.getNeighbourEdge( i );
+				int y = edges.getNeighbour( i );
+				assertTrue( ( edges.indexOf( edges.getNodeID( e ) ) == x && edges.indexOf( edges.getNeighbourID( e ) ) == y )
+						|| ( edges.indexOf( edges.getNodeID( e ) ) == y && edges.indexOf( edges.getNeighbourID( e ) ) == x ) );
+			}
+	}
+}
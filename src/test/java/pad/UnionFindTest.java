@@ -0,0 +1,67 @@
+/**
+ *	@file UnionFindTest.java
+ *	@brief Unit tests of the \see UnionFind class.
+ *  @author Devendra Dahiphale
+ *
+ *	Copyright 2017 Devendra Dahiphale
+ *	https://github.com/DevendraDahiphale
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+
+
+package pad;
+
+import junit.framework.TestCase;
+
+/** Tests of the disjoint sets of \see UnionFind, used by \see CertificateReducer. */
+public class UnionFindTest extends TestCase
+{
+	/** A new node is a set on its own, and merging two sets once reduces the number of sets. */
+	public void testUnion()
+	{
+		UnionFind sets = new UnionFind( 4 );
+		assertEquals( 7, sets.find( 7 ) );
+		assertTrue( sets.union( 1, 2 ) );
+		assertTrue( sets.union( 3, 2 ) );
+		assertFalse( sets.union( 1, 3 ) );
+		assertEquals( sets.find( 1 ), sets.find( 3 ) );
+		assertTrue( sets.find( 1 ) != sets.find( 7 ) );
+		assertEquals( 4, sets.getNumNodes() );
+		assertEquals( 2, sets.getNumSets() );
+	}
+	
+	/** The sets survive the growth of the table, also with far apart identifiers. */
+	public void testGrowth()
+	{
+		UnionFind sets = new UnionFind( 2 );
+		int numNodes = 10000;
+		for ( int i = 1; i < numNodes; i++ )
+			sets.union( ( i - 1 ) * 1000, i * 1000 );
+		sets.find( Integer.MAX_VALUE );
+		assertEquals( numNodes + 1, sets.getNumNodes() );
+		assertEquals( 2, sets.getNumSets() );
+		assertEquals( sets.find( 0 ), sets.find( ( numNodes - 1 ) * 1000 ) );
+	}
+	
+	/** Clearing removes all the nodes. */
+	public void testClear()
+	{
+		UnionFind sets = new UnionFind( 4 );
+		sets.union( 1, 2 );
+		sets.clear();
+		assertEquals( 0, sets.getNumNodes() );
+		assertEquals( 0, sets.getNumSets() );
+		assertTrue( sets.union( 1, 2 ) );
+	}
+}